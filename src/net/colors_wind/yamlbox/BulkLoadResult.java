@@ -0,0 +1,65 @@
+package net.colors_wind.yamlbox;
+
+import java.nio.file.Path;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import lombok.Getter;
+
+/**
+ * 批量加载的结果, 包括每个文件的加载结果, 每个文件的异常以及各阶段耗时.
+ * <p>各阶段耗时是所有文件在该阶段耗时的总和(纳秒), 并行加载时可能大于总耗时.
+ * @param <T> 加载结果的类型
+ * @see {@link YamlBox#loadAll(java.util.Collection, java.util.concurrent.Executor)}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public class BulkLoadResult<T> {
+	/**
+	 * 成功加载的文件, 按输入顺序排列.
+	 */
+	private final Map<Path, T> results;
+	/**
+	 * 加载失败的文件及其异常, 按输入顺序排列.
+	 */
+	private final Map<Path, Exception> errors;
+	/**
+	 * 解析Yaml的耗时, 包括读取文件. 文件以内存映射方式边读取边解析, 因此读取的耗时无法单独统计.
+	 */
+	private final long parseTime;
+	/**
+	 * 反序列化为对象的耗时, 仅加载配置对象时为 {@code 0}.
+	 */
+	private final long bindTime;
+	/**
+	 * 从开始到全部完成的实际耗时.
+	 */
+	private final long totalTime;
+
+	public BulkLoadResult(Map<Path, T> results, Map<Path, Exception> errors, long parseTime, long bindTime,
+			long totalTime) {
+		this.results = results;
+		this.errors = errors;
+		this.parseTime = parseTime;
+		this.bindTime = bindTime;
+		this.totalTime = totalTime;
+	}
+
+	/**
+	 * @return {@code true} 如果全部文件都成功加载, 否则返回 {@code false}.
+	 */
+	public boolean isSuccessful() {
+		return errors.isEmpty();
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("BulkLoadResult[loaded=").append(results.size()).append(", failed=")
+				.append(errors.size()).append(", parse=").append(TimeUnit.NANOSECONDS.toMillis(parseTime))
+				.append("ms, bind=").append(TimeUnit.NANOSECONDS.toMillis(bindTime)).append("ms, total=")
+				.append(TimeUnit.NANOSECONDS.toMillis(totalTime)).append("ms]").toString();
+	}
+
+}
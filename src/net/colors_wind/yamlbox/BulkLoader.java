@@ -0,0 +1,116 @@
+package net.colors_wind.yamlbox;
+
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
+
+import net.colors_wind.yamlbox.conf.YamlConfig;
+
+/**
+ * 批量加载的执行过程: 启动固定数量的工作任务, 每个任务依次领取文件并完成解析和反序列化.
+ * @param <T> 加载结果的类型
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+final class BulkLoader<T> {
+	private final YamlBox yamlBox;
+	private final Path[] paths;
+	private final Binder<T> binder;
+	private final Object[] results;
+	private final Exception[] errors;
+	private final AtomicInteger next = new AtomicInteger();
+	private final LongAdder parseTime = new LongAdder();
+	private final LongAdder bindTime = new LongAdder();
+
+	/**
+	 * @param yamlBox 所属YamlBox实例
+	 * @param paths 文件
+	 * @param binder 将配置对象反序列化为结果, 为 {@code null} 时直接返回配置对象.
+	 */
+	BulkLoader(YamlBox yamlBox, Path[] paths, Binder<T> binder) {
+		this.yamlBox = yamlBox;
+		this.paths = paths;
+		this.binder = binder;
+		this.results = new Object[paths.length];
+		this.errors = new Exception[paths.length];
+	}
+
+	/**
+	 * 执行批量加载并等待全部完成.
+	 * @param executor 执行工作任务的线程池
+	 * @param parallelism 最大并行数
+	 * @return 加载结果
+	 * @throws InterruptedException 如果等待时线程被中断
+	 */
+	BulkLoadResult<T> run(Executor executor, int parallelism) throws InterruptedException {
+		long start = System.nanoTime();
+		int workers = Math.min(parallelism, paths.length);
+		CountDownLatch latch = new CountDownLatch(workers);
+		for (int i = 0; i < workers; i++) {
+			Runnable worker = () -> {
+				try {
+					work();
+				} finally {
+					latch.countDown();
+				}
+			};
+			try {
+				executor.execute(worker);
+			} catch (RejectedExecutionException e) {
+				worker.run();
+			}
+		}
+		latch.await();
+		return collect(System.nanoTime() - start);
+	}
+
+	private void work() {
+		for (int i = next.getAndIncrement(); i < paths.length; i = next.getAndIncrement()) {
+			Path path = paths[i];
+			try {
+				long time = System.nanoTime();
+				YamlConfig config = yamlBox.load(path, path.toString());
+				long parsed = System.nanoTime();
+				parseTime.add(parsed - time);
+				if (binder == null) {
+					results[i] = config;
+				} else {
+					results[i] = binder.bind(config, path);
+					bindTime.add(System.nanoTime() - parsed);
+				}
+			} catch (Exception e) {
+				errors[i] = e;
+			}
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private BulkLoadResult<T> collect(long totalTime) {
+		Map<Path, T> resultMap = new LinkedHashMap<>();
+		Map<Path, Exception> errorMap = new LinkedHashMap<>();
+		for (int i = 0; i < paths.length; i++) {
+			if (errors[i] != null) {
+				errorMap.put(paths[i], errors[i]);
+			} else {
+				resultMap.put(paths[i], (T) results[i]);
+			}
+		}
+		return new BulkLoadResult<>(resultMap, errorMap, parseTime.sum(), bindTime.sum(), totalTime);
+	}
+
+	/**
+	 * 将配置对象反序列化为结果.
+	 */
+	@FunctionalInterface
+	interface Binder<T> {
+
+		T bind(YamlConfig config, Path path) throws Exception;
+	}
+
+}
@@ -0,0 +1,147 @@
+package net.colors_wind.yamlbox;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.error.Mark;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
+
+import net.colors_wind.yamlbox.stream.EventReader;
+
+/**
+ * 多文档Yaml流的惰性迭代器, 每次只解析一个文档. 已返回的文档不被迭代器引用, 锚点在文档之间不共享,
+ * 因此内存占用与流中文档的数量无关.
+ * <p>每个文档的字符数分别受 {@link YamlBox#setCodePointLimit(int)} 限制, 按事件的位置检查.
+ * <p>可以随时停止迭代; 使用完毕后应调用 {@link #close()} 关闭数据来源. 不是线程安全的.
+ * @see {@link YamlBox#loadAll(java.io.Reader)}
+ * @param <T> 每个文档的加载结果
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class DocumentIterator<T> implements Iterator<T>, Closeable {
+	private final EventReader reader;
+	private final Closeable source;
+	private final Function<EventReader, T> function;
+	private boolean ready;
+	private boolean finished;
+	private int index = -1;
+
+	/**
+	 * @param events 解析事件
+	 * @param options 解析选项, 提供嵌套层数和别名数量的限制.
+	 * @param source 数据来源, 关闭迭代器时关闭.
+	 * @param codePointLimit 单个文档的最大字符数
+	 * @param function 读取一个文档的内容, 文档的开始事件已被读取; 文档为空时下一个事件为文档的结束事件.
+	 */
+	DocumentIterator(Iterable<Event> events, LoaderOptions options, Closeable source, int codePointLimit,
+			Function<EventReader, T> function) {
+		this.reader = new EventReader(() -> new LimitedEvents(events.iterator(), codePointLimit), options);
+		this.source = source;
+		this.function = function;
+	}
+
+	@Override
+	public boolean hasNext() {
+		if (!ready && !finished) {
+			if (reader.nextDocument()) {
+				ready = true;
+			} else {
+				finished = true;
+			}
+		}
+		return ready;
+	}
+
+	@Override
+	public T next() {
+		if (!hasNext()) {
+			throw new NoSuchElementException();
+		}
+		ready = false;
+		index++;
+		T result = function.apply(reader);
+		reader.endDocument();
+		return result;
+	}
+
+	/**
+	 * @return 最近一次返回的文档在流中的序号, 从0开始; 尚未返回文档时为 {@code -1}.
+	 */
+	public int getIndex() {
+		return index;
+	}
+
+	/**
+	 * 以有序流的形式返回剩余的文档. 关闭流时同时关闭迭代器.
+	 * @return 流
+	 */
+	public Stream<T> stream() {
+		return StreamSupport.stream(Spliterators.spliteratorUnknownSize(this, Spliterator.ORDERED), false)
+				.onClose(() -> {
+					try {
+						close();
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+	}
+
+	/**
+	 * 停止迭代并关闭数据来源.
+	 * @throws IOException 如果关闭时出现IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		finished = true;
+		ready = false;
+		if (source != null) {
+			source.close();
+		}
+	}
+
+	/**
+	 * 检查每个文档的字符数. 位置相减在超过 {@code int} 范围后仍然正确, 因此流的总长度不受限制.
+	 */
+	private static final class LimitedEvents implements Iterator<Event> {
+		private final Iterator<Event> events;
+		private final int codePointLimit;
+		private int documentStart;
+
+		LimitedEvents(Iterator<Event> events, int codePointLimit) {
+			this.events = events;
+			this.codePointLimit = codePointLimit;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return events.hasNext();
+		}
+
+		@Override
+		public Event next() {
+			Event event = events.next();
+			Mark mark = event.getStartMark();
+			if (mark != null) {
+				if (event.is(Event.ID.DocumentStart)) {
+					documentStart = mark.getIndex();
+				} else if (mark.getIndex() - documentStart > codePointLimit) {
+					throw new YAMLException(new StringBuilder("The incoming YAML document exceeds the limit: ")
+							.append(codePointLimit).append(" code points.").toString());
+				}
+			}
+			return event;
+		}
+	}
+
+}
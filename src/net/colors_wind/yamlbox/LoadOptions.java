@@ -0,0 +1,82 @@
+package net.colors_wind.yamlbox;
+
+import lombok.Getter;
+
+/**
+ * 加载配置时的可选项, 不可变, 通过 {@code withXxx} 方法派生新的实例.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public final class LoadOptions {
+	private static final LoadOptions DEFAULTS = new LoadOptions(false, false, false);
+
+	/**
+	 * 是否在加载时建立扁平路径索引.
+	 * @see {@link net.colors_wind.yamlbox.conf.YamlConfig#enableIndex()}
+	 */
+	private final boolean indexed;
+	/**
+	 * 是否延迟构造标量, 普通标量只在首次访问时才进行类型解析.
+	 * @see {@link net.colors_wind.yamlbox.stream.EventReader#readLazy()}
+	 */
+	private final boolean lazy;
+	/**
+	 * 是否启用字符串的数值转换缓存.
+	 * @see {@link net.colors_wind.yamlbox.conf.YamlConfig#enableConversionCache()}
+	 */
+	private final boolean conversionCached;
+
+	private LoadOptions(boolean indexed, boolean lazy, boolean conversionCached) {
+		this.indexed = indexed;
+		this.lazy = lazy;
+		this.conversionCached = conversionCached;
+	}
+
+	/**
+	 * @return 默认选项
+	 */
+	public static LoadOptions defaults() {
+		return DEFAULTS;
+	}
+
+	/**
+	 * @return 建立路径索引的选项
+	 */
+	public static LoadOptions indexed() {
+		return DEFAULTS.withIndexed(true);
+	}
+
+	/**
+	 * @return 延迟构造标量的选项
+	 */
+	public static LoadOptions lazy() {
+		return DEFAULTS.withLazy(true);
+	}
+
+	/**
+	 * @param indexed 是否建立路径索引
+	 * @return 新的选项
+	 */
+	public LoadOptions withIndexed(boolean indexed) {
+		return new LoadOptions(indexed, lazy, conversionCached);
+	}
+
+	/**
+	 * @param lazy 是否延迟构造标量
+	 * @return 新的选项
+	 */
+	public LoadOptions withLazy(boolean lazy) {
+		return new LoadOptions(indexed, lazy, conversionCached);
+	}
+
+	/**
+	 * @param conversionCached 是否启用转换缓存
+	 * @return 新的选项
+	 */
+	public LoadOptions withConversionCached(boolean conversionCached) {
+		return new LoadOptions(indexed, lazy, conversionCached);
+	}
+
+}
@@ -1,33 +1,98 @@
 package net.colors_wind.yamlbox;
 
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.FilterWriter;
 import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
 import java.io.Reader;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
 import java.io.Writer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.List;
+import java.util.Collections;
 import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.Executor;
 import java.util.logging.Logger;
 
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.LoaderOptions;
 import org.yaml.snakeyaml.Yaml;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.Event;
 
 import lombok.Getter;
+import lombok.NonNull;
 import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.io.MappedFileReader;
+import net.colors_wind.yamlbox.io.SnapshotCache;
 import net.colors_wind.yamlbox.loader.EntryLoader;
+import net.colors_wind.yamlbox.loader.IFieldSelector;
 import net.colors_wind.yamlbox.loader.LoaderBase;
+import net.colors_wind.yamlbox.loader.Projection;
+import net.colors_wind.yamlbox.loader.StreamingBinder;
+import net.colors_wind.yamlbox.loader.StreamingWriter;
 import net.colors_wind.yamlbox.loader.UniversalLoader;
+import net.colors_wind.yamlbox.metrics.DumpEvent;
+import net.colors_wind.yamlbox.metrics.LoadEvent;
+import net.colors_wind.yamlbox.metrics.YamlBoxMetrics;
+import net.colors_wind.yamlbox.stream.EventReader;
+import net.colors_wind.yamlbox.stream.EventWriter;
 import net.colors_wind.yamlbox.tag.YamlSerializable;
 
 /**
  * 代表一个 YamlBox实例.
+ * <p>线程安全: YamlBox 实例可以被多个线程同时使用.
+ * <ul>
+ * <li>{@code load}/{@code dump} 系列方法使用每个线程独立的 {@link Yaml} 实例, 互不阻塞.</li>
+ * <li>加载器注册表采用写时复制, {@link #getLoader(String)} 不加锁; 注册表的修改互斥进行,
+ * 修改对随后开始的读取立即可见.</li>
+ * <li>内置加载器的缓存是线程安全的; 自定义加载器需要自行保证线程安全.</li>
+ * <li>修改 {@link #setCodePointLimit(int)} 后, 每个线程在下一次解析前重新创建 {@link Yaml} 实例.</li>
+ * <li>{@link YamlConfig} 等配置对象本身不是线程安全的, 需要在线程间共享时请使用
+ * {@link YamlConfig#snapshot()}.</li>
+ * </ul>
  * @author colors_wind
  * @date 2020/6/19
  * @since 1.0.0
  */
 public class YamlBox {
-	protected final Yaml yaml;
-	protected final Map<String, LoaderBase> loaders;
+	private final ThreadLocal<ThreadYaml> yaml = new ThreadLocal<>();
+	private volatile int yamlGeneration;
+	/**
+	 * 单个文档允许的最大字符数(Unicode码位), 默认与 SnakeYAML 相同.
+	 */
+	@Getter
+	private volatile int codePointLimit = new LoaderOptions().getCodePointLimit();
+	/**
+	 * 从文件加载时允许的最大文件大小(字节), 默认不限制.
+	 */
+	@Getter
+	private volatile long maxFileSize = Long.MAX_VALUE;
+	/**
+	 * 加载器注册表, 不可修改, 每次修改时整体替换.
+	 */
+	protected volatile Map<String, LoaderBase> loaders;
+	private final Object loadersLock = new Object();
 	@Getter
 	protected final ILogger logger;
+	/**
+	 * 性能指标的监听器, 为 {@code null} 时不收集指标.
+	 */
+	@Getter
+	private volatile YamlBoxMetrics metrics;
 
 	/**
 	 * 使用自定义日志样式输出, 创建一个YamlBox实例.
@@ -35,10 +100,10 @@ public class YamlBox {
 	 */
 	public YamlBox(ILogger logger) {
 		this.logger = logger;
-		this.yaml = new Yaml();
-		this.loaders = new HashMap<>();
-		this.loaders.put(UniversalLoader.UNIVERSAL, new UniversalLoader(this));
-		this.loaders.put(EntryLoader.ENTRY, new EntryLoader(this));
+		Map<String, LoaderBase> loaders = new HashMap<>();
+		loaders.put(UniversalLoader.UNIVERSAL, new UniversalLoader(this));
+		loaders.put(EntryLoader.ENTRY, new EntryLoader(this));
+		this.loaders = Collections.unmodifiableMap(loaders);
 	}
 	
 	/**
@@ -59,7 +124,16 @@ public class YamlBox {
 	 * @see {@link #forceAddLoader(String, LoaderBase)}
 	 */
 	public boolean addLoader(String name, LoaderBase loader) {
-		return this.loaders.putIfAbsent(name, loader) == null;
+		synchronized (loadersLock) {
+			if (this.loaders.containsKey(name)) {
+				return false;
+			}
+			Map<String, LoaderBase> copy = new HashMap<>(this.loaders);
+			copy.put(name, loader);
+			this.loaders = Collections.unmodifiableMap(copy);
+			invalidateLoaderCaches(null);
+			return true;
+		}
 	}
 
 	/**
@@ -70,7 +144,13 @@ public class YamlBox {
 	 * @see {@link #forceAddLoader(String, LoaderBase)}
 	 */
 	public boolean forceAddLoader(String name, LoaderBase loader) {
-		return this.loaders.put(name, loader) == null;
+		synchronized (loadersLock) {
+			Map<String, LoaderBase> copy = new HashMap<>(this.loaders);
+			LoaderBase old = copy.put(name, loader);
+			this.loaders = Collections.unmodifiableMap(copy);
+			invalidateLoaderCaches(old);
+			return old == null;
+		}
 	}
 
 	/**
@@ -104,7 +184,229 @@ public class YamlBox {
 	 * @return {@code true} 如果成功移除, 否则返回 {@code false}.
 	 */
 	public boolean removeLoader(String name) {
-		return this.loaders.remove(name) == null;
+		synchronized (loadersLock) {
+			if (!this.loaders.containsKey(name)) {
+				return false;
+			}
+			Map<String, LoaderBase> copy = new HashMap<>(this.loaders);
+			LoaderBase old = copy.remove(name);
+			this.loaders = Collections.unmodifiableMap(copy);
+			invalidateLoaderCaches(old);
+			return true;
+		}
+	}
+
+	/**
+	 * 加载器注册表发生变化, 通知所有加载器清空缓存.
+	 * @param detached 被移除或被覆盖的加载器, 可以为 {@code null}.
+	 */
+	protected void invalidateLoaderCaches(LoaderBase detached) {
+		if (detached != null) {
+			detached.invalidateCache();
+		}
+		for (LoaderBase loader : this.loaders.values()) {
+			loader.invalidateCache();
+		}
+	}
+
+	/**
+	 * 创建 {@link Yaml} 实例, 每个线程调用一次, 解析选项变化后会再次调用.
+	 * 子类可以覆盖此方法以自定义解析和输出选项.
+	 * @return Yaml实例
+	 */
+	protected Yaml createYaml() {
+		return new Yaml(createLoaderOptions());
+	}
+
+	/**
+	 * 根据当前的限制创建解析选项.
+	 * @return 解析选项
+	 */
+	protected LoaderOptions createLoaderOptions() {
+		LoaderOptions options = new LoaderOptions();
+		options.setCodePointLimit(codePointLimit);
+		return options;
+	}
+
+	/**
+	 * 创建事件读取器, 嵌套层数和别名数量的限制与 {@link #createLoaderOptions()} 相同.
+	 * @param events 解析事件
+	 * @return 事件读取器
+	 */
+	protected EventReader createEventReader(Iterable<Event> events) {
+		return new EventReader(events, createLoaderOptions());
+	}
+
+	/**
+	 * 获取当前线程的 {@link Yaml} 实例, 不可在线程间共享.
+	 * @return Yaml实例
+	 */
+	protected Yaml getYaml() {
+		ThreadYaml current = yaml.get();
+		int generation = yamlGeneration;
+		if (current == null || current.generation != generation) {
+			current = new ThreadYaml(generation, createYaml());
+			yaml.set(current);
+		}
+		return current.yaml;
+	}
+
+	/**
+	 * 设置单个文档允许的最大字符数(Unicode码位).
+	 * @param codePointLimit 最大字符数
+	 */
+	public synchronized void setCodePointLimit(int codePointLimit) {
+		if (codePointLimit <= 0) {
+			throw new IllegalArgumentException("codePointLimit must be positive: " + codePointLimit);
+		}
+		this.codePointLimit = codePointLimit;
+		this.yamlGeneration++;
+	}
+
+	/**
+	 * 设置从文件加载时允许的最大文件大小(字节).
+	 * @param maxFileSize 最大文件大小
+	 */
+	public void setMaxFileSize(long maxFileSize) {
+		if (maxFileSize < 0) {
+			throw new IllegalArgumentException("maxFileSize must not be negative: " + maxFileSize);
+		}
+		this.maxFileSize = maxFileSize;
+	}
+
+	/**
+	 * 安装性能指标的监听器, 替换原有的监听器. 需要多个监听器时使用 {@link YamlBoxMetrics#of(YamlBoxMetrics...)} 组合.
+	 * @param metrics 监听器, 为 {@code null} 时停止收集指标.
+	 * @see {@link net.colors_wind.yamlbox.metrics.HistogramMetrics}
+	 * @see {@link net.colors_wind.yamlbox.metrics.FlightRecorderMetrics}
+	 */
+	public void setMetrics(YamlBoxMetrics metrics) {
+		this.metrics = metrics;
+	}
+
+	/**
+	 * 从UTF-8编码的文件加载Yaml格式数据.
+	 * @param path 文件路径
+	 * @return 配置对象
+	 * @throws IOException 如果出现IO异常, 或文件超过 {@link #getMaxFileSize()}.
+	 */
+	public YamlConfig load(Path path) throws IOException {
+		return load(path, LoadOptions.defaults());
+	}
+
+	/**
+	 * 从UTF-8编码的文件加载Yaml格式数据. 文件以内存映射方式分块读取, 不会整体复制到堆中.
+	 * @param path 文件路径
+	 * @param options 加载选项
+	 * @return 配置对象
+	 * @throws IOException 如果出现IO异常, 或文件超过 {@link #getMaxFileSize()}.
+	 * @see {@link MappedFileReader}
+	 */
+	public YamlConfig load(@NonNull Path path, LoadOptions options) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return load(channel, "", options, path.toString());
+		}
+	}
+
+	/**
+	 * 与 {@link #load(Path)} 相同, 但指定根节点路径, 供 {@link BulkLoader} 使用.
+	 */
+	YamlConfig load(Path path, String root) throws IOException {
+		try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+			return load(channel, root, LoadOptions.defaults(), path.toString());
+		}
+	}
+
+	/**
+	 * 从文件通道的当前位置加载UTF-8编码的Yaml格式数据, 不会关闭通道.
+	 * @param channel 文件通道
+	 * @return 配置对象
+	 * @throws IOException 如果出现IO异常, 或文件超过 {@link #getMaxFileSize()}.
+	 */
+	public YamlConfig load(FileChannel channel) throws IOException {
+		return load(channel, LoadOptions.defaults());
+	}
+
+	/**
+	 * 从文件通道的当前位置加载UTF-8编码的Yaml格式数据, 不会关闭通道.
+	 * 文件以内存映射方式分块读取, 不会整体复制到堆中.
+	 * @param channel 文件通道
+	 * @param options 加载选项
+	 * @return 配置对象
+	 * @throws IOException 如果出现IO异常, 或文件超过 {@link #getMaxFileSize()}.
+	 * @see {@link MappedFileReader}
+	 */
+	public YamlConfig load(@NonNull FileChannel channel, @NonNull LoadOptions options) throws IOException {
+		return load(channel, "", options, null);
+	}
+
+	private YamlConfig load(FileChannel channel, String root, LoadOptions options, String source)
+			throws IOException {
+		long size = channel.size() - channel.position();
+		checkFileSize(size);
+		return parse(new MappedFileReader(channel), root, options, source, size);
+	}
+
+	/**
+	 * 从UTF-8编码的文件加载Yaml格式数据, 优先使用有效的二进制快照.
+	 * @param path 文件路径
+	 * @param cache 快照缓存
+	 * @return 配置对象
+	 * @throws IOException 如果出现IO异常, 或文件超过 {@link #getMaxFileSize()}.
+	 */
+	public YamlConfig load(Path path, SnapshotCache cache) throws IOException {
+		return load(path, cache, LoadOptions.defaults());
+	}
+
+	/**
+	 * 从UTF-8编码的文件加载Yaml格式数据, 优先使用有效的二进制快照.
+	 * <p>快照有效时直接解码, 跳过Yaml解析; 否则解析文件, 并在后台更新快照.
+	 * 更新快照需要编码整个配置树, 因此延迟构造的标量在未命中时也会被构造.
+	 * @param path 文件路径
+	 * @param cache 快照缓存
+	 * @param options 加载选项
+	 * @return 配置对象
+	 * @throws IOException 如果出现IO异常, 或文件超过 {@link #getMaxFileSize()}.
+	 * @see {@link SnapshotCache}
+	 */
+	@SuppressWarnings("unchecked")
+	public YamlConfig load(@NonNull Path path, @NonNull SnapshotCache cache, @NonNull LoadOptions options)
+			throws IOException {
+		long size = Files.size(path);
+		checkFileSize(size);
+		YamlBoxMetrics metrics = this.metrics;
+		long start = metrics == null ? 0L : System.nanoTime();
+		SnapshotCache.Lookup lookup = cache.lookup(path);
+		if (lookup.getTree() instanceof Map) {
+			YamlConfig config = createConfig((Map<String, Object>) lookup.getTree(), "", options);
+			if (metrics != null) {
+				loaded(metrics, start, "", path.toString(), size, lookup.getTree(), false);
+			}
+			return config;
+		}
+		Reader reader = new InputStreamReader(new ByteArrayInputStream(lookup.getContent()), StandardCharsets.UTF_8);
+		Map<String, Object> map = options.isLazy() ? loadLazy(reader) : getYaml().load(reader);
+		if (map == null) {
+			map = new LinkedHashMap<>();
+		}
+		try {
+			lookup.store(map);
+		} catch (IOException e) {
+			e.printStackTrace();
+			logger.warning(path.toString(), "CANNOT update snapshot: " + e.getMessage());
+		}
+		YamlConfig config = createConfig(map, "", options);
+		if (metrics != null) {
+			loaded(metrics, start, "", path.toString(), size, map, false);
+		}
+		return config;
+	}
+
+	private void checkFileSize(long size) throws IOException {
+		if (size > maxFileSize) {
+			throw new IOException(new StringBuilder("CANNOT load file larger than ").append(maxFileSize)
+					.append(" bytes: ").append(size).toString());
+		}
 	}
 
 	/**
@@ -123,9 +425,28 @@ public class YamlBox {
 	 * @return 配置对象
 	 */
 	public YamlConfig load(String yamlString, String root) {
-		Map<String, Object> map = yaml.load(yamlString);
-		YamlConfig yamlConfig = new YamlConfig(map, root);
-		return yamlConfig;
+		return load(yamlString, root, LoadOptions.defaults());
+	}
+
+	/**
+	 * 从字符串加载Yaml格式数据到当前节点.
+	 * @param yamlString Yaml格式字符串
+	 * @param options 加载选项
+	 * @return 配置对象
+	 */
+	public YamlConfig load(String yamlString, LoadOptions options) {
+		return load(yamlString, "", options);
+	}
+
+	/**
+	 * 从字符串加载Yaml格式数据到当前节点.
+	 * @param yamlString Yaml格式字符串
+	 * @param root 配置对象的根路径
+	 * @param options 加载选项
+	 * @return 配置对象
+	 */
+	public YamlConfig load(@NonNull String yamlString, String root, @NonNull LoadOptions options) {
+		return parse(new StringReader(yamlString), root, options, null, yamlString.length());
 	}
 
 	/**
@@ -144,20 +465,362 @@ public class YamlBox {
 	 * @return 配置对象
 	 */
 	public YamlConfig load(Reader reader, String root) {
-		Map<String, Object> map = yaml.load(reader);
-		YamlConfig yamlConfig = new YamlConfig(map, root);
+		return load(reader, root, LoadOptions.defaults());
+	}
+
+	/**
+	 * 从Reader加载Yaml格式数据到当前节点.
+	 * @param reader {@link Reader}
+	 * @param options 加载选项
+	 * @return 配置对象
+	 */
+	public YamlConfig load(Reader reader, LoadOptions options) {
+		return load(reader, "", options);
+	}
+
+	/**
+	 * 从Reader加载Yaml格式数据到当前节点.
+	 * @param reader {@link Reader}
+	 * @param root 配置对象的根路径
+	 * @param options 加载选项
+	 * @return 配置对象
+	 */
+	public YamlConfig load(@NonNull Reader reader, String root, @NonNull LoadOptions options) {
+		return parse(reader, root, options, null, -1L);
+	}
+
+	/**
+	 * 解析第一个文档并构造配置对象, 安装了 {@link YamlBoxMetrics} 时记录耗时.
+	 * @param reader {@link Reader}
+	 * @param root 配置对象的根路径
+	 * @param options 加载选项
+	 * @param source 数据来源的文件, 可以为 {@code null}.
+	 * @param size 输入的大小, 未知时为 {@code -1}.
+	 * @return 配置对象
+	 */
+	private YamlConfig parse(Reader reader, String root, LoadOptions options, String source, long size) {
+		YamlBoxMetrics metrics = this.metrics;
+		long start = metrics == null ? 0L : System.nanoTime();
+		Map<String, Object> map = options.isLazy() ? loadLazy(reader) : getYaml().load(reader);
+		YamlConfig config = createConfig(map, root, options);
+		if (metrics != null) {
+			loaded(metrics, start, root, source, size, map, options.isLazy());
+		}
+		return config;
+	}
+
+	private static void loaded(YamlBoxMetrics metrics, long start, String root, String source, long size,
+			Object tree, boolean lazy) {
+		long duration = System.nanoTime() - start;
+		// 延迟构造的树在计数时会被构造, 因此不计数
+		metrics.onLoad(new LoadEvent(YamlConfig.class, root, source, duration, size, lazy ? -1 : countNodes(tree)));
+	}
+
+	/**
+	 * 统计子节点数, 不含节点本身.
+	 */
+	private static int countNodes(Object obj) {
+		int nodes = 0;
+		if (obj instanceof Map) {
+			for (Object value : ((Map<?, ?>) obj).values()) {
+				nodes += 1 + countNodes(value);
+			}
+		} else if (obj instanceof List) {
+			for (Object element : (List<?>) obj) {
+				nodes += 1 + countNodes(element);
+			}
+		}
+		return nodes;
+	}
+
+	/**
+	 * 解析第一个文档, 延迟构造标量.
+	 * @param reader {@link Reader}
+	 * @return 解析结果, 空文档为 {@code null}.
+	 * @see {@link EventReader#readLazy()}
+	 */
+	@SuppressWarnings("unchecked")
+	protected Map<String, Object> loadLazy(Reader reader) {
+		EventReader events = createEventReader(getYaml().parse(reader));
+		if (!events.nextDocument() || events.peekIs(Event.ID.DocumentEnd)) {
+			return null;
+		}
+		return (Map<String, Object>) events.readLazy();
+	}
+
+	/**
+	 * 根据加载选项包装解析结果.
+	 * @param map 解析结果, 空文档为 {@code null}.
+	 * @param root 配置对象的根路径
+	 * @param options 加载选项
+	 * @return 配置对象
+	 */
+	protected YamlConfig createConfig(Map<String, Object> map, String root, LoadOptions options) {
+		YamlConfig yamlConfig = new YamlConfig(map == null ? new LinkedHashMap<>() : map, root);
+		if (options.isIndexed()) {
+			yamlConfig.enableIndex();
+		}
+		if (options.isConversionCached()) {
+			yamlConfig.enableConversionCache();
+		}
 		return yamlConfig;
 	}
 
 	/**
-	 * 以Yaml格式写入当前节点数据.
+	 * 从Reader流式加载对象, 不构造完整的配置对象, 与对象无关的节点会被跳过.
+	 * 适用于从大型配置文件中读取少量设置.
+	 * @param reader {@link Reader}
+	 * @param clazz 对象的类型
+	 * @return 对象
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 * @see {@link StreamingBinder}
+	 */
+	public <T extends YamlSerializable> T load(Reader reader, Class<T> clazz)
+			throws InstantiationException, IllegalAccessException {
+		return load(reader, clazz, "");
+	}
+
+	/**
+	 * 从Reader流式加载对象, 不构造完整的配置对象, 与对象无关的节点会被跳过.
+	 * @param reader {@link Reader}
+	 * @param clazz 对象的类型
+	 * @param root 对象的根路径
+	 * @return 对象
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 * @see {@link StreamingBinder}
+	 */
+	public <T extends YamlSerializable> T load(@NonNull Reader reader, @NonNull Class<T> clazz, String root)
+			throws InstantiationException, IllegalAccessException {
+		YamlBoxMetrics metrics = this.metrics;
+		if (metrics == null) {
+			return new StreamingBinder(getEntryLoader()).bindDocument(createEventReader(getYaml().parse(reader)),
+					clazz, root);
+		}
+		long start = System.nanoTime();
+		T instance = new StreamingBinder(getEntryLoader()).bindDocument(createEventReader(getYaml().parse(reader)),
+				clazz, root);
+		metrics.onLoad(new LoadEvent(clazz, root, null, System.nanoTime() - start, -1L, -1));
+		return instance;
+	}
+
+	/**
+	 * 从Reader惰性加载多文档Yaml流({@code ---} 分隔), 每次迭代只解析一个文档. 空文档加载为空的配置对象.
+	 * @param reader {@link Reader}, 关闭迭代器时关闭.
+	 * @return 迭代器
+	 * @see {@link DocumentIterator}
+	 */
+	public DocumentIterator<YamlConfig> loadAll(Reader reader) {
+		return loadAll(reader, LoadOptions.defaults());
+	}
+
+	/**
+	 * 从Reader惰性加载多文档Yaml流({@code ---} 分隔), 每次迭代只解析一个文档. 空文档加载为空的配置对象.
+	 * @param reader {@link Reader}, 关闭迭代器时关闭.
+	 * @param options 加载选项
+	 * @return 迭代器, 文档不是映射时迭代抛出 {@link YAMLException}.
+	 * @see {@link DocumentIterator}
+	 */
+	public DocumentIterator<YamlConfig> loadAll(@NonNull Reader reader, @NonNull LoadOptions options) {
+		return new DocumentIterator<>(parseStream(reader), createLoaderOptions(), reader, codePointLimit, events -> {
+			Object obj = null;
+			if (!events.peekIs(Event.ID.DocumentEnd)) {
+				obj = options.isLazy() ? events.readLazy() : events.read();
+			}
+			if (obj != null && !(obj instanceof Map)) {
+				throw new YAMLException("CANNOT load a non-mapping document as YamlConfig.");
+			}
+			@SuppressWarnings("unchecked")
+			Map<String, Object> map = (Map<String, Object>) obj;
+			return createConfig(map, "", options);
+		});
+	}
+
+	/**
+	 * 解析多文档流. SnakeYAML 的字符数限制作用于整个流而不是单个文档, 因此这里取消该限制,
+	 * 改由 {@link DocumentIterator} 对每个文档分别检查 {@link #setCodePointLimit(int)}.
+	 * @param reader {@link Reader}
+	 * @return 解析事件
+	 */
+	private Iterable<Event> parseStream(Reader reader) {
+		LoaderOptions options = createLoaderOptions();
+		options.setCodePointLimit(Integer.MAX_VALUE);
+		return new Yaml(options).parse(reader);
+	}
+
+	/**
+	 * 从Reader惰性加载多文档Yaml流, 每个文档流式绑定为一个对象, 与对象无关的节点会被跳过.
+	 * @param reader {@link Reader}, 关闭迭代器时关闭.
+	 * @param clazz 对象的类型
+	 * @return 迭代器
+	 * @see {@link #load(Reader, Class)}
+	 */
+	public <T extends YamlSerializable> DocumentIterator<T> loadAll(Reader reader, Class<T> clazz) {
+		return loadAll(reader, clazz, "");
+	}
+
+	/**
+	 * 从Reader惰性加载多文档Yaml流, 每个文档流式绑定为一个对象, 与对象无关的节点会被跳过.
+	 * @param reader {@link Reader}, 关闭迭代器时关闭.
+	 * @param clazz 对象的类型
+	 * @param root 对象的根路径
+	 * @return 迭代器, 无法创建对象时迭代抛出 {@link IllegalStateException}.
+	 * @see {@link #load(Reader, Class, String)}
+	 */
+	public <T extends YamlSerializable> DocumentIterator<T> loadAll(@NonNull Reader reader, @NonNull Class<T> clazz,
+			String root) {
+		StreamingBinder binder = new StreamingBinder(getEntryLoader());
+		IFieldSelector selector = getEntryLoader().getFieldSelector(clazz);
+		return new DocumentIterator<>(parseStream(reader), createLoaderOptions(), reader, codePointLimit, events -> {
+			try {
+				return binder.bind(events.peekIs(Event.ID.DocumentEnd) ? null : events, clazz, selector, root);
+			} catch (InstantiationException | IllegalAccessException e) {
+				throw new IllegalStateException("CANNOT create instance of " + clazz.getName(), e);
+			}
+		});
+	}
+
+	/**
+	 * 从Reader加载配置对象, 只保留反序列化指定类所需的节点, 其余节点在解析时被跳过, 不会构造.
+	 * @param reader {@link Reader}
+	 * @param clazz 对象的类型
+	 * @return 裁剪后的配置对象
+	 * @see {@link Projection}
+	 */
+	public YamlConfig loadProjection(Reader reader, Class<? extends YamlSerializable> clazz) {
+		return loadProjection(reader, clazz, "");
+	}
+
+	/**
+	 * 从Reader加载配置对象, 只保留反序列化指定类所需的节点, 其余节点在解析时被跳过, 不会构造.
+	 * @param reader {@link Reader}
+	 * @param clazz 对象的类型
+	 * @param root 配置对象的根路径
+	 * @return 裁剪后的配置对象
+	 * @see {@link Projection}
+	 */
+	@SuppressWarnings("unchecked")
+	public YamlConfig loadProjection(@NonNull Reader reader, @NonNull Class<? extends YamlSerializable> clazz,
+			String root) {
+		EntryLoader loader = getEntryLoader();
+		Projection projection = Projection.of(loader, clazz, loader.getFieldSelector(clazz));
+		EventReader events = createEventReader(getYaml().parse(reader));
+		Map<String, Object> map = null;
+		if (events.nextDocument() && !events.peekIs(Event.ID.DocumentEnd)) {
+			map = (Map<String, Object>) projection.read(events);
+		}
+		return createConfig(map, root, LoadOptions.defaults());
+	}
+
+	/**
+	 * 获取注册为 {@link EntryLoader#ENTRY} 的对象加载器.
+	 * @return 对象加载器
+	 */
+	protected EntryLoader getEntryLoader() {
+		return (EntryLoader) getLoader(EntryLoader.ENTRY).filter(EntryLoader.class::isInstance)
+				.orElseThrow(() -> new NullPointerException("CANNOT find entry loader."));
+	}
+
+	/**
+	 * 并行加载多个文件, 并行数为可用处理器数量.
+	 * @param paths 文件, 以UTF-8编码读取.
+	 * @param executor 执行加载任务的线程池
+	 * @return 加载结果, 每个配置对象的根路径为文件路径.
+	 * @throws InterruptedException 如果等待时线程被中断
+	 * @see {@link #loadAll(Collection, Executor, int)}
+	 */
+	public BulkLoadResult<YamlConfig> loadAll(Collection<Path> paths, Executor executor) throws InterruptedException {
+		return loadAll(paths, executor, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * 并行加载多个文件. 单个文件失败不会中断其他文件, 异常记录在结果中.
+	 * <p>每个文件与 {@link #load(Path)} 一样以内存映射方式读取, 并受 {@link #getMaxFileSize()} 限制.
+	 * @param paths 文件, 以UTF-8编码读取.
+	 * @param executor 执行加载任务的线程池
+	 * @param parallelism 最大并行数, 即同时提交到线程池的任务数.
+	 * @return 加载结果, 每个配置对象的根路径为文件路径.
+	 * @throws InterruptedException 如果等待时线程被中断
+	 */
+	public BulkLoadResult<YamlConfig> loadAll(@NonNull Collection<Path> paths, @NonNull Executor executor,
+			int parallelism) throws InterruptedException {
+		return loadAll0(paths, executor, parallelism, null);
+	}
+
+	/**
+	 * 并行加载多个文件并反序列化为对象, 并行数为可用处理器数量.
+	 * @param paths 文件, 以UTF-8编码读取.
+	 * @param clazz 对象的类型
+	 * @param executor 执行加载任务的线程池
+	 * @return 加载结果
+	 * @throws InterruptedException 如果等待时线程被中断
+	 * @see {@link #loadAll(Collection, Class, Executor, int)}
+	 */
+	public <T extends YamlSerializable> BulkLoadResult<T> loadAll(Collection<Path> paths, Class<T> clazz,
+			Executor executor) throws InterruptedException {
+		return loadAll(paths, clazz, executor, Runtime.getRuntime().availableProcessors());
+	}
+
+	/**
+	 * 并行加载多个文件并反序列化为对象. 单个文件失败不会中断其他文件, 异常记录在结果中.
+	 * <p>每个文件与 {@link #load(Path)} 一样以内存映射方式读取, 并受 {@link #getMaxFileSize()} 限制.
+	 * @param paths 文件, 以UTF-8编码读取.
+	 * @param clazz 对象的类型
+	 * @param executor 执行加载任务的线程池
+	 * @param parallelism 最大并行数, 即同时提交到线程池的任务数.
+	 * @return 加载结果
+	 * @throws InterruptedException 如果等待时线程被中断
+	 */
+	public <T extends YamlSerializable> BulkLoadResult<T> loadAll(@NonNull Collection<Path> paths,
+			@NonNull Class<T> clazz, @NonNull Executor executor, int parallelism) throws InterruptedException {
+		EntryLoader loader = getEntryLoader();
+		IFieldSelector selector = loader.getFieldSelector(clazz);
+		return loadAll0(paths, executor, parallelism,
+				(config, path) -> loader.resolve(clazz, selector, config, config.getPath()));
+	}
+
+	private <T> BulkLoadResult<T> loadAll0(Collection<Path> paths, Executor executor, int parallelism,
+			BulkLoader.Binder<T> binder) throws InterruptedException {
+		if (parallelism < 1) {
+			throw new IllegalArgumentException("parallelism must be positive: " + parallelism);
+		}
+		return new BulkLoader<>(this, paths.toArray(new Path[0]), binder).run(executor, parallelism);
+	}
+
+	/**
+	 * 以Yaml格式写入当前节点数据. 数据以事件的形式逐个节点写入, 不构造完整的字符串. 不会关闭 {@code writer}.
 	 * @param config 配置对象
 	 * @param writer {@link Writer}
 	 * @throws IOException 如果出现IO异常.
 	 */
-	public void dump(YamlConfig config, Writer writer) throws IOException {
-		String yamlString = yaml.dumpAsMap(config);
-		writer.write(yamlString);
+	public void dump(@NonNull YamlConfig config, @NonNull Writer writer) throws IOException {
+		YamlBoxMetrics metrics = this.metrics;
+		long start = metrics == null ? 0L : System.nanoTime();
+		CountingWriter counting = metrics == null ? null : new CountingWriter(writer);
+		try (EventWriter events = new EventWriter(counting == null ? writer : counting, createDumperOptions())) {
+			events.startDocument();
+			events.write(config.asMap());
+			events.endDocument();
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (metrics != null) {
+			metrics.onDump(new DumpEvent(YamlConfig.class, config.getPath(), System.nanoTime() - start,
+					counting.count));
+		}
+	}
+
+	/**
+	 * 以Yaml格式(UTF-8编码)写入当前节点数据. 不会关闭 {@code out}.
+	 * @param config 配置对象
+	 * @param out 输出流
+	 * @throws IOException 如果出现IO异常.
+	 */
+	public void dump(@NonNull YamlConfig config, @NonNull OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		dump(config, writer);
+		writer.flush();
 	}
 
 	/**
@@ -166,10 +829,102 @@ public class YamlBox {
 	 * @return 字符串
 	 */
 	public String dumpAsString(YamlConfig config) {
-		return yaml.dumpAsMap(config);
+		StringWriter writer = new StringWriter();
+		try {
+			dump(config, writer);
+		} catch (IOException e) {
+			// StringWriter 不会抛出IO异常
+			throw new UncheckedIOException(e);
+		}
+		return writer.toString();
+	}
+
+	/**
+	 * 将对象按字段绑定写为Yaml, 结构与 {@link EntryLoader#store(Class, IFieldSelector, YamlSerializable, String)} 相同,
+	 * 但直接写入 {@code writer}, 不构造中间的映射. 不会关闭 {@code writer}.
+	 * @param obj 对象
+	 * @param writer {@link Writer}
+	 * @throws IOException 如果出现IO异常.
+	 * @see {@link StreamingWriter}
+	 */
+	public void dump(@NonNull YamlSerializable obj, @NonNull Writer writer) throws IOException {
+		YamlBoxMetrics metrics = this.metrics;
+		long start = metrics == null ? 0L : System.nanoTime();
+		CountingWriter counting = metrics == null ? null : new CountingWriter(writer);
+		try (EventWriter events = new EventWriter(counting == null ? writer : counting, createDumperOptions())) {
+			new StreamingWriter(getEntryLoader()).writeDocument(events, obj, "");
+		} catch (UncheckedIOException e) {
+			throw e.getCause();
+		}
+		if (metrics != null) {
+			metrics.onDump(new DumpEvent(obj.getClass(), "", System.nanoTime() - start, counting.count));
+		}
+	}
+
+	/**
+	 * 将对象按字段绑定写为Yaml(UTF-8编码). 不会关闭 {@code out}.
+	 * @param obj 对象
+	 * @param out 输出流
+	 * @throws IOException 如果出现IO异常.
+	 */
+	public void dump(@NonNull YamlSerializable obj, @NonNull OutputStream out) throws IOException {
+		Writer writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+		dump(obj, writer);
+		writer.flush();
+	}
+
+	/**
+	 * 创建 {@code dump} 系列方法使用的输出选项, 默认为块格式. 子类可以覆盖以改变输出格式.
+	 * @return 输出选项
+	 */
+	protected DumperOptions createDumperOptions() {
+		DumperOptions options = new DumperOptions();
+		options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+		return options;
+	}
+
+	/**
+	 * 统计写入的字符数, 仅在安装了 {@link YamlBoxMetrics} 时使用.
+	 */
+	private static final class CountingWriter extends FilterWriter {
+		private long count;
+
+		CountingWriter(Writer out) {
+			super(out);
+		}
+
+		@Override
+		public void write(int c) throws IOException {
+			out.write(c);
+			count++;
+		}
+
+		@Override
+		public void write(char[] cbuf, int off, int len) throws IOException {
+			out.write(cbuf, off, len);
+			count += len;
+		}
+
+		@Override
+		public void write(String str, int off, int len) throws IOException {
+			out.write(str, off, len);
+			count += len;
+		}
+	}
+
+	/**
+	 * 当前线程的 {@link Yaml} 实例及其创建时的解析选项版本.
+	 */
+	private static final class ThreadYaml {
+		private final int generation;
+		private final Yaml yaml;
+
+		ThreadYaml(int generation, Yaml yaml) {
+			this.generation = generation;
+			this.yaml = yaml;
+		}
 	}
 
-	
 	/**
 	 * 获取默认加载器.
 	 * @return 加载器
@@ -0,0 +1,191 @@
+package net.colors_wind.yamlbox.collect;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * 以 {@code boolean[]} 保存元素的列表, 每个元素只占用 1个字节, 不创建包装对象.
+ * 可通过 {@code getBoolean}, {@code addBoolean} 等方法直接读写基本类型; 作为 {@link List} 使用时元素会被装箱, 且不能包含 {@code null}.
+ * <p>作为字段类型时由 {@link net.colors_wind.yamlbox.loader.UniversalLoader} 直接转换列表的每个元素, 不经过装箱的中间列表.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class BooleanList extends PrimitiveList<Boolean> {
+	private static final boolean[] EMPTY = {};
+	private boolean[] elements;
+
+	/**
+	 * 创建空列表.
+	 */
+	public BooleanList() {
+		this.elements = EMPTY;
+	}
+
+	/**
+	 * 创建空列表.
+	 * @param capacity 初始容量
+	 */
+	public BooleanList(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("capacity must not be negative: " + capacity);
+		}
+		this.elements = capacity == 0 ? EMPTY : new boolean[capacity];
+	}
+
+	/**
+	 * 创建包含指定元素的列表, 数组会被复制.
+	 * @param values 元素
+	 * @return 列表
+	 */
+	public static BooleanList of(boolean... values) {
+		BooleanList list = new BooleanList(values.length);
+		System.arraycopy(values, 0, list.elements, 0, values.length);
+		list.size = values.length;
+		return list;
+	}
+
+	/**
+	 * @return 列表的副本
+	 */
+	public BooleanList copy() {
+		BooleanList list = new BooleanList(size);
+		System.arraycopy(elements, 0, list.elements, 0, size);
+		list.size = size;
+		return list;
+	}
+
+	public boolean getBoolean(int index) {
+		checkIndex(index);
+		return elements[index];
+	}
+
+	/**
+	 * @return 原来的元素
+	 */
+	public boolean setBoolean(int index, boolean value) {
+		checkIndex(index);
+		boolean old = elements[index];
+		elements[index] = value;
+		return old;
+	}
+
+	public void addBoolean(boolean value) {
+		ensureCapacity(size + 1);
+		elements[size++] = value;
+		modCount++;
+	}
+
+	public void addBoolean(int index, boolean value) {
+		checkPosition(index);
+		ensureCapacity(size + 1);
+		System.arraycopy(elements, index, elements, index + 1, size - index);
+		elements[index] = value;
+		size++;
+		modCount++;
+	}
+
+	/**
+	 * @return 被移除的元素
+	 */
+	public boolean removeBoolean(int index) {
+		checkIndex(index);
+		boolean old = elements[index];
+		System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+		size--;
+		modCount++;
+		return old;
+	}
+
+	/**
+	 * @return 元素第一次出现的位置, 若不存在, 返回 {@code -1}.
+	 */
+	public int indexOfBoolean(boolean value) {
+		for (int i = 0; i < size; i++) {
+			if (elements[i] == value) {
+				return i;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * @return 包含全部元素的新数组
+	 */
+	public boolean[] toBooleanArray() {
+		return Arrays.copyOf(elements, size);
+	}
+
+	/**
+	 * 确保容量至少为指定值.
+	 * @param minCapacity 最小容量
+	 */
+	public void ensureCapacity(int minCapacity) {
+		if (minCapacity > elements.length) {
+			elements = Arrays.copyOf(elements, grow(elements.length, minCapacity));
+		}
+	}
+
+	/**
+	 * 将容量缩减为当前的元素数.
+	 */
+	public void trimToSize() {
+		if (size < elements.length) {
+			elements = size == 0 ? EMPTY : Arrays.copyOf(elements, size);
+		}
+	}
+
+	@Override
+	public Boolean get(int index) {
+		return getBoolean(index);
+	}
+
+	@Override
+	public Boolean set(int index, Boolean element) {
+		return setBoolean(index, element);
+	}
+
+	@Override
+	public void add(int index, Boolean element) {
+		addBoolean(index, element);
+	}
+
+	@Override
+	public Boolean remove(int index) {
+		return removeBoolean(index);
+	}
+
+	@Override
+	public int indexOf(Object o) {
+		return o instanceof Boolean ? indexOfBoolean((Boolean) o) : -1;
+	}
+
+	@Override
+	public int hashCode() {
+		int hash = 1;
+		for (int i = 0; i < size; i++) {
+			hash = 31 * hash + Boolean.hashCode(elements[i]);
+		}
+		return hash;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (obj == this) {
+			return true;
+		} else if (!(obj instanceof BooleanList)) {
+			return super.equals(obj);
+		}
+		BooleanList other = (BooleanList) obj;
+		if (other.size != size) {
+			return false;
+		}
+		for (int i = 0; i < size; i++) {
+			if (!(elements[i] == other.elements[i])) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+}
@@ -0,0 +1,66 @@
+package net.colors_wind.yamlbox.collect;
+
+import java.util.AbstractList;
+import java.util.RandomAccess;
+
+/**
+ * 以基本类型数组保存元素的列表的公共部分. 与 {@link java.util.ArrayList} 一样不是线程安全的, 不能包含 {@code null}.
+ * @param <E> 元素的包装类型
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+abstract class PrimitiveList<E> extends AbstractList<E> implements RandomAccess {
+	protected int size;
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public boolean contains(Object o) {
+		return indexOf(o) >= 0;
+	}
+
+	@Override
+	public void clear() {
+		size = 0;
+		modCount++;
+	}
+
+	protected void checkIndex(int index) {
+		if (index < 0 || index >= size) {
+			throw new IndexOutOfBoundsException(outOfBounds(index));
+		}
+	}
+
+	protected void checkPosition(int index) {
+		if (index < 0 || index > size) {
+			throw new IndexOutOfBoundsException(outOfBounds(index));
+		}
+	}
+
+	private String outOfBounds(int index) {
+		return new StringBuilder("Index: ").append(index).append(", Size: ").append(size).toString();
+	}
+
+	/**
+	 * 计算扩容后的容量, 与 {@link java.util.ArrayList} 相同按1.5倍增长.
+	 * @param capacity 当前容量
+	 * @param minCapacity 所需的最小容量
+	 * @return 新的容量
+	 */
+	protected static int grow(int capacity, int minCapacity) {
+		if (minCapacity < 0) {
+			throw new OutOfMemoryError();
+		}
+		int newCapacity = capacity + (capacity >> 1);
+		// 溢出时 newCapacity 为负数, 同样取所需的最小容量
+		if (newCapacity < minCapacity) {
+			newCapacity = Math.max(minCapacity, 8);
+		}
+		return newCapacity;
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * YamlBox 基本类型的紧凑集合.
+ */
+package net.colors_wind.yamlbox.collect;
\ No newline at end of file
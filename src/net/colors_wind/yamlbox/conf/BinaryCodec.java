@@ -0,0 +1,410 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.math.BigInteger;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Date;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import lombok.NonNull;
+
+/**
+ * 配置树的二进制编码. 比Yaml文本紧凑, 解码时无需词法和语法分析.
+ * <p>格式依次为: 魔数 {@code YBOX}, 版本号, 字符串表, 节点数据长度, 节点数据.
+ * 每个字符串在字符串表中只出现一次, 节点中以序号引用; 每个节点以一个字节的类型标记开头,
+ * 长度, 序号和整数使用变长编码.
+ * <p>支持 SnakeYAML 安全构造器产生的类型: 映射, 列表, 集合, 字符串, 布尔值, 整数, 浮点数, 二进制数据和时间戳.
+ * 通过锚点共享的节点会被展开为独立的副本; 递归的节点无法编码.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class BinaryCodec {
+	private static final byte[] MAGIC = { 'Y', 'B', 'O', 'X' };
+	private static final int VERSION = 1;
+
+	private static final byte NULL = 0;
+	private static final byte FALSE = 1;
+	private static final byte TRUE = 2;
+	private static final byte INT = 3;
+	private static final byte LONG = 4;
+	private static final byte BIG_INTEGER = 5;
+	private static final byte FLOAT = 6;
+	private static final byte DOUBLE = 7;
+	private static final byte STRING = 8;
+	private static final byte BINARY = 9;
+	private static final byte DATE = 10;
+	private static final byte MAP = 11;
+	private static final byte LIST = 12;
+	private static final byte SET = 13;
+
+	private BinaryCodec() {
+	}
+
+	/**
+	 * 编码配置节点的数据.
+	 * @param section 配置节点
+	 * @return 二进制数据
+	 * @throws IOException 如果节点中存在无法编码的对象
+	 */
+	public static byte[] encode(@NonNull ConfigSection section) throws IOException {
+		return encode(section.elements);
+	}
+
+	/**
+	 * 编码配置节点的数据.
+	 * @param section 配置节点
+	 * @param out 输出流, 不会关闭.
+	 * @throws IOException 如果出现IO异常, 或节点中存在无法编码的对象.
+	 */
+	public static void encode(@NonNull ConfigSection section, @NonNull OutputStream out) throws IOException {
+		out.write(encode(section.elements));
+	}
+
+	/**
+	 * 编码一棵由映射, 列表和标量组成的树.
+	 * @param tree 树的根节点
+	 * @return 二进制数据
+	 * @throws IOException 如果树中存在无法编码的对象
+	 */
+	public static byte[] encode(Object tree) throws IOException {
+		Encoder encoder = new Encoder();
+		encoder.write(tree);
+		return encoder.toByteArray();
+	}
+
+	/**
+	 * 解码二进制数据.
+	 * @param in 输入流, 读取到流末尾, 不会关闭.
+	 * @return 树的根节点, 映射为 {@link LinkedHashMap}, 列表为 {@link ArrayList}.
+	 * @throws IOException 如果出现IO异常, 或数据格式错误.
+	 */
+	public static Object decode(@NonNull InputStream in) throws IOException {
+		byte[] buf = new byte[8192];
+		int size = 0;
+		for (int n; (n = in.read(buf, size, buf.length - size)) != -1;) {
+			size += n;
+			if (size == buf.length) {
+				buf = Arrays.copyOf(buf, buf.length << 1);
+			}
+		}
+		return decode(ByteBuffer.wrap(buf, 0, size));
+	}
+
+	/**
+	 * 解码二进制数据.
+	 * @param data 二进制数据
+	 * @return 树的根节点, 映射为 {@link LinkedHashMap}, 列表为 {@link ArrayList}.
+	 * @throws IOException 如果数据格式错误
+	 */
+	public static Object decode(@NonNull byte[] data) throws IOException {
+		return decode(ByteBuffer.wrap(data));
+	}
+
+	/**
+	 * 从缓冲区的当前位置解码二进制数据.
+	 * @param buffer 缓冲区, 解码后位置移动到数据末尾.
+	 * @return 树的根节点, 映射为 {@link LinkedHashMap}, 列表为 {@link ArrayList}.
+	 * @throws IOException 如果数据格式错误
+	 */
+	public static Object decode(@NonNull ByteBuffer buffer) throws IOException {
+		try {
+			return new Decoder(buffer).read();
+		} catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalArgumentException e) {
+			throw new IOException("CANNOT decode truncated or corrupted data.", e);
+		}
+	}
+
+	private static final class Encoder {
+		private final Map<String, Integer> strings = new HashMap<>();
+		private final List<String> table = new ArrayList<>();
+		private final Set<Object> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+		private byte[] body = new byte[1024];
+		private int size;
+
+		void write(Object obj) throws IOException {
+			if (obj == null) {
+				put(NULL);
+			} else if (obj instanceof String) {
+				put(STRING);
+				putVarint(stringIndex((String) obj));
+			} else if (obj instanceof Boolean) {
+				put((Boolean) obj ? TRUE : FALSE);
+			} else if (obj instanceof Integer) {
+				put(INT);
+				putVarint(zigzag((Integer) obj));
+			} else if (obj instanceof Long) {
+				put(LONG);
+				putVarint(zigzag((Long) obj));
+			} else if (obj instanceof Double) {
+				put(DOUBLE);
+				putFixed(Double.doubleToRawLongBits((Double) obj), 8);
+			} else if (obj instanceof Map) {
+				enter(obj);
+				Map<?, ?> map = (Map<?, ?>) obj;
+				put(MAP);
+				putVarint(map.size());
+				for (Entry<?, ?> entry : map.entrySet()) {
+					write(entry.getKey());
+					write(entry.getValue());
+				}
+				visiting.remove(obj);
+			} else if (obj instanceof List || obj instanceof Set) {
+				enter(obj);
+				Collection<?> collection = (Collection<?>) obj;
+				put(obj instanceof List ? LIST : SET);
+				putVarint(collection.size());
+				for (Object element : collection) {
+					write(element);
+				}
+				visiting.remove(obj);
+			} else if (obj instanceof BigInteger) {
+				put(BIG_INTEGER);
+				putBytes(((BigInteger) obj).toByteArray());
+			} else if (obj instanceof Float) {
+				put(FLOAT);
+				putFixed(Float.floatToRawIntBits((Float) obj), 4);
+			} else if (obj instanceof byte[]) {
+				put(BINARY);
+				putBytes((byte[]) obj);
+			} else if (obj instanceof Date) {
+				put(DATE);
+				putVarint(zigzag(((Date) obj).getTime()));
+			} else {
+				throw new IOException("CANNOT encode object of type " + obj.getClass().getName());
+			}
+		}
+
+		private void enter(Object obj) throws IOException {
+			if (!visiting.add(obj)) {
+				throw new IOException("CANNOT encode recursive node.");
+			}
+		}
+
+		private int stringIndex(String str) {
+			Integer index = strings.get(str);
+			if (index == null) {
+				index = table.size();
+				strings.put(str, index);
+				table.add(str);
+			}
+			return index;
+		}
+
+		private void ensure(int extra) {
+			if (size + extra > body.length) {
+				body = Arrays.copyOf(body, Math.max(body.length << 1, size + extra));
+			}
+		}
+
+		private void put(byte b) {
+			ensure(1);
+			body[size++] = b;
+		}
+
+		private void putVarint(long value) {
+			ensure(10);
+			while ((value & ~0x7FL) != 0) {
+				body[size++] = (byte) ((value & 0x7F) | 0x80);
+				value >>>= 7;
+			}
+			body[size++] = (byte) value;
+		}
+
+		private void putFixed(long value, int bytes) {
+			ensure(bytes);
+			for (int shift = (bytes - 1) << 3; shift >= 0; shift -= 8) {
+				body[size++] = (byte) (value >>> shift);
+			}
+		}
+
+		private void putBytes(byte[] bytes) {
+			putVarint(bytes.length);
+			ensure(bytes.length);
+			System.arraycopy(bytes, 0, body, size, bytes.length);
+			size += bytes.length;
+		}
+
+		/**
+		 * 在节点数据前加上文件头和字符串表.
+		 */
+		byte[] toByteArray() {
+			byte[] treeBody = body;
+			int treeSize = size;
+			body = new byte[MAGIC.length + table.size() * 16 + 20];
+			size = 0;
+			for (byte b : MAGIC) {
+				put(b);
+			}
+			putVarint(VERSION);
+			putVarint(table.size());
+			for (String str : table) {
+				putBytes(str.getBytes(StandardCharsets.UTF_8));
+			}
+			putVarint(treeSize);
+			byte[] result = Arrays.copyOf(body, size + treeSize);
+			System.arraycopy(treeBody, 0, result, size, treeSize);
+			return result;
+		}
+
+		private static long zigzag(long value) {
+			return (value << 1) ^ (value >> 63);
+		}
+
+	}
+
+	private static final class Decoder {
+		private final ByteBuffer buffer;
+		private String[] table;
+
+		Decoder(ByteBuffer buffer) {
+			this.buffer = buffer;
+		}
+
+		Object read() throws IOException {
+			for (byte b : MAGIC) {
+				if (buffer.get() != b) {
+					throw new IOException("CANNOT decode data without YamlBox binary header.");
+				}
+			}
+			long version = getVarint();
+			if (version != VERSION) {
+				throw new IOException("CANNOT decode binary version " + version);
+			}
+			table = new String[getLength()];
+			for (int i = 0; i < table.length; i++) {
+				table[i] = getString(getLength());
+			}
+			int length = getLength();
+			int end = buffer.position() + length;
+			Object tree = readNode();
+			if (buffer.position() != end) {
+				throw new IOException("CANNOT decode corrupted data: length mismatch.");
+			}
+			return tree;
+		}
+
+		private Object readNode() throws IOException {
+			byte tag = buffer.get();
+			switch (tag) {
+			case NULL:
+				return null;
+			case FALSE:
+				return Boolean.FALSE;
+			case TRUE:
+				return Boolean.TRUE;
+			case INT:
+				return (int) unzigzag(getVarint());
+			case LONG:
+				return unzigzag(getVarint());
+			case BIG_INTEGER:
+				return new BigInteger(getArray(getLength()));
+			case FLOAT:
+				return Float.intBitsToFloat(buffer.getInt());
+			case DOUBLE:
+				return Double.longBitsToDouble(buffer.getLong());
+			case STRING:
+				return getTableString();
+			case BINARY:
+				return getArray(getLength());
+			case DATE:
+				return new Date(unzigzag(getVarint()));
+			case MAP: {
+				int size = getLength();
+				Map<Object, Object> map = new LinkedHashMap<>(capacity(size));
+				for (int i = 0; i < size; i++) {
+					map.put(readNode(), readNode());
+				}
+				return map;
+			}
+			case LIST: {
+				int size = getLength();
+				List<Object> list = new ArrayList<>(Math.min(size, buffer.remaining()));
+				for (int i = 0; i < size; i++) {
+					list.add(readNode());
+				}
+				return list;
+			}
+			case SET: {
+				int size = getLength();
+				Set<Object> set = new LinkedHashSet<>(capacity(size));
+				for (int i = 0; i < size; i++) {
+					set.add(readNode());
+				}
+				return set;
+			}
+			default:
+				throw new IOException("CANNOT decode unknown tag " + tag);
+			}
+		}
+
+		private int capacity(int size) {
+			// 每个元素至少占用一个字节, 避免错误的长度导致过大的分配
+			return Math.min(size, buffer.remaining()) * 4 / 3 + 1;
+		}
+
+		private long getVarint() throws IOException {
+			long value = 0;
+			for (int shift = 0; shift < 64; shift += 7) {
+				byte b = buffer.get();
+				value |= (long) (b & 0x7F) << shift;
+				if (b >= 0) {
+					return value;
+				}
+			}
+			throw new IOException("CANNOT decode corrupted data: malformed varint.");
+		}
+
+		private int getLength() throws IOException {
+			long length = getVarint();
+			if (length < 0 || length > buffer.remaining()) {
+				throw new IOException("CANNOT decode corrupted data: illegal length " + length);
+			}
+			return (int) length;
+		}
+
+		private String getTableString() throws IOException {
+			long index = getVarint();
+			if (index < 0 || index >= table.length) {
+				throw new IOException("CANNOT decode corrupted data: illegal string index " + index);
+			}
+			return table[(int) index];
+		}
+
+		private String getString(int length) {
+			if (!buffer.hasArray()) {
+				return new String(getArray(length), StandardCharsets.UTF_8);
+			}
+			int position = buffer.position();
+			buffer.position(position + length);
+			return new String(buffer.array(), buffer.arrayOffset() + position, length, StandardCharsets.UTF_8);
+		}
+
+		private byte[] getArray(int length) {
+			byte[] bytes = new byte[length];
+			buffer.get(bytes);
+			return bytes;
+		}
+
+		private static long unzigzag(long value) {
+			return (value >>> 1) ^ -(value & 1);
+		}
+
+	}
+
+}
@@ -0,0 +1,167 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+
+import lombok.NonNull;
+
+/**
+ * 两棵配置树之间发生变化的节点, 以树的形式组织. 映射会逐个键比较,
+ * 其他节点(标量, 列表等)只作为整体比较, 发生变化时标记为被替换.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class ChangeSet {
+	/**
+	 * 没有任何变化.
+	 */
+	public static final ChangeSet EMPTY = new ChangeSet(false, Collections.emptyMap());
+	/**
+	 * 节点整体被替换.
+	 */
+	public static final ChangeSet REPLACED = new ChangeSet(true, Collections.emptyMap());
+
+	private final boolean replaced;
+	private final Map<String, ChangeSet> children;
+
+	private ChangeSet(boolean replaced, Map<String, ChangeSet> children) {
+		this.replaced = replaced;
+		this.children = children;
+	}
+
+	/**
+	 * 比较两个配置节点的数据.
+	 * @param oldSection 原配置节点
+	 * @param newSection 新配置节点
+	 * @return 变化
+	 */
+	public static ChangeSet diff(@NonNull ConfigSection oldSection, @NonNull ConfigSection newSection) {
+		return diff(oldSection.elements, newSection.elements);
+	}
+
+	/**
+	 * 比较两棵由映射, 列表和标量组成的树.
+	 * @param oldTree 原树
+	 * @param newTree 新树
+	 * @return 变化
+	 */
+	public static ChangeSet diff(Object oldTree, Object newTree) {
+		if (oldTree == newTree) {
+			return EMPTY;
+		}
+		if (!(oldTree instanceof Map) || !(newTree instanceof Map)) {
+			return Objects.deepEquals(oldTree, newTree) ? EMPTY : REPLACED;
+		}
+		Map<?, ?> oldMap = (Map<?, ?>) oldTree;
+		Map<?, ?> newMap = (Map<?, ?>) newTree;
+		Map<String, ChangeSet> children = null;
+		for (Entry<?, ?> entry : oldMap.entrySet()) {
+			Object key = entry.getKey();
+			ChangeSet child = newMap.containsKey(key) ? diff(entry.getValue(), newMap.get(key)) : REPLACED;
+			if (child != EMPTY) {
+				if (!(key instanceof String)) {
+					// 无法用路径表示的节点, 视为整体替换
+					return REPLACED;
+				}
+				children = put(children, (String) key, child);
+			}
+		}
+		for (Object key : newMap.keySet()) {
+			if (!oldMap.containsKey(key)) {
+				if (!(key instanceof String)) {
+					return REPLACED;
+				}
+				children = put(children, (String) key, REPLACED);
+			}
+		}
+		return children == null ? EMPTY : new ChangeSet(false, children);
+	}
+
+	private static Map<String, ChangeSet> put(Map<String, ChangeSet> children, String key, ChangeSet child) {
+		if (children == null) {
+			children = new LinkedHashMap<>(4);
+		}
+		children.put(key, child);
+		return children;
+	}
+
+	/**
+	 * @return {@code true} 如果没有任何变化, 否则返回 {@code false}.
+	 */
+	public boolean isEmpty() {
+		return !replaced && children.isEmpty();
+	}
+
+	/**
+	 * @return {@code true} 如果节点整体被替换(包括新增和删除), 否则返回 {@code false}.
+	 */
+	public boolean isReplaced() {
+		return replaced;
+	}
+
+	/**
+	 * 获取子节点的变化.
+	 * @param key 节点名
+	 * @return 子节点的变化, 当前节点被替换时返回 {@link #REPLACED}.
+	 */
+	public ChangeSet get(String key) {
+		return replaced ? REPLACED : children.getOrDefault(key, EMPTY);
+	}
+
+	/**
+	 * 获取多级路径上节点的变化.
+	 * @param path 相对路径
+	 * @return 节点的变化, 路径上任意一级被替换时返回 {@link #REPLACED}.
+	 */
+	public ChangeSet get(@NonNull ConfigPath path) {
+		ChangeSet changes = this;
+		for (int i = 0; i < path.size() && !changes.isEmpty(); i++) {
+			changes = changes.get(path.segment(i));
+		}
+		return changes;
+	}
+
+	/**
+	 * @param path 相对路径
+	 * @return {@code true} 如果路径上的节点或其子节点发生了变化, 否则返回 {@code false}.
+	 */
+	public boolean affects(@NonNull ConfigPath path) {
+		return !get(path).isEmpty();
+	}
+
+	/**
+	 * @return 所有被替换的节点的路径, 节点名已转义.
+	 */
+	public List<String> getPaths() {
+		List<String> paths = new ArrayList<>();
+		collect(paths, new StringBuilder());
+		return paths;
+	}
+
+	private void collect(List<String> paths, StringBuilder prefix) {
+		if (replaced) {
+			paths.add(prefix.toString());
+			return;
+		}
+		int length = prefix.length();
+		for (Entry<String, ChangeSet> entry : children.entrySet()) {
+			if (length > 0) {
+				prefix.append(ConfigPath.SEPARATOR);
+			}
+			entry.getValue().collect(paths, ConfigPath.escape(prefix, entry.getKey()));
+			prefix.setLength(length);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return getPaths().toString();
+	}
+
+}
@@ -0,0 +1,129 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lombok.NonNull;
+
+/**
+ * 基于内容摘要的结构化比较. 摘要相同的子树直接跳过, 只进入摘要不同的映射,
+ * 因此当两棵树的摘要都已缓存时, 比较的开销与变化所在映射的大小成正比, 而与整棵树的大小无关.
+ * <p>映射逐个键比较, 其他节点(标量, 列表等)只作为整体替换. 键不是非空字符串的映射发生变化时, 整个映射被替换.
+ * @see {@link ConfigSection#getContentHash()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class ConfigDiff {
+	private final ContentHashes oldHashes;
+	private final ContentHashes newHashes;
+	private final List<ConfigPatch.Operation> operations = new ArrayList<>();
+
+	private ConfigDiff(ContentHashes oldHashes, ContentHashes newHashes) {
+		this.oldHashes = oldHashes;
+		this.newHashes = newHashes;
+	}
+
+	/**
+	 * 比较两个配置节点, 生成将原节点变为新节点的补丁.
+	 * @param oldSection 原节点
+	 * @param newSection 新节点
+	 * @return 补丁, 路径相对于节点.
+	 * @throws IllegalArgumentException 如果根节点中有键不是非空字符串, 且发生了变化.
+	 */
+	public static ConfigPatch diff(@NonNull ConfigSection oldSection, @NonNull ConfigSection newSection) {
+		ConfigDiff diff = new ConfigDiff(oldSection.getContentHashes(), newSection.getContentHashes());
+		if (!diff.diffMap(oldSection.elements, newSection.elements, new ArrayList<>())) {
+			throw new IllegalArgumentException("CANNOT diff root section with non-string or empty keys.");
+		}
+		return new ConfigPatch(diff.operations);
+	}
+
+	/**
+	 * 比较两个映射.
+	 * @return {@code false} 如果变化无法用路径表示, 需要替换整个映射.
+	 */
+	private boolean diffMap(Map<?, ?> oldMap, Map<?, ?> newMap, List<String> prefix) {
+		if (oldHashes.hash(oldMap) == newHashes.hash(newMap)) {
+			return true;
+		}
+		int mark = operations.size();
+		for (Entry<?, ?> entry : oldMap.entrySet()) {
+			Object key = entry.getKey();
+			if (!newMap.containsKey(key)) {
+				if (!isPathKey(key)) {
+					return rollback(mark);
+				}
+				add(ConfigPatch.Type.REMOVE, prefix, (String) key, null);
+				continue;
+			}
+			Object oldValue = entry.getValue();
+			Object newValue = newMap.get(key);
+			if (same(oldValue, newValue)) {
+				continue;
+			}
+			if (!isPathKey(key)) {
+				return rollback(mark);
+			}
+			if (oldValue instanceof Map && newValue instanceof Map) {
+				prefix.add((String) key);
+				boolean representable = diffMap((Map<?, ?>) oldValue, (Map<?, ?>) newValue, prefix);
+				prefix.remove(prefix.size() - 1);
+				if (representable) {
+					continue;
+				}
+			}
+			add(ConfigPatch.Type.REPLACE, prefix, (String) key, newValue);
+		}
+		for (Entry<?, ?> entry : newMap.entrySet()) {
+			Object key = entry.getKey();
+			if (!oldMap.containsKey(key)) {
+				if (!isPathKey(key)) {
+					return rollback(mark);
+				}
+				add(ConfigPatch.Type.ADD, prefix, (String) key, entry.getValue());
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * 映射和集合比较缓存的摘要, 标量直接比较.
+	 */
+	private boolean same(Object oldValue, Object newValue) {
+		if (oldValue == newValue) {
+			return true;
+		} else if (isContainer(oldValue) || isContainer(newValue)) {
+			return oldHashes.hash(oldValue) == newHashes.hash(newValue);
+		} else if (oldValue == null || newValue == null) {
+			return false;
+		} else if (oldValue instanceof byte[] && newValue instanceof byte[]) {
+			return Arrays.equals((byte[]) oldValue, (byte[]) newValue);
+		}
+		return oldValue.equals(newValue);
+	}
+
+	private static boolean isContainer(Object obj) {
+		return obj instanceof Map || obj instanceof Collection;
+	}
+
+	private boolean rollback(int mark) {
+		operations.subList(mark, operations.size()).clear();
+		return false;
+	}
+
+	private void add(ConfigPatch.Type type, List<String> prefix, String key, Object value) {
+		String[] segments = prefix.toArray(new String[prefix.size() + 1]);
+		segments[prefix.size()] = key;
+		operations.add(new ConfigPatch.Operation(type, ConfigPath.ofSegments(segments), value));
+	}
+
+	private static boolean isPathKey(Object key) {
+		return key instanceof String && !((String) key).isEmpty();
+	}
+
+}
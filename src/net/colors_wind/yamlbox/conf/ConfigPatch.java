@@ -0,0 +1,134 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import lombok.Getter;
+import lombok.NonNull;
+
+/**
+ * 补丁, 即按路径新增, 替换和删除节点的操作序列. 不可变.
+ * @see {@link ConfigDiff#diff(ConfigSection, ConfigSection)}
+ * @see {@link ConfigSection#apply(ConfigPatch)}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class ConfigPatch {
+	@Getter
+	private final List<Operation> operations;
+
+	/**
+	 * @param operations 操作, 按顺序应用.
+	 */
+	public ConfigPatch(@NonNull List<Operation> operations) {
+		this.operations = Collections.unmodifiableList(new ArrayList<>(operations));
+	}
+
+	/**
+	 * @return {@code true} 如果没有任何操作, 否则返回 {@code false}.
+	 */
+	public boolean isEmpty() {
+		return operations.isEmpty();
+	}
+
+	/**
+	 * @return 操作数
+	 */
+	public int size() {
+		return operations.size();
+	}
+
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder("ConfigPatch[");
+		for (int i = 0; i < operations.size(); i++) {
+			if (i > 0) {
+				sb.append(", ");
+			}
+			sb.append(operations.get(i));
+		}
+		return sb.append(']').toString();
+	}
+
+	/**
+	 * 深度复制由映射, 列表和集合组成的节点, 标量不复制.
+	 * @param obj 节点
+	 * @return 副本
+	 */
+	static Object copy(Object obj) {
+		if (obj instanceof ConfigSection) {
+			obj = ((ConfigSection) obj).elements;
+		}
+		if (obj instanceof Map) {
+			Map<Object, Object> map = new LinkedHashMap<>();
+			for (Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+				map.put(entry.getKey(), copy(entry.getValue()));
+			}
+			return map;
+		} else if (obj instanceof List) {
+			List<Object> list = new ArrayList<>(((List<?>) obj).size());
+			for (Object element : (List<?>) obj) {
+				list.add(copy(element));
+			}
+			return list;
+		} else if (obj instanceof Set) {
+			Set<Object> set = new LinkedHashSet<>();
+			for (Object element : (Set<?>) obj) {
+				set.add(copy(element));
+			}
+			return set;
+		}
+		return obj;
+	}
+
+	/**
+	 * 操作类型.
+	 */
+	public enum Type {
+		/**
+		 * 新增节点.
+		 */
+		ADD,
+		/**
+		 * 替换已有节点.
+		 */
+		REPLACE,
+		/**
+		 * 删除节点.
+		 */
+		REMOVE;
+	}
+
+	/**
+	 * 单个操作.
+	 */
+	@Getter
+	public static final class Operation {
+		private final Type type;
+		private final ConfigPath path;
+		/**
+		 * 新的值, 删除操作为 {@code null}.
+		 */
+		private final Object value;
+
+		public Operation(@NonNull Type type, @NonNull ConfigPath path, Object value) {
+			this.type = type;
+			this.path = path;
+			this.value = type == Type.REMOVE ? null : value;
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder sb = new StringBuilder().append(type).append(' ').append(path);
+			return type == Type.REMOVE ? sb.toString() : sb.append('=').append(value).toString();
+		}
+	}
+
+}
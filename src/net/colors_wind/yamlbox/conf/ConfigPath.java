@@ -0,0 +1,241 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import lombok.NonNull;
+
+/**
+ * 预先解析的多级路径, 解析一次后可以反复用于查找, 查找过程不分配新对象.
+ * <p>路径用 {@link ConfigSection#DOT} 分隔, 用 {@code \} 转义节点名中的 {@code .} 和 {@code \} 本身,
+ * 例如 {@code "servers.mc\.example\.com.port"} 代表三级路径 {@code servers}, {@code mc.example.com}, {@code port}.
+ * 与 {@link ConfigSection#getObjectDeep(String)} 相同, 空节点名会被忽略.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class ConfigPath {
+	public static final char SEPARATOR = '.';
+	public static final char ESCAPE = '\\';
+	private static final String[] EMPTY = new String[0];
+
+	private final String path;
+	private final String key;
+	private final String[] segments;
+
+	private ConfigPath(String path, String[] segments) {
+		this.path = path;
+		this.segments = segments;
+		StringBuilder builder = new StringBuilder(path.length());
+		for (String segment : segments) {
+			if (builder.length() > 0) {
+				builder.append(SEPARATOR);
+			}
+			escape(builder, segment);
+		}
+		String canonical = builder.toString();
+		this.key = canonical.equals(path) ? path : canonical;
+	}
+
+	/**
+	 * 解析路径.
+	 * @param path 用 {@link ConfigSection#DOT} 分隔的路径, 可以包含转义字符.
+	 * @return 解析结果
+	 */
+	public static ConfigPath of(@NonNull String path) {
+		List<String> list = new ArrayList<>();
+		StringBuilder segment = new StringBuilder();
+		for (int i = 0; i < path.length(); i++) {
+			char c = path.charAt(i);
+			if (c == ESCAPE && i + 1 < path.length()
+					&& (path.charAt(i + 1) == SEPARATOR || path.charAt(i + 1) == ESCAPE)) {
+				segment.append(path.charAt(++i));
+			} else if (c == SEPARATOR) {
+				addSegment(list, segment);
+			} else {
+				segment.append(c);
+			}
+		}
+		addSegment(list, segment);
+		return new ConfigPath(path, list.toArray(EMPTY));
+	}
+
+	/**
+	 * 由节点名构造路径, 节点名不需要转义.
+	 * @param segments 节点名
+	 * @return 路径
+	 */
+	public static ConfigPath ofSegments(@NonNull String... segments) {
+		StringBuilder builder = new StringBuilder();
+		List<String> list = new ArrayList<>(segments.length);
+		for (String segment : segments) {
+			if (segment.isEmpty()) {
+				continue;
+			}
+			if (!list.isEmpty()) {
+				builder.append(SEPARATOR);
+			}
+			escape(builder, segment);
+			list.add(segment.intern());
+		}
+		return new ConfigPath(builder.toString(), list.toArray(EMPTY));
+	}
+
+	private static void addSegment(List<String> list, StringBuilder segment) {
+		if (segment.length() > 0) {
+			list.add(segment.toString().intern());
+			segment.setLength(0);
+		}
+	}
+
+	/**
+	 * 转义节点名中的 {@code .} 和 {@code \}.
+	 * @param builder 输出
+	 * @param segment 节点名
+	 * @return 输出
+	 */
+	public static StringBuilder escape(StringBuilder builder, String segment) {
+		for (int i = 0; i < segment.length(); i++) {
+			char c = segment.charAt(i);
+			if (c == SEPARATOR || c == ESCAPE) {
+				builder.append(ESCAPE);
+			}
+			builder.append(c);
+		}
+		return builder;
+	}
+
+	/**
+	 * 获取路径的级数.
+	 * @return 级数
+	 */
+	public int size() {
+		return segments.length;
+	}
+
+	/**
+	 * 获取指定级的节点名.
+	 * @param index 级数, 从 {@code 0} 开始.
+	 * @return 节点名(已去除转义)
+	 */
+	public String segment(int index) {
+		return segments[index];
+	}
+
+	/**
+	 * 获取路径的规范形式: 去除空节点名, 仅保留必要的转义.
+	 * @return 规范形式
+	 * @see {@link PathIndex}
+	 */
+	public String getKey() {
+		return key;
+	}
+
+	/**
+	 * 获取最后一级的节点名.
+	 * @return 节点名, 若路径为空, 返回 {@code null}.
+	 */
+	public String last() {
+		return segments.length == 0 ? null : segments[segments.length - 1];
+	}
+
+	/**
+	 * 在映射中查找该路径对应的对象.
+	 * @param root 根映射
+	 * @return 该位置的对象, 若中间节点不存在或不是映射, 返回 {@code null}.
+	 */
+	public Object get(Map<?, ?> root) {
+		Object obj = root;
+		for (String segment : segments) {
+			if (!(obj instanceof Map)) {
+				return null;
+			}
+			obj = ((Map<?, ?>) obj).get(segment);
+		}
+		return obj;
+	}
+
+	/**
+	 * 判断映射中是否存在该路径.
+	 * @param root 根映射
+	 * @return {@code true} 如果存在, 否则返回 {@code false}.
+	 */
+	public boolean contains(Map<?, ?> root) {
+		if (segments.length == 0) {
+			return true;
+		}
+		Object parent = getParent(root);
+		return parent instanceof Map && ((Map<?, ?>) parent).containsKey(last());
+	}
+
+	private Object getParent(Map<?, ?> root) {
+		Object obj = root;
+		for (int i = 0; i < segments.length - 1; i++) {
+			if (!(obj instanceof Map)) {
+				return null;
+			}
+			obj = ((Map<?, ?>) obj).get(segments[i]);
+		}
+		return obj;
+	}
+
+	/**
+	 * 将对象放到映射中该路径对应的位置, 若中间节点不存在或不是映射, 创建新的映射.
+	 * @param root 根映射
+	 * @param value 对象
+	 * @return 该位置原来的对象, 若不存在, 返回 {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	public Object set(Map<String, Object> root, Object value) {
+		if (segments.length == 0) {
+			throw new IllegalArgumentException("CANNOT set value at empty path.");
+		}
+		Map<String, Object> map = root;
+		for (int i = 0; i < segments.length - 1; i++) {
+			Object obj = map.get(segments[i]);
+			if (!(obj instanceof Map)) {
+				obj = new LinkedHashMap<String, Object>();
+				map.put(segments[i], obj);
+			}
+			map = (Map<String, Object>) obj;
+		}
+		return map.put(last(), value);
+	}
+
+	/**
+	 * 移除映射中该路径对应的对象.
+	 * @param root 根映射
+	 * @return 移除的对象, 若不存在, 返回 {@code null}.
+	 */
+	public Object remove(Map<String, Object> root) {
+		Object parent = getParent(root);
+		if (segments.length == 0 || !(parent instanceof Map)) {
+			return null;
+		}
+		return ((Map<?, ?>) parent).remove(last());
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) {
+			return true;
+		}
+		return obj instanceof ConfigPath && Arrays.equals(segments, ((ConfigPath) obj).segments);
+	}
+
+	@Override
+	public int hashCode() {
+		return Arrays.hashCode(segments);
+	}
+
+	/**
+	 * @return 路径的原始形式(含转义)
+	 */
+	@Override
+	public String toString() {
+		return path;
+	}
+}
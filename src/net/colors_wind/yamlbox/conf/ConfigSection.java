@@ -1,5 +1,6 @@
 package net.colors_wind.yamlbox.conf;
 
+import java.util.Collections;
 import java.util.LinkedHashMap;
 import java.util.Map;
 import java.util.Objects;
@@ -23,17 +24,59 @@ public class ConfigSection {
 		return new StringBuilder().append(origin).append(DOT).append(key).toString();
 	}
 	protected final ConfigSection parent;
+	/**
+	 * 所在配置树的根节点, 创建时确定, 读取根节点持有的缓存时不必逐级向上查找.
+	 */
+	private final ConfigSection root;
 	protected final Map<String, Object> elements;
-	protected final String cachePath;
+	/**
+	 * 当前对象的绝对路径, 在 {@link #getPath()} 时才拼接.
+	 */
+	protected final NodePath nodePath;
+	/**
+	 * 相对于父对象的路径, 用于定位该对象在 {@link PathIndex} 中的位置.
+	 */
+	protected final ConfigPath relativePath;
+	/**
+	 * 从根节点到当前对象的每一级都有相对路径, 因此可以在根节点的 {@link PathIndex} 中定位. 创建时确定.
+	 */
+	private final boolean indexable;
+	/**
+	 * 路径索引, 仅根节点持有.
+	 */
+	protected PathIndex index;
+	private String indexPrefix;
+	/**
+	 * 内容摘要缓存, 仅根节点持有, 首次计算摘要时创建.
+	 */
+	private ContentHashes hashes;
+	/**
+	 * 字符串的数值转换缓存, 仅根节点持有.
+	 * @see {@link YamlConfig#enableConversionCache()}
+	 */
+	ConversionCache conversions;
 
 	protected ConfigSection(ConfigSection parent, String currentNode) {
 		this(parent, new LinkedHashMap<>(), currentNode);
 	}
 
 	protected ConfigSection(ConfigSection parent, Map<String, Object> elements, String path) {
+		this(parent, elements, path, null);
+	}
+
+	protected ConfigSection(ConfigSection parent, Map<String, Object> elements, String path,
+			ConfigPath relativePath) {
+		this(parent, elements, NodePath.of(path), relativePath);
+	}
+
+	protected ConfigSection(ConfigSection parent, Map<String, Object> elements, @NonNull NodePath path,
+			ConfigPath relativePath) {
 		this.parent = parent;
+		this.root = parent == null ? this : parent.root;
 		this.elements = elements;
-		this.cachePath = path;
+		this.nodePath = path;
+		this.relativePath = relativePath;
+		this.indexable = parent == null || relativePath != null && parent.indexable;
 	}
 	
 	
@@ -46,9 +89,15 @@ public class ConfigSection {
 		if (elements.containsKey(key)) {
 			throw new IllegalArgumentException("CANNOT create section because key has already existed: " + key);
 		}
-		ConfigSection section = new ConfigSection(this, appendPath(this.cachePath, key));
-		elements.put(key, section);
-		return section;
+		Map<String, Object> map = new LinkedHashMap<>();
+		elements.put(key, map);
+		ConfigPath relative = ConfigPath.ofSegments(key);
+		PathIndex index = getIndex();
+		if (index != null) {
+			index.put(PathIndex.join(getIndexPrefix(), relative.getKey()), map);
+		}
+		invalidateCaches(relative, null);
+		return new ConfigSection(this, map, nodePath.child(key), relative);
 	}
 	
 	/**
@@ -58,7 +107,7 @@ public class ConfigSection {
 	 */
 	public ConfigSection getSection(@NonNull String key) {
 		Object obj = this.getObject(key);
-		return getSection0(obj, key);
+		return obj instanceof Map ? getSection0(obj, ConfigPath.ofSegments(key), key) : null;
 	}
 	
 	/**
@@ -68,16 +117,134 @@ public class ConfigSection {
 	 */
 	public ConfigSection getSectionDeep(@NonNull String key) {
 		Object obj = this.getObjectDeep(key);
-		return getSection0(obj, key);
+		return obj instanceof Map ? getSection0(obj, ConfigPath.of(key), key) : null;
 	}
 	
-	private ConfigSection getSection0(Object obj, String key) {
+	/**
+	 * 根据多级相对路径获取子对象.
+	 * @param path 多级相对路径
+	 * @return 子对象, 若找不到返回 {@code null}.
+	 */
+	public ConfigSection getSection(@NonNull ConfigPath path) {
+		Object obj = this.getObject(path);
+		return getSection0(obj, path, path.toString());
+	}
+	
+	/**
+	 * 将映射包装为子对象.
+	 * @param obj 映射
+	 * @param relative 相对于当前对象的路径
+	 * @param key 用于显示的相对路径
+	 * @return 子对象, 若 {@code obj} 不是映射, 返回 {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	protected ConfigSection getSection0(Object obj, ConfigPath relative, String key) {
 		if (obj != null && Map.class.isAssignableFrom(obj.getClass())) {
-			return new ConfigSection(this, elements, key);
+			return new ConfigSection(this, (Map<String, Object>) obj, nodePath.child(key), relative);
 		}
 		return null;
 	}
 
+	/**
+	 * 获取所在配置树的路径索引.
+	 * @return 路径索引, 若未启用索引, 返回 {@code null}.
+	 * @see {@link YamlConfig#enableIndex()}
+	 */
+	public PathIndex getIndex() {
+		return indexable ? root.index : null;
+	}
+
+	/**
+	 * 获取该对象在路径索引中的前缀.
+	 * @return 前缀(规范形式), 根节点为空字符串.
+	 */
+	protected String getIndexPrefix() {
+		if (indexPrefix == null) {
+			indexPrefix = parent == null ? "" : PathIndex.join(parent.getIndexPrefix(), relativePath.getKey());
+		}
+		return indexPrefix;
+	}
+
+	/**
+	 * 获取当前对象数据的只读视图, 不复制数据.
+	 * @return 当前节点的映射
+	 */
+	public Map<String, Object> asMap() {
+		return Collections.unmodifiableMap(elements);
+	}
+
+	/**
+	 * 获取当前对象内容的摘要. 摘要按节点缓存在根节点中, 通过本类的方法修改配置时, 修改路径上的缓存会失效;
+	 * 直接修改 {@link #getObject(String)} 返回的映射或列表, 或修改通过锚点共享的节点, 不会使缓存失效.
+	 * {@link ImmutableConfigSection} 的摘要保存在 {@link PersistentHashMap} 中, 可以被多个线程同时计算.
+	 * @return 64位摘要, 内容相等的对象摘要相同.
+	 * @see {@link ConfigDiff}
+	 */
+	public long getContentHash() {
+		return getContentHashes().hash(elements);
+	}
+
+	/**
+	 * 获取所在配置树的摘要缓存, 不存在时创建.
+	 * @return 摘要缓存
+	 */
+	ContentHashes getContentHashes() {
+		ConfigSection root = getRoot();
+		if (root.hashes == null) {
+			root.hashes = new ContentHashes();
+		}
+		return root.hashes;
+	}
+
+	private ConfigSection getRoot() {
+		return root;
+	}
+
+	/**
+	 * 修改后使缓存失效: 从转换缓存中移除原来的子树; 从摘要缓存中移除原来的子树, 并使从根节点到修改位置路径上的所有映射失效.
+	 * @param path 修改的相对路径
+	 * @param old 修改前该位置的对象
+	 */
+	private void invalidateCaches(ConfigPath path, Object old) {
+		ConfigSection root = getRoot();
+		if (root.conversions != null) {
+			root.conversions.evict(old);
+		}
+		ContentHashes hashes = root.hashes;
+		if (hashes == null) {
+			return;
+		}
+		hashes.evict(old);
+		invalidatePath(hashes, elements, path, path.size() - 1);
+		for (ConfigSection section = this; section.parent != null && section.relativePath != null;
+				section = section.parent) {
+			invalidatePath(hashes, section.parent.elements, section.relativePath, section.relativePath.size() - 1);
+		}
+	}
+
+	private static void invalidatePath(ContentHashes hashes, Object node, ConfigPath path, int depth) {
+		hashes.invalidate(node);
+		for (int i = 0; i < depth && node instanceof Map; i++) {
+			node = ((Map<?, ?>) node).get(path.segment(i));
+			hashes.invalidate(node);
+		}
+	}
+
+	/**
+	 * 应用补丁, 补丁中的值会被复制.
+	 * @param patch 补丁
+	 * @see {@link ConfigDiff#diff(ConfigSection, ConfigSection)}
+	 */
+	public void apply(@NonNull ConfigPatch patch) {
+		for (ConfigPatch.Operation operation : patch.getOperations()) {
+			if (operation.getType() == ConfigPatch.Type.REMOVE) {
+				remove(operation.getPath());
+			} else {
+				set(operation.getPath(), ConfigPatch.copy(operation.getValue()));
+			}
+		}
+	}
+
 	/**
 	 * 获取当前配置对象的父对象.
 	 * @return 父对象, 若当前对象是根节点, 返回 {@code null}.
@@ -91,7 +258,15 @@ public class ConfigSection {
 	 * @return 绝对路径
 	 */
 	public String getPath() {
-		return cachePath;
+		return nodePath.toString();
+	}
+
+	/**
+	 * 获取当前对象的绝对路径, 不拼接字符串.
+	 * @return 绝对路径
+	 */
+	public NodePath getNodePath() {
+		return nodePath;
 	}
 
 	/**
@@ -103,6 +278,19 @@ public class ConfigSection {
 		return elements.containsKey(key);
 	}
 
+	/**
+	 * 配置指定多级相对路径的对象是否存在.
+	 * @param path 多级相对路径.
+	 * @return {@code true} 如果存在, 否则返回 {@code false}.
+	 */
+	public boolean isSet(@NonNull ConfigPath path) {
+		PathIndex index = getIndex();
+		if (index != null && path.size() > 0) {
+			return index.contains(getIndexPrefix(), path.getKey());
+		}
+		return path.contains(elements);
+	}
+
 	/**
 	 * 将指定对象放到指定相对路径.
 	 * @param key 相对路径
@@ -111,9 +299,16 @@ public class ConfigSection {
 	 */
 	public Object set(@NonNull String key, Object value) {
 		if (value != null && value instanceof ConfigSection) {
-			return elements.put(key, ((ConfigSection)value).elements);
+			value = ((ConfigSection)value).elements;
+		}
+		Object old = elements.put(key, value);
+		ConfigPath path = ConfigPath.ofSegments(key);
+		PathIndex index = getIndex();
+		if (index != null) {
+			index.replace(PathIndex.join(getIndexPrefix(), path.getKey()), old, value);
 		}
-		return elements.put(key, value);
+		invalidateCaches(path, old);
+		return old;
 	}
 
 	/**
@@ -122,21 +317,79 @@ public class ConfigSection {
 	 * @return 移除的对象, 若不存在, 返回 {@code null}.
 	 */
 	public Object remove(@NonNull String key) {
-		return elements.remove(key);
+		Object old = elements.remove(key);
+		ConfigPath path = ConfigPath.ofSegments(key);
+		PathIndex index = getIndex();
+		if (index != null) {
+			index.removeTree(PathIndex.join(getIndexPrefix(), path.getKey()), old);
+		}
+		invalidateCaches(path, old);
+		return old;
+	}
+
+	/**
+	 * 移除指定多级相对路径的对象.
+	 * @param path 多级相对路径.
+	 * @return 移除的对象, 若不存在, 返回 {@code null}.
+	 */
+	public Object remove(@NonNull ConfigPath path) {
+		Object old = path.remove(elements);
+		PathIndex index = getIndex();
+		if (index != null && path.size() > 0) {
+			index.removeTree(PathIndex.join(getIndexPrefix(), path.getKey()), old);
+		}
+		invalidateCaches(path, old);
+		return old;
+	}
+
+	/**
+	 * 将指定对象放到指定多级相对路径, 若中间节点不存在则创建.
+	 * @param path 多级相对路径
+	 * @param value 对象
+	 * @return 该位置原来的对象, 若不存在, 返回 {@code null}.
+	 */
+	public Object set(@NonNull ConfigPath path, Object value) {
+		if (value != null && value instanceof ConfigSection) {
+			value = ((ConfigSection)value).elements;
+		}
+		Object old = path.set(elements, value);
+		PathIndex index = getIndex();
+		if (index != null) {
+			// 中间节点可能是新建的映射
+			String key = getIndexPrefix();
+			Object node = elements;
+			for (int i = 0; i < path.size() - 1; i++) {
+				node = ((Map<?, ?>) node).get(path.segment(i));
+				key = PathIndex.join(key, ConfigPath.ofSegments(path.segment(i)).getKey());
+				if (index.get("", key) != node) {
+					index.replace(key, null, node);
+				}
+			}
+			index.replace(PathIndex.join(getIndexPrefix(), path.getKey()), old, value);
+		}
+		invalidateCaches(path, old);
+		return old;
 	}
 
 
 	/**
 	 * 获取指定位置的对象
 	 * @param key 多级相对路径
-	 * @return 该位置的对象, 若不存在, 返回 {@code null}.
+	 * @return 该位置的对象, 若不存在或路径经过的节点不是映射, 返回 {@code null}.
 	 * @see {@link ConfigSection#getObject(String)}
 	 */
 	public Object getObjectDeep(@NonNull String key) {
+		PathIndex index = getIndex();
+		if (index != null && PathIndex.isCanonical(key)) {
+			return index.get(getIndexPrefix(), key);
+		}
 		StringTokenizer str = new StringTokenizer(key, DOT);
 		Object obj = elements;
-		while (str.hasMoreElements() && obj != null && obj instanceof Map) {
-			obj = ((Map<?, ?>) obj).get(str.nextElement());
+		while (str.hasMoreTokens()) {
+			if (!(obj instanceof Map)) {
+				return null;
+			}
+			obj = ((Map<?, ?>) obj).get(str.nextToken());
 		}
 		return obj;
 	}
@@ -151,17 +404,50 @@ public class ConfigSection {
 		return elements.get(key);
 	}
 
+	/**
+	 * 获取指定位置的对象, 不会分配新对象.
+	 * @param path 多级相对路径
+	 * @return 该位置的对象, 若该对象不存在, 返回 {@code null}.
+	 * @see {@link ConfigPath#get(Map)}
+	 */
+	public Object getObject(@NonNull ConfigPath path) {
+		PathIndex index = getIndex();
+		if (index != null && path.size() > 0) {
+			return index.get(getIndexPrefix(), path.getKey());
+		}
+		return path.get(elements);
+	}
+
+	/**
+	 * 获取指定位置对象的节点类型, 启用索引时直接从索引读取.
+	 * @param path 多级相对路径
+	 * @return 节点类型, 若该对象不存在, 返回 {@code null}.
+	 */
+	public NodeType getNodeType(@NonNull ConfigPath path) {
+		PathIndex index = getIndex();
+		if (index != null && path.size() > 0) {
+			return index.getType(getIndexPrefix(), path.getKey());
+		}
+		return path.contains(elements) ? NodeType.of(path.get(elements)) : null;
+	}
+
 	/**
 	 * 获取指定位置的字符串.
 	 * @param key 相对路径
 	 * @return 该位置的字符串, 若该对象不存在, 或不是字符串, 返回 {@code null}.
 	 */
 	public String getString(@NonNull String key) {
-		Object obj = getObject(key);
-		if (obj instanceof String) {
-			return (String) obj;
-		}
-		return null;
+		return asString(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的字符串.
+	 * @param path 多级相对路径
+	 * @return 该位置的字符串, 若该对象不存在, 或不是字符串, 返回 {@code null}.
+	 * @see {@link #getString(String)}
+	 */
+	public String getString(@NonNull ConfigPath path) {
+		return asString(getObject(path));
 	}
 
 	/**
@@ -170,55 +456,74 @@ public class ConfigSection {
 	 * @return 包装后字符串, 若该位置的对象不存在, 或不是字符串, 返回 {@link Optional#empty()}}.
 	 */
 	public Optional<String> getOptionalString(@NonNull String key) {
-		return Optional.ofNullable(getString(key));
+		return asOptionalString(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的字符串, 并包装.
+	 * @param path 多级相对路径
+	 * @return 包装后字符串, 若该位置的对象不存在, 或不是字符串, 返回 {@link Optional#empty()}}.
+	 * @see {@link #getOptionalString(String)}
+	 */
+	public Optional<String> getOptionalString(@NonNull ConfigPath path) {
+		return asOptionalString(getObject(path));
 	}
 
 	/**
 	 * 将该位置的对象以字符串形式返回.
 	 * @param key 相对路径
 	 * @return 字符串
-	 * @see {@link Objects#toString()}
 	 */
 	public String getAsString(@NonNull String key) {
-		return Objects.toString(getString(key));
+		return asAsString(getObject(key));
 	}
 
-	/*
+	/**
+	 * 将该位置的对象以字符串形式返回.
+	 * @param path 多级相对路径
+	 * @return 字符串
+	 * @see {@link #getAsString(String)}
+	 */
+	public String getAsString(@NonNull ConfigPath path) {
+		return asAsString(getObject(path));
+	}
+
+	/**
 	 * 获取指定位置的整形数.
 	 * @param key 相对路径
-	 * @return 该位置的整形数, 若该对象不存在, 或不是(长)整形数, 或发生溢出, 返回 {@code 0L}.
+	 * @return 该位置的整形数, 若该对象不存在, 或不是(长)整形数, 或发生溢出, 返回 {@code 0}.
 	 */
 	public int getInt(@NonNull String key) {
-		Object obj = getObject(key);
-		if (obj instanceof Integer) {
-			return ((Integer)obj).intValue();
-		} else if (obj instanceof Long) {
-			long l = (long) obj;
-			if (l < Integer.MAX_VALUE && l > Integer.MIN_VALUE) {
-				return ((Long)l).intValue();
-			}
-		}
-		return 0;
+		return asInt(getObject(key));
 	}
-	
+
+	/**
+	 * 获取指定位置的整形数.
+	 * @param path 多级相对路径
+	 * @return 该位置的整形数, 若该对象不存在, 或不是(长)整形数, 或发生溢出, 返回 {@code 0}.
+	 * @see {@link #getInt(String)}
+	 */
+	public int getInt(@NonNull ConfigPath path) {
+		return asInt(getObject(path));
+	}
+
 	/**
 	 * 获取指定位置的整形数, 并包装.
 	 * @param key 相对路径
 	 * @return 包装后整形数, 若该位置的对象不存在, 或不是无法转化为整形数, 返回 {@link OptionalInt#empty()}.
 	 */
 	public OptionalInt getOptionalInt(@NonNull String key) {
-		Object obj = getObject(key);
-		if (obj == null) {
-			return OptionalInt.empty();
-		}
-		if (obj instanceof Number) {
-			return OptionalInt.of(((Number) obj).intValue());
-		}
-		try {
-			return OptionalInt.of(Integer.parseInt(obj.toString()));
-		} catch (NumberFormatException e) {
-		}
-		return OptionalInt.empty();
+		return asOptionalInt(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的整形数, 并包装.
+	 * @param path 多级相对路径
+	 * @return 包装后整形数, 若该位置的对象不存在, 或不是无法转化为整形数, 返回 {@link OptionalInt#empty()}.
+	 * @see {@link #getOptionalInt(String)}
+	 */
+	public OptionalInt getOptionalInt(@NonNull ConfigPath path) {
+		return asOptionalInt(getObject(path));
 	}
 
 	/**
@@ -227,7 +532,17 @@ public class ConfigSection {
 	 * @return 整形数, 若无法转化位整形数, 返回 {@code 0}.
 	 */
 	public int getAsInt(@NonNull String key) {
-		return getOptionalInt(key).orElse(0);
+		return asAsInt(getObject(key));
+	}
+
+	/**
+	 * 将该位置的对象以整形数形式返回.
+	 * @param path 多级相对路径
+	 * @return 整形数, 若无法转化位整形数, 返回 {@code 0}.
+	 * @see {@link #getAsInt(String)}
+	 */
+	public int getAsInt(@NonNull ConfigPath path) {
+		return asAsInt(getObject(path));
 	}
 
 	/**
@@ -236,11 +551,17 @@ public class ConfigSection {
 	 * @return 该位置的长整形数, 若该对象不存在, 或不是(长)整形数, 返回 {@code 0L}.
 	 */
 	public long getLong(@NonNull String key) {
-		Object obj = getObject(key);
-		if (obj instanceof Long || obj instanceof Integer) {
-			return ((Number)obj).longValue();
-		}
-		return 0L;
+		return asLong(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的长整形数.
+	 * @param path 多级相对路径
+	 * @return 该位置的长整形数, 若该对象不存在, 或不是(长)整形数, 返回 {@code 0L}.
+	 * @see {@link #getLong(String)}
+	 */
+	public long getLong(@NonNull ConfigPath path) {
+		return asLong(getObject(path));
 	}
 
 	/**
@@ -249,7 +570,17 @@ public class ConfigSection {
 	 * @return 长整形数, 若无法转化位长整形数, 返回 {@code 0L}.
 	 */
 	public long getAsLong(@NonNull String key) {
-		return getOptionalLong(key).orElse(0L);
+		return asAsLong(getObject(key));
+	}
+
+	/**
+	 * 将该位置的对象以长整形数形式返回.
+	 * @param path 多级相对路径
+	 * @return 长整形数, 若无法转化位长整形数, 返回 {@code 0L}.
+	 * @see {@link #getAsLong(String)}
+	 */
+	public long getAsLong(@NonNull ConfigPath path) {
+		return asAsLong(getObject(path));
 	}
 
 	/**
@@ -258,18 +589,17 @@ public class ConfigSection {
 	 * @return 包装后的长整形数, 若该位置的对象不存在, 或不是无法转化为长整形数, 返回 {@link OptionalLong#empty()}.
 	 */
 	public OptionalLong getOptionalLong(@NonNull String key) {
-		Object obj = getObject(key);
-		if (obj == null) {
-			return OptionalLong.empty();
-		}
-		if (obj instanceof Number) {
-			return OptionalLong.of(((Number) obj).intValue());
-		}
-		try {
-			return OptionalLong.of(Long.parseLong(obj.toString()));
-		} catch (NumberFormatException e) {
-		}
-		return OptionalLong.empty();
+		return asOptionalLong(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的长整形数, 并包装.
+	 * @param path 多级相对路径
+	 * @return 包装后的长整形数, 若该位置的对象不存在, 或不是无法转化为长整形数, 返回 {@link OptionalLong#empty()}.
+	 * @see {@link #getOptionalLong(String)}
+	 */
+	public OptionalLong getOptionalLong(@NonNull ConfigPath path) {
+		return asOptionalLong(getObject(path));
 	}
 
 	/**
@@ -278,11 +608,17 @@ public class ConfigSection {
 	 * @return 该位置的双精度浮点数, 若该对象不存在, 或不是数, 返回 {@code 0.0D}.
 	 */
 	public double getDouble(@NonNull String key) {
-		Object obj = getObject(key);
-		if (obj instanceof Number) {
-			return ((Number)obj).doubleValue();
-		}
-		return 0D;
+		return asDouble(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的双精度浮点数.
+	 * @param path 多级相对路径
+	 * @return 该位置的双精度浮点数, 若该对象不存在, 或不是数, 返回 {@code 0.0D}.
+	 * @see {@link #getDouble(String)}
+	 */
+	public double getDouble(@NonNull ConfigPath path) {
+		return asDouble(getObject(path));
 	}
 
 	/**
@@ -291,7 +627,17 @@ public class ConfigSection {
 	 * @return 双精度浮点数, 若无法转化位双精度浮点数, 返回 {@code 0.0D}.
 	 */
 	public double getAsDouble(@NonNull String key) {
-		return getOptionalDouble(key).orElse(0D);
+		return asAsDouble(getObject(key));
+	}
+
+	/**
+	 * 将该位置的对象以双精度浮点数形式返回.
+	 * @param path 多级相对路径
+	 * @return 双精度浮点数, 若无法转化位双精度浮点数, 返回 {@code 0.0D}.
+	 * @see {@link #getAsDouble(String)}
+	 */
+	public double getAsDouble(@NonNull ConfigPath path) {
+		return asAsDouble(getObject(path));
 	}
 
 	/**
@@ -300,12 +646,158 @@ public class ConfigSection {
 	 * @return 包装后的双精度浮点数, 若该位置的对象不存在, 或不是无法转化为双精度浮点数, 返回 {@link OptionalDouble#empty()}.
 	 */
 	public OptionalDouble getOptionalDouble(@NonNull String key) {
-		Object obj = getObject(key);
+		return asOptionalDouble(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的双精度浮点数, 并包装.
+	 * @param path 多级相对路径
+	 * @return 包装后的双精度浮点数, 若该位置的对象不存在, 或不是无法转化为双精度浮点数, 返回 {@link OptionalDouble#empty()}.
+	 * @see {@link #getOptionalDouble(String)}
+	 */
+	public OptionalDouble getOptionalDouble(@NonNull ConfigPath path) {
+		return asOptionalDouble(getObject(path));
+	}
+
+	/**
+	 * 获取指定位置的布尔值.
+	 * @param key 相对路径
+	 * @return 指定位置的布尔值, 若该位置对象无法转换为布尔值, 返回 {@code false}.
+	 */
+	public boolean getBoolean(@NonNull String key) {
+		return asBoolean(getObject(key));
+	}
+
+	/**
+	 * 获取指定位置的布尔值.
+	 * @param path 多级相对路径
+	 * @return 指定位置的布尔值, 若该位置对象无法转换为布尔值, 返回 {@code false}.
+	 * @see {@link #getBoolean(String)}
+	 */
+	public boolean getBoolean(@NonNull ConfigPath path) {
+		return asBoolean(getObject(path));
+	}
+
+	private static String asString(Object obj) {
+		if (obj instanceof String) {
+			return (String) obj;
+		}
+		return null;
+	}
+
+	private static Optional<String> asOptionalString(Object obj) {
+		return Optional.ofNullable(asString(obj));
+	}
+
+	private static String asAsString(Object obj) {
+		return Objects.toString(asString(obj));
+	}
+
+	private static int asInt(Object obj) {
+		if (obj instanceof Integer) {
+			return ((Integer)obj).intValue();
+		} else if (obj instanceof Long) {
+			long l = (long) obj;
+			if (l < Integer.MAX_VALUE && l > Integer.MIN_VALUE) {
+				return ((Long)l).intValue();
+			}
+		}
+		return 0;
+	}
+
+	/**
+	 * 启用转换缓存时, 字符串的转换结果从缓存读取.
+	 */
+	private OptionalInt asOptionalInt(Object obj) {
+		if (obj instanceof String) {
+			ConversionCache conversions = getRoot().conversions;
+			if (conversions != null) {
+				return conversions.get((String) obj).asOptionalInt();
+			}
+		}
+		return parseOptionalInt(obj);
+	}
+
+	static OptionalInt parseOptionalInt(Object obj) {
+		if (obj == null) {
+			return OptionalInt.empty();
+		}
+		if (obj instanceof Number) {
+			return OptionalInt.of(((Number) obj).intValue());
+		}
+		try {
+			return OptionalInt.of(Integer.parseInt(obj.toString()));
+		} catch (NumberFormatException e) {
+		}
+		return OptionalInt.empty();
+	}
+
+	private int asAsInt(Object obj) {
+		return asOptionalInt(obj).orElse(0);
+	}
+
+	private static long asLong(Object obj) {
+		if (obj instanceof Long || obj instanceof Integer) {
+			return ((Number)obj).longValue();
+		}
+		return 0L;
+	}
+
+	private long asAsLong(Object obj) {
+		return asOptionalLong(obj).orElse(0L);
+	}
+
+	private OptionalLong asOptionalLong(Object obj) {
+		if (obj instanceof String) {
+			ConversionCache conversions = getRoot().conversions;
+			if (conversions != null) {
+				return conversions.get((String) obj).asOptionalLong();
+			}
+		}
+		return parseOptionalLong(obj);
+	}
+
+	static OptionalLong parseOptionalLong(Object obj) {
+		if (obj == null) {
+			return OptionalLong.empty();
+		}
+		if (obj instanceof Number) {
+			return OptionalLong.of(((Number) obj).longValue());
+		}
+		try {
+			return OptionalLong.of(Long.parseLong(obj.toString()));
+		} catch (NumberFormatException e) {
+		}
+		return OptionalLong.empty();
+	}
+
+	private static double asDouble(Object obj) {
+		if (obj instanceof Number) {
+			return ((Number)obj).doubleValue();
+		}
+		return 0D;
+	}
+
+	private double asAsDouble(Object obj) {
+		return asOptionalDouble(obj).orElse(0D);
+	}
+
+	private OptionalDouble asOptionalDouble(Object obj) {
+		if (obj instanceof String) {
+			ConversionCache conversions = getRoot().conversions;
+			if (conversions != null) {
+				return conversions.get((String) obj).asOptionalDouble();
+			}
+		}
+		return parseOptionalDouble(obj);
+	}
+
+	static OptionalDouble parseOptionalDouble(Object obj) {
 		if (obj == null) {
 			return OptionalDouble.empty();
 		}
 		if (obj instanceof Number) {
-			return OptionalDouble.of(((Number) obj).intValue());
+			return OptionalDouble.of(((Number) obj).doubleValue());
 		}
 		try {
 			return OptionalDouble.of(Double.parseDouble(obj.toString()));
@@ -314,13 +806,7 @@ public class ConfigSection {
 		return OptionalDouble.empty();
 	}
 
-	/**
-	 * 获取指定位置的布尔值.
-	 * @param key 相对位置
-	 * @return 指定位置的布尔值, 若该位置对象无法转换为布尔值, 返回 {@code false}.
-	 */
-	public boolean getBoolean(@NonNull String key) {
-		Object obj = getObject(key);
+	private static boolean asBoolean(Object obj) {
 		if (obj instanceof Boolean) {
 			return (boolean) obj;
 		}
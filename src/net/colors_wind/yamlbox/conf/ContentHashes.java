@@ -0,0 +1,167 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+/**
+ * 配置树的内容摘要缓存(Merkle树), 仅根节点持有. 映射和集合的摘要由子节点的摘要组合而成,
+ * 计算后按对象标识缓存, 子树修改时由 {@link ConfigSection} 使路径上的缓存失效.
+ * <p>{@link PersistentHashMap} 不可变, 它的摘要保存在映射自身中而不是缓存里, 因此 {@link #IMMUTABLE}
+ * 不持有任何可变状态, 可以被多个线程同时使用.
+ * <p>内容相等(按 {@link Object#equals(Object)})的节点摘要相同; 映射的摘要与键的顺序无关.
+ * 摘要为64位, 不同内容的节点摘要相同的概率可以忽略.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+final class ContentHashes {
+	private static final long NULL = 0x6A09E667F3BCC908L;
+	private static final long STRING = 0xBB67AE8584CAA73BL;
+	private static final long INTEGER = 0x3C6EF372FE94F82BL;
+	private static final long LONG = 0xA54FF53A5F1D36F1L;
+	private static final long DOUBLE = 0x510E527FADE682D1L;
+	private static final long BOOLEAN = 0x9B05688C2B3E6C1FL;
+	private static final long BINARY = 0x1F83D9ABFB41BD6BL;
+	private static final long MAP = 0x5BE0CD19137E2179L;
+	private static final long LIST = 0xCBBB9D5DC1059ED8L;
+	private static final long SET = 0x629A292A367CD507L;
+
+	/**
+	 * 用于不可变配置树, 只使用 {@link PersistentHashMap} 自身保存的摘要, 其他集合每次重新计算.
+	 */
+	static final ContentHashes IMMUTABLE = new ContentHashes(null);
+
+	private final Map<Object, Long> cache;
+
+	ContentHashes() {
+		this(new IdentityHashMap<>());
+	}
+
+	private ContentHashes(Map<Object, Long> cache) {
+		this.cache = cache;
+	}
+
+	/**
+	 * 计算节点的摘要, 映射和集合的结果会被缓存.
+	 * @param obj 节点
+	 * @return 摘要
+	 */
+	long hash(Object obj) {
+		if (obj instanceof ConfigSection) {
+			obj = ((ConfigSection) obj).elements;
+		}
+		if (obj instanceof PersistentHashMap) {
+			PersistentHashMap<?, ?> map = (PersistentHashMap<?, ?>) obj;
+			long hash = map.contentHash;
+			if (hash == 0) {
+				hash = hashCollection(obj);
+				map.contentHash = hash;
+			}
+			return hash;
+		}
+		if (!(obj instanceof Map) && !(obj instanceof Collection)) {
+			return hashScalar(obj);
+		}
+		if (cache == null) {
+			return hashCollection(obj);
+		}
+		Long cached = cache.get(obj);
+		if (cached != null) {
+			return cached;
+		}
+		long hash = hashCollection(obj);
+		cache.put(obj, hash);
+		return hash;
+	}
+
+	private long hashCollection(Object obj) {
+		long hash;
+		if (obj instanceof Map) {
+			long sum = 0;
+			for (Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+				sum += mix(hash(entry.getKey()) ^ mix(hash(entry.getValue()) + MAP));
+			}
+			hash = mix(sum ^ ((Map<?, ?>) obj).size() ^ MAP);
+		} else if (obj instanceof Set) {
+			long sum = 0;
+			for (Object element : (Set<?>) obj) {
+				sum += mix(hash(element) + SET);
+			}
+			hash = mix(sum ^ ((Set<?>) obj).size() ^ SET);
+		} else {
+			hash = LIST;
+			for (Object element : (Collection<?>) obj) {
+				hash = mix(hash + hash(element));
+			}
+			hash = mix(hash ^ ((Collection<?>) obj).size());
+		}
+		return hash;
+	}
+
+	private static long hashScalar(Object obj) {
+		if (obj == null) {
+			return NULL;
+		} else if (obj instanceof String) {
+			String str = (String) obj;
+			long hash = STRING;
+			for (int i = 0; i < str.length(); i++) {
+				hash = (hash ^ str.charAt(i)) * 0x100000001B3L;
+			}
+			return mix(hash ^ str.length());
+		} else if (obj instanceof Integer) {
+			return mix(INTEGER + (Integer) obj);
+		} else if (obj instanceof Long) {
+			return mix(LONG + (Long) obj);
+		} else if (obj instanceof Double) {
+			return mix(DOUBLE + Double.doubleToLongBits((Double) obj));
+		} else if (obj instanceof Boolean) {
+			return mix(BOOLEAN + ((Boolean) obj ? 1 : 0));
+		} else if (obj instanceof byte[]) {
+			return mix(BINARY + Arrays.hashCode((byte[]) obj));
+		}
+		return mix(((long) obj.getClass().getName().hashCode() << 32) + obj.hashCode());
+	}
+
+	/**
+	 * 使单个节点的缓存失效.
+	 * @param node 节点
+	 */
+	void invalidate(Object node) {
+		if (node != null && cache != null) {
+			cache.remove(node);
+		}
+	}
+
+	/**
+	 * 移除一棵已经从配置树中移除的子树的全部缓存.
+	 * @param node 子树的根节点
+	 */
+	void evict(Object node) {
+		if (node == null || cache == null || cache.isEmpty()) {
+			return;
+		}
+		// 父节点失效后子节点的缓存仍可能保留, 因此总是遍历整棵子树
+		cache.remove(node);
+		if (node instanceof Map) {
+			for (Object value : ((Map<?, ?>) node).values()) {
+				evict(value);
+			}
+		} else if (node instanceof List || node instanceof Set) {
+			for (Object element : (Collection<?>) node) {
+				evict(element);
+			}
+		}
+	}
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xFF51AFD7ED558CCDL;
+		z = (z ^ (z >>> 33)) * 0xC4CEB9FE1A85EC53L;
+		return z ^ (z >>> 33);
+	}
+
+}
@@ -0,0 +1,109 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 字符串到数值的转换缓存, 仅根节点持有. 以字符串的内容为键, 每种目标类型在首次读取时转换一次,
+ * 此后 {@code getAsInt}, {@code getOptionalInt} 等方法直接返回缓存的结果, 不再解析, 也不分配新对象.
+ * <p>转换结果只取决于字符串的内容, 因此缓存不会过期; 通过 {@link ConfigSection} 的方法修改或移除节点时,
+ * 原来的字符串会被移出缓存, 以免缓存随修改无限增长. 可以被多个线程同时读取.
+ * @see {@link YamlConfig#enableConversionCache()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+final class ConversionCache {
+	private final ConcurrentHashMap<String, Conversion> cache = new ConcurrentHashMap<>();
+
+	/**
+	 * 获取字符串的转换结果, 不存在时创建.
+	 * @param str 字符串
+	 * @return 转换结果
+	 */
+	Conversion get(String str) {
+		Conversion conversion = cache.get(str);
+		if (conversion == null) {
+			conversion = new Conversion(str);
+			Conversion old = cache.putIfAbsent(str, conversion);
+			if (old != null) {
+				conversion = old;
+			}
+		}
+		return conversion;
+	}
+
+	/**
+	 * 移除一棵已经从配置树中移除的子树中的全部字符串.
+	 * @param node 子树的根节点
+	 */
+	void evict(Object node) {
+		if (cache.isEmpty()) {
+			return;
+		}
+		if (node instanceof String) {
+			cache.remove(node);
+		} else if (node instanceof Map) {
+			for (Object value : ((Map<?, ?>) node).values()) {
+				evict(value);
+			}
+		} else if (node instanceof Collection) {
+			for (Object element : (Collection<?>) node) {
+				evict(element);
+			}
+		}
+	}
+
+	/**
+	 * @return 缓存的字符串数
+	 */
+	int size() {
+		return cache.size();
+	}
+
+	/**
+	 * 单个字符串的转换结果, 每种类型在首次读取时计算. 结果都是不可变对象, 重复计算不影响正确性, 因此不加锁.
+	 */
+	static final class Conversion {
+		private final String str;
+		private OptionalInt optionalInt;
+		private OptionalLong optionalLong;
+		private OptionalDouble optionalDouble;
+
+		Conversion(String str) {
+			this.str = str;
+		}
+
+		OptionalInt asOptionalInt() {
+			OptionalInt value = optionalInt;
+			if (value == null) {
+				value = ConfigSection.parseOptionalInt(str);
+				optionalInt = value;
+			}
+			return value;
+		}
+
+		OptionalLong asOptionalLong() {
+			OptionalLong value = optionalLong;
+			if (value == null) {
+				value = ConfigSection.parseOptionalLong(str);
+				optionalLong = value;
+			}
+			return value;
+		}
+
+		OptionalDouble asOptionalDouble() {
+			OptionalDouble value = optionalDouble;
+			if (value == null) {
+				value = ConfigSection.parseOptionalDouble(str);
+				optionalDouble = value;
+			}
+			return value;
+		}
+	}
+
+}
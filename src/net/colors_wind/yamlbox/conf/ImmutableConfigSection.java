@@ -0,0 +1,252 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lombok.NonNull;
+
+/**
+ * 不可变的配置对象, 由 {@link PersistentHashMap} 支持, 可以被任意多个线程同时读取而无需加锁.
+ * <p>所有修改方法都会抛出 {@link UnsupportedOperationException}, 应使用 {@link #with(ConfigPath, Object)}
+ * 和 {@link #without(ConfigPath)} 得到新版本. 新版本只复制从当前对象到被修改位置的路径, 其余节点与旧版本共享.
+ * 配合 {@link SnapshotHolder} 可以让读取者始终看到一致的版本.
+ * <p>列表会被复制为不可修改的列表; 映射的迭代顺序与原始配置无关.
+ * @see {@link YamlConfig#snapshot()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ImmutableConfigSection extends ConfigSection {
+
+	protected ImmutableConfigSection(ConfigSection parent, PersistentHashMap<String, Object> elements, String path) {
+		super(parent, elements, path);
+	}
+
+	protected ImmutableConfigSection(ConfigSection parent, PersistentHashMap<String, Object> elements,
+			NodePath path) {
+		super(parent, elements, path, null);
+	}
+
+	/**
+	 * 由一个映射创建不可变配置对象, 映射会被深复制.
+	 * @param elements 映射
+	 * @param root 根节点路径
+	 * @return 不可变配置对象
+	 */
+	public static ImmutableConfigSection of(@NonNull Map<?, ?> elements, @NonNull String root) {
+		return new ImmutableConfigSection(null, freezeMap(elements), root);
+	}
+
+	/**
+	 * 将对象转为不可变形式: 映射转为 {@link PersistentHashMap}, 列表转为不可修改的列表.
+	 * @param obj 对象
+	 * @return 不可变形式
+	 */
+	public static Object freeze(Object obj) {
+		if (obj instanceof ConfigSection) {
+			return freezeMap(((ConfigSection) obj).elements);
+		} else if (obj instanceof Map) {
+			return freezeMap((Map<?, ?>) obj);
+		} else if (obj instanceof List) {
+			List<?> source = (List<?>) obj;
+			List<Object> list = new ArrayList<>(source.size());
+			for (Object element : source) {
+				list.add(freeze(element));
+			}
+			return Collections.unmodifiableList(list);
+		}
+		return obj;
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PersistentHashMap<String, Object> freezeMap(Map<?, ?> map) {
+		if (map instanceof PersistentHashMap) {
+			return (PersistentHashMap<String, Object>) map;
+		}
+		PersistentHashMap<Object, Object> result = PersistentHashMap.empty();
+		for (Entry<?, ?> entry : map.entrySet()) {
+			result = result.plus(entry.getKey(), freeze(entry.getValue()));
+		}
+		return (PersistentHashMap<String, Object>) (Map<?, ?>) result;
+	}
+
+	/**
+	 * 将不可变形式的对象深复制为可修改的形式.
+	 * @param obj 对象
+	 * @return 可修改的形式
+	 */
+	public static Object thaw(Object obj) {
+		if (obj instanceof Map) {
+			Map<Object, Object> map = new LinkedHashMap<>();
+			for (Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+				map.put(entry.getKey(), thaw(entry.getValue()));
+			}
+			return map;
+		} else if (obj instanceof List) {
+			List<Object> list = new ArrayList<>(((List<?>) obj).size());
+			for (Object element : (List<?>) obj) {
+				list.add(thaw(element));
+			}
+			return list;
+		}
+		return obj;
+	}
+
+	/**
+	 * 获取底层的持久化映射.
+	 * @return 持久化映射
+	 */
+	public PersistentHashMap<String, Object> getElements() {
+		return (PersistentHashMap<String, Object>) elements;
+	}
+
+	/**
+	 * 返回在指定位置放入对象后的新版本, 当前对象不变.
+	 * @param path 多级相对路径, 中间节点不存在或不是映射时会创建.
+	 * @param value 对象, 会被转为不可变形式.
+	 * @return 新版本, 若没有变化, 返回当前对象.
+	 */
+	public ImmutableConfigSection with(@NonNull ConfigPath path, Object value) {
+		if (path.size() == 0) {
+			throw new IllegalArgumentException("CANNOT set value at empty path.");
+		}
+		return derive(with(getElements(), path, 0, freeze(value)));
+	}
+
+	/**
+	 * 返回在指定位置放入对象后的新版本, 当前对象不变.
+	 * @param key 相对路径
+	 * @param value 对象, 会被转为不可变形式.
+	 * @return 新版本, 若没有变化, 返回当前对象.
+	 */
+	public ImmutableConfigSection with(@NonNull String key, Object value) {
+		return derive(getElements().plus(key, freeze(value)));
+	}
+
+	/**
+	 * 返回移除指定位置对象后的新版本, 当前对象不变.
+	 * @param path 多级相对路径
+	 * @return 新版本, 若该位置不存在, 返回当前对象.
+	 */
+	public ImmutableConfigSection without(@NonNull ConfigPath path) {
+		return path.size() == 0 ? this : derive(without(getElements(), path, 0));
+	}
+
+	/**
+	 * 返回移除指定位置对象后的新版本, 当前对象不变.
+	 * @param key 相对路径
+	 * @return 新版本, 若该位置不存在, 返回当前对象.
+	 */
+	public ImmutableConfigSection without(@NonNull String key) {
+		return derive(getElements().minus(key));
+	}
+
+	private ImmutableConfigSection derive(PersistentHashMap<String, Object> map) {
+		return map == elements ? this : new ImmutableConfigSection(parent, map, nodePath);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PersistentHashMap<String, Object> with(PersistentHashMap<String, Object> map, ConfigPath path,
+			int depth, Object value) {
+		String segment = path.segment(depth);
+		if (depth == path.size() - 1) {
+			return map.plus(segment, value);
+		}
+		Object child = map.get(segment);
+		PersistentHashMap<String, Object> sub = child instanceof PersistentHashMap
+				? (PersistentHashMap<String, Object>) child
+				: PersistentHashMap.empty();
+		return map.plus(segment, with(sub, path, depth + 1, value));
+	}
+
+	@SuppressWarnings("unchecked")
+	private static PersistentHashMap<String, Object> without(PersistentHashMap<String, Object> map, ConfigPath path,
+			int depth) {
+		String segment = path.segment(depth);
+		if (depth == path.size() - 1) {
+			return map.minus(segment);
+		}
+		Object child = map.get(segment);
+		if (!(child instanceof PersistentHashMap)) {
+			return map;
+		}
+		PersistentHashMap<String, Object> sub = (PersistentHashMap<String, Object>) child;
+		PersistentHashMap<String, Object> updated = without(sub, path, depth + 1);
+		return updated == sub ? map : map.plus(segment, updated);
+	}
+
+	/**
+	 * 深复制为可修改的配置对象.
+	 * @return 配置对象
+	 */
+	@SuppressWarnings("unchecked")
+	public YamlConfig toYamlConfig() {
+		return new YamlConfig((Map<String, Object>) thaw(elements), nodePath.toString());
+	}
+
+	/**
+	 * 不可变配置树不在根节点缓存摘要, 摘要保存在各个 {@link PersistentHashMap} 中, 可以被多个线程同时计算.
+	 */
+	@Override
+	ContentHashes getContentHashes() {
+		return ContentHashes.IMMUTABLE;
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	protected ConfigSection getSection0(Object obj, ConfigPath relative, String key) {
+		if (obj instanceof PersistentHashMap) {
+			return new ImmutableConfigSection(this, (PersistentHashMap<String, Object>) obj, nodePath.child(key));
+		}
+		return null;
+	}
+
+	@Override
+	public ImmutableConfigSection getSection(@NonNull String key) {
+		return (ImmutableConfigSection) super.getSection(key);
+	}
+
+	@Override
+	public ImmutableConfigSection getSectionDeep(@NonNull String key) {
+		return (ImmutableConfigSection) super.getSectionDeep(key);
+	}
+
+	@Override
+	public ImmutableConfigSection getSection(@NonNull ConfigPath path) {
+		return (ImmutableConfigSection) super.getSection(path);
+	}
+
+	@Override
+	public ConfigSection createSection(@NonNull String key) {
+		throw unsupported();
+	}
+
+	@Override
+	public Object set(@NonNull String key, Object value) {
+		throw unsupported();
+	}
+
+	@Override
+	public Object set(@NonNull ConfigPath path, Object value) {
+		throw unsupported();
+	}
+
+	@Override
+	public Object remove(@NonNull String key) {
+		throw unsupported();
+	}
+
+	@Override
+	public Object remove(@NonNull ConfigPath path) {
+		throw unsupported();
+	}
+
+	private static UnsupportedOperationException unsupported() {
+		return new UnsupportedOperationException("CANNOT modify an immutable config section, use with/without instead.");
+	}
+
+}
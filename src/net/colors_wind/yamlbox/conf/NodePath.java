@@ -0,0 +1,101 @@
+package net.colors_wind.yamlbox.conf;
+
+import lombok.NonNull;
+
+/**
+ * 延迟拼接的Yaml节点绝对路径, 由父路径和节点名组成的链表. 创建子路径只分配一个链表节点,
+ * 只有在记录日志或抛出异常等需要字符串时才调用 {@link #toString()} 拼接, 结果会被缓存.
+ * <p>拼接结果与 {@link ConfigSection#appendPath(String, String)} 逐级拼接的结果相同. 不可变, 线程安全.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class NodePath {
+	/**
+	 * 空路径, 即 {@code ""}.
+	 */
+	public static final NodePath ROOT = new NodePath(null, "");
+
+	private final NodePath parent;
+	/**
+	 * 节点名, {@link String} 或 {@link ConfigPath}; 没有父路径时为完整的路径.
+	 */
+	private final Object segment;
+	private String rendered;
+
+	private NodePath(NodePath parent, Object segment) {
+		this.parent = parent;
+		this.segment = segment;
+	}
+
+	/**
+	 * 包装已经拼接好的路径.
+	 * @param path 绝对路径, 为 {@code null} 或空字符串时返回 {@link #ROOT}.
+	 * @return 路径
+	 */
+	public static NodePath of(String path) {
+		if (path == null || path.isEmpty()) {
+			return ROOT;
+		}
+		NodePath nodePath = new NodePath(null, path);
+		nodePath.rendered = path;
+		return nodePath;
+	}
+
+	/**
+	 * 创建子路径, 不拼接字符串.
+	 * @param key 子节点名(相对路径)
+	 * @return 子路径
+	 */
+	public NodePath child(@NonNull String key) {
+		return new NodePath(this, key);
+	}
+
+	/**
+	 * 创建子路径, 不拼接字符串.
+	 * @param key 子节点的多级相对路径
+	 * @return 子路径
+	 */
+	public NodePath child(@NonNull ConfigPath key) {
+		return new NodePath(this, key);
+	}
+
+	/**
+	 * @return 父路径, 没有父路径时为 {@code null}.
+	 */
+	public NodePath getParent() {
+		return parent;
+	}
+
+	/**
+	 * 拼接为字符串, 结果会被缓存.
+	 * @return 绝对路径
+	 */
+	@Override
+	public String toString() {
+		String result = rendered;
+		if (result == null) {
+			if (parent == null) {
+				result = segment.toString();
+			} else {
+				String prefix = parent.toString();
+				String key = segment.toString();
+				result = new StringBuilder(prefix.length() + ConfigSection.DOT.length() + key.length()).append(prefix)
+						.append(ConfigSection.DOT).append(key).toString();
+			}
+			rendered = result;
+		}
+		return result;
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		return obj == this || obj instanceof NodePath && toString().equals(obj.toString());
+	}
+
+	@Override
+	public int hashCode() {
+		return toString().hashCode();
+	}
+
+}
@@ -0,0 +1,46 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 配置节点的类型.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public enum NodeType {
+	SECTION, LIST, STRING, INTEGER, LONG, DOUBLE, BOOLEAN, NULL, OTHER;
+
+	private static final NodeType[] VALUES = values();
+
+	/**
+	 * 判断对象的节点类型.
+	 * @param obj 对象
+	 * @return 节点类型
+	 */
+	public static NodeType of(Object obj) {
+		if (obj == null) {
+			return NULL;
+		} else if (obj instanceof Map || obj instanceof ConfigSection) {
+			return SECTION;
+		} else if (obj instanceof List) {
+			return LIST;
+		} else if (obj instanceof String) {
+			return STRING;
+		} else if (obj instanceof Integer) {
+			return INTEGER;
+		} else if (obj instanceof Long) {
+			return LONG;
+		} else if (obj instanceof Double) {
+			return DOUBLE;
+		} else if (obj instanceof Boolean) {
+			return BOOLEAN;
+		}
+		return OTHER;
+	}
+
+	static NodeType valueOf(int ordinal) {
+		return VALUES[ordinal];
+	}
+}
@@ -0,0 +1,311 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.Map;
+import java.util.Map.Entry;
+
+/**
+ * 扁平的路径索引, 将完整路径(相对于根节点, 节点名按 {@link ConfigPath} 的规则转义)映射到对象和节点类型.
+ * <p>使用开放寻址(线性探测)的哈希表, 查找只需一次探测序列, 且支持以 "前缀 + 相对路径" 的形式查找而无需拼接字符串.
+ * 索引只覆盖映射中键为字符串的各级子节点, 与 {@link ConfigPath#get(Map)} 能找到的节点相同; 列表中的元素不会被索引.
+ * @see {@link YamlConfig#enableIndex()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class PathIndex {
+	private static final int MIN_CAPACITY = 16;
+
+	private String[] keys;
+	private int[] hashes;
+	private Object[] values;
+	private byte[] types;
+	private int size;
+
+	private PathIndex(int expected) {
+		int capacity = MIN_CAPACITY;
+		while (capacity < expected * 2) {
+			capacity <<= 1;
+		}
+		allocate(capacity);
+	}
+
+	/**
+	 * 为映射建立索引.
+	 * @param root 根映射
+	 * @return 索引
+	 */
+	public static PathIndex build(Map<?, ?> root) {
+		PathIndex index = new PathIndex(root.size());
+		index.addChildren("", root);
+		return index;
+	}
+
+	private void allocate(int capacity) {
+		this.keys = new String[capacity];
+		this.hashes = new int[capacity];
+		this.values = new Object[capacity];
+		this.types = new byte[capacity];
+	}
+
+	/**
+	 * 判断路径是否已是索引使用的规范形式(没有空节点名和转义字符).
+	 * @param key 路径
+	 * @return {@code true} 如果是规范形式, 否则返回 {@code false}.
+	 */
+	public static boolean isCanonical(String key) {
+		int length = key.length();
+		if (length == 0 || key.charAt(0) == ConfigPath.SEPARATOR
+				|| key.charAt(length - 1) == ConfigPath.SEPARATOR) {
+			return false;
+		}
+		char last = 0;
+		for (int i = 0; i < length; i++) {
+			char c = key.charAt(i);
+			if (c == ConfigPath.ESCAPE || (c == ConfigPath.SEPARATOR && last == ConfigPath.SEPARATOR)) {
+				return false;
+			}
+			last = c;
+		}
+		return true;
+	}
+
+	/**
+	 * 拼接路径.
+	 * @param prefix 前缀(规范形式), 可以为空.
+	 * @param key 相对路径(规范形式)
+	 * @return 完整路径
+	 */
+	public static String join(String prefix, String key) {
+		return prefix.isEmpty() ? key : new StringBuilder(prefix.length() + key.length() + 1).append(prefix)
+				.append(ConfigPath.SEPARATOR).append(key).toString();
+	}
+
+	private static int hash(String prefix, String key) {
+		if (prefix.isEmpty()) {
+			return key.hashCode();
+		}
+		int h = prefix.hashCode() * 31 + ConfigPath.SEPARATOR;
+		for (int i = 0; i < key.length(); i++) {
+			h = 31 * h + key.charAt(i);
+		}
+		return h;
+	}
+
+	private static int spread(int h) {
+		return h ^ (h >>> 16);
+	}
+
+	private static boolean matches(String stored, String prefix, String key) {
+		if (prefix.isEmpty()) {
+			return stored.equals(key);
+		}
+		int offset = prefix.length() + 1;
+		return stored.length() == offset + key.length() && stored.startsWith(prefix)
+				&& stored.charAt(prefix.length()) == ConfigPath.SEPARATOR
+				&& stored.regionMatches(offset, key, 0, key.length());
+	}
+
+	private int find(String prefix, String key) {
+		int h = hash(prefix, key);
+		int mask = keys.length - 1;
+		for (int i = spread(h) & mask;; i = (i + 1) & mask) {
+			String stored = keys[i];
+			if (stored == null) {
+				return -1;
+			} else if (hashes[i] == h && matches(stored, prefix, key)) {
+				return i;
+			}
+		}
+	}
+
+	/**
+	 * 获取指定路径的对象.
+	 * @param prefix 前缀(规范形式), 可以为空.
+	 * @param key 相对路径(规范形式)
+	 * @return 该位置的对象, 若不存在, 返回 {@code null}.
+	 */
+	public Object get(String prefix, String key) {
+		int i = find(prefix, key);
+		return i < 0 ? null : values[i];
+	}
+
+	/**
+	 * 判断指定路径是否存在.
+	 * @param prefix 前缀(规范形式), 可以为空.
+	 * @param key 相对路径(规范形式)
+	 * @return {@code true} 如果存在, 否则返回 {@code false}.
+	 */
+	public boolean contains(String prefix, String key) {
+		return find(prefix, key) >= 0;
+	}
+
+	/**
+	 * 获取指定路径的节点类型.
+	 * @param prefix 前缀(规范形式), 可以为空.
+	 * @param key 相对路径(规范形式)
+	 * @return 节点类型, 若不存在, 返回 {@code null}.
+	 */
+	public NodeType getType(String prefix, String key) {
+		int i = find(prefix, key);
+		return i < 0 ? null : NodeType.valueOf(types[i]);
+	}
+
+	/**
+	 * 放入单个节点, 不处理其子节点.
+	 * @param key 完整路径(规范形式)
+	 * @param value 对象
+	 */
+	public void put(String key, Object value) {
+		int h = key.hashCode();
+		int mask = keys.length - 1;
+		int i = spread(h) & mask;
+		for (; keys[i] != null; i = (i + 1) & mask) {
+			if (hashes[i] == h && keys[i].equals(key)) {
+				values[i] = value;
+				types[i] = (byte) NodeType.of(value).ordinal();
+				return;
+			}
+		}
+		keys[i] = key;
+		hashes[i] = h;
+		values[i] = value;
+		types[i] = (byte) NodeType.of(value).ordinal();
+		if (++size * 2 > keys.length) {
+			rehash(keys.length << 1);
+		}
+	}
+
+	/**
+	 * 移除单个节点, 不处理其子节点.
+	 * @param key 完整路径(规范形式)
+	 */
+	public void remove(String key) {
+		int i = find("", key);
+		if (i < 0) {
+			return;
+		}
+		int mask = keys.length - 1;
+		// 线性探测的后移删除, 不留下墓碑
+		for (int j = (i + 1) & mask; keys[j] != null; j = (j + 1) & mask) {
+			int ideal = spread(hashes[j]) & mask;
+			if (i <= j ? (ideal <= i || ideal > j) : (ideal <= i && ideal > j)) {
+				keys[i] = keys[j];
+				hashes[i] = hashes[j];
+				values[i] = values[j];
+				types[i] = types[j];
+				i = j;
+			}
+		}
+		keys[i] = null;
+		values[i] = null;
+		size--;
+	}
+
+	/**
+	 * 用新对象替换指定路径的对象, 同时更新两者的全部子节点.
+	 * @param key 完整路径(规范形式)
+	 * @param oldValue 原来的对象
+	 * @param newValue 新对象
+	 */
+	public void replace(String key, Object oldValue, Object newValue) {
+		removeTree(key, oldValue);
+		put(key, newValue);
+		if (newValue instanceof Map) {
+			addChildren(key, (Map<?, ?>) newValue);
+		}
+	}
+
+	/**
+	 * 移除指定路径的对象及其全部子节点.
+	 * @param key 完整路径(规范形式)
+	 * @param oldValue 原来的对象
+	 */
+	public void removeTree(String key, Object oldValue) {
+		remove(key);
+		if (oldValue instanceof Map) {
+			for (Entry<?, ?> entry : ((Map<?, ?>) oldValue).entrySet()) {
+				if (entry.getKey() instanceof String) {
+					removeTree(childKey(key, (String) entry.getKey()), entry.getValue());
+				}
+			}
+		}
+	}
+
+	private void addChildren(String prefix, Map<?, ?> map) {
+		for (Entry<?, ?> entry : map.entrySet()) {
+			if (!(entry.getKey() instanceof String)) {
+				continue;
+			}
+			String key = childKey(prefix, (String) entry.getKey());
+			put(key, entry.getValue());
+			if (entry.getValue() instanceof Map) {
+				addChildren(key, (Map<?, ?>) entry.getValue());
+			}
+		}
+	}
+
+	private static String childKey(String prefix, String child) {
+		StringBuilder builder = new StringBuilder(prefix);
+		if (!prefix.isEmpty()) {
+			builder.append(ConfigPath.SEPARATOR);
+		}
+		return ConfigPath.escape(builder, child).toString();
+	}
+
+	private void rehash(int capacity) {
+		String[] oldKeys = keys;
+		int[] oldHashes = hashes;
+		Object[] oldValues = values;
+		byte[] oldTypes = types;
+		allocate(capacity);
+		int mask = capacity - 1;
+		for (int j = 0; j < oldKeys.length; j++) {
+			if (oldKeys[j] != null) {
+				int i = spread(oldHashes[j]) & mask;
+				while (keys[i] != null) {
+					i = (i + 1) & mask;
+				}
+				keys[i] = oldKeys[j];
+				hashes[i] = oldHashes[j];
+				values[i] = oldValues[j];
+				types[i] = oldTypes[j];
+			}
+		}
+	}
+
+	/**
+	 * @return 索引的路径数量
+	 */
+	public int size() {
+		return size;
+	}
+
+	/**
+	 * @return 哈希表的槽位数量
+	 */
+	public int capacity() {
+		return keys.length;
+	}
+
+	/**
+	 * 估算索引本身占用的堆内存(字节), 包括哈希表和路径字符串, 不包括被索引的对象.
+	 * 按64位JVM开启压缩指针估算.
+	 * @return 字节数
+	 */
+	public long estimateMemory() {
+		long capacity = keys.length;
+		long bytes = 32 + 3 * (16 + 4 * capacity) + (16 + capacity);
+		for (String key : keys) {
+			if (key != null) {
+				bytes += 24 + ((16 + 2L * key.length() + 7) & ~7L);
+			}
+		}
+		return bytes;
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("PathIndex[size=").append(size).append(", capacity=").append(keys.length)
+				.append(", memory=").append(estimateMemory()).append("B]").toString();
+	}
+}
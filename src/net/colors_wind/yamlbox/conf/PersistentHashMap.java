@@ -0,0 +1,388 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * 不可变的持久化哈希映射(哈希数组映射字典树, HAMT).
+ * <p>{@link #plus(Object, Object)} 和 {@link #minus(Object)} 返回新的映射, 只复制从根到被修改位置的节点,
+ * 其余节点在新旧版本之间共享. 每个节点按哈希值的5位分支, 查找最多访问7层节点, 哈希值完全相同的键再多一层.
+ * 移除后只剩一个键值对的子节点会上移, 因此树的形状只由当前的键决定, 与修改的历史无关.
+ * 继承自 {@link AbstractMap}, 所有修改方法都会抛出 {@link UnsupportedOperationException}.
+ * <p>迭代顺序由键的哈希值决定, 与插入顺序无关.
+ * @param <K> 键的类型
+ * @param <V> 值的类型
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class PersistentHashMap<K, V> extends AbstractMap<K, V> {
+	private static final int BITS = 5;
+	private static final int MASK = (1 << BITS) - 1;
+	private static final int MAX_DEPTH = 8;
+	private static final PersistentHashMap<?, ?> EMPTY = new PersistentHashMap<>(0, BitmapNode.EMPTY);
+
+	private final int size;
+	private final Node root;
+	private Set<Entry<K, V>> entrySet;
+	/**
+	 * 内容摘要, 由 {@link ContentHashes} 计算后保存, {@code 0} 代表尚未计算. 映射不可变,
+	 * 多个线程同时计算得到的结果相同, 因此与 {@link String#hashCode()} 一样不需要加锁.
+	 */
+	volatile long contentHash;
+
+	private PersistentHashMap(int size, Node root) {
+		this.size = size;
+		this.root = root;
+	}
+
+	/**
+	 * @return 空映射
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> empty() {
+		return (PersistentHashMap<K, V>) EMPTY;
+	}
+
+	/**
+	 * 复制一个映射(浅复制).
+	 * @param map 映射
+	 * @return 持久化映射
+	 */
+	@SuppressWarnings("unchecked")
+	public static <K, V> PersistentHashMap<K, V> copyOf(Map<? extends K, ? extends V> map) {
+		if (map instanceof PersistentHashMap) {
+			return (PersistentHashMap<K, V>) map;
+		}
+		PersistentHashMap<K, V> result = empty();
+		for (Entry<? extends K, ? extends V> entry : map.entrySet()) {
+			result = result.plus(entry.getKey(), entry.getValue());
+		}
+		return result;
+	}
+
+	private static int hash(Object key) {
+		int h = Objects.hashCode(key);
+		return h ^ (h >>> 16);
+	}
+
+	@Override
+	public int size() {
+		return size;
+	}
+
+	@Override
+	public V get(Object key) {
+		return getOrDefault(key, null);
+	}
+
+	@Override
+	@SuppressWarnings("unchecked")
+	public V getOrDefault(Object key, V defaultValue) {
+		return (V) root.find(0, hash(key), key, defaultValue);
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return root.find(0, hash(key), key, BitmapNode.EMPTY) != BitmapNode.EMPTY;
+	}
+
+	/**
+	 * 返回放入键值对后的新映射.
+	 * @param key 键
+	 * @param value 值
+	 * @return 新映射, 若值未发生变化, 返回当前映射.
+	 */
+	public PersistentHashMap<K, V> plus(K key, V value) {
+		boolean[] added = new boolean[1];
+		Node node = root.assoc(0, hash(key), key, value, added);
+		return node == root ? this : new PersistentHashMap<>(added[0] ? size + 1 : size, node);
+	}
+
+	/**
+	 * 返回移除指定键后的新映射.
+	 * @param key 键
+	 * @return 新映射, 若键不存在, 返回当前映射.
+	 */
+	public PersistentHashMap<K, V> minus(Object key) {
+		Node node = root.without(0, hash(key), key);
+		if (node == root) {
+			return this;
+		}
+		return node == null ? empty() : new PersistentHashMap<>(size - 1, node);
+	}
+
+	@Override
+	public Set<Entry<K, V>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Entry<K, V>>() {
+
+				@Override
+				public Iterator<Entry<K, V>> iterator() {
+					return new EntryIterator<>(root);
+				}
+
+				@Override
+				public int size() {
+					return size;
+				}
+			};
+		}
+		return entrySet;
+	}
+
+	/**
+	 * @return 字典树的层数, 空映射为 {@code 1}.
+	 */
+	int depth() {
+		return depth(root);
+	}
+
+	private static int depth(Node node) {
+		int max = 0;
+		for (int i = 1; i < node.array.length; i += 2) {
+			if (node.array[i] instanceof Node) {
+				max = Math.max(max, depth((Node) node.array[i]));
+			}
+		}
+		return max + 1;
+	}
+
+	private static Object[] insertPair(Object[] array, int i, Object key, Object value) {
+		Object[] copy = new Object[array.length + 2];
+		System.arraycopy(array, 0, copy, 0, i);
+		copy[i] = key;
+		copy[i + 1] = value;
+		System.arraycopy(array, i, copy, i + 2, array.length - i);
+		return copy;
+	}
+
+	private static Object[] removePair(Object[] array, int i) {
+		Object[] copy = new Object[array.length - 2];
+		System.arraycopy(array, 0, copy, 0, i);
+		System.arraycopy(array, i + 2, copy, i, copy.length - i);
+		return copy;
+	}
+
+	private static Object[] cloneAndSet(Object[] array, int i, Object value) {
+		Object[] copy = array.clone();
+		copy[i] = value;
+		return copy;
+	}
+
+	/**
+	 * 字典树节点, 数组中按 "键, 值" 成对存放, 值为 {@link Node} 时代表子节点.
+	 */
+	private static abstract class Node {
+		final Object[] array;
+
+		Node(Object[] array) {
+			this.array = array;
+		}
+
+		abstract Object find(int shift, int hash, Object key, Object notFound);
+
+		abstract Node assoc(int shift, int hash, Object key, Object value, boolean[] added);
+
+		/**
+		 * @return 新节点, 若键不存在, 返回当前节点; 若节点变为空, 返回 {@code null}.
+		 */
+		abstract Node without(int shift, int hash, Object key);
+	}
+
+	private static final class BitmapNode extends Node {
+		static final BitmapNode EMPTY = new BitmapNode(0, new Object[0]);
+		final int bitmap;
+
+		BitmapNode(int bitmap, Object[] array) {
+			super(array);
+			this.bitmap = bitmap;
+		}
+
+		private static int bit(int hash, int shift) {
+			return 1 << ((hash >>> shift) & MASK);
+		}
+
+		private int index(int bit) {
+			return Integer.bitCount(bitmap & (bit - 1)) << 1;
+		}
+
+		@Override
+		Object find(int shift, int hash, Object key, Object notFound) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return notFound;
+			}
+			int i = index(bit);
+			Object value = array[i + 1];
+			if (value instanceof Node) {
+				return ((Node) value).find(shift + BITS, hash, key, notFound);
+			}
+			return Objects.equals(key, array[i]) ? value : notFound;
+		}
+
+		@Override
+		Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+			int bit = bit(hash, shift);
+			int i = index(bit);
+			if ((bitmap & bit) == 0) {
+				added[0] = true;
+				return new BitmapNode(bitmap | bit, insertPair(array, i, key, value));
+			}
+			Object oldKey = array[i];
+			Object oldValue = array[i + 1];
+			if (oldValue instanceof Node) {
+				Node node = ((Node) oldValue).assoc(shift + BITS, hash, key, value, added);
+				return node == oldValue ? this : new BitmapNode(bitmap, cloneAndSet(array, i + 1, node));
+			} else if (Objects.equals(key, oldKey)) {
+				return oldValue == value ? this : new BitmapNode(bitmap, cloneAndSet(array, i + 1, value));
+			}
+			added[0] = true;
+			Object[] copy = cloneAndSet(array, i, null);
+			copy[i + 1] = createNode(shift + BITS, oldKey, oldValue, hash, key, value);
+			return new BitmapNode(bitmap, copy);
+		}
+
+		private static Node createNode(int shift, Object key1, Object value1, int hash2, Object key2, Object value2) {
+			int hash1 = hash(key1);
+			if (hash1 == hash2) {
+				return new CollisionNode(hash1, new Object[] { key1, value1, key2, value2 });
+			}
+			boolean[] added = new boolean[1];
+			return EMPTY.assoc(shift, hash1, key1, value1, added).assoc(shift, hash2, key2, value2, added);
+		}
+
+		@Override
+		Node without(int shift, int hash, Object key) {
+			int bit = bit(hash, shift);
+			if ((bitmap & bit) == 0) {
+				return this;
+			}
+			int i = index(bit);
+			Object value = array[i + 1];
+			if (value instanceof Node) {
+				Node node = ((Node) value).without(shift + BITS, hash, key);
+				if (node == value) {
+					return this;
+				} else if (node != null && node.array.length == 2 && !(node.array[1] instanceof BitmapNode)) {
+					// 子节点只剩一个键值对或一个冲突节点, 它们不依赖所在的层, 上移到当前节点
+					Object[] copy = cloneAndSet(array, i, node.array[0]);
+					copy[i + 1] = node.array[1];
+					return new BitmapNode(bitmap, copy);
+				} else if (node != null) {
+					return new BitmapNode(bitmap, cloneAndSet(array, i + 1, node));
+				}
+			} else if (!Objects.equals(key, array[i])) {
+				return this;
+			}
+			return bitmap == bit ? null : new BitmapNode(bitmap ^ bit, removePair(array, i));
+		}
+	}
+
+	/**
+	 * 哈希值完全相同的键, 线性查找.
+	 */
+	private static final class CollisionNode extends Node {
+		final int hash;
+
+		CollisionNode(int hash, Object[] array) {
+			super(array);
+			this.hash = hash;
+		}
+
+		private int indexOf(Object key) {
+			for (int i = 0; i < array.length; i += 2) {
+				if (Objects.equals(key, array[i])) {
+					return i;
+				}
+			}
+			return -1;
+		}
+
+		@Override
+		Object find(int shift, int hash, Object key, Object notFound) {
+			int i = indexOf(key);
+			return i < 0 ? notFound : array[i + 1];
+		}
+
+		@Override
+		Node assoc(int shift, int hash, Object key, Object value, boolean[] added) {
+			if (hash != this.hash) {
+				// 与已有的键在更高层分叉
+				return new BitmapNode(BitmapNode.bit(this.hash, shift), new Object[] { null, this })
+						.assoc(shift, hash, key, value, added);
+			}
+			int i = indexOf(key);
+			if (i >= 0) {
+				return array[i + 1] == value ? this : new CollisionNode(hash, cloneAndSet(array, i + 1, value));
+			}
+			added[0] = true;
+			return new CollisionNode(hash, insertPair(array, array.length, key, value));
+		}
+
+		@Override
+		Node without(int shift, int hash, Object key) {
+			int i = indexOf(key);
+			if (i < 0) {
+				return this;
+			}
+			return array.length == 2 ? null : new CollisionNode(hash, removePair(array, i));
+		}
+	}
+
+	private static final class EntryIterator<K, V> implements Iterator<Entry<K, V>> {
+		private final Object[][] stack = new Object[MAX_DEPTH][];
+		private final int[] positions = new int[MAX_DEPTH];
+		private int depth;
+		private Entry<K, V> next;
+
+		EntryIterator(Node root) {
+			stack[0] = root.array;
+			advance();
+		}
+
+		@SuppressWarnings("unchecked")
+		private void advance() {
+			while (depth >= 0) {
+				Object[] array = stack[depth];
+				int i = positions[depth];
+				if (i >= array.length) {
+					depth--;
+					continue;
+				}
+				positions[depth] = i + 2;
+				Object value = array[i + 1];
+				if (value instanceof Node) {
+					depth++;
+					stack[depth] = ((Node) value).array;
+					positions[depth] = 0;
+				} else {
+					next = new SimpleImmutableEntry<>((K) array[i], (V) value);
+					return;
+				}
+			}
+			next = null;
+		}
+
+		@Override
+		public boolean hasNext() {
+			return next != null;
+		}
+
+		@Override
+		public Entry<K, V> next() {
+			if (next == null) {
+				throw new NoSuchElementException();
+			}
+			Entry<K, V> entry = next;
+			advance();
+			return entry;
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+package net.colors_wind.yamlbox.conf;
+
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.function.UnaryOperator;
+
+import lombok.NonNull;
+
+/**
+ * 持有当前版本的 {@link ImmutableConfigSection}, 通过一次 volatile 引用替换发布新版本.
+ * <p>读取者调用 {@link #get()} 后, 在该版本上的所有读取都是一致的, 不需要加锁也不会复制.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class SnapshotHolder {
+	private static final AtomicReferenceFieldUpdater<SnapshotHolder, ImmutableConfigSection> UPDATER = AtomicReferenceFieldUpdater
+			.newUpdater(SnapshotHolder.class, ImmutableConfigSection.class, "current");
+
+	private volatile ImmutableConfigSection current;
+
+	public SnapshotHolder(@NonNull ImmutableConfigSection initial) {
+		this.current = initial;
+	}
+
+	/**
+	 * 获取当前版本.
+	 * @return 当前版本
+	 */
+	public ImmutableConfigSection get() {
+		return current;
+	}
+
+	/**
+	 * 发布新版本.
+	 * @param snapshot 新版本
+	 * @return 原来的版本
+	 */
+	public ImmutableConfigSection set(@NonNull ImmutableConfigSection snapshot) {
+		return UPDATER.getAndSet(this, snapshot);
+	}
+
+	/**
+	 * 当前版本与预期相同时发布新版本.
+	 * @param expected 预期的当前版本
+	 * @param snapshot 新版本
+	 * @return {@code true} 如果成功发布, 否则返回 {@code false}.
+	 */
+	public boolean compareAndSet(ImmutableConfigSection expected, @NonNull ImmutableConfigSection snapshot) {
+		return UPDATER.compareAndSet(this, expected, snapshot);
+	}
+
+	/**
+	 * 基于当前版本计算并发布新版本, 并发更新时会重试, 因此 {@code function} 不应有副作用.
+	 * @param function 由当前版本计算新版本, 例如 {@code c -> c.with(path, value)}.
+	 * @return 发布的新版本
+	 */
+	public ImmutableConfigSection update(@NonNull UnaryOperator<ImmutableConfigSection> function) {
+		while (true) {
+			ImmutableConfigSection expected = current;
+			ImmutableConfigSection snapshot = function.apply(expected);
+			if (UPDATER.compareAndSet(this, expected, snapshot)) {
+				return snapshot;
+			}
+		}
+	}
+
+}
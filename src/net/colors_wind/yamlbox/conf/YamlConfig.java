@@ -37,7 +37,60 @@ public class YamlConfig extends ConfigSection {
 	 */
 	public YamlConfig(Map<String, Object> elements, String root) {
 		super(null, elements, root);
-	}	
+	}
+
+	/**
+	 * 由一个映射创建 {@link YamlConfig}, 并指定根节点路径, 路径在 {@link #getPath()} 时才拼接.
+	 */
+	public YamlConfig(Map<String, Object> elements, NodePath root) {
+		super(null, elements, root, null);
+	}
+	
+	/**
+	 * 为当前配置建立扁平路径索引, 此后多级路径的读取只需一次哈希查找.
+	 * <p>通过 {@link ConfigSection} 的方法修改配置时索引会同步更新;
+	 * 直接修改 {@link #getObject(String)} 返回的映射或列表不会更新索引.
+	 * @return 路径索引
+	 * @see {@link PathIndex#estimateMemory()}
+	 */
+	public PathIndex enableIndex() {
+		this.index = PathIndex.build(elements);
+		return this.index;
+	}
+	
+	/**
+	 * 移除路径索引.
+	 */
+	public void disableIndex() {
+		this.index = null;
+	}
+
+	/**
+	 * 为当前配置启用字符串的数值转换缓存. 此后 {@code getAsInt}, {@code getOptionalLong} 等方法读取字符串时,
+	 * 每个字符串的每种目标类型只解析一次, 之后直接返回缓存的结果, 适用于频繁读取带引号的数值的场景.
+	 * <p>通过 {@link ConfigSection} 的方法修改或移除节点时, 原来的字符串会被移出缓存. 已启用时不做任何事.
+	 */
+	public void enableConversionCache() {
+		if (this.conversions == null) {
+			this.conversions = new ConversionCache();
+		}
+	}
+
+	/**
+	 * 移除转换缓存.
+	 */
+	public void disableConversionCache() {
+		this.conversions = null;
+	}
+
+	/**
+	 * 创建当前配置的不可变快照, 快照与当前配置不共享任何可修改的对象.
+	 * @return 快照
+	 * @see {@link SnapshotHolder}
+	 */
+	public ImmutableConfigSection snapshot() {
+		return ImmutableConfigSection.of(elements, nodePath.toString());
+	}
 	
 
 
@@ -0,0 +1,144 @@
+package net.colors_wind.yamlbox.io;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * 以内存映射方式读取UTF-8文件的 {@link Reader}.
+ * <p>文件按固定大小的窗口依次映射, 直接解码到调用者的字符数组, 堆上不保留文件内容的副本.
+ * 跨窗口的多字节字符会在下一个窗口中完整解码. 不会关闭文件通道.
+ * <p>不是线程安全的.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class MappedFileReader extends Reader {
+	/**
+	 * 默认映射窗口大小, 16MB.
+	 */
+	public static final int DEFAULT_WINDOW = 16 << 20;
+	/**
+	 * 最小映射窗口大小, 4KB. 过小的窗口会产生大量映射, 而映射只在回收时才释放.
+	 */
+	public static final int MIN_WINDOW = 4 << 10;
+	private static final ByteBuffer EMPTY = ByteBuffer.allocate(0);
+
+	private final FileChannel channel;
+	private final long end;
+	private final int window;
+	private final CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+			.onMalformedInput(CodingErrorAction.REPORT).onUnmappableCharacter(CodingErrorAction.REPORT);
+	private ByteBuffer buffer;
+	private long bufferStart;
+	private boolean lastWindow;
+	private boolean underflow;
+	private boolean finished;
+	private boolean closed;
+	private int pending = -1;
+
+	/**
+	 * 从通道的当前位置读取到文件末尾.
+	 * @param channel 文件通道
+	 * @throws IOException 如果出现IO异常
+	 */
+	public MappedFileReader(FileChannel channel) throws IOException {
+		this(channel, channel.position(), channel.size() - channel.position(), DEFAULT_WINDOW);
+	}
+
+	/**
+	 * 读取文件的指定区域.
+	 * @param channel 文件通道
+	 * @param position 起始位置
+	 * @param length 字节数
+	 * @param window 映射窗口大小(字节), 不小于 {@link #MIN_WINDOW}.
+	 */
+	public MappedFileReader(FileChannel channel, long position, long length, int window) {
+		if (position < 0 || length < 0) {
+			throw new IllegalArgumentException("Illegal region: position=" + position + ", length=" + length);
+		}
+		if (window < MIN_WINDOW) {
+			throw new IllegalArgumentException("window must be at least " + MIN_WINDOW + " bytes: " + window);
+		}
+		this.channel = channel;
+		this.bufferStart = position;
+		this.end = position + length;
+		this.window = window;
+	}
+
+	@Override
+	public int read(char[] cbuf, int off, int len) throws IOException {
+		if (closed) {
+			throw new IOException("Stream closed");
+		}
+		if (off < 0 || len < 0 || len > cbuf.length - off) {
+			throw new IndexOutOfBoundsException();
+		} else if (len == 0) {
+			return 0;
+		}
+		int count = 0;
+		if (pending >= 0) {
+			cbuf[off] = (char) pending;
+			pending = -1;
+			count = 1;
+		}
+		CharBuffer out = CharBuffer.wrap(cbuf, off + count, len - count);
+		decode(out);
+		count = out.position() - off;
+		return count == 0 && finished ? -1 : count;
+	}
+
+	private void decode(CharBuffer out) throws IOException {
+		while (out.hasRemaining() && !finished) {
+			if (buffer == null || underflow) {
+				map();
+			}
+			int before = out.position();
+			CoderResult result = decoder.decode(buffer, out, lastWindow);
+			if (result.isError()) {
+				result.throwException();
+			} else if (result.isOverflow()) {
+				if (out.position() == before && out.remaining() == 1) {
+					// 代理对需要两个字符, 第二个留到下次读取
+					CharBuffer spare = CharBuffer.allocate(2);
+					decoder.decode(buffer, spare, lastWindow);
+					out.put(spare.get(0));
+					pending = spare.get(1);
+				}
+				return;
+			} else if (lastWindow) {
+				decoder.flush(out);
+				finished = true;
+				buffer = EMPTY;
+			} else {
+				underflow = true;
+			}
+		}
+	}
+
+	/**
+	 * 映射下一个窗口, 从当前窗口未解码的位置开始.
+	 */
+	private void map() throws IOException {
+		long start = buffer == null ? bufferStart : bufferStart + buffer.position();
+		long size = Math.min(window, end - start);
+		buffer = size == 0 ? EMPTY : channel.map(MapMode.READ_ONLY, start, size);
+		bufferStart = start;
+		lastWindow = start + size >= end;
+		underflow = false;
+	}
+
+	@Override
+	public void close() {
+		closed = true;
+		buffer = EMPTY;
+	}
+
+}
@@ -0,0 +1,240 @@
+package net.colors_wind.yamlbox.io;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Arrays;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+
+import lombok.Getter;
+import lombok.NonNull;
+import net.colors_wind.yamlbox.ILogger;
+import net.colors_wind.yamlbox.conf.BinaryCodec;
+
+/**
+ * 配置文件的二进制快照缓存. 每个源文件在缓存目录中对应一个快照, 快照记录源文件的路径, 大小, 修改时间和内容摘要.
+ * <p>读取时先比较大小和修改时间, 再比较内容摘要, 全部一致才使用快照, 因此过期或损坏的快照只会导致重新解析.
+ * 快照在后台线程中写入临时文件后替换, 不阻塞加载.
+ * <p>线程安全.
+ * @see {@link BinaryCodec}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class SnapshotCache {
+	private static final int MAGIC = 0x59425343; // "YBSC"
+	private static final String DIGEST = "SHA-256";
+	private static final String SUFFIX = ".ybc";
+
+	@Getter
+	private final Path directory;
+	private final Executor executor;
+	private final ILogger logger;
+	/**
+	 * 等待写入的快照, 同一文件只保留最新的一份.
+	 */
+	private final ConcurrentMap<Path, byte[]> pending = new ConcurrentHashMap<>();
+
+	/**
+	 * @param directory 缓存目录, 不存在时自动创建.
+	 * @param executor 写入快照的线程池
+	 * @param logger 记录写入失败的日志
+	 */
+	public SnapshotCache(@NonNull Path directory, @NonNull Executor executor, @NonNull ILogger logger) {
+		this.directory = directory;
+		this.executor = executor;
+		this.logger = logger;
+	}
+
+	/**
+	 * 读取源文件并查找有效的快照.
+	 * @param source 源文件
+	 * @return 查找结果, 包含源文件的内容.
+	 * @throws IOException 如果无法读取源文件
+	 */
+	public Lookup lookup(@NonNull Path source) throws IOException {
+		Path absolute = source.toAbsolutePath().normalize();
+		BasicFileAttributes attributes = Files.readAttributes(absolute, BasicFileAttributes.class);
+		byte[] content = Files.readAllBytes(absolute);
+		Lookup lookup = new Lookup(absolute, attributes.size(), attributes.lastModifiedTime().toMillis(), content);
+		Path snapshot = snapshotFile(absolute);
+		try {
+			lookup.tree = readSnapshot(snapshot, lookup);
+		} catch (NoSuchFileException e) {
+			// 尚未缓存
+		} catch (IOException e) {
+			logger.warning(absolute.toString(), "Ignore corrupted snapshot " + snapshot + ": " + e.getMessage());
+		}
+		return lookup;
+	}
+
+	private Object readSnapshot(Path snapshot, Lookup lookup) throws IOException {
+		byte[] data = Files.readAllBytes(snapshot);
+		DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+		if (in.readInt() != MAGIC || !lookup.source.toString().equals(in.readUTF()) || in.readLong() != lookup.size
+				|| in.readLong() != lookup.lastModified) {
+			return null;
+		}
+		byte[] digest = new byte[in.readUnsignedByte()];
+		in.readFully(digest);
+		if (!Arrays.equals(digest, lookup.getDigest())) {
+			return null;
+		}
+		int offset = data.length - in.available();
+		return BinaryCodec.decode(ByteBuffer.wrap(data, offset, data.length - offset));
+	}
+
+	/**
+	 * 删除源文件的快照.
+	 * @param source 源文件
+	 * @return {@code true} 如果删除了快照, 否则返回 {@code false}.
+	 * @throws IOException 如果出现IO异常
+	 */
+	public boolean invalidate(@NonNull Path source) throws IOException {
+		Path snapshot = snapshotFile(source.toAbsolutePath().normalize());
+		pending.remove(snapshot);
+		return Files.deleteIfExists(snapshot);
+	}
+
+	private Path snapshotFile(Path absolute) {
+		byte[] hash = digest(absolute.toString().getBytes(StandardCharsets.UTF_8));
+		StringBuilder sb = new StringBuilder(hash.length * 2 + SUFFIX.length());
+		for (byte b : hash) {
+			sb.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+		}
+		return directory.resolve(sb.append(SUFFIX).toString());
+	}
+
+	private void schedule(Path snapshot, byte[] data) {
+		if (pending.put(snapshot, data) != null) {
+			// 已有写入任务等待执行, 它会写入最新的快照
+			return;
+		}
+		try {
+			executor.execute(() -> write(snapshot));
+		} catch (RejectedExecutionException e) {
+			pending.remove(snapshot, data);
+		}
+	}
+
+	private void write(Path snapshot) {
+		byte[] data = pending.remove(snapshot);
+		if (data == null) {
+			return;
+		}
+		Path temp = null;
+		try {
+			Files.createDirectories(directory);
+			temp = Files.createTempFile(directory, snapshot.getFileName().toString(), ".tmp");
+			Files.write(temp, data);
+			try {
+				Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+			} catch (AtomicMoveNotSupportedException e) {
+				Files.move(temp, snapshot, StandardCopyOption.REPLACE_EXISTING);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			logger.warning(snapshot.toString(), "CANNOT write snapshot: " + e.getMessage());
+			if (temp != null) {
+				try {
+					Files.deleteIfExists(temp);
+				} catch (IOException ignored) {
+				}
+			}
+		}
+	}
+
+	private static byte[] digest(byte[] data) {
+		try {
+			return MessageDigest.getInstance(DIGEST).digest(data);
+		} catch (NoSuchAlgorithmException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * 一次查找的结果, 持有源文件的内容和校验键.
+	 */
+	public final class Lookup {
+		@Getter
+		private final Path source;
+		private final long size;
+		private final long lastModified;
+		private final byte[] content;
+		private byte[] digest;
+		private Object tree;
+
+		private Lookup(Path source, long size, long lastModified, byte[] content) {
+			this.source = source;
+			this.size = size;
+			this.lastModified = lastModified;
+			this.content = content;
+		}
+
+		/**
+		 * @return 源文件的内容, 不要修改.
+		 */
+		public byte[] getContent() {
+			return content;
+		}
+
+		private byte[] getDigest() {
+			if (digest == null) {
+				digest = digest(content);
+			}
+			return digest;
+		}
+
+		/**
+		 * @return 快照解码得到的树, 若快照不存在或已过期, 返回 {@code null}.
+		 */
+		public Object getTree() {
+			return tree;
+		}
+
+		/**
+		 * @return {@code true} 如果找到了有效的快照, 否则返回 {@code false}.
+		 */
+		public boolean isHit() {
+			return tree != null;
+		}
+
+		/**
+		 * 以源文件内容的解析结果更新快照. 编码在当前线程完成, 之后修改树不影响快照; 写入在后台进行.
+		 * @param parsed 源文件内容的解析结果
+		 * @throws IOException 如果解析结果中存在无法编码的对象
+		 */
+		public void store(Object parsed) throws IOException {
+			byte[] body = BinaryCodec.encode(parsed);
+			byte[] digest = getDigest();
+			ByteArrayOutputStream buf = new ByteArrayOutputStream(body.length + 128);
+			DataOutputStream out = new DataOutputStream(buf);
+			out.writeInt(MAGIC);
+			out.writeUTF(source.toString());
+			out.writeLong(size);
+			out.writeLong(lastModified);
+			out.writeByte(digest.length);
+			out.write(digest);
+			out.write(body);
+			out.flush();
+			schedule(snapshotFile(source), buf.toByteArray());
+		}
+
+	}
+
+}
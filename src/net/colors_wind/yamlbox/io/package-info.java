@@ -0,0 +1,4 @@
+/**
+ * YamlBox 读取文件的工具.
+ */
+package net.colors_wind.yamlbox.io;
\ No newline at end of file
@@ -0,0 +1,294 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * 生成 {@link MethodHandleAccessor} 子类的字节码. 生成的类形如:
+ * <pre>
+ * public final class MethodHandleAccessor$$1 extends MethodHandleAccessor {
+ *     private static final MethodHandle GETTER, SETTER; // 基本类型字段另有 TYPED_GETTER, TYPED_SETTER
+ *     static {
+ *         MethodHandle[] handles = handles(MethodHandleAccessor$$1.class);
+ *         GETTER = handles[0]; SETTER = handles[1]; ...
+ *     }
+ *     public MethodHandleAccessor$$1(Field field) { super(field); }
+ *     public Object get(Object instance) { return (Object) GETTER.invokeExact(instance); }
+ *     public void set(Object instance, Object value) { SETTER.invokeExact(instance, value); }
+ *     public int getInt(Object instance) { return (int) TYPED_GETTER.invokeExact(instance); }
+ *     public void setInt(Object instance, int value) { TYPED_SETTER.invokeExact(instance, value); }
+ * }
+ * </pre>
+ * 方法中没有分支, 因此不需要 {@code StackMapTable}. 字节码不检查受检异常, 句柄抛出的异常原样传播.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+class AccessorClassWriter {
+	private static final String SUPER = "net/colors_wind/yamlbox/loader/MethodHandleAccessor";
+	private static final String METHOD_HANDLE = "java/lang/invoke/MethodHandle";
+	private static final String HANDLE_DESC = "L" + METHOD_HANDLE + ";";
+	private static final String[] HANDLES = { "GETTER", "SETTER", "TYPED_GETTER", "TYPED_SETTER" };
+
+	private final String name;
+	/**
+	 * 基本类型字段的类型描述符, 例如 {@code I}, 引用类型字段为 {@code null}.
+	 */
+	private final String typed;
+	private final List<byte[]> constants = new ArrayList<>();
+	private final Map<String, Integer> constantIndex = new HashMap<>();
+
+	/**
+	 * @param name 生成的类的二进制名称, 例如 {@code a/b/C}.
+	 * @param type 字段类型, 为 {@code int}, {@code long}, {@code double}, {@code float}, {@code boolean}
+	 * 时生成不装箱的读写方法, 其他类型可以为 {@code null}.
+	 */
+	AccessorClassWriter(String name, Class<?> type) {
+		this.name = name;
+		this.typed = descriptor(type);
+	}
+
+	/**
+	 * @return 是否需要 {@code TYPED_GETTER} 和 {@code TYPED_SETTER} 句柄.
+	 */
+	static boolean isTyped(Class<?> type) {
+		return descriptor(type) != null;
+	}
+
+	private static String descriptor(Class<?> type) {
+		if (int.class == type) {
+			return "I";
+		} else if (long.class == type) {
+			return "J";
+		} else if (double.class == type) {
+			return "D";
+		} else if (float.class == type) {
+			return "F";
+		} else if (boolean.class == type) {
+			return "Z";
+		}
+		return null;
+	}
+
+	byte[] write() {
+		int handleCount = typed == null ? 2 : 4;
+		List<byte[]> methods = new ArrayList<>();
+		methods.add(method(0x0001, "<init>", "(Ljava/lang/reflect/Field;)V", 2, 2, code(
+				0x2a, 0x2b, 0xb7, u2(methodRef(SUPER, "<init>", "(Ljava/lang/reflect/Field;)V")), 0xb1)));
+		methods.add(method(0x0008, "<clinit>", "()V", 2, 1, clinit(handleCount)));
+		methods.add(method(0x0001, "get", "(Ljava/lang/Object;)Ljava/lang/Object;", 2, 2, code(
+				0xb2, u2(handle(0)), 0x2b,
+				0xb6, u2(methodRef(METHOD_HANDLE, "invokeExact", "(Ljava/lang/Object;)Ljava/lang/Object;")), 0xb0)));
+		methods.add(method(0x0001, "set", "(Ljava/lang/Object;Ljava/lang/Object;)V", 3, 3, code(
+				0xb2, u2(handle(1)), 0x2b, 0x2c,
+				0xb6, u2(methodRef(METHOD_HANDLE, "invokeExact", "(Ljava/lang/Object;Ljava/lang/Object;)V")), 0xb1)));
+		if (typed != null) {
+			String suffix = suffix(typed);
+			int size = "J".equals(typed) || "D".equals(typed) ? 2 : 1;
+			methods.add(method(0x0001, "get" + suffix, "(Ljava/lang/Object;)" + typed, 2, 2, code(
+					0xb2, u2(handle(2)), 0x2b,
+					0xb6, u2(methodRef(METHOD_HANDLE, "invokeExact", "(Ljava/lang/Object;)" + typed)),
+					returnOpcode(typed))));
+			methods.add(method(0x0001, "set" + suffix, "(Ljava/lang/Object;" + typed + ")V", 2 + size, 2 + size,
+					code(0xb2, u2(handle(3)), 0x2b, loadOpcode(typed),
+							0xb6, u2(methodRef(METHOD_HANDLE, "invokeExact", "(Ljava/lang/Object;" + typed + ")V")),
+							0xb1)));
+		}
+		int thisClass = classRef(name);
+		int superClass = classRef(SUPER);
+		int[] fieldNames = new int[handleCount];
+		for (int i = 0; i < handleCount; i++) {
+			fieldNames[i] = utf8(HANDLES[i]);
+		}
+		int fieldDesc = utf8(HANDLE_DESC);
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeInt(0xCAFEBABE);
+			out.writeShort(0);
+			out.writeShort(52);
+			out.writeShort(constants.size() + 1);
+			for (byte[] constant : constants) {
+				out.write(constant);
+			}
+			out.writeShort(0x0031); // public final super
+			out.writeShort(thisClass);
+			out.writeShort(superClass);
+			out.writeShort(0);
+			out.writeShort(handleCount);
+			for (int i = 0; i < handleCount; i++) {
+				out.writeShort(0x001A); // private static final
+				out.writeShort(fieldNames[i]);
+				out.writeShort(fieldDesc);
+				out.writeShort(0);
+			}
+			out.writeShort(methods.size());
+			for (byte[] method : methods) {
+				out.write(method);
+			}
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	private byte[] clinit(int handleCount) {
+		List<Object> code = new ArrayList<>();
+		code.add(0x13); // ldc_w
+		code.add(u2(classRef(name)));
+		code.add(0xb8); // invokestatic
+		code.add(u2(methodRef(SUPER, "handles", "(Ljava/lang/Class;)[" + HANDLE_DESC)));
+		code.add(0x4b); // astore_0
+		for (int i = 0; i < handleCount; i++) {
+			code.add(0x2a); // aload_0
+			code.add(0x03 + i); // iconst_i
+			code.add(0x32); // aaload
+			code.add(0xb3); // putstatic
+			code.add(u2(handle(i)));
+		}
+		code.add(0xb1); // return
+		return code(code.toArray());
+	}
+
+	private static String suffix(String descriptor) {
+		switch (descriptor) {
+		case "I":
+			return "Int";
+		case "J":
+			return "Long";
+		case "D":
+			return "Double";
+		case "F":
+			return "Float";
+		default:
+			return "Boolean";
+		}
+	}
+
+	private static int loadOpcode(String descriptor) {
+		switch (descriptor) {
+		case "J":
+			return 0x20; // lload_2
+		case "D":
+			return 0x28; // dload_2
+		case "F":
+			return 0x24; // fload_2
+		default:
+			return 0x1c; // iload_2
+		}
+	}
+
+	private static int returnOpcode(String descriptor) {
+		switch (descriptor) {
+		case "J":
+			return 0xad; // lreturn
+		case "D":
+			return 0xaf; // dreturn
+		case "F":
+			return 0xae; // freturn
+		default:
+			return 0xac; // ireturn
+		}
+	}
+
+	private int handle(int index) {
+		return fieldRef(name, HANDLES[index], HANDLE_DESC);
+	}
+
+	private byte[] method(int access, String methodName, String descriptor, int maxStack, int maxLocals,
+			byte[] code) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeShort(access);
+			out.writeShort(utf8(methodName));
+			out.writeShort(utf8(descriptor));
+			out.writeShort(1);
+			out.writeShort(utf8("Code"));
+			out.writeInt(12 + code.length);
+			out.writeShort(maxStack);
+			out.writeShort(maxLocals);
+			out.writeInt(code.length);
+			out.write(code);
+			out.writeShort(0);
+			out.writeShort(0);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return bytes.toByteArray();
+	}
+
+	/**
+	 * 拼接字节码, 参数为单字节的操作码或 {@link #u2(int)} 返回的两字节操作数.
+	 */
+	private static byte[] code(Object... parts) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		for (Object part : parts) {
+			if (part instanceof byte[]) {
+				bytes.write((byte[]) part, 0, ((byte[]) part).length);
+			} else {
+				bytes.write((Integer) part);
+			}
+		}
+		return bytes.toByteArray();
+	}
+
+	private static byte[] u2(int value) {
+		return new byte[] { (byte) (value >>> 8), (byte) value };
+	}
+
+	private int utf8(String value) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		try (DataOutputStream out = new DataOutputStream(bytes)) {
+			out.writeByte(1);
+			out.writeUTF(value);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+		return constant("U" + value, bytes.toByteArray());
+	}
+
+	private int classRef(String className) {
+		return constant("C" + className, tagged(7, utf8(className)));
+	}
+
+	private int nameAndType(String memberName, String descriptor) {
+		return constant("N" + memberName + ":" + descriptor, tagged(12, utf8(memberName), utf8(descriptor)));
+	}
+
+	private int fieldRef(String owner, String fieldName, String descriptor) {
+		return constant("F" + owner + "." + fieldName + ":" + descriptor,
+				tagged(9, classRef(owner), nameAndType(fieldName, descriptor)));
+	}
+
+	private int methodRef(String owner, String methodName, String descriptor) {
+		return constant("M" + owner + "." + methodName + ":" + descriptor,
+				tagged(10, classRef(owner), nameAndType(methodName, descriptor)));
+	}
+
+	private static byte[] tagged(int tag, int... indexes) {
+		byte[] bytes = new byte[1 + indexes.length * 2];
+		bytes[0] = (byte) tag;
+		for (int i = 0; i < indexes.length; i++) {
+			bytes[1 + i * 2] = (byte) (indexes[i] >>> 8);
+			bytes[2 + i * 2] = (byte) indexes[i];
+		}
+		return bytes;
+	}
+
+	private int constant(String key, byte[] bytes) {
+		Integer index = constantIndex.get(key);
+		if (index == null) {
+			constants.add(bytes);
+			index = constants.size();
+			constantIndex.put(key, index);
+		}
+		return index;
+	}
+
+}
@@ -0,0 +1,261 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+
+import lombok.AccessLevel;
+import lombok.Getter;
+import net.colors_wind.yamlbox.loader.LoaderBase.NodeInf;
+import net.colors_wind.yamlbox.tag.ConfigConstructor;
+import net.colors_wind.yamlbox.tag.ConfigNode;
+
+/**
+ * 类的绑定计划, 缓存字段选择和字段标记分析的结果, 避免每次解析/存储都重新反射.
+ * @see {@link EntryLoader#getBindingPlan(Class, IFieldSelector)}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public class BindingPlan {
+	private final Class<?> type;
+	private final IFieldSelector selector;
+	private final FieldBinding[] bindings;
+	/**
+	 * 标记了 {@link ConfigConstructor} 的构造方法或工厂方法, 若不存在, 为 {@code null}.
+	 */
+	private final Creator creator;
+	@Getter(lazy = true)
+	private final PathTrie pathTrie = PathTrie.build(this);
+
+	/**
+	 * 分析指定类, 构造绑定计划.
+	 * @param type 类
+	 * @param selector 字段选择器
+	 * @param loader 用于分析字段标记的加载器
+	 * @param accessorFactory 字段访问器工厂
+	 */
+	public BindingPlan(Class<?> type, IFieldSelector selector, LoaderBase loader,
+			IFieldAccessorFactory accessorFactory) {
+		this.type = type;
+		this.selector = selector;
+		Field[] fields = selector.apply(type);
+		this.bindings = new FieldBinding[fields.length];
+		for (int i = 0; i < fields.length; i++) {
+			this.bindings[i] = new FieldBinding(fields[i], loader.getNodeInf(fields[i]),
+					accessorFactory.create(fields[i]));
+		}
+		this.creator = Creator.find(type, loader, bindings, accessorFactory);
+	}
+
+	/**
+	 * 单个字段的绑定信息.
+	 * @author colors_wind
+	 * @date 2020/6/20
+	 * @since 1.0.0
+	 */
+	@Getter
+	public static class FieldBinding {
+		private final Field field;
+		private final Class<?> type;
+		private final Type genericType;
+		private final NodeInf inf;
+		private final IFieldAccessor accessor;
+		/**
+		 * 字段的加载器为该字段提供的转换器, 若为 {@code null}, 每次调用加载器的 {@code resolve}/{@code store}.
+		 * 基本类型字段仍使用加载器的 {@code resolveAsXxx}.
+		 * @see {@link LoaderBase#getFieldConverter(Class, Type)}
+		 */
+		private final Converter converter;
+
+		public FieldBinding(Field field, NodeInf inf, IFieldAccessor accessor) {
+			this.field = field;
+			this.type = field.getType();
+			this.genericType = field.getGenericType();
+			this.inf = inf;
+			this.accessor = accessor;
+			this.converter = type.isPrimitive() ? null : inf.getLoader().getFieldConverter(type, genericType);
+		}
+	}
+
+	/**
+	 * 用于反序列化的构造方法或静态工厂方法, 句柄在创建绑定计划时生成一次.
+	 * @see {@link ConfigConstructor}
+	 * @author colors_wind
+	 * @date 2020/6/20
+	 * @since 1.0.0
+	 */
+	@Getter
+	public static class Creator {
+		private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+		private final Executable executable;
+		private final ParameterBinding[] parameters;
+		@Getter(AccessLevel.NONE)
+		private final MethodHandle handle;
+
+		private Creator(Executable executable, ParameterBinding[] parameters, MethodHandle handle) {
+			this.executable = executable;
+			this.parameters = parameters;
+			this.handle = handle.asSpreader(Object[].class, parameters.length)
+					.asType(MethodType.methodType(Object.class, Object[].class));
+		}
+
+		/**
+		 * 查找类中标记了 {@link ConfigConstructor} 的构造方法或静态工厂方法.
+		 * @param type 类
+		 * @param loader 用于分析参数标记的加载器
+		 * @param bindings 字段选择器选取的字段, 优先复用其访问器
+		 * @param accessorFactory 字段访问器工厂
+		 * @return 若不存在, 返回 {@code null}.
+		 * @throws IllegalArgumentException 如果标记了多个方法, 标记的方法无法用于创建该类的对象,
+		 * 或某个参数没有对应的字段.
+		 */
+		static Creator find(Class<?> type, LoaderBase loader, FieldBinding[] bindings,
+				IFieldAccessorFactory accessorFactory) {
+			Executable found = null;
+			for (Constructor<?> constructor : type.getDeclaredConstructors()) {
+				if (constructor.isAnnotationPresent(ConfigConstructor.class)) {
+					found = checkUnique(type, found, constructor);
+				}
+			}
+			for (Method method : type.getDeclaredMethods()) {
+				if (method.isAnnotationPresent(ConfigConstructor.class)) {
+					found = checkUnique(type, found, method);
+					if (!Modifier.isStatic(method.getModifiers()) || !type.isAssignableFrom(method.getReturnType())) {
+						throw new IllegalArgumentException(new StringBuilder("CANNOT create ").append(type.getName())
+								.append(" by ").append(method).append(", a static factory method is required.")
+								.toString());
+					}
+				}
+			}
+			if (found == null) {
+				return null;
+			}
+			Parameter[] params = found.getParameters();
+			Type[] genericTypes = found.getGenericParameterTypes();
+			ParameterBinding[] parameters = new ParameterBinding[params.length];
+			for (int i = 0; i < params.length; i++) {
+				Type genericType = genericTypes.length == params.length ? genericTypes[i] : params[i].getType();
+				NodeInf inf = loader.getNodeInf(params[i]);
+				Field field = findField(type, params[i], inf);
+				parameters[i] = new ParameterBinding(params[i], genericType, inf, field,
+						accessor(field, bindings, accessorFactory));
+			}
+			found.setAccessible(true);
+			try {
+				MethodHandle handle = found instanceof Constructor ? LOOKUP.unreflectConstructor((Constructor<?>) found)
+						: LOOKUP.unreflect((Method) found);
+				return new Creator(found, parameters, handle);
+			} catch (IllegalAccessException e) {
+				throw new IllegalArgumentException(e);
+			}
+		}
+
+		/**
+		 * 查找参数对应的字段, 用于序列化. 优先选择节点与参数相同的字段, 其次选择与参数同名的字段,
+		 * 字段的类型必须可以作为参数传入.
+		 */
+		private static Field findField(Class<?> type, Parameter parameter, NodeInf inf) {
+			Field byName = null;
+			for (Class<?> clazz = type; clazz != null && clazz != Object.class; clazz = clazz.getSuperclass()) {
+				for (Field field : clazz.getDeclaredFields()) {
+					if (Modifier.isStatic(field.getModifiers()) || !parameter.getType().isAssignableFrom(field.getType())) {
+						continue;
+					}
+					ConfigNode cNode = field.getAnnotation(ConfigNode.class);
+					String key = cNode == null || cNode.path().isEmpty() ? field.getName() : cNode.path();
+					if (key.equals(inf.getKey())) {
+						return field;
+					}
+					if (byName == null && parameter.isNamePresent() && field.getName().equals(parameter.getName())) {
+						byName = field;
+					}
+				}
+			}
+			if (byName == null) {
+				throw new IllegalArgumentException(new StringBuilder("CANNOT find the field of ").append(parameter)
+						.append(" in ").append(parameter.getDeclaringExecutable()).append(", a field of node ")
+						.append(inf.getKey()).append(" is required to store ").append(type.getName()).toString());
+			}
+			return byName;
+		}
+
+		private static IFieldAccessor accessor(Field field, FieldBinding[] bindings,
+				IFieldAccessorFactory accessorFactory) {
+			for (FieldBinding binding : bindings) {
+				if (binding.getField().equals(field)) {
+					return binding.getAccessor();
+				}
+			}
+			field.setAccessible(true);
+			return accessorFactory.create(field);
+		}
+
+		private static Executable checkUnique(Class<?> type, Executable found, Executable executable) {
+			if (found != null) {
+				throw new IllegalArgumentException(new StringBuilder("CANNOT choose between ").append(found)
+						.append(" and ").append(executable).append(", only one @ConfigConstructor is allowed in ")
+						.append(type.getName()).toString());
+			}
+			return executable;
+		}
+
+		/**
+		 * 以解析好的参数创建对象.
+		 * @param args 参数, 与 {@link #getParameters()} 一一对应, 基本类型的参数不能为 {@code null}.
+		 * @return 对象
+		 */
+		public Object create(Object[] args) {
+			try {
+				return handle.invokeExact(args);
+			} catch (Throwable e) {
+				throw MethodHandleAccessor.rethrow(e);
+			}
+		}
+	}
+
+	/**
+	 * 构造参数的绑定信息. 反序列化时解析参数对应的节点; 序列化时读取对应的字段, 写入同一个节点.
+	 * @author colors_wind
+	 * @date 2020/6/20
+	 * @since 1.0.0
+	 */
+	@Getter
+	public static class ParameterBinding {
+		private final Parameter parameter;
+		private final Class<?> type;
+		private final Type genericType;
+		private final NodeInf inf;
+		/**
+		 * 参数对应的字段.
+		 */
+		private final Field field;
+		private final IFieldAccessor accessor;
+		/**
+		 * 解析失败时使用的值, 基本类型为零, 其他类型为 {@code null}.
+		 */
+		private final Object defaultValue;
+
+		public ParameterBinding(Parameter parameter, Type genericType, NodeInf inf, Field field,
+				IFieldAccessor accessor) {
+			this.parameter = parameter;
+			this.type = parameter.getType();
+			this.genericType = genericType;
+			this.inf = inf;
+			this.field = field;
+			this.accessor = accessor;
+			this.defaultValue = type.isPrimitive() ? Array.get(Array.newInstance(type, 1), 0) : null;
+		}
+	}
+
+}
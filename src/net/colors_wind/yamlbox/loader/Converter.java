@@ -0,0 +1,51 @@
+package net.colors_wind.yamlbox.loader;
+
+import net.colors_wind.yamlbox.conf.NodePath;
+
+/**
+ * 针对某一具体类型编译好的转换器, 由 {@link ConverterCompiler} 创建并缓存.
+ * 转换过程中不再检查类型或使用反射.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public interface Converter {
+
+	/**
+	 * 反序列化元素.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径), 只在需要时拼接.
+	 * @return 反序列化结果
+	 */
+	Object resolve(Object obj, NodePath path);
+
+	/**
+	 * 序列化元素.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径), 只在需要时拼接.
+	 * @return 序列化结果
+	 * @throws Exception 如果序列化过程发生异常
+	 */
+	Object store(Object obj, NodePath path) throws Exception;
+
+	/**
+	 * 反序列化元素.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 * @return 反序列化结果
+	 */
+	default Object resolve(Object obj, String path) {
+		return resolve(obj, NodePath.of(path));
+	}
+
+	/**
+	 * 序列化元素.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 * @return 序列化结果
+	 * @throws Exception 如果序列化过程发生异常
+	 */
+	default Object store(Object obj, String path) throws Exception {
+		return store(obj, NodePath.of(path));
+	}
+}
@@ -0,0 +1,725 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.lang.reflect.TypeVariable;
+import java.lang.reflect.WildcardType;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.OptionalInt;
+import java.util.OptionalLong;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.IntFunction;
+import java.util.function.UnaryOperator;
+
+import net.colors_wind.yamlbox.collect.BooleanList;
+import net.colors_wind.yamlbox.collect.DoubleList;
+import net.colors_wind.yamlbox.collect.IntList;
+import net.colors_wind.yamlbox.collect.LongList;
+import net.colors_wind.yamlbox.conf.ConfigSection;
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.metrics.BindEvent;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 转换器编译器, 为 {@link Type} 构造一棵转换器树并缓存, 供 {@link UniversalLoader} 使用.
+ * <p>泛型参数在编译时解析一次, 因此支持任意嵌套的泛型, 例如 {@code List<Map<String, Integer>>}.
+ * <p>基本类型数组和 {@link IntList} 等基本类型列表逐个元素转换为基本类型, 不经过装箱的中间列表.
+ * <p>{@link YamlSerializable} 类型交给 {@link EntryLoader} 处理, 因此支持 {@code List<ItemEntry>} 和
+ * {@code Map<String, ItemEntry>} 等对象集合, 元素较多时并行反序列化, 参见 {@link ElementBinder}.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ConverterCompiler {
+	protected final UniversalLoader loader;
+	private final Map<Type, Converter> cache = new ConcurrentHashMap<>();
+	private final Converter objectConverter = new ObjectConverter();
+
+	public ConverterCompiler(UniversalLoader loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * 获取指定类型的转换器, 若缓存中不存在则编译.
+	 * @param type 类型
+	 * @return 转换器
+	 */
+	public Converter compile(Type type) {
+		Converter converter = cache.get(type);
+		if (converter == null) {
+			converter = create(type);
+			Converter old = cache.putIfAbsent(type, converter);
+			if (old != null) {
+				converter = old;
+			}
+		}
+		return converter;
+	}
+
+	/**
+	 * 清空缓存.
+	 */
+	public void clear() {
+		cache.clear();
+	}
+
+	/**
+	 * 编译指定类型的转换器.
+	 * @param type 类型
+	 * @return 转换器
+	 */
+	protected Converter create(Type type) {
+		if (type instanceof WildcardType) {
+			return compile(((WildcardType) type).getUpperBounds()[0]);
+		} else if (type instanceof TypeVariable) {
+			return compile(((TypeVariable<?>) type).getBounds()[0]);
+		}
+		Class<?> raw;
+		Type[] args;
+		if (type instanceof ParameterizedType) {
+			raw = (Class<?>) ((ParameterizedType) type).getRawType();
+			args = ((ParameterizedType) type).getActualTypeArguments();
+		} else if (type instanceof Class) {
+			raw = (Class<?>) type;
+			args = null;
+		} else {
+			return new UnsupportedConverter();
+		}
+		if (Object.class == raw) {
+			return objectConverter;
+		} else if (OptionalInt.class == raw) {
+			return new OptionalIntConverter();
+		} else if (OptionalLong.class == raw) {
+			return new OptionalLongConverter();
+		} else if (OptionalDouble.class == raw) {
+			return new OptionalDoubleConverter();
+		} else if (boolean.class == raw || Boolean.class == raw) {
+			return scalar(loader::resolveAsBoolean);
+		} else if (int.class == raw || Integer.class == raw) {
+			return scalar(loader::resolveAsInt);
+		} else if (double.class == raw || Double.class == raw) {
+			return scalar(loader::resolveAsDouble);
+		} else if (float.class == raw || Float.class == raw) {
+			return scalar(loader::resolveAsFloat);
+		} else if (long.class == raw || Long.class == raw) {
+			return scalar(loader::resolveAsLong);
+		} else if (short.class == raw || Short.class == raw) {
+			return scalar(loader::resolveAsShort);
+		} else if (byte.class == raw || Byte.class == raw) {
+			return scalar(loader::resolveAsByte);
+		} else if (char.class == raw || Character.class == raw) {
+			return scalar(loader::resolveAsChar);
+		} else if (String.class == raw) {
+			return scalar((obj, path) -> obj.toString());
+		} else if (Optional.class == raw) {
+			return new OptionalConverter(args == null ? objectConverter : compile(args[0]));
+		} else if (raw.isArray() && raw.getComponentType().isPrimitive()) {
+			return primitiveArray(raw.getComponentType());
+		} else if (IntList.class == raw) {
+			return new PrimitiveListConverter<int[], IntList>(new IntArrayConverter(), IntList::of,
+					IntList::copy);
+		} else if (LongList.class == raw) {
+			return new PrimitiveListConverter<long[], LongList>(new LongArrayConverter(), LongList::of,
+					LongList::copy);
+		} else if (DoubleList.class == raw) {
+			return new PrimitiveListConverter<double[], DoubleList>(new DoubleArrayConverter(), DoubleList::of,
+					DoubleList::copy);
+		} else if (BooleanList.class == raw) {
+			return new PrimitiveListConverter<boolean[], BooleanList>(new BooleanArrayConverter(), BooleanList::of,
+					BooleanList::copy);
+		} else if (List.class.isAssignableFrom(raw) || Collection.class == raw || Iterable.class == raw) {
+			IntFunction<List<Object>> factory = factory(raw, ArrayList.class, ArrayList::new);
+			return factory == null ? new UnsupportedConverter()
+					: new ListConverter(factory, args == null ? objectConverter : compile(args[0]));
+		} else if (Map.class.isAssignableFrom(raw)) {
+			IntFunction<Map<Object, Object>> factory = factory(raw, LinkedHashMap.class, size -> new LinkedHashMap<>());
+			if (factory == null) {
+				return new UnsupportedConverter();
+			}
+			return args == null ? new MapConverter(factory, compile(String.class), objectConverter)
+					: new MapConverter(factory, compile(args[0]), compile(args[1]));
+		} else if (Enum.class.isAssignableFrom(raw)) {
+			return new EnumConverter(raw.isEnum() ? raw : raw.getSuperclass());
+		} else if (YamlSerializable.class.isAssignableFrom(raw)) {
+			return new EntryConverter(raw);
+		}
+		return new UnsupportedConverter();
+	}
+
+	private Converter primitiveArray(Class<?> component) {
+		if (int.class == component) {
+			return new IntArrayConverter();
+		} else if (long.class == component) {
+			return new LongArrayConverter();
+		} else if (double.class == component) {
+			return new DoubleArrayConverter();
+		} else if (boolean.class == component) {
+			return new BooleanArrayConverter();
+		} else if (float.class == component) {
+			return new FloatArrayConverter();
+		} else if (short.class == component) {
+			return new ShortArrayConverter();
+		} else if (byte.class == component) {
+			return new ByteArrayConverter();
+		}
+		return new UnsupportedConverter();
+	}
+
+	/**
+	 * 获取创建列表或映射的方法: 目标类型是默认实现或其父类型时使用默认实现,
+	 * 否则目标类型须为具体类并有公开的无参构造方法, 例如 {@code LinkedList} 和 {@code TreeMap}.
+	 * @param raw 目标类型
+	 * @param defaultType 默认实现
+	 * @param defaultFactory 以元素数量创建默认实现的方法
+	 * @return 以元素数量创建目标类型的方法, 若无法创建目标类型, 返回 {@code null}.
+	 */
+	@SuppressWarnings("unchecked")
+	private static <T> IntFunction<T> factory(Class<?> raw, Class<?> defaultType, IntFunction<T> defaultFactory) {
+		if (raw.isAssignableFrom(defaultType)) {
+			return defaultFactory;
+		} else if (raw.isInterface() || Modifier.isAbstract(raw.getModifiers())) {
+			return null;
+		}
+		Constructor<?> constructor;
+		try {
+			constructor = raw.getConstructor();
+		} catch (NoSuchMethodException e) {
+			return null;
+		}
+		return size -> {
+			try {
+				return (T) constructor.newInstance();
+			} catch (ReflectiveOperationException e) {
+				throw new IllegalStateException("CANNOT create " + raw.getName(), e);
+			}
+		};
+	}
+
+	private Converter scalar(BiFunction<Object, NodePath, Object> function) {
+		return new Converter() {
+			@Override
+			public Object resolve(Object obj, NodePath path) {
+				if (obj == null) {
+					throw new NullPointerException("CANNOT resolve (obj = NULL)");
+				}
+				return function.apply(obj, path);
+			}
+
+			@Override
+			public Object store(Object obj, NodePath path) {
+				return obj;
+			}
+		};
+	}
+
+	/**
+	 * {@link Object} 类型, 反序列化时原样返回, 序列化时根据运行时类型选择转换器.
+	 */
+	private class ObjectConverter implements Converter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			return obj;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) throws Exception {
+			if (obj == null) {
+				return null;
+			} else if (obj.getClass() == Object.class) {
+				return obj.toString();
+			}
+			return compile(obj.getClass()).store(obj, path);
+		}
+	}
+
+	private class UnsupportedConverter implements Converter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			throw new UnsupportedOperationException();
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return Objects.toString(obj);
+		}
+	}
+
+	private class OptionalIntConverter implements Converter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			if (obj != null) {
+				try {
+					return OptionalInt.of(loader.resolveAsInt(obj, path));
+				} catch (NumberFormatException e) {
+				}
+			}
+			return OptionalInt.empty();
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			OptionalInt opt = (OptionalInt) obj;
+			return opt.isPresent() ? Integer.valueOf(opt.getAsInt()) : null;
+		}
+	}
+
+	private class OptionalLongConverter implements Converter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			if (obj != null) {
+				try {
+					return OptionalLong.of(loader.resolveAsLong(obj, path));
+				} catch (NumberFormatException e) {
+				}
+			}
+			return OptionalLong.empty();
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			OptionalLong opt = (OptionalLong) obj;
+			return opt.isPresent() ? Long.valueOf(opt.getAsLong()) : null;
+		}
+	}
+
+	private class OptionalDoubleConverter implements Converter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			if (obj != null) {
+				try {
+					return OptionalDouble.of(loader.resolveAsDouble(obj, path));
+				} catch (NumberFormatException e) {
+				}
+			}
+			return OptionalDouble.empty();
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			OptionalDouble opt = (OptionalDouble) obj;
+			return opt.isPresent() ? Double.valueOf(opt.getAsDouble()) : null;
+		}
+	}
+
+	private class OptionalConverter implements Converter {
+		private final Converter element;
+
+		OptionalConverter(Converter element) {
+			this.element = element;
+		}
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			return obj == null ? Optional.empty() : Optional.ofNullable(element.resolve(obj, path));
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) throws Exception {
+			Optional<?> opt = (Optional<?>) obj;
+			return opt.isPresent() ? element.store(opt.get(), path) : null;
+		}
+	}
+
+	private class ListConverter implements Converter {
+		private final IntFunction<List<Object>> factory;
+		private final Converter element;
+
+		ListConverter(IntFunction<List<Object>> factory, Converter element) {
+			this.factory = factory;
+			this.element = element;
+		}
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			if (obj == null) {
+				return factory.apply(0);
+			} else if (obj instanceof List && element instanceof EntryConverter) {
+				Object[] sources = ((List<?>) obj).toArray();
+				List<Object> list = factory.apply(sources.length);
+				list.addAll(Arrays.asList(new ElementBinder(loader, ((EntryConverter) element).type, element,
+						sources, null, path).bind()));
+				return list;
+			} else if (obj instanceof List) {
+				List<?> source = (List<?>) obj;
+				List<Object> list = factory.apply(source.size());
+				for (Object real : source) {
+					list.add(element.resolve(real, path));
+				}
+				return list;
+			} else {
+				List<Object> list = factory.apply(1);
+				list.add(element.resolve(obj, path));
+				return list;
+			}
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			List<?> list = (List<?>) obj;
+			if (list.isEmpty()) {
+				return list;
+			}
+			List<Object> storeList = new ArrayList<>(list.size());
+			for (Object real : list) {
+				try {
+					storeList.add(element.store(real, path));
+				} catch (Exception e) {
+					e.printStackTrace();
+					loader.yamlBox.getLogger().warning(path.toString(),
+							new StringBuilder("Exception occurs while rewrap a list. ").append(Objects.toString(real)).toString());
+					loader.reportFailure(BindEvent.Operation.STORE, real == null ? Object.class : real.getClass(), null,
+							path, e);
+				}
+			}
+			return storeList;
+		}
+	}
+
+	/**
+	 * 基本类型数组. 元素由加载器的 {@code resolveAsXxx} 方法逐个转换为基本类型, 不创建包装对象,
+	 * 单个元素视为只有一个元素的列表. 序列化时由子类复制为列表, 以便与其他列表一样写出.
+	 */
+	private abstract class PrimitiveArrayConverter implements Converter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			List<?> source = obj == null ? Collections.emptyList()
+					: obj instanceof List ? (List<?>) obj : Collections.singletonList(obj);
+			return resolveArray(source, path);
+		}
+
+		/**
+		 * 逐个转换列表的元素.
+		 * @return 数组
+		 */
+		abstract Object resolveArray(List<?> source, NodePath path);
+	}
+
+	/**
+	 * {@link IntList} 等基本类型列表, 由对应的数组转换器解析后包装为列表, 序列化时复制列表.
+	 * @param <A> 基本类型数组
+	 * @param <L> 基本类型列表
+	 */
+	private class PrimitiveListConverter<A, L> implements Converter {
+		private final PrimitiveArrayConverter array;
+		private final Function<A, L> wrap;
+		private final UnaryOperator<L> copy;
+
+		PrimitiveListConverter(PrimitiveArrayConverter array, Function<A, L> wrap, UnaryOperator<L> copy) {
+			this.array = array;
+			this.wrap = wrap;
+			this.copy = copy;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			return wrap.apply((A) array.resolve(obj, path));
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return copy.apply((L) obj);
+		}
+	}
+
+	private class IntArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			int[] array = new int[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsInt(element, path);
+			}
+			return array;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return IntList.of((int[]) obj);
+		}
+	}
+
+	private class LongArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			long[] array = new long[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsLong(element, path);
+			}
+			return array;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return LongList.of((long[]) obj);
+		}
+	}
+
+	private class DoubleArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			double[] array = new double[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsDouble(element, path);
+			}
+			return array;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return DoubleList.of((double[]) obj);
+		}
+	}
+
+	private class BooleanArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			boolean[] array = new boolean[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsBoolean(element, path);
+			}
+			return array;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return BooleanList.of((boolean[]) obj);
+		}
+	}
+
+	private class FloatArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			float[] array = new float[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsFloat(element, path);
+			}
+			return array;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			float[] values = (float[]) obj;
+			List<Float> list = new ArrayList<>(values.length);
+			for (float value : values) {
+				list.add(value);
+			}
+			return list;
+		}
+	}
+
+	private class ShortArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			short[] array = new short[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsShort(element, path);
+			}
+			return array;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			short[] values = (short[]) obj;
+			List<Short> list = new ArrayList<>(values.length);
+			for (short value : values) {
+				list.add(value);
+			}
+			return list;
+		}
+	}
+
+	/**
+	 * {@code byte[]} 对应Yaml的二进制类型 {@code !!binary}, 也可以由整数列表反序列化.
+	 */
+	private class ByteArrayConverter extends PrimitiveArrayConverter {
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			return obj instanceof byte[] ? ((byte[]) obj).clone() : super.resolve(obj, path);
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return ((byte[]) obj).clone();
+		}
+
+		@Override
+		Object resolveArray(List<?> source, NodePath path) {
+			byte[] array = new byte[source.size()];
+			int i = 0;
+			for (Object element : source) {
+				array[i++] = loader.resolveAsByte(element, path);
+			}
+			return array;
+		}
+	}
+
+	private class MapConverter implements Converter {
+		private final IntFunction<Map<Object, Object>> factory;
+		private final Converter key;
+		private final Converter value;
+
+		MapConverter(IntFunction<Map<Object, Object>> factory, Converter key, Converter value) {
+			this.factory = factory;
+			this.key = key;
+			this.value = value;
+		}
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			Map<Object, Object> map = factory.apply(obj instanceof Map ? ((Map<?, ?>) obj).size() : 1);
+			if (obj instanceof Map && value instanceof EntryConverter) {
+				Map<?, ?> source = (Map<?, ?>) obj;
+				Object[] keys = source.keySet().toArray();
+				Object[] values = new ElementBinder(loader, ((EntryConverter) value).type, value,
+						source.values().toArray(), keys, path).bind();
+				for (int i = 0; i < keys.length; i++) {
+					map.put(key.resolve(keys[i], path), values[i]);
+				}
+			} else if (obj instanceof Map) {
+				for (Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+					map.put(key.resolve(entry.getKey(), path), value.resolve(entry.getValue(), path));
+				}
+			} else if (obj != null) {
+				map.put("", value.resolve(obj, path));
+			}
+			return map;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			Map<?, ?> map = (Map<?, ?>) obj;
+			if (map.isEmpty()) {
+				return map;
+			}
+			Map<Object, Object> storeMap = new LinkedHashMap<>();
+			for (Entry<?, ?> entry : map.entrySet()) {
+				try {
+					storeMap.put(key.store(entry.getKey(), path), value.store(entry.getValue(), path));
+				} catch (Exception e) {
+					e.printStackTrace();
+					loader.yamlBox.getLogger().warning(path.toString(),
+							new StringBuilder("Exception occurs while rewrap a map. ").append(entry.toString()).toString());
+					Object failed = entry.getValue();
+					loader.reportFailure(BindEvent.Operation.STORE, failed == null ? Object.class : failed.getClass(),
+							null, path, e);
+				}
+			}
+			return storeMap;
+		}
+	}
+
+	/**
+	 * {@link YamlSerializable} 类型, 交给该类的默认加载器 (通常为 {@link EntryLoader}) 处理, 映射包装为 {@link YamlConfig}.
+	 * 作为列表的元素或映射的值时由 {@link ElementBinder} 逐个处理.
+	 */
+	private class EntryConverter implements Converter {
+		private final Class<?> type;
+
+		EntryConverter(Class<?> type) {
+			this.type = type;
+		}
+
+		@SuppressWarnings("unchecked")
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			ConfigSection config;
+			if (obj instanceof ConfigSection) {
+				config = (ConfigSection) obj;
+			} else if (obj instanceof Map) {
+				config = new YamlConfig((Map<String, Object>) obj, path);
+			} else {
+				config = null;
+			}
+			try {
+				return loader.yamlBox.getDefaultResolver(type).resolve(type, type, config, path);
+			} catch (RuntimeException e) {
+				throw e;
+			} catch (Exception e) {
+				throw new IllegalStateException(e);
+			}
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) throws Exception {
+			if (obj == null) {
+				return null;
+			}
+			return loader.yamlBox.getDefaultResolver(obj.getClass()).store(obj.getClass(), obj.getClass(), obj, path);
+		}
+	}
+
+	/**
+	 * 枚举类型, 按名称和序号查表.
+	 */
+	private class EnumConverter implements Converter {
+		private final Class<?> type;
+		private final Enum<?>[] byOrdinal;
+		private final Map<String, Enum<?>> byName;
+
+		EnumConverter(Class<?> type) {
+			this.type = type;
+			this.byOrdinal = (Enum<?>[]) type.getEnumConstants();
+			this.byName = new HashMap<>(byOrdinal.length * 2);
+			for (Enum<?> constant : byOrdinal) {
+				byName.put(constant.name(), constant);
+			}
+		}
+
+		@Override
+		public Object resolve(Object obj, NodePath path) {
+			if (obj == null) {
+				throw new NullPointerException("CANNOT resolve (obj = NULL)");
+			} else if (obj instanceof Number) {
+				return byOrdinal[((Number) obj).intValue()];
+			}
+			Enum<?> constant = byName.get(obj.toString());
+			if (constant == null) {
+				throw new IllegalArgumentException(
+						new StringBuilder("No enum constant ").append(type.getName()).append(".").append(obj).toString());
+			}
+			return constant;
+		}
+
+		@Override
+		public Object store(Object obj, NodePath path) {
+			return ((Enum<?>) obj).name();
+		}
+	}
+
+}
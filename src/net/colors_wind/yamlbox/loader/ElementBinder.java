@@ -0,0 +1,126 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.metrics.BindEvent;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 反序列化集合中的 {@link YamlSerializable} 元素. 元素数量达到 {@link UniversalLoader#getParallelThreshold()} 时,
+ * 在 {@link UniversalLoader#getBindPool()} 上分治并行处理, 否则在当前线程依次处理.
+ * <p>结果与来源的顺序相同. 单个元素失败不会中断其他元素, 失败的元素为 {@code null},
+ * 异常在全部元素完成后按顺序记录, 每个元素的路径为集合的路径加上下标或键.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+final class ElementBinder {
+	/**
+	 * 每个叶子任务处理的最大元素数.
+	 */
+	private static final int BATCH = 64;
+	private final UniversalLoader loader;
+	private final Class<?> type;
+	private final Converter element;
+	private final Object[] sources;
+	private final Object[] keys;
+	private final NodePath path;
+	private final Object[] results;
+	private final Exception[] errors;
+
+	/**
+	 * @param loader 所属加载器
+	 * @param type 元素的类型
+	 * @param element 元素的转换器
+	 * @param sources 元素的原始数据
+	 * @param keys 映射的键, 用于拼接元素的路径; 为 {@code null} 时使用下标.
+	 * @param path 集合所在的Yaml节点(绝对路径)
+	 */
+	ElementBinder(UniversalLoader loader, Class<?> type, Converter element, Object[] sources, Object[] keys,
+			NodePath path) {
+		this.loader = loader;
+		this.type = type;
+		this.element = element;
+		this.sources = sources;
+		this.keys = keys;
+		this.path = path;
+		this.results = new Object[sources.length];
+		this.errors = new Exception[sources.length];
+	}
+
+	/**
+	 * 反序列化全部元素并等待完成.
+	 * @return 结果, 与来源的顺序相同.
+	 */
+	Object[] bind() {
+		if (sources.length >= loader.getParallelThreshold() && sources.length > BATCH) {
+			ForkJoinPool pool = loader.getBindPool();
+			BindTask task = new BindTask(0, sources.length);
+			if (ForkJoinTask.getPool() == pool) {
+				task.invoke();
+			} else {
+				pool.invoke(task);
+			}
+		} else {
+			bind(0, sources.length);
+		}
+		report();
+		return results;
+	}
+
+	private void bind(int from, int to) {
+		for (int i = from; i < to; i++) {
+			try {
+				results[i] = element.resolve(sources[i], elementPath(i));
+			} catch (Exception e) {
+				errors[i] = e;
+			}
+		}
+	}
+
+	private void report() {
+		for (int i = 0; i < errors.length; i++) {
+			Exception e = errors[i];
+			if (e != null) {
+				NodePath realPath = elementPath(i);
+				e.printStackTrace();
+				loader.yamlBox.getLogger().warning(realPath.toString(),
+						new StringBuilder("Exception occurs while resolving an element. ").append(type.getName())
+								.toString());
+				loader.reportFailure(BindEvent.Operation.RESOLVE, type, null, realPath, e);
+			}
+		}
+	}
+
+	private NodePath elementPath(int index) {
+		return path.child(keys == null ? String.valueOf(index) : String.valueOf(keys[index]));
+	}
+
+	/**
+	 * 将区间对半拆分, 直到不超过 {@link #BATCH} 个元素.
+	 */
+	private final class BindTask extends RecursiveAction {
+		private static final long serialVersionUID = 1L;
+		private final int from;
+		private final int to;
+
+		BindTask(int from, int to) {
+			this.from = from;
+			this.to = to;
+		}
+
+		@Override
+		protected void compute() {
+			if (to - from <= BATCH) {
+				bind(from, to);
+			} else {
+				int middle = (from + to) >>> 1;
+				invokeAll(new BindTask(from, middle), new BindTask(middle, to));
+			}
+		}
+	}
+
+}
@@ -1,15 +1,28 @@
 package net.colors_wind.yamlbox.loader;
 
-import java.lang.reflect.Field;
 import java.lang.reflect.Type;
 import java.util.Arrays;
 import java.util.HashSet;
 import java.util.LinkedHashMap;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
+import lombok.Getter;
+import lombok.NonNull;
+import lombok.Setter;
 import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.ChangeSet;
+import net.colors_wind.yamlbox.conf.ConfigPath;
 import net.colors_wind.yamlbox.conf.ConfigSection;
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.loader.BindingPlan.Creator;
+import net.colors_wind.yamlbox.loader.BindingPlan.FieldBinding;
+import net.colors_wind.yamlbox.loader.BindingPlan.ParameterBinding;
+import net.colors_wind.yamlbox.metrics.BindEvent;
+import net.colors_wind.yamlbox.metrics.YamlBoxMetrics;
 import net.colors_wind.yamlbox.tag.SerializeNode;
 import net.colors_wind.yamlbox.tag.YamlSerializable;
 
@@ -23,6 +36,7 @@ import net.colors_wind.yamlbox.tag.YamlSerializable;
 public class EntryLoader extends LoaderBase {
 
 	public static final String ENTRY = "entry";
+	public static final String BINDER_SUFFIX = "$$Binder";
 	public static final Set<Class<?>> DIRECT_FINAL = new HashSet<>();
 	static {
 		DIRECT_FINAL.addAll(Arrays.asList(boolean.class, Boolean.class));
@@ -35,6 +49,14 @@ public class EntryLoader extends LoaderBase {
 		DIRECT_FINAL.add(String.class);
 	}
 
+	private volatile ClassValue<Map<IFieldSelector, BindingPlan>> plans = newPlanCache();
+	@Getter
+	private volatile IFieldAccessorFactory accessorFactory = FieldAccessorFactory.METHOD_HANDLE;
+	private volatile ClassValue<Optional<IBinder<?>>> binders = newBinderCache();
+	@Getter
+	@Setter
+	private volatile boolean useGeneratedBinders = true;
+
 	public EntryLoader(YamlBox yamlBox) {
 		super(yamlBox, ENTRY);
 	}
@@ -43,91 +65,482 @@ public class EntryLoader extends LoaderBase {
 		super(yamlBox, uniqueName);
 	}
 
+	/**
+	 * 获取指定类的绑定计划, 若缓存中不存在则创建.
+	 * @param clazz 类
+	 * @param selector 字段选择器
+	 * @return 绑定计划
+	 */
+	public BindingPlan getBindingPlan(Class<?> clazz, IFieldSelector selector) {
+		return plans.get(clazz).computeIfAbsent(selector, s -> new BindingPlan(clazz, s, this, accessorFactory));
+	}
+
+	/**
+	 * 设置字段访问器工厂, 并清空绑定计划缓存.
+	 * @param accessorFactory 字段访问器工厂
+	 * @see {@link FieldAccessorFactory}
+	 */
+	public void setAccessorFactory(@NonNull IFieldAccessorFactory accessorFactory) {
+		this.accessorFactory = accessorFactory;
+		invalidateCache();
+	}
+
+	/**
+	 * 清空绑定计划缓存并丢弃生成的绑定器(它们缓存了字段的加载器), 加载器注册表变化时由 {@link YamlBox} 调用.
+	 */
+	@Override
+	public void invalidateCache() {
+		this.plans = newPlanCache();
+		this.binders = newBinderCache();
+	}
+
+	private ClassValue<Optional<IBinder<?>>> newBinderCache() {
+		return new ClassValue<Optional<IBinder<?>>>() {
+			@Override
+			protected Optional<IBinder<?>> computeValue(Class<?> type) {
+				return findBinder(type);
+			}
+		};
+	}
+
+	private ClassValue<Map<IFieldSelector, BindingPlan>> newPlanCache() {
+		return new ClassValue<Map<IFieldSelector, BindingPlan>>() {
+			@Override
+			protected Map<IFieldSelector, BindingPlan> computeValue(Class<?> type) {
+				return new ConcurrentHashMap<>(2);
+			}
+		};
+	}
+
+	/**
+	 * 获取指定类在编译期生成的绑定器.
+	 * @param clazz 类
+	 * @return 绑定器, 若不存在, 返回 {@code null}.
+	 * @see {@link IBinder}
+	 */
+	@SuppressWarnings("unchecked")
+	public <T extends YamlSerializable> IBinder<T> getBinder(Class<T> clazz) {
+		return (IBinder<T>) binders.get(clazz).orElse(null);
+	}
+
+	private Optional<IBinder<?>> findBinder(Class<?> clazz) {
+		try {
+			Class<?> binderClass = Class.forName(clazz.getName() + BINDER_SUFFIX, true, clazz.getClassLoader());
+			return Optional.of((IBinder<?>) binderClass.newInstance());
+		} catch (ClassNotFoundException e) {
+			return Optional.empty();
+		} catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+			e.printStackTrace();
+			yamlBox.getLogger().warning(clazz.getName(),
+					"CANNOT instantiate generated binder, using reflection instead.");
+			return Optional.empty();
+		}
+	}
+
 	public <T extends YamlSerializable> T resolve(Class<T> clazz, IFieldSelector selector, ConfigSection config,
 			String path) throws InstantiationException, IllegalAccessException {
+		return resolve(clazz, selector, config, NodePath.of(path));
+	}
+
+	/**
+	 * 反序列化对象, 路径只在记录日志时拼接.
+	 * <p>若类标记了 {@link net.colors_wind.yamlbox.tag.ConfigConstructor}, 先解析全部参数再调用一次该方法创建对象,
+	 * 否则以无参构造方法创建对象后逐个字段赋值.
+	 * @param clazz 对象的类型
+	 * @param selector 字段选择器
+	 * @param config 对象对应的配置
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 对象
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 */
+	public <T extends YamlSerializable> T resolve(Class<T> clazz, IFieldSelector selector, ConfigSection config,
+			NodePath path) throws InstantiationException, IllegalAccessException {
+		YamlBoxMetrics metrics = yamlBox.getMetrics();
+		if (metrics == null) {
+			return resolve0(clazz, selector, config, path);
+		}
+		long start = System.nanoTime();
+		T instance = resolve0(clazz, selector, config, path);
+		metrics.onBind(new BindEvent(BindEvent.Operation.RESOLVE, clazz, path.toString(), System.nanoTime() - start));
+		return instance;
+	}
+
+	private <T extends YamlSerializable> T resolve0(Class<T> clazz, IFieldSelector selector, ConfigSection config,
+			NodePath path) throws InstantiationException, IllegalAccessException {
+		if (useGeneratedBinders) {
+			IBinder<T> binder = getBinder(clazz);
+			if (binder != null && binder.getSelector() == selector) {
+				return binder.resolve(this, config, path);
+			}
+		}
+		BindingPlan plan = getBindingPlan(clazz, selector);
+		if (plan.getCreator() != null) {
+			return clazz.cast(create(clazz, plan.getCreator(), config, path));
+		}
 		T instance = clazz.newInstance();
-		for (Field field : selector.apply(clazz)) {
-			NodeInf inf = this.getNodeInf(field);
-			Class<?> fieldType = field.getType();
-			LoaderBase loader = inf.getLoader();
-			Object obj = config.getObjectDeep(inf.getKey());
+		for (FieldBinding binding : plan.getBindings()) {
+			resolveBinding(clazz, binding, instance, config, path);
+		}
+		return instance;
+	}
+
+	private Object create(Class<?> clazz, Creator creator, ConfigSection config, NodePath path) {
+		ParameterBinding[] parameters = creator.getParameters();
+		Object[] args = new Object[parameters.length];
+		for (int i = 0; i < parameters.length; i++) {
+			ParameterBinding parameter = parameters[i];
+			NodeInf inf = parameter.getInf();
+			Object value = null;
 			try {
-				if (loader instanceof EntryLoader) {
-					((EntryLoader) loader).resolve(clazz, inf.getSelector(), config.getSectionDeep(path),
-							inf.getRealPath(path));
-				} else {
-					if (fieldType.isPrimitive()) {
-						handlePrimitiveType(field, fieldType, instance, obj, loader, inf.getRealPath(path));
-					} else {
-						Object value = loader.resolve(fieldType, field.getGenericType(), obj, inf.getRealPath(path));
-						field.set(instance, value);
-					}
-				}
+				value = resolveField(config, inf.getPath(), inf.getLoader(), parameter.getType(),
+						parameter.getGenericType(), inf.getSelector(), path);
 			} catch (Exception e) {
-				e.printStackTrace();
-				yamlBox.getLogger().warning(inf.getRealPath(path),
-						new StringBuilder("Exception occured while processing Field ").append(clazz.getSimpleName())
-								.append(".").append(field.getName()).append(".").toString());
-				continue;
+				fieldFailed(e, clazz, parameter.getField().getName(), inf.getKey(), path);
+			}
+			args[i] = value == null ? parameter.getDefaultValue() : value;
+		}
+		return creator.create(args);
+	}
+
+	/**
+	 * 根据配置的变化重新绑定对象. 返回新的对象, 原对象不会被修改, 因此可以被其他线程安全地继续读取.
+	 * <p>未受影响的字段直接复制原对象的值; 受影响的嵌套对象递归地重新绑定, 其他受影响的字段重新反序列化.
+	 * 标记了 {@link net.colors_wind.yamlbox.tag.ConfigConstructor} 的类有变化时完整反序列化.
+	 * 不使用编译期生成的 {@link IBinder}.
+	 * @param clazz 对象的类型
+	 * @param selector 字段选择器
+	 * @param old 原对象, 为 {@code null} 时完整反序列化.
+	 * @param config 新的配置
+	 * @param changes 对象对应节点的变化
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 新的对象, 若没有变化, 返回原对象.
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 * @see {@link ChangeSet#diff(ConfigSection, ConfigSection)}
+	 */
+	public <T extends YamlSerializable> T rebind(Class<T> clazz, IFieldSelector selector, T old, ConfigSection config,
+			@NonNull ChangeSet changes, String path) throws InstantiationException, IllegalAccessException {
+		return rebind(clazz, selector, old, config, changes, NodePath.of(path));
+	}
+
+	/**
+	 * 根据配置的变化重新绑定对象, 路径只在记录日志时拼接.
+	 * @see {@link #rebind(Class, IFieldSelector, YamlSerializable, ConfigSection, ChangeSet, String)}
+	 */
+	public <T extends YamlSerializable> T rebind(Class<T> clazz, IFieldSelector selector, T old, ConfigSection config,
+			@NonNull ChangeSet changes, NodePath path) throws InstantiationException, IllegalAccessException {
+		if (changes.isEmpty() && old != null) {
+			return old;
+		}
+		BindingPlan plan = getBindingPlan(clazz, selector);
+		if (old == null || changes.isReplaced() || config == null || plan.getCreator() != null) {
+			return resolve(clazz, selector, config, path);
+		}
+		T instance = clazz.newInstance();
+		for (FieldBinding binding : plan.getBindings()) {
+			IFieldAccessor accessor = binding.getAccessor();
+			NodeInf inf = binding.getInf();
+			ChangeSet fieldChanges = changes.get(inf.getPath());
+			if (fieldChanges.isEmpty()) {
+				accessor.set(instance, accessor.get(old));
+			} else if (inf.getLoader() instanceof EntryLoader && !fieldChanges.isReplaced()) {
+				try {
+					@SuppressWarnings("unchecked")
+					Class<YamlSerializable> entryType = (Class<YamlSerializable>) binding.getType();
+					accessor.set(instance, ((EntryLoader) inf.getLoader()).rebind(entryType, inf.getSelector(),
+							(YamlSerializable) accessor.get(old), config.getSection(inf.getPath()), fieldChanges,
+							inf.getRealPath(path)));
+				} catch (Exception e) {
+					fieldFailed(e, clazz, binding.getField().getName(), inf.getKey(), path);
+				}
+			} else {
+				resolveBinding(clazz, binding, instance, config, path);
 			}
 		}
 		return instance;
 	}
 
-	private final void handlePrimitiveType(Field field, Class<?> fieldType, Object instance, Object obj,
-			LoaderBase resolver, String path) throws IllegalAccessException {
+	private void resolveBinding(Class<?> clazz, FieldBinding binding, Object instance, ConfigSection config,
+			NodePath path) {
+		IFieldAccessor accessor = binding.getAccessor();
+		NodeInf inf = binding.getInf();
+		Class<?> fieldType = binding.getType();
+		LoaderBase loader = inf.getLoader();
+		try {
+			if (fieldType.isPrimitive() && !(loader instanceof EntryLoader)) {
+				handlePrimitiveType(accessor, fieldType, instance, config.getObject(inf.getPath()), loader,
+						inf.getRealPath(path));
+			} else {
+				accessor.set(instance, resolveField(config, inf.getPath(), loader, binding.getConverter(), fieldType,
+						binding.getGenericType(), inf.getSelector(), path));
+			}
+		} catch (Exception e) {
+			fieldFailed(e, clazz, binding.getField().getName(), inf.getKey(), path);
+		}
+	}
+
+	/**
+	 * 反序列化单个字段的值, 供反射绑定和生成的 {@link IBinder} 共用.
+	 * @param config 对象对应的配置
+	 * @param key 字段对应的Yaml节点(多级相对路径)
+	 * @param loader 字段的加载器
+	 * @param type 字段类型
+	 * @param genericType 字段泛型类型
+	 * @param selector 字段的字段选择器
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 反序列化结果
+	 * @throws Exception 如果反序列化过程发生异常
+	 */
+	public Object resolveField(ConfigSection config, ConfigPath key, LoaderBase loader, Class<?> type,
+			Type genericType, IFieldSelector selector, String path) throws Exception {
+		return resolveField(config, key, loader, type, genericType, selector, NodePath.of(path));
+	}
+
+	/**
+	 * 反序列化单个字段的值, 路径只在记录日志时拼接.
+	 * @see {@link #resolveField(ConfigSection, ConfigPath, LoaderBase, Class, Type, IFieldSelector, String)}
+	 */
+	public Object resolveField(ConfigSection config, ConfigPath key, LoaderBase loader, Class<?> type,
+			Type genericType, IFieldSelector selector, NodePath path) throws Exception {
+		return resolveField(config, key, loader, null, type, genericType, selector, path);
+	}
+
+	/**
+	 * 反序列化单个字段的值, 若字段有转换器则直接调用转换器.
+	 * @param converter 字段的转换器, 可以为 {@code null}.
+	 * @see {@link LoaderBase#getFieldConverter(Class, Type)}
+	 * @see {@link #resolveField(ConfigSection, ConfigPath, LoaderBase, Class, Type, IFieldSelector, String)}
+	 */
+	public Object resolveField(ConfigSection config, ConfigPath key, LoaderBase loader, Converter converter,
+			Class<?> type, Type genericType, IFieldSelector selector, NodePath path) throws Exception {
+		NodePath realPath = path.child(key);
+		if (converter != null) {
+			return converter.resolve(config.getObject(key), realPath);
+		} else if (loader instanceof EntryLoader) {
+			return ((EntryLoader) loader).resolve(type.asSubclass(YamlSerializable.class), selector,
+					config.getSection(key), realPath);
+		}
+		return loader.resolve(type, genericType, config.getObject(key), realPath);
+	}
+
+	/**
+	 * 由原始数据反序列化单个字段并赋值, 异常会被记录而不会抛出, 供 {@link StreamingBinder} 使用.
+	 * @param clazz 字段所属的类
+	 * @param binding 字段的绑定信息
+	 * @param instance 对象
+	 * @param obj 原始数据
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 */
+	@SuppressWarnings("unchecked")
+	void resolveValue(Class<?> clazz, FieldBinding binding, Object instance, Object obj, NodePath path) {
+		NodeInf inf = binding.getInf();
+		LoaderBase loader = inf.getLoader();
+		Class<?> fieldType = binding.getType();
+		NodePath realPath = inf.getRealPath(path);
+		try {
+			if (loader instanceof EntryLoader) {
+				ConfigSection config = obj instanceof Map ? new YamlConfig((Map<String, Object>) obj, realPath) : null;
+				binding.getAccessor().set(instance, ((EntryLoader) loader)
+						.resolve(fieldType.asSubclass(YamlSerializable.class), inf.getSelector(), config, realPath));
+			} else if (fieldType.isPrimitive()) {
+				handlePrimitiveType(binding.getAccessor(), fieldType, instance, obj, loader, realPath);
+			} else if (binding.getConverter() != null) {
+				binding.getAccessor().set(instance, binding.getConverter().resolve(obj, realPath));
+			} else {
+				binding.getAccessor().set(instance, loader.resolve(fieldType, binding.getGenericType(), obj, realPath));
+			}
+		} catch (Exception e) {
+			fieldFailed(e, clazz, binding.getField().getName(), inf.getKey(), path);
+		}
+	}
+
+	/**
+	 * 获取字段的加载器, 规则与 {@link #getNodeInf(java.lang.reflect.Field)} 相同.
+	 * @param name 加载器名称, {@code null} 代表使用默认加载器.
+	 * @param type 字段类型
+	 * @return 加载器
+	 */
+	public LoaderBase getFieldLoader(String name, Class<?> type) {
+		if (name == null) {
+			return yamlBox.getDefaultResolver(type);
+		}
+		return yamlBox.getLoader(name).orElseGet(() -> yamlBox.getDefaultResolver(type));
+	}
+
+	/**
+	 * 记录字段反序列化失败.
+	 * @param e 异常
+	 * @param clazz 字段所属的类
+	 * @param fieldName 字段名
+	 * @param key 字段对应的Yaml节点(相对路径)
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 */
+	public void fieldFailed(Exception e, Class<?> clazz, String fieldName, String key, String path) {
+		fieldFailed(e, clazz, fieldName, key, NodePath.of(path));
+	}
+
+	/**
+	 * 记录字段反序列化失败, 此时才拼接路径.
+	 * @see {@link #fieldFailed(Exception, Class, String, String, String)}
+	 */
+	public void fieldFailed(Exception e, Class<?> clazz, String fieldName, String key, NodePath path) {
+		e.printStackTrace();
+		NodePath realPath = path.child(key);
+		yamlBox.getLogger().warning(realPath.toString(),
+				new StringBuilder("Exception occured while processing Field ").append(clazz.getSimpleName())
+						.append(".").append(fieldName).append(".").toString());
+		reportFailure(BindEvent.Operation.RESOLVE, clazz, fieldName, realPath, e);
+	}
+
+	private final void handlePrimitiveType(IFieldAccessor accessor, Class<?> fieldType, Object instance, Object obj,
+			LoaderBase resolver, NodePath path) {
 		if (int.class == fieldType) {
-			int i = resolver.resolveAsInt(obj, path);
-			field.setInt(instance, i);
+			accessor.setInt(instance, resolver.resolveAsInt(obj, path));
 		} else if (long.class == fieldType) {
-			long l = resolver.resolveAsLong(instance, path);
-			field.setLong(instance, l);
+			accessor.setLong(instance, resolver.resolveAsLong(obj, path));
 		} else if (double.class == fieldType) {
-			double d = resolver.resolveAsDouble(instance, path);
-			field.setDouble(instance, d);
+			accessor.setDouble(instance, resolver.resolveAsDouble(obj, path));
 		} else if (float.class == fieldType) {
-			float f = resolver.resolveAsFloat(instance, path);
-			field.setFloat(instance, f);
+			accessor.setFloat(instance, resolver.resolveAsFloat(obj, path));
 		} else if (boolean.class == fieldType) {
-			boolean b = resolver.resolveAsBoolean(instance, path);
-			field.setBoolean(instance, b);
+			accessor.setBoolean(instance, resolver.resolveAsBoolean(obj, path));
+		} else if (short.class == fieldType) {
+			accessor.set(instance, resolver.resolveAsShort(obj, path));
+		} else if (byte.class == fieldType) {
+			accessor.set(instance, resolver.resolveAsByte(obj, path));
+		} else if (char.class == fieldType) {
+			accessor.set(instance, resolver.resolveAsChar(obj, path));
+		} else {
+			throw new UnsupportedOperationException("Unexpected primitive type!");
 		}
-		throw new UnsupportedOperationException("Unexpected primitive type!");
 	}
 
 	public <T extends YamlSerializable> Map<String, Object> store(Class<T> clazz, IFieldSelector selector, T instance,
 			String path) throws InstantiationException, IllegalAccessException {
-		Map<String, Object> storeMap = new LinkedHashMap<>();
-		for (Field field : selector.apply(clazz)) {
-			Object obj = field.get(instance);
-			Class<?> type = obj.getClass();
-			Type genericType = field.getGenericType();
-			NodeInf inf = this.getNodeInf(field);
-			LoaderBase loader = inf.getLoader();
-			try {
-				if (loader instanceof EntryLoader) {
-					EntryLoader entryLoader = (EntryLoader) loader;
-					@SuppressWarnings("unchecked")
-					Class<YamlSerializable> entryType = (Class<YamlSerializable>) type;
-					Map<String, Object> map = entryLoader.store(entryType, inf.getSelector(), (YamlSerializable) obj,
-							path);
-					storeMap.put(inf.getKey(), map);
-				} else {
-					Object real = inf.getLoader().store(type, genericType, obj, inf.getRealPath(path));
-					storeMap.put(inf.getKey(), real);
-				}
-			} catch (Exception e) {
-				e.printStackTrace();
-				yamlBox.getLogger().warning(inf.getRealPath(path),
-						new StringBuilder("Exception occurs while storing YamlSerializable. ").append(obj.toString())
-								.toString());
-				continue;
+		return store(clazz, selector, instance, NodePath.of(path));
+	}
+
+	/**
+	 * 序列化对象, 路径只在记录日志时拼接.
+	 * @param clazz 对象的类型
+	 * @param selector 字段选择器
+	 * @param instance 对象
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 序列化结果
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 */
+	public <T extends YamlSerializable> Map<String, Object> store(Class<T> clazz, IFieldSelector selector, T instance,
+			NodePath path) throws InstantiationException, IllegalAccessException {
+		YamlBoxMetrics metrics = yamlBox.getMetrics();
+		if (metrics == null) {
+			return store0(clazz, selector, instance, path);
+		}
+		long start = System.nanoTime();
+		Map<String, Object> storeMap = store0(clazz, selector, instance, path);
+		metrics.onBind(new BindEvent(BindEvent.Operation.STORE, clazz, path.toString(), System.nanoTime() - start));
+		return storeMap;
+	}
+
+	private <T extends YamlSerializable> Map<String, Object> store0(Class<T> clazz, IFieldSelector selector,
+			T instance, NodePath path) throws InstantiationException, IllegalAccessException {
+		if (useGeneratedBinders) {
+			IBinder<T> binder = getBinder(clazz);
+			if (binder != null && binder.getSelector() == selector) {
+				return binder.store(this, instance, path);
 			}
+		}
+		BindingPlan plan = getBindingPlan(clazz, selector);
+		if (plan.getCreator() != null) {
+			return storeCreator(plan.getCreator(), instance, path);
+		}
+		Map<String, Object> storeMap = new LinkedHashMap<>();
+		for (FieldBinding binding : plan.getBindings()) {
+			NodeInf inf = binding.getInf();
+			storeField(storeMap, inf.getPath(), inf.getLoader(), binding.getConverter(), binding.getGenericType(),
+					inf.getSelector(), binding.getAccessor().get(instance), path);
+		}
+		return storeMap;
+	}
 
+	/**
+	 * 按构造参数序列化对象: 每个参数读取对应的字段, 写入参数对应的节点, 与 {@link #create} 读取的节点一致.
+	 * @param creator 对象的构造方法或工厂方法
+	 * @param instance 对象
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 序列化结果
+	 */
+	Map<String, Object> storeCreator(Creator creator, Object instance, NodePath path) {
+		Map<String, Object> storeMap = new LinkedHashMap<>();
+		for (ParameterBinding parameter : creator.getParameters()) {
+			NodeInf inf = parameter.getInf();
+			storeField(storeMap, inf.getPath(), inf.getLoader(), parameter.getGenericType(), inf.getSelector(),
+					parameter.getAccessor().get(instance), path);
 		}
 		return storeMap;
 	}
 
+	/**
+	 * 序列化单个字段的值并放入结果, 多级路径会放入对应的子映射, 供反射绑定和生成的 {@link IBinder} 共用.
+	 * @param storeMap 序列化结果
+	 * @param key 字段对应的Yaml节点(多级相对路径)
+	 * @param loader 字段的加载器
+	 * @param genericType 字段泛型类型
+	 * @param selector 字段的字段选择器
+	 * @param obj 字段的值
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 */
+	public void storeField(Map<String, Object> storeMap, ConfigPath key, LoaderBase loader, Type genericType,
+			IFieldSelector selector, Object obj, String path) {
+		storeField(storeMap, key, loader, genericType, selector, obj, NodePath.of(path));
+	}
+
+	/**
+	 * 序列化单个字段的值并放入结果, 路径只在记录日志时拼接.
+	 * @see {@link #storeField(Map, ConfigPath, LoaderBase, Type, IFieldSelector, Object, String)}
+	 */
+	public void storeField(Map<String, Object> storeMap, ConfigPath key, LoaderBase loader, Type genericType,
+			IFieldSelector selector, Object obj, NodePath path) {
+		storeField(storeMap, key, loader, null, genericType, selector, obj, path);
+	}
+
+	/**
+	 * 序列化单个字段的值并放入结果, 若字段有转换器则直接调用转换器.
+	 * @param converter 字段的转换器, 可以为 {@code null}.
+	 * @see {@link LoaderBase#getFieldConverter(Class, Type)}
+	 * @see {@link #storeField(Map, ConfigPath, LoaderBase, Type, IFieldSelector, Object, String)}
+	 */
+	public void storeField(Map<String, Object> storeMap, ConfigPath key, LoaderBase loader, Converter converter,
+			Type genericType, IFieldSelector selector, Object obj, NodePath path) {
+		if (obj == null) {
+			key.set(storeMap, null);
+			return;
+		}
+		Class<?> type = obj.getClass();
+		NodePath realPath = path.child(key);
+		try {
+			if (converter != null) {
+				key.set(storeMap, converter.store(obj, realPath));
+			} else if (loader instanceof EntryLoader) {
+				EntryLoader entryLoader = (EntryLoader) loader;
+				@SuppressWarnings("unchecked")
+				Class<YamlSerializable> entryType = (Class<YamlSerializable>) type;
+				Map<String, Object> map = entryLoader.store(entryType, selector, (YamlSerializable) obj, realPath);
+				key.set(storeMap, map);
+			} else {
+				Object real = loader.store(type, genericType, obj, realPath);
+				key.set(storeMap, real);
+			}
+		} catch (Exception e) {
+			e.printStackTrace();
+			yamlBox.getLogger().warning(realPath.toString(),
+					new StringBuilder("Exception occurs while storing YamlSerializable. ").append(obj.toString())
+							.toString());
+			reportFailure(BindEvent.Operation.STORE, type, null, realPath, e);
+		}
+	}
+
 	@Override
 	public boolean canAccept(Class<?> clazz) {
 		return YamlSerializable.class.isAssignableFrom(clazz);
@@ -144,16 +557,27 @@ public class EntryLoader extends LoaderBase {
 		return selector;
 	}
 
-	@SuppressWarnings("unchecked")
 	@Override
 	public Object resolve(Class<?> clazz, Type genericType, Object obj, String path)
 			throws InstantiationException, IllegalAccessException {
-		return resolve((Class<YamlSerializable>) clazz, getFieldSelector(clazz), (ConfigSection) obj, path);
+		return resolve(clazz, genericType, obj, NodePath.of(path));
 	}
 
 	@SuppressWarnings("unchecked")
+	@Override
+	public Object resolve(Class<?> clazz, Type genericType, Object obj, NodePath path)
+			throws InstantiationException, IllegalAccessException {
+		return resolve((Class<YamlSerializable>) clazz, getFieldSelector(clazz), (ConfigSection) obj, path);
+	}
+
 	@Override
 	public Map<String, Object> store(Class<?> clazz, Type genericType, Object obj, String path) throws Exception {
+		return store(clazz, genericType, obj, NodePath.of(path));
+	}
+
+	@SuppressWarnings("unchecked")
+	@Override
+	public Map<String, Object> store(Class<?> clazz, Type genericType, Object obj, NodePath path) throws Exception {
 		return store((Class<YamlSerializable>) clazz, getFieldSelector(clazz), (YamlSerializable) obj, path);
 	}
 
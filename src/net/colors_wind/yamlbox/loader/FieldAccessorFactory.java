@@ -0,0 +1,41 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.reflect.Field;
+
+/**
+ * 预定义的字段访问器工厂.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public enum FieldAccessorFactory implements IFieldAccessorFactory {
+
+	/**
+	 * 为每个字段生成以 {@link java.lang.invoke.MethodHandle} 常量读写字段的类, {@code int}, {@code long},
+	 * {@code double}, {@code float}, {@code boolean} 字段不装箱. 参见 {@link MethodHandleAccessor}.
+	 * 若无法创建句柄(例如 {@code final} 字段)或无法定义生成的类, 退回到 {@link #REFLECTION}.
+	 */
+	METHOD_HANDLE(field -> {
+		try {
+			return MethodHandleAccessor.of(field);
+		} catch (IllegalAccessException | LinkageError | SecurityException e) {
+			return new ReflectionAccessor(field);
+		}
+	}),
+	/**
+	 * 使用 {@link Field} 读写字段.
+	 */
+	REFLECTION(ReflectionAccessor::new);
+
+	private final IFieldAccessorFactory factory;
+
+	private FieldAccessorFactory(IFieldAccessorFactory factory) {
+		this.factory = factory;
+	}
+
+	@Override
+	public IFieldAccessor create(Field field) {
+		return this.factory.create(field);
+	}
+
+}
@@ -40,10 +40,9 @@ public enum FieldSelector implements IFieldSelector {
 	 * 选取当前类以及它的所有父类所有字段.
 	 */
 	SELECTOR_DECLARE_SUPER(clazz -> {
-		Field[] fields = clazz.getDeclaredFields();
 		ArrayList<Field> list = new ArrayList<>();
 		do {
-			for (Field field : fields) {
+			for (Field field : clazz.getDeclaredFields()) {
 				field.setAccessible(true);
 				if (!Modifier.isStatic(field.getModifiers())) {
 					list.add(field);
@@ -0,0 +1,67 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.util.Map;
+
+import net.colors_wind.yamlbox.conf.ConfigSection;
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 由注解处理器在编译期生成的绑定器, 不通过反射读写字段.
+ * <p>生成的类与目标类位于同一个包, 类名为目标类的二进制名加上 {@link EntryLoader#BINDER_SUFFIX}.
+ * {@link EntryLoader} 会优先使用它, 找不到时退回到反射绑定.
+ * <p>每个 {@link EntryLoader} 持有各自的绑定器实例, 加载器注册表变化时丢弃并重新创建,
+ * 因此绑定器可以缓存字段的加载器和转换器, 但只应由创建它的加载器调用.
+ * @param <T> 目标类型
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public interface IBinder<T extends YamlSerializable> {
+
+	/**
+	 * 生成该绑定器时使用的字段选择器, 仅当请求的字段选择器与之相同时才会使用该绑定器.
+	 * @return 字段选择器
+	 */
+	IFieldSelector getSelector();
+
+	/**
+	 * 反序列化对象.
+	 * @param loader 调用该绑定器的加载器
+	 * @param config 对象对应的配置
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 反序列化结果
+	 */
+	T resolve(EntryLoader loader, ConfigSection config, String path);
+
+	/**
+	 * 序列化对象.
+	 * @param loader 调用该绑定器的加载器
+	 * @param instance 对象
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 序列化结果
+	 */
+	Map<String, Object> store(EntryLoader loader, T instance, String path);
+
+	/**
+	 * 反序列化对象, 路径只在需要时拼接. 默认拼接后调用 {@link #resolve(EntryLoader, ConfigSection, String)}.
+	 * @param loader 调用该绑定器的加载器
+	 * @param config 对象对应的配置
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 反序列化结果
+	 */
+	default T resolve(EntryLoader loader, ConfigSection config, NodePath path) {
+		return resolve(loader, config, path.toString());
+	}
+
+	/**
+	 * 序列化对象, 路径只在需要时拼接. 默认拼接后调用 {@link #store(EntryLoader, YamlSerializable, String)}.
+	 * @param loader 调用该绑定器的加载器
+	 * @param instance 对象
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 序列化结果
+	 */
+	default Map<String, Object> store(EntryLoader loader, T instance, NodePath path) {
+		return store(loader, instance, path.toString());
+	}
+}
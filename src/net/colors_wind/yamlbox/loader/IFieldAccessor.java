@@ -0,0 +1,68 @@
+package net.colors_wind.yamlbox.loader;
+
+/**
+ * 字段访问器, {@link EntryLoader} 通过它读写对象的字段.
+ * <p>基本类型的读写方法默认通过 {@link #get(Object)} 和 {@link #set(Object, Object)} 完成装箱/拆箱,
+ * 实现类可以重写它们以避免装箱.
+ * @see {@link IFieldAccessorFactory}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public interface IFieldAccessor {
+
+	/**
+	 * 读取字段的值.
+	 * @param instance 对象
+	 * @return 字段的值, 基本类型会被装箱.
+	 */
+	Object get(Object instance);
+
+	/**
+	 * 写入字段的值.
+	 * @param instance 对象
+	 * @param value 值
+	 */
+	void set(Object instance, Object value);
+
+	default int getInt(Object instance) {
+		return ((Number) get(instance)).intValue();
+	}
+
+	default void setInt(Object instance, int value) {
+		set(instance, value);
+	}
+
+	default long getLong(Object instance) {
+		return ((Number) get(instance)).longValue();
+	}
+
+	default void setLong(Object instance, long value) {
+		set(instance, value);
+	}
+
+	default double getDouble(Object instance) {
+		return ((Number) get(instance)).doubleValue();
+	}
+
+	default void setDouble(Object instance, double value) {
+		set(instance, value);
+	}
+
+	default float getFloat(Object instance) {
+		return ((Number) get(instance)).floatValue();
+	}
+
+	default void setFloat(Object instance, float value) {
+		set(instance, value);
+	}
+
+	default boolean getBoolean(Object instance) {
+		return (Boolean) get(instance);
+	}
+
+	default void setBoolean(Object instance, boolean value) {
+		set(instance, value);
+	}
+
+}
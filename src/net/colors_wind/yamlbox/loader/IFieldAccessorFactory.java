@@ -0,0 +1,21 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.reflect.Field;
+
+/**
+ * 字段访问器工厂接口.
+ * @see {@link FieldAccessorFactory}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface IFieldAccessorFactory {
+
+	/**
+	 * 为字段创建访问器, 每个字段只会在构造绑定计划时调用一次.
+	 * @param field 字段, 已经设置为可访问.
+	 * @return 访问器
+	 */
+	IFieldAccessor create(Field field);
+}
@@ -1,17 +1,26 @@
 package net.colors_wind.yamlbox.loader;
 
 import java.lang.reflect.Field;
+import java.lang.reflect.Parameter;
 import java.lang.reflect.Type;
 
 import lombok.Data;
 import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.ConfigPath;
 import net.colors_wind.yamlbox.conf.ConfigSection;
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.metrics.BindEvent;
+import net.colors_wind.yamlbox.metrics.FailureEvent;
+import net.colors_wind.yamlbox.metrics.YamlBoxMetrics;
 import net.colors_wind.yamlbox.tag.ConfigNode;
 import net.colors_wind.yamlbox.tag.SerializeNode;
 import net.colors_wind.yamlbox.tag.YamlSerializable;
 
 /**
  * 序列化/反序列化加载器基类.
+ * <p>路径只用于日志和异常信息. 内置加载器之间以 {@link NodePath} 传递路径, 需要时才拼接;
+ * 参数为 {@link NodePath} 的方法默认拼接路径后调用参数为 {@link String} 的同名方法,
+ * 因此自定义加载器只需实现后者, 覆盖前者可以避免拼接.
  * @author colors_wind
  * @date 2020/6/19
  * @since 1.0.0
@@ -162,6 +171,129 @@ public abstract class LoaderBase {
 		throw new UnsupportedOperationException();
 	}
 	
+	/**
+	 * 已经数据代表 {@link char}, 反序列化元素.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 * @throws Exception 如果反序列化过程发生异常
+	 * @see {@link #resolve(Class, Type, Object, String)}
+	 */
+	public char resolveAsChar(Object obj, String path) {
+		throw new UnsupportedOperationException();
+	}
+	
+	/**
+	 * 反序列化元素, 路径延迟拼接.
+	 * @param clazz 类型
+	 * @param genericType 泛型类型
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 * @return 反序列化结构
+	 * @throws Exception 如果反序列化过程发生异常
+	 * @see {@link #resolve(Class, Type, Object, String)}
+	 */
+	public Object resolve(Class<?> clazz, Type genericType, Object obj, NodePath path) throws Exception {
+		return resolve(clazz, genericType, obj, path.toString());
+	}
+	
+	/**
+	 * 序列化元素, 路径延迟拼接.
+	 * @param clazz 类型
+	 * @param genericType 泛型类型
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 * @return 序列化结构
+	 * @throws Exception 如果序列化过程发生异常
+	 * @see {@link #store(Class, Type, Object, String)}
+	 */
+	public Object store(Class<?> clazz, Type genericType, Object obj, NodePath path) throws Exception {
+		return store(clazz, genericType, obj, path.toString());
+	}
+
+	/**
+	 * 获取字段的转换器, 由 {@link BindingPlan} 在分析字段时获取一次并缓存,
+	 * 此后解析/存储该字段直接调用转换器, 不再经过 {@link #resolve(Class, Type, Object, NodePath)}
+	 * 和 {@link #store(Class, Type, Object, NodePath)}.
+	 * @param clazz 字段类型
+	 * @param genericType 字段泛型类型
+	 * @return 转换器, 默认返回 {@code null}, 代表每次都调用 {@code resolve}/{@code store}.
+	 */
+	public Converter getFieldConverter(Class<?> clazz, Type genericType) {
+		return null;
+	}
+
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsInt(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public int resolveAsInt(Object obj, NodePath path) {
+		return resolveAsInt(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsShort(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public short resolveAsShort(Object obj, NodePath path) {
+		return resolveAsShort(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsByte(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public byte resolveAsByte(Object obj, NodePath path) {
+		return resolveAsByte(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsBoolean(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public boolean resolveAsBoolean(Object obj, NodePath path) {
+		return resolveAsBoolean(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsLong(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public long resolveAsLong(Object obj, NodePath path) {
+		return resolveAsLong(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsDouble(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public double resolveAsDouble(Object obj, NodePath path) {
+		return resolveAsDouble(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsFloat(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public float resolveAsFloat(Object obj, NodePath path) {
+		return resolveAsFloat(obj, path.toString());
+	}
+	
+	/**
+	 * 路径延迟拼接的 {@link #resolveAsChar(Object, String)}.
+	 * @param obj 原始数据
+	 * @param path 数据所在的Yaml节点(绝对路径)
+	 */
+	public char resolveAsChar(Object obj, NodePath path) {
+		return resolveAsChar(obj, path.toString());
+	}
+	
 	/**
 	 * 向所属YamlBox注册加载器, 若已存在同名加载器, 则注册失败.
 	 * @return {@code true} 如果注册成功, 否则返回 {@code false}.
@@ -180,6 +312,30 @@ public abstract class LoaderBase {
 		return this.yamlBox.forceAddLoader(uniqueName, this);
 	}
 	
+	/**
+	 * 清空依赖加载器注册表的缓存, 所属YamlBox的加载器注册表发生变化时调用.
+	 * @see {@link YamlBox#addLoader(String, LoaderBase)}
+	 * @see {@link YamlBox#removeLoader(String)}
+	 */
+	public void invalidateCache() {
+	}
+
+	/**
+	 * 通知所属YamlBox的 {@link YamlBoxMetrics} 转换失败, 未安装监听器时不做任何事. 不会记录日志.
+	 * @param operation 失败时进行的操作
+	 * @param type 字段所属的类; 字段未知时为转换的值的类型.
+	 * @param field 字段名, 可以为 {@code null}.
+	 * @param path 失败的Yaml节点(绝对路径)
+	 * @param cause 异常
+	 */
+	protected void reportFailure(BindEvent.Operation operation, Class<?> type, String field, NodePath path,
+			Throwable cause) {
+		YamlBoxMetrics metrics = yamlBox.getMetrics();
+		if (metrics != null) {
+			metrics.onFailure(new FailureEvent(operation, type, field, path.toString(), cause));
+		}
+	}
+	
 	
 	/**
 	 * 代表综合分析字段标记的结果.
@@ -190,9 +346,17 @@ public abstract class LoaderBase {
 	@Data
 	class NodeInf {
 		private final String key;
+		private final ConfigPath path;
 		private final LoaderBase loader;
 		private final IFieldSelector selector;
 		
+		public NodeInf(String key, LoaderBase loader, IFieldSelector selector) {
+			this.key = key;
+			this.path = ConfigPath.of(key);
+			this.loader = loader;
+			this.selector = selector;
+		}
+		
 		/**
 		 * 获取字段对应的Yaml节点(绝对路径).
 		 * @param origin 上级节点的路径
@@ -201,6 +365,15 @@ public abstract class LoaderBase {
 		public String getRealPath(String origin) {
 			return new StringBuilder(origin).append(ConfigSection.DOT).append(key).toString();
 		}
+
+		/**
+		 * 获取字段对应的Yaml节点(绝对路径), 不拼接字符串.
+		 * @param origin 上级节点的路径
+		 * @return 绝对路径
+		 */
+		public NodePath getRealPath(NodePath origin) {
+			return origin.child(key);
+		}
 	}
 
 	/**
@@ -209,17 +382,38 @@ public abstract class LoaderBase {
 	 * @return 分析结构
 	 */
 	public NodeInf getNodeInf(Field field) {
-		Class<?> clazz = field.getDeclaringClass();
-		SerializeNode sNode = field.getAnnotation(SerializeNode.class);
-		ConfigNode cNode = field.getAnnotation(ConfigNode.class);
+		return getNodeInf(field.getType(), field.getName(), field.getAnnotation(SerializeNode.class),
+				field.getAnnotation(ConfigNode.class));
+	}
+
+	/**
+	 * 分析构造参数标记, 规则与字段相同. 未指定 {@link ConfigNode#path()} 时以参数名为节点名,
+	 * 此时需要以 {@code -parameters} 编译.
+	 * @param parameter 构造方法或工厂方法的参数
+	 * @return 分析结构
+	 * @throws IllegalArgumentException 如果无法确定参数对应的节点
+	 * @see {@link net.colors_wind.yamlbox.tag.ConfigConstructor}
+	 */
+	public NodeInf getNodeInf(Parameter parameter) {
+		ConfigNode cNode = parameter.getAnnotation(ConfigNode.class);
+		if ((cNode == null || cNode.path().isEmpty()) && !parameter.isNamePresent()) {
+			throw new IllegalArgumentException(new StringBuilder("CANNOT determine the node of ").append(parameter)
+					.append(" in ").append(parameter.getDeclaringExecutable())
+					.append(", specify @ConfigNode(path) or compile with -parameters.").toString());
+		}
+		return getNodeInf(parameter.getType(), parameter.getName(), parameter.getAnnotation(SerializeNode.class),
+				cNode);
+	}
+
+	private NodeInf getNodeInf(Class<?> clazz, String name, SerializeNode sNode, ConfigNode cNode) {
 		String key; 
 		LoaderBase resolver;
 		IFieldSelector selector;
 		if (cNode == null) {
-			key = field.getName();
+			key = name;
 			resolver = yamlBox.getDefaultResolver(clazz);
 		} else {
-			key = cNode.path().isEmpty() ? field.getName() : cNode.path();
+			key = cNode.path().isEmpty() ? name : cNode.path();
 			resolver = yamlBox.getLoader(cNode.loader()).orElseGet(() -> yamlBox.getDefaultResolver(clazz));
 		}
 		if (YamlSerializable.class.isAssignableFrom(clazz)) {
@@ -0,0 +1,111 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 基于 {@link MethodHandle} 的字段访问器. 每个字段在运行时生成一个子类, 句柄保存在子类的 {@code static final} 字段中,
+ * JIT把它们当作常量, 因此可以把字段读写内联到调用处, 参见 {@link AccessorClassWriter}.
+ * 对 {@code int}, {@code long}, {@code double}, {@code float}, {@code boolean} 字段另外生成专门的读写方法, 不装箱;
+ * {@code short}, {@code byte}, {@code char} 字段与引用类型字段一样通过 {@link #get(Object)} 和
+ * {@link #set(Object, Object)} 读写, 仍然会装箱.
+ * <p>生成的子类由独立的类加载器定义, 因此此类必须公开; 不应在其他地方继承此类.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public abstract class MethodHandleAccessor implements IFieldAccessor {
+	private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+	private static final String PREFIX = MethodHandleAccessor.class.getName() + "$$";
+	private static final AtomicLong COUNTER = new AtomicLong();
+	/**
+	 * 已定义但尚未初始化的子类的句柄, 由子类的静态初始化块取走.
+	 */
+	private static final Map<Class<?>, MethodHandle[]> PENDING = new ConcurrentHashMap<>();
+
+	protected final Field field;
+
+	protected MethodHandleAccessor(Field field) {
+		this.field = field;
+	}
+
+	/**
+	 * 为字段生成访问器.
+	 * @param field 字段, 已经设置为可访问.
+	 * @return 访问器
+	 * @throws IllegalAccessException 如果无法为该字段创建句柄, 例如 {@code final} 字段.
+	 */
+	static IFieldAccessor of(Field field) throws IllegalAccessException {
+		MethodHandle getter = LOOKUP.unreflectGetter(field);
+		MethodHandle setter = LOOKUP.unreflectSetter(field);
+		Class<?> type = field.getType();
+		MethodHandle[] handles;
+		if (AccessorClassWriter.isTyped(type)) {
+			handles = new MethodHandle[] { getter.asType(MethodType.methodType(Object.class, Object.class)),
+					setter.asType(MethodType.methodType(void.class, Object.class, Object.class)),
+					getter.asType(MethodType.methodType(type, Object.class)),
+					setter.asType(MethodType.methodType(void.class, Object.class, type)) };
+		} else {
+			handles = new MethodHandle[] { getter.asType(MethodType.methodType(Object.class, Object.class)),
+					setter.asType(MethodType.methodType(void.class, Object.class, Object.class)) };
+		}
+		String name = PREFIX + COUNTER.incrementAndGet();
+		byte[] bytes = new AccessorClassWriter(name.replace('.', '/'), type).write();
+		Class<?> clazz = new AccessorClassLoader(MethodHandleAccessor.class.getClassLoader()).define(name, bytes);
+		PENDING.put(clazz, handles);
+		try {
+			return (IFieldAccessor) clazz.getConstructor(Field.class).newInstance(field);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException(e);
+		} finally {
+			PENDING.remove(clazz);
+		}
+	}
+
+	/**
+	 * 由生成的子类在静态初始化时调用, 取走它的句柄.
+	 * @param accessorClass 生成的子类
+	 * @return 句柄, 依次为读取, 写入, 以及基本类型字段专门的读取和写入.
+	 */
+	protected static MethodHandle[] handles(Class<?> accessorClass) {
+		MethodHandle[] handles = PENDING.remove(accessorClass);
+		if (handles == null) {
+			throw new IllegalStateException("CANNOT find the handles of " + accessorClass.getName());
+		}
+		return handles;
+	}
+
+	static RuntimeException rethrow(Throwable e) {
+		if (e instanceof RuntimeException) {
+			return (RuntimeException) e;
+		} else if (e instanceof Error) {
+			throw (Error) e;
+		}
+		return new IllegalStateException(e);
+	}
+
+	@Override
+	public String toString() {
+		return "MethodHandleAccessor[" + field + "]";
+	}
+
+	/**
+	 * 每个生成的子类使用单独的类加载器, 访问器不再被引用时可以与之一起卸载.
+	 */
+	private static class AccessorClassLoader extends ClassLoader {
+
+		AccessorClassLoader(ClassLoader parent) {
+			super(parent);
+		}
+
+		Class<?> define(String name, byte[] bytes) {
+			return defineClass(name, bytes, 0, bytes.length);
+		}
+	}
+
+}
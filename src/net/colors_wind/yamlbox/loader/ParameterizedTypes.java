@@ -0,0 +1,86 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * 不依赖反射构造 {@link ParameterizedType}, 主要供生成的 {@link IBinder} 使用.
+ * 构造结果与JDK自身的实现相等(equals/hashCode一致).
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class ParameterizedTypes {
+
+	private ParameterizedTypes() {
+	}
+
+	/**
+	 * 构造泛型类型.
+	 * @param rawType 原始类型
+	 * @param arguments 类型参数
+	 * @return 泛型类型
+	 */
+	public static ParameterizedType of(Class<?> rawType, Type... arguments) {
+		if (rawType.getTypeParameters().length != arguments.length) {
+			throw new IllegalArgumentException("Wrong number of type arguments for " + rawType.getName());
+		}
+		return new ParameterizedTypeImpl(rawType, arguments.clone(), rawType.getDeclaringClass());
+	}
+
+	private static final class ParameterizedTypeImpl implements ParameterizedType {
+		private final Class<?> rawType;
+		private final Type[] arguments;
+		private final Type ownerType;
+
+		private ParameterizedTypeImpl(Class<?> rawType, Type[] arguments, Type ownerType) {
+			this.rawType = rawType;
+			this.arguments = arguments;
+			this.ownerType = ownerType;
+		}
+
+		@Override
+		public Type[] getActualTypeArguments() {
+			return arguments.clone();
+		}
+
+		@Override
+		public Type getRawType() {
+			return rawType;
+		}
+
+		@Override
+		public Type getOwnerType() {
+			return ownerType;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof ParameterizedType)) {
+				return false;
+			}
+			ParameterizedType that = (ParameterizedType) obj;
+			return rawType.equals(that.getRawType()) && Objects.equals(ownerType, that.getOwnerType())
+					&& Arrays.equals(arguments, that.getActualTypeArguments());
+		}
+
+		@Override
+		public int hashCode() {
+			return Arrays.hashCode(arguments) ^ Objects.hashCode(ownerType) ^ rawType.hashCode();
+		}
+
+		@Override
+		public String toString() {
+			StringBuilder builder = new StringBuilder(rawType.getName()).append('<');
+			for (int i = 0; i < arguments.length; i++) {
+				if (i > 0) {
+					builder.append(", ");
+				}
+				builder.append(arguments[i].getTypeName());
+			}
+			return builder.append('>').toString();
+		}
+	}
+}
@@ -0,0 +1,75 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.colors_wind.yamlbox.conf.ConfigPath;
+import net.colors_wind.yamlbox.loader.BindingPlan.FieldBinding;
+
+/**
+ * 由绑定计划中各字段的路径构成的字典树, 供 {@link StreamingBinder} 按节点名逐级匹配.
+ * 子节点按字段在绑定计划中的顺序排列.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class PathTrie {
+	private final Map<String, PathTrie> children = new LinkedHashMap<>(4);
+	private final List<Integer> bindings = new ArrayList<>(1);
+
+	private PathTrie() {
+	}
+
+	/**
+	 * 为绑定计划构造字典树.
+	 * @param plan 绑定计划
+	 * @return 字典树的根
+	 */
+	public static PathTrie build(BindingPlan plan) {
+		PathTrie root = new PathTrie();
+		FieldBinding[] bindings = plan.getBindings();
+		for (int i = 0; i < bindings.length; i++) {
+			ConfigPath path = bindings[i].getInf().getPath();
+			PathTrie node = root;
+			for (int j = 0; j < path.size(); j++) {
+				node = node.children.computeIfAbsent(path.segment(j), k -> new PathTrie());
+			}
+			node.bindings.add(i);
+		}
+		return root;
+	}
+
+	/**
+	 * 获取子节点.
+	 * @param segment 节点名
+	 * @return 子节点, 若不存在, 返回 {@code null}.
+	 */
+	public PathTrie get(String segment) {
+		return children.get(segment);
+	}
+
+	/**
+	 * @return 全部子节点
+	 */
+	public Map<String, PathTrie> getChildren() {
+		return Collections.unmodifiableMap(children);
+	}
+
+	/**
+	 * @return 路径恰好到达该节点的字段在 {@link BindingPlan#getBindings()} 中的下标.
+	 */
+	public List<Integer> getBindings() {
+		return Collections.unmodifiableList(bindings);
+	}
+
+	/**
+	 * @return {@code true} 如果该节点有子节点, 否则返回 {@code false}.
+	 */
+	public boolean hasChildren() {
+		return !children.isEmpty();
+	}
+
+}
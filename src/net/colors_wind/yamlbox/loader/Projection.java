@@ -0,0 +1,153 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.yaml.snakeyaml.events.Event;
+
+import net.colors_wind.yamlbox.loader.BindingPlan.FieldBinding;
+import net.colors_wind.yamlbox.stream.EventReader;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 投影, 即反序列化某个类实际需要的路径集合. 由类的 {@link BindingPlan} 推导, 并展开 {@link EntryLoader} 处理的嵌套类.
+ * <p>按投影读取时, 投影以外的节点被跳过, 不会构造; 其他加载器处理的字段需要完整的子树.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class Projection {
+	private final Map<String, Projection> children = new HashMap<>(4);
+	private boolean whole;
+
+	private Projection() {
+	}
+
+	/**
+	 * 推导指定类的投影.
+	 * @param loader 对象加载器
+	 * @param clazz 类
+	 * @param selector 字段选择器
+	 * @return 投影
+	 */
+	public static Projection of(EntryLoader loader, Class<?> clazz, IFieldSelector selector) {
+		Projection projection = new Projection();
+		projection.addPlan(loader.getBindingPlan(clazz, selector), new HashSet<>());
+		return projection;
+	}
+
+	private void addPlan(BindingPlan plan, Set<Class<?>> visiting) {
+		visiting.add(plan.getType());
+		addTrie(plan, plan.getPathTrie(), visiting);
+		visiting.remove(plan.getType());
+	}
+
+	private void addTrie(BindingPlan plan, PathTrie trie, Set<Class<?>> visiting) {
+		for (Entry<String, PathTrie> entry : trie.getChildren().entrySet()) {
+			Projection child = children.computeIfAbsent(entry.getKey(), k -> new Projection());
+			PathTrie node = entry.getValue();
+			for (int index : node.getBindings()) {
+				FieldBinding binding = plan.getBindings()[index];
+				LoaderBase fieldLoader = binding.getInf().getLoader();
+				Class<?> type = binding.getType();
+				if (fieldLoader instanceof EntryLoader && YamlSerializable.class.isAssignableFrom(type)
+						&& !visiting.contains(type)) {
+					child.addPlan(((EntryLoader) fieldLoader).getBindingPlan(type, binding.getInf().getSelector()),
+							visiting);
+				} else {
+					// 递归的类型或其他加载器处理的字段, 保留完整子树
+					child.whole = true;
+				}
+			}
+			child.addTrie(plan, node, visiting);
+		}
+	}
+
+	/**
+	 * @return {@code true} 如果需要该节点的完整子树, 否则返回 {@code false}.
+	 */
+	public boolean isWhole() {
+		return whole;
+	}
+
+	/**
+	 * 获取子投影.
+	 * @param key 节点名
+	 * @return 子投影, 若不需要该节点, 返回 {@code null}.
+	 */
+	public Projection get(Object key) {
+		return key instanceof String ? children.get(key) : null;
+	}
+
+	/**
+	 * 按投影读取下一个节点, 投影以外的节点被跳过.
+	 * @param reader 读取器
+	 * @return 裁剪后的节点
+	 */
+	public Object read(EventReader reader) {
+		if (whole || !reader.peekIs(Event.ID.MappingStart)) {
+			return reader.read();
+		}
+		reader.next();
+		Map<Object, Object> map = new LinkedHashMap<>();
+		List<Object> merges = null;
+		while (!reader.peekIs(Event.ID.MappingEnd)) {
+			if (reader.isMergeKey()) {
+				reader.next();
+				if (merges == null) {
+					merges = new ArrayList<>(1);
+				}
+				merges.add(reader.read());
+				continue;
+			}
+			Object key = reader.read();
+			Projection child = get(key);
+			if (child == null) {
+				reader.skip();
+			} else {
+				map.put(key, child.read(reader));
+			}
+		}
+		reader.next();
+		if (merges != null) {
+			Map<Object, Object> merged = new LinkedHashMap<>();
+			EventReader.merge(merged, merges);
+			Map<Object, Object> result = new LinkedHashMap<>();
+			for (Entry<Object, Object> entry : merged.entrySet()) {
+				Projection child = get(entry.getKey());
+				if (child != null) {
+					result.put(entry.getKey(), child.prune(entry.getValue()));
+				}
+			}
+			result.putAll(map);
+			map = result;
+		}
+		return map;
+	}
+
+	/**
+	 * 按投影裁剪已构造的节点.
+	 * @param obj 节点
+	 * @return 裁剪后的节点
+	 */
+	public Object prune(Object obj) {
+		if (whole || !(obj instanceof Map)) {
+			return obj;
+		}
+		Map<Object, Object> map = new LinkedHashMap<>();
+		for (Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+			Projection child = get(entry.getKey());
+			if (child != null) {
+				map.put(entry.getKey(), child.prune(entry.getValue()));
+			}
+		}
+		return map;
+	}
+
+}
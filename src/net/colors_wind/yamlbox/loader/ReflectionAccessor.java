@@ -0,0 +1,130 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.lang.reflect.Field;
+
+/**
+ * 基于 {@link Field} 的字段访问器.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+class ReflectionAccessor implements IFieldAccessor {
+	private final Field field;
+
+	ReflectionAccessor(Field field) {
+		this.field = field;
+	}
+
+	@Override
+	public Object get(Object instance) {
+		try {
+			return field.get(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void set(Object instance, Object value) {
+		try {
+			field.set(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public int getInt(Object instance) {
+		try {
+			return field.getInt(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void setInt(Object instance, int value) {
+		try {
+			field.setInt(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public long getLong(Object instance) {
+		try {
+			return field.getLong(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void setLong(Object instance, long value) {
+		try {
+			field.setLong(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public double getDouble(Object instance) {
+		try {
+			return field.getDouble(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void setDouble(Object instance, double value) {
+		try {
+			field.setDouble(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public float getFloat(Object instance) {
+		try {
+			return field.getFloat(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void setFloat(Object instance, float value) {
+		try {
+			field.setFloat(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public boolean getBoolean(Object instance) {
+		try {
+			return field.getBoolean(instance);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public void setBoolean(Object instance, boolean value) {
+		try {
+			field.setBoolean(instance, value);
+		} catch (IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "ReflectionAccessor[" + field + "]";
+	}
+}
@@ -0,0 +1,233 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.Set;
+
+import org.yaml.snakeyaml.events.Event;
+
+import lombok.NonNull;
+import net.colors_wind.yamlbox.conf.ConfigSection;
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.loader.BindingPlan.FieldBinding;
+import net.colors_wind.yamlbox.loader.LoaderBase.NodeInf;
+import net.colors_wind.yamlbox.stream.EventReader;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 流式绑定器, 直接由解析事件反序列化 {@link YamlSerializable} 对象, 不构造完整的映射树.
+ * <p>按 {@link BindingPlan#getPathTrie()} 逐级匹配映射的键: 不需要的节点通过计数事件跳过;
+ * {@link EntryLoader} 处理的嵌套对象继续流式绑定; 其他字段只构造该字段对应的子树, 再交给字段的加载器.
+ * 不使用编译期生成的 {@link IBinder}.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class StreamingBinder {
+	protected final EntryLoader loader;
+
+	public StreamingBinder(@NonNull EntryLoader loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * 由解析事件反序列化对象, 只读取第一个文档.
+	 * @param events 解析事件, 例如 {@link org.yaml.snakeyaml.Yaml#parse(java.io.Reader)} 的返回值.
+	 * @param clazz 对象的类型
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 对象
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 */
+	public <T extends YamlSerializable> T bind(Iterable<Event> events, Class<T> clazz, String path)
+			throws InstantiationException, IllegalAccessException {
+		return bindDocument(new EventReader(events), clazz, path);
+	}
+
+	/**
+	 * 由读取器反序列化对象, 只读取下一个文档.
+	 * @param reader 读取器, 位于文档之前.
+	 * @param clazz 对象的类型
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 对象
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 */
+	public <T extends YamlSerializable> T bindDocument(EventReader reader, Class<T> clazz, String path)
+			throws InstantiationException, IllegalAccessException {
+		IFieldSelector selector = loader.getFieldSelector(clazz);
+		if (!reader.nextDocument()) {
+			return bind(null, clazz, selector, path);
+		}
+		T instance = bind(reader, clazz, selector, path);
+		reader.endDocument();
+		return instance;
+	}
+
+	/**
+	 * 由读取器的下一个节点反序列化对象.
+	 * @param reader 读取器, 为 {@code null} 时代表节点不存在.
+	 * @param clazz 对象的类型
+	 * @param selector 字段选择器
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 * @return 对象
+	 * @throws InstantiationException 如果无法创建对象, 此时读取器的位置不变.
+	 * @throws IllegalAccessException 如果无法创建对象, 此时读取器的位置不变.
+	 */
+	public <T extends YamlSerializable> T bind(EventReader reader, Class<T> clazz, IFieldSelector selector,
+			String path) throws InstantiationException, IllegalAccessException {
+		return bind(reader, clazz, selector, NodePath.of(path));
+	}
+
+	/**
+	 * 由读取器的下一个节点反序列化对象, 路径只在记录日志时拼接.
+	 * @see {@link #bind(EventReader, Class, IFieldSelector, String)}
+	 */
+	public <T extends YamlSerializable> T bind(EventReader reader, Class<T> clazz, IFieldSelector selector,
+			NodePath path) throws InstantiationException, IllegalAccessException {
+		BindingPlan plan = loader.getBindingPlan(clazz, selector);
+		if (plan.getCreator() != null) {
+			return resolveTree(reader == null ? null : reader.read(), clazz, selector, path);
+		}
+		T instance = clazz.newInstance();
+		boolean[] assigned = new boolean[plan.getBindings().length];
+		if (reader != null) {
+			if (reader.peekIs(Event.ID.MappingStart)) {
+				reader.next();
+				bindMapping(reader, plan, plan.getPathTrie(), instance, path, assigned);
+			} else {
+				assignTree(plan, plan.getPathTrie(), reader.read(), instance, path, assigned);
+			}
+		}
+		FieldBinding[] bindings = plan.getBindings();
+		for (int i = 0; i < bindings.length; i++) {
+			if (!assigned[i]) {
+				resolveMissing(plan, bindings[i], instance, path);
+			}
+		}
+		return instance;
+	}
+
+	/**
+	 * 读取映射的内容, 映射的开始事件已被读取.
+	 */
+	private void bindMapping(EventReader reader, BindingPlan plan, PathTrie trie, Object instance, NodePath path,
+			boolean[] assigned) throws InstantiationException, IllegalAccessException {
+		Set<String> present = null;
+		List<Object> merges = null;
+		while (!reader.peekIs(Event.ID.MappingEnd)) {
+			if (reader.isMergeKey()) {
+				reader.next();
+				if (merges == null) {
+					merges = new ArrayList<>(1);
+				}
+				merges.add(reader.read());
+				continue;
+			}
+			String key = reader.readKey();
+			PathTrie child = key == null ? null : trie.get(key);
+			if (child == null) {
+				reader.skip();
+				continue;
+			}
+			if (present == null) {
+				present = new HashSet<>();
+			}
+			present.add(key);
+			List<Integer> indexes = child.getBindings();
+			if (!child.hasChildren() && indexes.size() == 1 && isEntry(plan.getBindings()[indexes.get(0)])) {
+				int index = indexes.get(0);
+				bindEntry(reader, plan, plan.getBindings()[index], instance, path);
+				assigned[index] = true;
+			} else if (indexes.isEmpty() && reader.peekIs(Event.ID.MappingStart)) {
+				reader.next();
+				bindMapping(reader, plan, child, instance, path, assigned);
+			} else {
+				assignTree(plan, child, reader.read(), instance, path, assigned);
+			}
+		}
+		reader.next();
+		if (merges != null) {
+			// 合并键的优先级低于显式的键
+			Map<Object, Object> merged = new LinkedHashMap<>();
+			EventReader.merge(merged, merges);
+			for (Entry<String, PathTrie> entry : trie.getChildren().entrySet()) {
+				String key = entry.getKey();
+				if ((present == null || !present.contains(key)) && merged.containsKey(key)) {
+					assignTree(plan, entry.getValue(), merged.get(key), instance, path, assigned);
+				}
+			}
+		}
+	}
+
+	private void bindEntry(EventReader reader, BindingPlan plan, FieldBinding binding, Object instance, NodePath path) {
+		NodeInf inf = binding.getInf();
+		NodePath realPath = inf.getRealPath(path);
+		try {
+			binding.getAccessor().set(instance, bind(reader, binding.getType().asSubclass(YamlSerializable.class),
+					inf.getSelector(), realPath));
+		} catch (InstantiationException | IllegalAccessException e) {
+			loader.fieldFailed(e, plan.getType(), binding.getField().getName(), inf.getKey(), path);
+			reader.skip();
+		}
+	}
+
+	/**
+	 * 由已构造的子树为字典树节点及其后代对应的字段赋值, 子树中不存在的路径留给 {@link #resolveMissing}.
+	 */
+	private void assignTree(BindingPlan plan, PathTrie trie, Object value, Object instance, NodePath path,
+			boolean[] assigned) {
+		FieldBinding[] bindings = plan.getBindings();
+		for (int index : trie.getBindings()) {
+			loader.resolveValue(plan.getType(), bindings[index], instance, value, path);
+			assigned[index] = true;
+		}
+		if (value instanceof Map) {
+			Map<?, ?> map = (Map<?, ?>) value;
+			for (Entry<String, PathTrie> entry : trie.getChildren().entrySet()) {
+				if (map.containsKey(entry.getKey())) {
+					assignTree(plan, entry.getValue(), map.get(entry.getKey()), instance, path, assigned);
+				}
+			}
+		}
+	}
+
+	/**
+	 * 标记了 {@link net.colors_wind.yamlbox.tag.ConfigConstructor} 的类需要先得到全部参数,
+	 * 因此读取整个节点后交给 {@link EntryLoader#resolve(Class, IFieldSelector, ConfigSection, NodePath)}.
+	 */
+	@SuppressWarnings("unchecked")
+	private <T extends YamlSerializable> T resolveTree(Object tree, Class<T> clazz, IFieldSelector selector,
+			NodePath path) throws InstantiationException, IllegalAccessException {
+		ConfigSection config = tree instanceof Map ? new YamlConfig((Map<String, Object>) tree, path) : null;
+		return loader.resolve(clazz, selector, config, path);
+	}
+
+	/**
+	 * 为配置中不存在的字段赋值, 与 {@link EntryLoader} 相同, 由字段的加载器决定如何处理 {@code null}.
+	 */
+	private void resolveMissing(BindingPlan plan, FieldBinding binding, Object instance, NodePath path) {
+		if (isEntry(binding)) {
+			NodeInf inf = binding.getInf();
+			NodePath realPath = inf.getRealPath(path);
+			try {
+				binding.getAccessor().set(instance, bind(null, binding.getType().asSubclass(YamlSerializable.class),
+						inf.getSelector(), realPath));
+			} catch (InstantiationException | IllegalAccessException e) {
+				loader.fieldFailed(e, plan.getType(), binding.getField().getName(), inf.getKey(), path);
+			}
+		} else {
+			loader.resolveValue(plan.getType(), binding, instance, null, path);
+		}
+	}
+
+	private boolean isEntry(FieldBinding binding) {
+		return binding.getInf().getLoader() == loader && YamlSerializable.class.isAssignableFrom(binding.getType());
+	}
+
+}
@@ -0,0 +1,154 @@
+package net.colors_wind.yamlbox.loader;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import lombok.NonNull;
+import net.colors_wind.yamlbox.conf.ConfigPath;
+import net.colors_wind.yamlbox.conf.NodePath;
+import net.colors_wind.yamlbox.loader.BindingPlan.FieldBinding;
+import net.colors_wind.yamlbox.loader.LoaderBase.NodeInf;
+import net.colors_wind.yamlbox.metrics.BindEvent;
+import net.colors_wind.yamlbox.stream.EventWriter;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 流式序列化器, 直接按绑定计划将 {@link YamlSerializable} 对象写为Yaml事件, 不构造中间的映射树. 与 {@link StreamingBinder} 对应.
+ * <p>多级路径的字段按 {@link BindingPlan#getPathTrie()} 合并到同一个映射中; {@link EntryLoader} 处理的嵌套对象继续流式写入;
+ * 其他字段由字段的加载器转换后写入. 输出的结构与 {@link EntryLoader#store(Class, IFieldSelector, YamlSerializable, String)}
+ * 的结果相同. 标记了 {@link net.colors_wind.yamlbox.tag.ConfigConstructor} 的类按构造参数构造映射后整体写入.
+ * 不使用编译期生成的 {@link IBinder}.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class StreamingWriter {
+	protected final EntryLoader loader;
+
+	public StreamingWriter(@NonNull EntryLoader loader) {
+		this.loader = loader;
+	}
+
+	/**
+	 * 将对象写为一个文档.
+	 * @param writer 写入器
+	 * @param instance 对象
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 */
+	public void writeDocument(@NonNull EventWriter writer, @NonNull YamlSerializable instance, String path) {
+		writer.startDocument();
+		write(writer, loader, instance.getClass(), loader.getFieldSelector(instance.getClass()), instance,
+				NodePath.of(path));
+		writer.endDocument();
+	}
+
+	/**
+	 * 将对象写为一个映射.
+	 * @param writer 写入器
+	 * @param entryLoader 对象的加载器
+	 * @param clazz 对象的类型
+	 * @param selector 字段选择器
+	 * @param instance 对象
+	 * @param path 对象所在的Yaml节点(绝对路径)
+	 */
+	public void write(EventWriter writer, EntryLoader entryLoader, Class<?> clazz, IFieldSelector selector,
+			Object instance, String path) {
+		write(writer, entryLoader, clazz, selector, instance, NodePath.of(path));
+	}
+
+	/**
+	 * 将对象写为一个映射, 路径只在记录日志时拼接.
+	 * @see {@link #write(EventWriter, EntryLoader, Class, IFieldSelector, Object, String)}
+	 */
+	public void write(EventWriter writer, EntryLoader entryLoader, Class<?> clazz, IFieldSelector selector,
+			Object instance, NodePath path) {
+		BindingPlan plan = entryLoader.getBindingPlan(clazz, selector);
+		if (plan.getCreator() != null) {
+			// 节点由构造参数决定, 与 store 相同地构造映射后整体写入
+			writer.write(entryLoader.storeCreator(plan.getCreator(), instance, path));
+			return;
+		}
+		writer.startMapping();
+		writeTrie(writer, entryLoader, plan, plan.getPathTrie(), new ArrayList<>(), instance, path);
+		writer.endMapping();
+	}
+
+	private void writeTrie(EventWriter writer, EntryLoader entryLoader, BindingPlan plan, PathTrie trie,
+			List<String> prefix, Object instance, NodePath path) {
+		for (Entry<String, PathTrie> entry : trie.getChildren().entrySet()) {
+			String key = entry.getKey();
+			PathTrie node = entry.getValue();
+			List<Integer> bindings = node.getBindings();
+			if (bindings.isEmpty()) {
+				writer.write(key);
+				writer.startMapping();
+				prefix.add(key);
+				writeTrie(writer, entryLoader, plan, node, prefix, instance, path);
+				prefix.remove(prefix.size() - 1);
+				writer.endMapping();
+			} else if (bindings.size() == 1 && !node.hasChildren()) {
+				writeField(writer, key, plan.getBindings()[bindings.get(0)], instance, path);
+			} else {
+				// 多个字段的路径互相重叠, 与 store 相同地依次放入映射后整体写入
+				List<Integer> indices = new ArrayList<>();
+				collectBindings(node, indices);
+				Collections.sort(indices);
+				Map<String, Object> storeMap = new LinkedHashMap<>();
+				for (int index : indices) {
+					FieldBinding binding = plan.getBindings()[index];
+					NodeInf inf = binding.getInf();
+					entryLoader.storeField(storeMap, inf.getPath(), inf.getLoader(), binding.getConverter(),
+							binding.getGenericType(), inf.getSelector(), binding.getAccessor().get(instance), path);
+				}
+				prefix.add(key);
+				ConfigPath nodePath = ConfigPath.ofSegments(prefix.toArray(new String[0]));
+				prefix.remove(prefix.size() - 1);
+				if (nodePath.contains(storeMap)) {
+					writer.write(key);
+					writer.write(nodePath.get(storeMap));
+				}
+			}
+		}
+	}
+
+	private static void collectBindings(PathTrie node, List<Integer> indices) {
+		indices.addAll(node.getBindings());
+		for (PathTrie child : node.getChildren().values()) {
+			collectBindings(child, indices);
+		}
+	}
+
+	private void writeField(EventWriter writer, String key, FieldBinding binding, Object instance, NodePath path) {
+		Object obj = binding.getAccessor().get(instance);
+		NodeInf inf = binding.getInf();
+		NodePath realPath = inf.getRealPath(path);
+		LoaderBase fieldLoader = inf.getLoader();
+		if (obj == null) {
+			writer.write(key);
+			writer.write(null);
+		} else if (fieldLoader instanceof EntryLoader) {
+			writer.write(key);
+			write(writer, (EntryLoader) fieldLoader, obj.getClass(), inf.getSelector(), obj, realPath);
+		} else {
+			Object real;
+			try {
+				real = binding.getConverter() != null ? binding.getConverter().store(obj, realPath)
+						: fieldLoader.store(obj.getClass(), binding.getGenericType(), obj, realPath);
+			} catch (Exception e) {
+				e.printStackTrace();
+				loader.yamlBox.getLogger().warning(realPath.toString(),
+						new StringBuilder("Exception occurs while storing YamlSerializable. ").append(obj.toString())
+								.toString());
+				loader.reportFailure(BindEvent.Operation.STORE, obj.getClass(), null, realPath, e);
+				return;
+			}
+			writer.write(key);
+			writer.write(real);
+		}
+	}
+
+}
@@ -1,27 +1,22 @@
 package net.colors_wind.yamlbox.loader;
 
-import java.lang.reflect.InvocationTargetException;
-import java.lang.reflect.Method;
-import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
-import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
-import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
-import java.util.Map.Entry;
 import java.util.Optional;
 import java.util.OptionalDouble;
 import java.util.OptionalInt;
 import java.util.OptionalLong;
 import java.util.Set;
-import java.util.stream.Collectors;
+import java.util.concurrent.ForkJoinPool;
 
 import lombok.Getter;
+import lombok.NonNull;
 import lombok.Setter;
 import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.NodePath;
 
 /**
  * 通用加载器, 可处理 {@link #ACCEPT_FINAL} 和 {@link enum} 类型.
@@ -34,6 +29,11 @@ public class UniversalLoader extends LoaderBase {
 
 	public static final String UNIVERSAL = "universal";
 	public static final Set<Class<?>> ACCEPT_FINAL = new HashSet<>();
+	private static final String[] STRING_METHODS = { "resolve", "store", "resolveAsInt", "resolveAsShort",
+			"resolveAsByte", "resolveAsBoolean", "resolveAsLong", "resolveAsDouble", "resolveAsFloat",
+			"resolveAsChar" };
+	private static final int RESOLVE = 1, STORE = 1 << 1, INT = 1 << 2, SHORT = 1 << 3, BYTE = 1 << 4,
+			BOOLEAN = 1 << 5, LONG = 1 << 6, DOUBLE = 1 << 7, FLOAT = 1 << 8, CHAR = 1 << 9;
 	static {
 		ACCEPT_FINAL.addAll(Arrays.asList(boolean.class, Boolean.class));
 		ACCEPT_FINAL.addAll(Arrays.asList(int.class, Integer.class, OptionalInt.class));
@@ -53,6 +53,31 @@ public class UniversalLoader extends LoaderBase {
 	@Getter
 	@Setter
 	private boolean strictMode = false;
+	/**
+	 * 列表或映射中 {@link net.colors_wind.yamlbox.tag.YamlSerializable} 元素的数量达到此值时并行反序列化.
+	 * 设为 {@link Integer#MAX_VALUE} 以禁用并行.
+	 */
+	@Getter
+	@Setter
+	private volatile int parallelThreshold = 1024;
+	/**
+	 * 并行反序列化元素的线程池, 默认为 {@link ForkJoinPool#commonPool()}.
+	 */
+	@Getter
+	@Setter
+	@NonNull
+	private volatile ForkJoinPool bindPool = ForkJoinPool.commonPool();
+	protected final ConverterCompiler compiler = new ConverterCompiler(this);
+	/**
+	 * 子类覆盖了参数为 {@link String} 的方法时, 参数为 {@link NodePath} 的同名方法改为拼接路径后调用子类的方法,
+	 * 因此只覆盖前者的子类仍然有效. 每一位对应 {@link #STRING_METHODS} 中的一个方法.
+	 */
+	private final int stringOverrides = findStringOverrides(getClass());
+	/**
+	 * 子类没有覆盖任何 {@code resolve}/{@code store} 方法时, 字段可以直接使用转换器.
+	 */
+	private final boolean directConverter = (stringOverrides & (RESOLVE | STORE)) == 0
+			&& !overridesNodePath(getClass());
 
 	@Override
 	public boolean canAccept(Class<?> clazz) {
@@ -61,216 +86,120 @@ public class UniversalLoader extends LoaderBase {
 
 	@Override
 	public Object resolve(Class<?> clazz, Type genericType, Object obj, String path) {
-		if (Object.class == clazz) {
-			return obj;
-		} else if (OptionalInt.class == clazz) {
-			try {
-				return OptionalInt.of(resolveAsInt(obj, path));
-			} catch (NumberFormatException e) {
-			}
-			return OptionalDouble.empty();
-		} else if (OptionalDouble.class == clazz) {
-			try {
-				return OptionalDouble.of(resolveAsDouble(obj, path));
-			} catch (NumberFormatException e) {
-			}
-			return OptionalDouble.empty();
-		} else if (OptionalLong.class == clazz) {
-			try {
-				return OptionalLong.of(resolveAsLong(obj, path));
-			} catch (NumberFormatException e) {
-			}
-			return OptionalLong.empty();
-		} else if (obj == null) {
-			throw new NullPointerException("CANNOT resolve (obj = NULL)");
-		} else if (boolean.class == clazz || Boolean.class == clazz) {
-			return resolveAsBoolean(obj, path);
-		} else if (int.class == clazz || Integer.class == clazz) {
-			return resolveAsInt(obj, path);
-		} else if (double.class == clazz || Double.class == clazz) {
-			return resolveAsDouble(obj, path);
-		} else if (float.class == clazz || Float.class == clazz) {
-			return resolveAsFloat(obj, path);
-		} else if (long.class == clazz || Long.class == clazz) {
-			return resolveAsLong(obj, path);
-		} else if (String.class == clazz) {
-			return obj.toString();
-		} else if (Optional.class == clazz) {
-			return resolveAsOptional(obj, path, genericType);
-		} else if (List.class == clazz) {
-			return resolveAsList(obj, path, genericType);
-		} else if (Map.class == clazz) {
-			return resolveAsMap(obj, path, genericType);
-		} else if (clazz.isEnum()) {
-			return resolveAsEnum(obj, path, clazz);
+		return getConverter(clazz, genericType).resolve(obj, NodePath.of(path));
+	}
+
+	@Override
+	public Object resolve(Class<?> clazz, Type genericType, Object obj, NodePath path) {
+		if ((stringOverrides & RESOLVE) != 0) {
+			return resolve(clazz, genericType, obj, path.toString());
 		}
-		throw new UnsupportedOperationException();
+		return getConverter(clazz, genericType).resolve(obj, path);
 	}
 	
 	@Override
 	public Object store(Class<?> clazz, Type genericType, Object obj, String path) throws Exception {
-		if (OptionalInt.class == clazz) {
-			OptionalInt opt = (OptionalInt) obj;
-			return opt.isPresent() ? Integer.valueOf(opt.getAsInt()) : null;
-		} else if (OptionalDouble.class == clazz) {
-			OptionalDouble opt = (OptionalDouble) obj;
-			return opt.isPresent() ? Double.valueOf(opt.getAsDouble()) : null;
-		} else if (OptionalLong.class == clazz) {
-			OptionalLong opt = (OptionalLong) obj;
-			return opt.isPresent() ? Long.valueOf(opt.getAsLong()) : null;
-		} else if (Optional.class == clazz) {
-			Optional<?> opt = (Optional<?>) obj;
-			if (opt.isPresent()) {
-				Object real = opt.get();
-				return store(real.getClass(), null, real, path);
-			}
-			return null;
-		} else if (List.class.isAssignableFrom(clazz)) {
-			List<?> list = (List<?>) obj;
-			if (list.isEmpty()) {
-				return list;
-			} else {
-				Object top = list.get(0);
-				Class<?> type = top.getClass();
-				List<Object> storeList = new ArrayList<>(list.size());
-				for(Object real : list) {
-					try {
-						storeList.add(store(type, null, real, path));
-					} catch (Exception e) {
-						e.printStackTrace();
-						yamlBox.getLogger().warning(path, new StringBuilder("Exception occurs while rewrap a list. ").append(real.toString()).toString());
-					}
-				}
-				return storeList;
-			}
-		} else if (Map.class.isAssignableFrom(clazz)) {
-			Map<?,?> map = (Map<?, ?>) obj;
-			if (map.isEmpty()) {
-				return map;
-			} else {
-				Map<Object, Object> storeMap = new LinkedHashMap<>();
-				Entry<?, ?> top = map.entrySet().iterator().next();
-				Class<?> keyType = top.getKey().getClass();
-				Class<?> valueType = top.getValue().getClass();
-				for(Entry<?,?> entry : map.entrySet()) {
-					try {
-						Object k = store(keyType, null, entry.getKey(), path);
-						Object v = store(valueType, null, entry.getValue(), path);
-						storeMap.put(k, v);
-					} catch (Exception e) {
-						e.printStackTrace();
-						yamlBox.getLogger().warning(path, new StringBuilder("Exception occurs while rewrap a map. ").append(entry.toString()).toString());
-					}
-				}
-				return storeMap;
-			}
-		} else {
-			return Objects.toString(obj);
+		return getConverter(clazz, genericType).store(obj, NodePath.of(path));
+	}
+
+	@Override
+	public Object store(Class<?> clazz, Type genericType, Object obj, NodePath path) throws Exception {
+		if ((stringOverrides & STORE) != 0) {
+			return store(clazz, genericType, obj, path.toString());
 		}
+		return getConverter(clazz, genericType).store(obj, path);
+	}
+
+	/**
+	 * 获取指定类型的转换器.
+	 * @param clazz 类型
+	 * @param genericType 泛型类型, 可以为 {@code null}.
+	 * @return 转换器
+	 * @see {@link ConverterCompiler#compile(Type)}
+	 */
+	public Converter getConverter(Class<?> clazz, Type genericType) {
+		return compiler.compile(genericType == null ? clazz : genericType);
 	}
 
+	/**
+	 * 子类覆盖了 {@code resolve} 或 {@code store} 时返回 {@code null}, 使覆盖的方法仍然被调用.
+	 */
+	@Override
+	public Converter getFieldConverter(Class<?> clazz, Type genericType) {
+		return directConverter ? getConverter(clazz, genericType) : null;
+	}
 
 	public Enum<?> resolveAsEnum(Object obj, String path, Class<?> clazz) {
-		if (obj instanceof Number) {
-			int index = ((Number) obj).intValue();
-			try {
-				Method method = clazz.getMethod("values", new Class[0]);
-				Enum<?>[] enums = (Enum[]) method.invoke(null, new Object[0]);
-				return enums[index];
-			} catch (NoSuchMethodException | SecurityException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
-				throw new RuntimeException(e);
-			}
-		} else {
-			try {
-				Method method = clazz.getMethod("valueOf", new Class[] {String.class});
-				Enum<?> enu = (Enum<?>) method.invoke(null, new Object[] {obj.toString()});
-				return enu;
-			} catch (NoSuchMethodException | SecurityException | IllegalAccessException | InvocationTargetException e) {
-				throw new RuntimeException(e);
-			}
-		}
+		return (Enum<?>) compiler.compile(clazz).resolve(obj, path);
 	}
 
+	@SuppressWarnings("unchecked")
 	public Map<Object, Object> resolveAsMap(Object obj, String path, Type genericType) {
-		Class<?> clazzKey = String.class;
-		Class<?> clazzValue = Object.class;
-		if (genericType != null && genericType instanceof ParameterizedType) {
-			ParameterizedType type = ((ParameterizedType) genericType);
-			Type realKey = type.getActualTypeArguments()[0];
-			Type realValue = type.getActualTypeArguments()[1];
-			clazzKey = (Class<?>) realKey;
-			clazzValue = (Class<?>) realValue;
-		}
-		if (obj == null) {
-			return new LinkedHashMap<>();
-		} else if (obj instanceof Map) {
-			Map<Object, Object> map = new LinkedHashMap<>();
-			for(Entry<?, ?> entry : ((Map<?,?>) obj).entrySet()) {
-				Object key = resolve(clazzKey, clazzKey, entry.getKey(), path);
-				Object value = resolve(clazzValue, clazzValue, entry.getValue(), path);
-				map.put(key, value);
-			}
-			return map;
-		} else {
-			Map<Object, Object> map = new LinkedHashMap<>();
-			Object value = resolve(clazzValue, clazzValue, obj, path);
-			map.put("", value);
-			return map;
-		}
+		return (Map<Object, Object>) getConverter(Map.class, genericType).resolve(obj, path);
 	}
 
 	public List<?> resolveAsList(Object obj, String path, Type genericType) {
-		Class<?> clazz;
-		if (genericType != null && genericType instanceof ParameterizedType) {
-			Type real = ((ParameterizedType) genericType).getActualTypeArguments()[0];
-			clazz = (Class<?>) real;
-		} else {
-			clazz = Object.class;
-		}
-		if (obj == null) {
-			return new ArrayList<>();
-		} else if (obj instanceof List) {
-			return ((List<?>) obj).stream().map(element -> resolve(clazz, null, element, path))
-					.collect(Collectors.toCollection(ArrayList::new));
-		} else {
-			List<Object> list = new ArrayList<>();
-			list.add(resolve(clazz, null, obj, path));
-			return list;
-
-		}
+		return (List<?>) getConverter(List.class, genericType).resolve(obj, path);
 	}
 
 	public Optional<?> resolveAsOptional(Object obj, String path, Type genericType) {
-		if (genericType == null) {
-			return Optional.of(obj);
-		}
-		if (genericType instanceof ParameterizedType) {
-			Type real = ((ParameterizedType) genericType).getActualTypeArguments()[0];
-			Class<?> clazz = (Class<?>) real;
-			Object realObj = resolve(clazz, null, obj, path);
-			return Optional.ofNullable(realObj);
-		}
-		return Optional.ofNullable(obj);
+		return (Optional<?>) getConverter(Optional.class, genericType).resolve(obj, path);
 	}
 
 	@Override
 	public int resolveAsInt(Object obj, String path) {
+		return toInt(obj);
+	}
+
+	@Override
+	public int resolveAsInt(Object obj, NodePath path) {
+		if ((stringOverrides & INT) != 0) {
+			return resolveAsInt(obj, path.toString());
+		}
+		return toInt(obj);
+	}
+
+	private static int toInt(Object obj) {
 		if (obj instanceof Number) {
 			return ((Number) obj).intValue();
 		}
 		return Integer.parseInt(obj.toString());
 	}
-	
+
 	@Override
 	public short resolveAsShort(Object obj, String path) {
+		return toShort(obj);
+	}
+
+	@Override
+	public short resolveAsShort(Object obj, NodePath path) {
+		if ((stringOverrides & SHORT) != 0) {
+			return resolveAsShort(obj, path.toString());
+		}
+		return toShort(obj);
+	}
+
+	private static short toShort(Object obj) {
 		if (obj instanceof Number) {
 			return ((Number) obj).shortValue();
 		}
 		return Short.parseShort(obj.toString());
 	}
-	
+
 	@Override
 	public byte resolveAsByte(Object obj, String path) {
+		return toByte(obj);
+	}
+
+	@Override
+	public byte resolveAsByte(Object obj, NodePath path) {
+		if ((stringOverrides & BYTE) != 0) {
+			return resolveAsByte(obj, path.toString());
+		}
+		return toByte(obj);
+	}
+
+	private static byte toByte(Object obj) {
 		if (obj instanceof Number) {
 			return ((Number) obj).byteValue();
 		}
@@ -279,6 +208,18 @@ public class UniversalLoader extends LoaderBase {
 
 	@Override
 	public boolean resolveAsBoolean(Object obj, String path) {
+		return toBoolean(obj);
+	}
+
+	@Override
+	public boolean resolveAsBoolean(Object obj, NodePath path) {
+		if ((stringOverrides & BOOLEAN) != 0) {
+			return resolveAsBoolean(obj, path.toString());
+		}
+		return toBoolean(obj);
+	}
+
+	private static boolean toBoolean(Object obj) {
 		if (obj instanceof Boolean) {
 			return ((Boolean) obj).booleanValue();
 		}
@@ -287,6 +228,18 @@ public class UniversalLoader extends LoaderBase {
 
 	@Override
 	public long resolveAsLong(Object obj, String path) {
+		return toLong(obj);
+	}
+
+	@Override
+	public long resolveAsLong(Object obj, NodePath path) {
+		if ((stringOverrides & LONG) != 0) {
+			return resolveAsLong(obj, path.toString());
+		}
+		return toLong(obj);
+	}
+
+	private static long toLong(Object obj) {
 		if (obj instanceof Number) {
 			return ((Number) obj).longValue();
 		}
@@ -295,6 +248,18 @@ public class UniversalLoader extends LoaderBase {
 
 	@Override
 	public double resolveAsDouble(Object obj, String path) {
+		return toDouble(obj);
+	}
+
+	@Override
+	public double resolveAsDouble(Object obj, NodePath path) {
+		if ((stringOverrides & DOUBLE) != 0) {
+			return resolveAsDouble(obj, path.toString());
+		}
+		return toDouble(obj);
+	}
+
+	private static double toDouble(Object obj) {
 		if (obj instanceof Number) {
 			return ((Number) obj).doubleValue();
 		}
@@ -303,11 +268,78 @@ public class UniversalLoader extends LoaderBase {
 
 	@Override
 	public float resolveAsFloat(Object obj, String path) {
+		return toFloat(obj);
+	}
+
+	@Override
+	public float resolveAsFloat(Object obj, NodePath path) {
+		if ((stringOverrides & FLOAT) != 0) {
+			return resolveAsFloat(obj, path.toString());
+		}
+		return toFloat(obj);
+	}
+
+	private static float toFloat(Object obj) {
 		if (obj instanceof Number) {
 			return ((Number) obj).floatValue();
 		}
 		return Float.parseFloat(obj.toString());
 	}
 
+	@Override
+	public char resolveAsChar(Object obj, String path) {
+		return toChar(obj);
+	}
+
+	@Override
+	public char resolveAsChar(Object obj, NodePath path) {
+		if ((stringOverrides & CHAR) != 0) {
+			return resolveAsChar(obj, path.toString());
+		}
+		return toChar(obj);
+	}
+
+	private static char toChar(Object obj) {
+		if (obj instanceof Character) {
+			return ((Character) obj).charValue();
+		}
+		String str = obj.toString();
+		if (str.length() != 1) {
+			throw new IllegalArgumentException("CANNOT resolve as char: " + str);
+		}
+		return str.charAt(0);
+	}
+
+	/**
+	 * 找出子类覆盖的参数为 {@link String} 的方法.
+	 */
+	private static int findStringOverrides(Class<?> clazz) {
+		int overrides = 0;
+		for (int i = 0; i < STRING_METHODS.length; i++) {
+			Class<?>[] parameters = i < 2 ? new Class<?>[] { Class.class, Type.class, Object.class, String.class }
+					: new Class<?>[] { Object.class, String.class };
+			try {
+				if (clazz.getMethod(STRING_METHODS[i], parameters).getDeclaringClass() != UniversalLoader.class) {
+					overrides |= 1 << i;
+				}
+			} catch (NoSuchMethodException e) {
+				throw new IllegalStateException(e);
+			}
+		}
+		return overrides;
+	}
+
+	/**
+	 * 判断子类是否覆盖了参数为 {@link NodePath} 的 {@code resolve} 或 {@code store}.
+	 */
+	private static boolean overridesNodePath(Class<?> clazz) {
+		Class<?>[] parameters = { Class.class, Type.class, Object.class, NodePath.class };
+		try {
+			return clazz.getMethod("resolve", parameters).getDeclaringClass() != UniversalLoader.class
+					|| clazz.getMethod("store", parameters).getDeclaringClass() != UniversalLoader.class;
+		} catch (NoSuchMethodException e) {
+			throw new IllegalStateException(e);
+		}
+	}
 
 }
@@ -0,0 +1,51 @@
+package net.colors_wind.yamlbox.metrics;
+
+import lombok.Getter;
+
+/**
+ * 一次对象绑定, 由 {@link net.colors_wind.yamlbox.loader.EntryLoader} 触发.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public final class BindEvent {
+	/**
+	 * 绑定的方向.
+	 */
+	private final Operation operation;
+	/**
+	 * 对象的类型.
+	 */
+	private final Class<?> type;
+	/**
+	 * 对象所在的Yaml节点(绝对路径).
+	 */
+	private final String path;
+	/**
+	 * 耗时(纳秒).
+	 */
+	private final long duration;
+
+	public BindEvent(Operation operation, Class<?> type, String path, long duration) {
+		this.operation = operation;
+		this.type = type;
+		this.path = path;
+		this.duration = duration;
+	}
+
+	/**
+	 * 绑定的方向.
+	 */
+	public enum Operation {
+		/**
+		 * 由配置反序列化为对象.
+		 */
+		RESOLVE,
+		/**
+		 * 由对象序列化为配置.
+		 */
+		STORE;
+	}
+
+}
@@ -0,0 +1,37 @@
+package net.colors_wind.yamlbox.metrics;
+
+import lombok.Getter;
+
+/**
+ * 一次输出: 将配置对象或对象写为Yaml.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public final class DumpEvent {
+	/**
+	 * 输出的对象的类型.
+	 */
+	private final Class<?> type;
+	/**
+	 * 输出的对象的根路径.
+	 */
+	private final String path;
+	/**
+	 * 耗时(纳秒).
+	 */
+	private final long duration;
+	/**
+	 * 输出的字符数.
+	 */
+	private final long size;
+
+	public DumpEvent(Class<?> type, String path, long duration, long size) {
+		this.type = type;
+		this.path = path;
+		this.duration = duration;
+		this.size = size;
+	}
+
+}
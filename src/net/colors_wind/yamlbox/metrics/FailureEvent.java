@@ -0,0 +1,42 @@
+package net.colors_wind.yamlbox.metrics;
+
+import lombok.Getter;
+
+/**
+ * 字段或元素转换失败. 失败不会中断绑定, 对应的字段保持默认值或被省略.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public final class FailureEvent {
+	/**
+	 * 失败时进行的操作.
+	 */
+	private final BindEvent.Operation operation;
+	/**
+	 * 字段所属的类; 字段未知时为转换的值的类型, 值为 {@code null} 时为 {@link Object}.
+	 */
+	private final Class<?> type;
+	/**
+	 * 字段名, 未知时为 {@code null}.
+	 */
+	private final String field;
+	/**
+	 * 失败的Yaml节点(绝对路径).
+	 */
+	private final String path;
+	/**
+	 * 异常.
+	 */
+	private final Throwable cause;
+
+	public FailureEvent(BindEvent.Operation operation, Class<?> type, String field, String path, Throwable cause) {
+		this.operation = operation;
+		this.type = type;
+		this.field = field;
+		this.path = path;
+		this.cause = cause;
+	}
+
+}
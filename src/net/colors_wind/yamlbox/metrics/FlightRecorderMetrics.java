@@ -0,0 +1,153 @@
+package net.colors_wind.yamlbox.metrics;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Timespan;
+
+/**
+ * 将指标提交为 JDK Flight Recorder 事件, 归入 {@code YamlBox} 分类, 可以在 JDK Mission Control 中查看.
+ * 需要支持 {@code jdk.jfr} 的运行环境(JDK 8u262 及以上或 JDK 11 及以上); 只有使用此类时才会加载 JFR 的类.
+ * <p>事件在操作完成时提交, 因此事件的开始时间为完成时间, 耗时记录在 {@code elapsed} 字段中.
+ * 未开始记录或事件未启用时, 不会创建事件对象.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class FlightRecorderMetrics implements YamlBoxMetrics {
+	private static final String CATEGORY = "YamlBox";
+
+	@Override
+	public void onLoad(LoadEvent event) {
+		if (LoadRecord.ENABLED.isEnabled()) {
+			LoadRecord record = new LoadRecord();
+			record.type = event.getType();
+			record.path = event.getPath();
+			record.source = event.getSource();
+			record.elapsed = event.getDuration();
+			record.size = event.getSize();
+			record.nodes = event.getNodes();
+			record.commit();
+		}
+	}
+
+	@Override
+	public void onDump(DumpEvent event) {
+		if (DumpRecord.ENABLED.isEnabled()) {
+			DumpRecord record = new DumpRecord();
+			record.type = event.getType();
+			record.path = event.getPath();
+			record.elapsed = event.getDuration();
+			record.size = event.getSize();
+			record.commit();
+		}
+	}
+
+	@Override
+	public void onBind(BindEvent event) {
+		if (BindRecord.ENABLED.isEnabled()) {
+			BindRecord record = new BindRecord();
+			record.operation = event.getOperation().name();
+			record.type = event.getType();
+			record.path = event.getPath();
+			record.elapsed = event.getDuration();
+			record.commit();
+		}
+	}
+
+	@Override
+	public void onFailure(FailureEvent event) {
+		if (FailureRecord.ENABLED.isEnabled()) {
+			FailureRecord record = new FailureRecord();
+			record.operation = event.getOperation().name();
+			record.type = event.getType();
+			record.field = event.getField();
+			record.path = event.getPath();
+			record.cause = String.valueOf(event.getCause());
+			record.commit();
+		}
+	}
+
+	@Name("net.colors_wind.yamlbox.Load")
+	@Label("YamlBox Load")
+	@Description("Yaml parsed into a config tree or bound to an object")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class LoadRecord extends Event {
+		static final LoadRecord ENABLED = new LoadRecord();
+
+		@Label("Type")
+		Class<?> type;
+		@Label("Path")
+		String path;
+		@Label("Source")
+		String source;
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+		@Label("Size")
+		@Description("Bytes for files, characters for strings, -1 if unknown")
+		long size;
+		@Label("Nodes")
+		@Description("-1 for lazy or streaming loads")
+		int nodes;
+	}
+
+	@Name("net.colors_wind.yamlbox.Dump")
+	@Label("YamlBox Dump")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class DumpRecord extends Event {
+		static final DumpRecord ENABLED = new DumpRecord();
+
+		@Label("Type")
+		Class<?> type;
+		@Label("Path")
+		String path;
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+		@Label("Characters")
+		long size;
+	}
+
+	@Name("net.colors_wind.yamlbox.Bind")
+	@Label("YamlBox Bind")
+	@Category(CATEGORY)
+	@StackTrace(false)
+	static class BindRecord extends Event {
+		static final BindRecord ENABLED = new BindRecord();
+
+		@Label("Operation")
+		String operation;
+		@Label("Type")
+		Class<?> type;
+		@Label("Path")
+		String path;
+		@Label("Elapsed")
+		@Timespan(Timespan.NANOSECONDS)
+		long elapsed;
+	}
+
+	@Name("net.colors_wind.yamlbox.Failure")
+	@Label("YamlBox Failure")
+	@Category(CATEGORY)
+	static class FailureRecord extends Event {
+		static final FailureRecord ENABLED = new FailureRecord();
+
+		@Label("Operation")
+		String operation;
+		@Label("Type")
+		Class<?> type;
+		@Label("Field")
+		String field;
+		@Label("Path")
+		String path;
+		@Label("Cause")
+		String cause;
+	}
+
+}
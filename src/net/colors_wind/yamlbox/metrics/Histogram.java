@@ -0,0 +1,132 @@
+package net.colors_wind.yamlbox.metrics;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的非负整数直方图, 占用固定的内存. 每个2的幂区间分为 {@value #SUB_BUCKETS} 个桶,
+ * 因此分位数的相对误差不超过 1/{@value #SUB_BUCKETS}; 小于 {@value #SUB_BUCKETS} 的值精确记录.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class Histogram {
+	private static final int SUB_BITS = 3;
+	private static final int SUB_BUCKETS = 1 << SUB_BITS;
+
+	private final AtomicLongArray buckets = new AtomicLongArray((Long.SIZE - SUB_BITS + 1) * SUB_BUCKETS);
+	private final LongAdder count = new LongAdder();
+	private final LongAdder total = new LongAdder();
+	private final LongAccumulator max = new LongAccumulator(Math::max, 0L);
+
+	/**
+	 * 记录一个值.
+	 * @param value 值, 负数按 {@code 0} 记录.
+	 */
+	public void record(long value) {
+		if (value < 0) {
+			value = 0;
+		}
+		buckets.incrementAndGet(bucket(value));
+		count.increment();
+		total.add(value);
+		max.accumulate(value);
+	}
+
+	private static int bucket(long value) {
+		if (value < SUB_BUCKETS) {
+			return (int) value;
+		}
+		int exponent = Long.SIZE - 1 - Long.numberOfLeadingZeros(value);
+		int sub = (int) (value >>> (exponent - SUB_BITS)) & (SUB_BUCKETS - 1);
+		return (exponent - SUB_BITS + 1) * SUB_BUCKETS + sub;
+	}
+
+	/**
+	 * @return 桶内的最大值
+	 */
+	private static long upperBound(int bucket) {
+		if (bucket < SUB_BUCKETS) {
+			return bucket;
+		}
+		int shift = bucket / SUB_BUCKETS - 1;
+		long lower = (long) (SUB_BUCKETS + bucket % SUB_BUCKETS) << shift;
+		return lower + (1L << shift) - 1;
+	}
+
+	/**
+	 * @return 记录的值的个数
+	 */
+	public long getCount() {
+		return count.sum();
+	}
+
+	/**
+	 * @return 记录的值的总和
+	 */
+	public long getTotal() {
+		return total.sum();
+	}
+
+	/**
+	 * @return 记录的最大值, 没有记录时为 {@code 0}.
+	 */
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return 平均值, 没有记录时为 {@code 0}.
+	 */
+	public double getMean() {
+		long n = count.sum();
+		return n == 0 ? 0D : (double) total.sum() / n;
+	}
+
+	/**
+	 * 获取分位数, 结果为所在桶的上界, 不超过最大值. 与记录同时进行时结果是近似的.
+	 * @param quantile 分位, 范围 {@code [0, 1]}, 例如 {@code 0.99}.
+	 * @return 分位数, 没有记录时为 {@code 0}.
+	 */
+	public long getPercentile(double quantile) {
+		if (quantile < 0D || quantile > 1D) {
+			throw new IllegalArgumentException("quantile must be in [0, 1]: " + quantile);
+		}
+		long n = 0;
+		long[] snapshot = new long[buckets.length()];
+		for (int i = 0; i < snapshot.length; i++) {
+			n += snapshot[i] = buckets.get(i);
+		}
+		long target = Math.max(1L, (long) Math.ceil(quantile * n));
+		long seen = 0;
+		for (int i = 0; i < snapshot.length; i++) {
+			seen += snapshot[i];
+			if (seen >= target) {
+				return Math.min(upperBound(i), getMax());
+			}
+		}
+		return 0L;
+	}
+
+	/**
+	 * 清空全部记录. 与记录同时进行时, 部分记录可能保留.
+	 */
+	public void reset() {
+		for (int i = 0; i < buckets.length(); i++) {
+			buckets.set(i, 0L);
+		}
+		count.reset();
+		total.reset();
+		max.reset();
+	}
+
+	@Override
+	public String toString() {
+		return new StringBuilder("Histogram[count=").append(getCount()).append(", mean=")
+				.append(String.format("%.1f", getMean())).append(", p50=").append(getPercentile(0.5D))
+				.append(", p99=").append(getPercentile(0.99D)).append(", max=").append(getMax()).append(']')
+				.toString();
+	}
+
+}
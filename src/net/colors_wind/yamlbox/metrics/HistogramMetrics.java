@@ -0,0 +1,123 @@
+package net.colors_wind.yamlbox.metrics;
+
+import java.util.Collections;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.Getter;
+
+/**
+ * 内置的内存直方图实现, 按类型分别统计耗时(纳秒)和失败次数. 线程安全.
+ * <p>类型作为键被强引用, 不适合在类会被卸载的环境中长期使用; 可以定期调用 {@link #reset()}.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class HistogramMetrics implements YamlBoxMetrics {
+	private final Map<Class<?>, Histogram> loadTimes = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Histogram> dumpTimes = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Histogram> resolveTimes = new ConcurrentHashMap<>();
+	private final Map<Class<?>, Histogram> storeTimes = new ConcurrentHashMap<>();
+	private final Map<Class<?>, LongAdder> failures = new ConcurrentHashMap<>();
+	/**
+	 * 加载的输入大小, 单位见 {@link LoadEvent#getSize()}, 大小未知的加载不记录.
+	 */
+	@Getter
+	private final Histogram loadSizes = new Histogram();
+	/**
+	 * 加载的节点数, 节点数未知的加载不记录.
+	 */
+	@Getter
+	private final Histogram loadNodes = new Histogram();
+	/**
+	 * 输出的字符数.
+	 */
+	@Getter
+	private final Histogram dumpSizes = new Histogram();
+
+	@Override
+	public void onLoad(LoadEvent event) {
+		histogram(loadTimes, event.getType()).record(event.getDuration());
+		if (event.getSize() >= 0) {
+			loadSizes.record(event.getSize());
+		}
+		if (event.getNodes() >= 0) {
+			loadNodes.record(event.getNodes());
+		}
+	}
+
+	@Override
+	public void onDump(DumpEvent event) {
+		histogram(dumpTimes, event.getType()).record(event.getDuration());
+		dumpSizes.record(event.getSize());
+	}
+
+	@Override
+	public void onBind(BindEvent event) {
+		histogram(event.getOperation() == BindEvent.Operation.RESOLVE ? resolveTimes : storeTimes, event.getType())
+				.record(event.getDuration());
+	}
+
+	@Override
+	public void onFailure(FailureEvent event) {
+		failures.computeIfAbsent(event.getType(), k -> new LongAdder()).increment();
+	}
+
+	private static Histogram histogram(Map<Class<?>, Histogram> map, Class<?> type) {
+		Histogram histogram = map.get(type);
+		return histogram != null ? histogram : map.computeIfAbsent(type, k -> new Histogram());
+	}
+
+	/**
+	 * @return 按加载结果的类型统计的加载耗时, 只读视图.
+	 */
+	public Map<Class<?>, Histogram> getLoadTimes() {
+		return Collections.unmodifiableMap(loadTimes);
+	}
+
+	/**
+	 * @return 按输出对象的类型统计的输出耗时, 只读视图.
+	 */
+	public Map<Class<?>, Histogram> getDumpTimes() {
+		return Collections.unmodifiableMap(dumpTimes);
+	}
+
+	/**
+	 * @return 按类统计的反序列化耗时, 只读视图.
+	 */
+	public Map<Class<?>, Histogram> getResolveTimes() {
+		return Collections.unmodifiableMap(resolveTimes);
+	}
+
+	/**
+	 * @return 按类统计的序列化耗时, 只读视图.
+	 */
+	public Map<Class<?>, Histogram> getStoreTimes() {
+		return Collections.unmodifiableMap(storeTimes);
+	}
+
+	/**
+	 * @param type 类型, 见 {@link FailureEvent#getType()}.
+	 * @return 该类型的失败次数
+	 */
+	public long getFailures(Class<?> type) {
+		LongAdder adder = failures.get(type);
+		return adder == null ? 0L : adder.sum();
+	}
+
+	/**
+	 * 清空全部统计.
+	 */
+	public void reset() {
+		loadTimes.clear();
+		dumpTimes.clear();
+		resolveTimes.clear();
+		storeTimes.clear();
+		failures.clear();
+		loadSizes.reset();
+		loadNodes.reset();
+		dumpSizes.reset();
+	}
+
+}
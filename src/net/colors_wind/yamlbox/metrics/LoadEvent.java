@@ -0,0 +1,47 @@
+package net.colors_wind.yamlbox.metrics;
+
+import lombok.Getter;
+
+/**
+ * 一次加载: 解析Yaml并构造配置对象, 或流式绑定为对象.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Getter
+public final class LoadEvent {
+	/**
+	 * 加载结果的类型, 加载配置时为 {@link net.colors_wind.yamlbox.conf.YamlConfig}.
+	 */
+	private final Class<?> type;
+	/**
+	 * 加载结果的根路径.
+	 */
+	private final String path;
+	/**
+	 * 数据来源的文件, 不是从文件加载时为 {@code null}.
+	 */
+	private final String source;
+	/**
+	 * 耗时(纳秒).
+	 */
+	private final long duration;
+	/**
+	 * 输入的大小: 从文件加载时为字节数, 从字符串加载时为字符数, 未知时为 {@code -1}.
+	 */
+	private final long size;
+	/**
+	 * 配置树的节点数(映射, 列表和标量, 不含根节点), 延迟构造或流式绑定时为 {@code -1}.
+	 */
+	private final int nodes;
+
+	public LoadEvent(Class<?> type, String path, String source, long duration, long size, int nodes) {
+		this.type = type;
+		this.path = path;
+		this.source = source;
+		this.duration = duration;
+		this.size = size;
+		this.nodes = nodes;
+	}
+
+}
@@ -0,0 +1,82 @@
+package net.colors_wind.yamlbox.metrics;
+
+import lombok.NonNull;
+
+/**
+ * 性能指标的监听器, 通过 {@link net.colors_wind.yamlbox.YamlBox#setMetrics(YamlBoxMetrics)} 安装.
+ * 未安装时不计时, 也不创建事件对象.
+ * <p>回调在执行操作的线程中同步调用, 可能被多个线程同时调用, 实现需要线程安全, 并应当尽快返回.
+ * 回调抛出的异常会传递给调用者.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public interface YamlBoxMetrics {
+
+	/**
+	 * 加载完成后调用, 失败的加载不会触发.
+	 * @param event 事件
+	 */
+	default void onLoad(LoadEvent event) {
+	}
+
+	/**
+	 * 输出完成后调用, 失败的输出不会触发.
+	 * @param event 事件
+	 */
+	default void onDump(DumpEvent event) {
+	}
+
+	/**
+	 * 对象反序列化或序列化完成后调用. 嵌套对象分别触发, 外层对象的耗时包括嵌套对象.
+	 * @param event 事件
+	 */
+	default void onBind(BindEvent event) {
+	}
+
+	/**
+	 * 字段或元素转换失败后调用, 此时失败已被记录到日志, 操作会继续进行.
+	 * @param event 事件
+	 */
+	default void onFailure(FailureEvent event) {
+	}
+
+	/**
+	 * 组合多个监听器, 事件按顺序依次传递.
+	 * @param listeners 监听器
+	 * @return 组合后的监听器
+	 */
+	static YamlBoxMetrics of(@NonNull YamlBoxMetrics... listeners) {
+		YamlBoxMetrics[] copy = listeners.clone();
+		return new YamlBoxMetrics() {
+			@Override
+			public void onLoad(LoadEvent event) {
+				for (YamlBoxMetrics listener : copy) {
+					listener.onLoad(event);
+				}
+			}
+
+			@Override
+			public void onDump(DumpEvent event) {
+				for (YamlBoxMetrics listener : copy) {
+					listener.onDump(event);
+				}
+			}
+
+			@Override
+			public void onBind(BindEvent event) {
+				for (YamlBoxMetrics listener : copy) {
+					listener.onBind(event);
+				}
+			}
+
+			@Override
+			public void onFailure(FailureEvent event) {
+				for (YamlBoxMetrics listener : copy) {
+					listener.onFailure(event);
+				}
+			}
+		};
+	}
+
+}
@@ -0,0 +1,5 @@
+/**
+ * YamlBox 的性能指标: 加载, 输出, 绑定的耗时和失败事件, 以及内置的直方图和 JDK Flight Recorder 实现.
+ * @see {@link net.colors_wind.yamlbox.YamlBox#setMetrics(YamlBoxMetrics)}
+ */
+package net.colors_wind.yamlbox.metrics;
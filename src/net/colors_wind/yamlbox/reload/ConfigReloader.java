@@ -0,0 +1,241 @@
+package net.colors_wind.yamlbox.reload;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+
+import lombok.NonNull;
+import net.colors_wind.yamlbox.LoadOptions;
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.loader.EntryLoader;
+import net.colors_wind.yamlbox.loader.IFieldSelector;
+import net.colors_wind.yamlbox.loader.LoaderBase;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 基于 {@link WatchService} 的配置文件热重载.
+ * <p>文件发生变化后, 在一段时间内没有新的变化才会重新加载(防抖), 每个文件只解析一次.
+ * 新旧配置比较后, 只有受影响的字段被重新绑定, 其余字段沿用原对象的值; 结果通过 {@link ReloadHandle} 整体发布.
+ * <p>重载在一个后台守护线程中串行执行. 加载或绑定失败时保留原来的结果并记录日志.
+ * 在不支持原生文件通知的平台上, {@link WatchService} 以轮询实现, 延迟可能达到数秒.
+ * @see {@link EntryLoader#rebind}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ConfigReloader implements Closeable {
+	private final YamlBox yamlBox;
+	private final LoadOptions options;
+	private final long debounce;
+	private final WatchService watchService;
+	private final Map<Path, WatchKey> directories = new ConcurrentHashMap<>();
+	private final Map<Path, List<ReloadHandle<?>>> handles = new ConcurrentHashMap<>();
+	/**
+	 * 等待重载的文件及其截止时间, 只由重载线程访问.
+	 */
+	private final Map<Path, Long> pending = new HashMap<>();
+	private volatile boolean closed;
+
+	/**
+	 * 创建重载器, 防抖时间为200毫秒.
+	 * @param yamlBox YamlBox实例
+	 * @throws IOException 如果无法创建 {@link WatchService}
+	 */
+	public ConfigReloader(YamlBox yamlBox) throws IOException {
+		this(yamlBox, LoadOptions.defaults(), 200, TimeUnit.MILLISECONDS);
+	}
+
+	/**
+	 * 创建重载器.
+	 * @param yamlBox YamlBox实例
+	 * @param options 加载选项
+	 * @param debounce 防抖时间
+	 * @param unit 防抖时间的单位
+	 * @throws IOException 如果无法创建 {@link WatchService}
+	 */
+	public ConfigReloader(@NonNull YamlBox yamlBox, @NonNull LoadOptions options, long debounce,
+			@NonNull TimeUnit unit) throws IOException {
+		if (debounce < 0) {
+			throw new IllegalArgumentException("debounce must not be negative: " + debounce);
+		}
+		this.yamlBox = yamlBox;
+		this.options = options;
+		this.debounce = unit.toNanos(debounce);
+		this.watchService = FileSystems.getDefault().newWatchService();
+		Thread thread = new Thread(this::run, "YamlBox-Reloader");
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	/**
+	 * 加载并监视配置文件.
+	 * @param file 文件
+	 * @return 重载句柄, 结果为配置对象.
+	 * @throws IOException 如果出现IO异常
+	 */
+	public ReloadHandle<YamlConfig> watch(@NonNull Path file) throws IOException {
+		Path absolute = file.toAbsolutePath().normalize();
+		YamlConfig config = yamlBox.load(absolute, options);
+		return register(new ReloadHandle<>(absolute, config, config, (old, newConfig, changes) -> newConfig,
+				yamlBox.getLogger()));
+	}
+
+	/**
+	 * 加载配置文件并反序列化为对象, 之后监视文件, 变化时只重新绑定受影响的字段.
+	 * 每次重载都会发布新的对象, 已发布的对象不会被修改.
+	 * @param file 文件
+	 * @param clazz 对象的类型
+	 * @return 重载句柄, 结果为对象.
+	 * @throws IOException 如果出现IO异常
+	 * @throws InstantiationException 如果无法创建对象
+	 * @throws IllegalAccessException 如果无法创建对象
+	 */
+	public <T extends YamlSerializable> ReloadHandle<T> watch(@NonNull Path file, @NonNull Class<T> clazz)
+			throws IOException, InstantiationException, IllegalAccessException {
+		LoaderBase resolver = yamlBox.getDefaultResolver(clazz);
+		if (!(resolver instanceof EntryLoader)) {
+			throw new IllegalStateException("CANNOT rebind " + clazz.getName() + " without an EntryLoader.");
+		}
+		EntryLoader loader = (EntryLoader) resolver;
+		IFieldSelector selector = loader.getFieldSelector(clazz);
+		Path absolute = file.toAbsolutePath().normalize();
+		YamlConfig config = yamlBox.load(absolute, options);
+		T value = loader.resolve(clazz, selector, config, config.getPath());
+		return register(new ReloadHandle<>(absolute, config, value,
+				(old, newConfig, changes) -> loader.rebind(clazz, selector, old, newConfig, changes,
+						newConfig.getPath()),
+				yamlBox.getLogger()));
+	}
+
+	private <T> ReloadHandle<T> register(ReloadHandle<T> handle) throws IOException {
+		if (closed) {
+			throw new IllegalStateException("Reloader is closed.");
+		}
+		Path directory = handle.getFile().getParent();
+		synchronized (directories) {
+			if (!directories.containsKey(directory)) {
+				directories.put(directory, directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+						StandardWatchEventKinds.ENTRY_MODIFY));
+			}
+		}
+		handles.computeIfAbsent(handle.getFile(), k -> new CopyOnWriteArrayList<>()).add(handle);
+		return handle;
+	}
+
+	/**
+	 * 停止监视.
+	 * @param handle 重载句柄
+	 * @return {@code true} 如果成功移除, 否则返回 {@code false}.
+	 */
+	public boolean unwatch(@NonNull ReloadHandle<?> handle) {
+		List<ReloadHandle<?>> list = handles.get(handle.getFile());
+		return list != null && list.remove(handle);
+	}
+
+	/**
+	 * 立即重新加载文件, 不等待文件变化.
+	 * @param file 文件
+	 */
+	public void reload(@NonNull Path file) {
+		reload0(file.toAbsolutePath().normalize());
+	}
+
+	private synchronized void reload0(Path file) {
+		List<ReloadHandle<?>> list = handles.get(file);
+		if (list == null || list.isEmpty()) {
+			return;
+		}
+		YamlConfig config;
+		try {
+			config = yamlBox.load(file, options);
+		} catch (IOException | RuntimeException e) {
+			e.printStackTrace();
+			yamlBox.getLogger().warning(file.toString(), "CANNOT reload file, keep the previous configuration.");
+			return;
+		}
+		for (ReloadHandle<?> handle : list) {
+			handle.update(config);
+		}
+	}
+
+	private void run() {
+		try {
+			while (!closed) {
+				WatchKey key = pending.isEmpty() ? watchService.take()
+						: watchService.poll(nextDeadline() - System.nanoTime(), TimeUnit.NANOSECONDS);
+				if (key != null) {
+					collect(key);
+				}
+				reloadExpired();
+			}
+		} catch (ClosedWatchServiceException | InterruptedException e) {
+			// 已关闭
+		}
+	}
+
+	private void collect(WatchKey key) {
+		Path directory = (Path) key.watchable();
+		long deadline = System.nanoTime() + debounce;
+		for (WatchEvent<?> event : key.pollEvents()) {
+			if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+				// 事件丢失, 重载该目录下的所有文件
+				for (Path file : handles.keySet()) {
+					if (directory.equals(file.getParent())) {
+						pending.put(file, deadline);
+					}
+				}
+			} else {
+				Path file = directory.resolve((Path) event.context());
+				if (handles.containsKey(file)) {
+					pending.put(file, deadline);
+				}
+			}
+		}
+		key.reset();
+	}
+
+	private long nextDeadline() {
+		long next = Long.MAX_VALUE;
+		for (long deadline : pending.values()) {
+			next = Math.min(next, deadline);
+		}
+		return next;
+	}
+
+	private void reloadExpired() {
+		long now = System.nanoTime();
+		for (Iterator<Entry<Path, Long>> it = pending.entrySet().iterator(); it.hasNext();) {
+			Entry<Path, Long> entry = it.next();
+			if (entry.getValue() - now <= 0) {
+				it.remove();
+				reload0(entry.getKey());
+			}
+		}
+	}
+
+	/**
+	 * 停止监视所有文件, 已发布的结果仍然可以读取.
+	 * @throws IOException 如果出现IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		closed = true;
+		watchService.close();
+	}
+
+}
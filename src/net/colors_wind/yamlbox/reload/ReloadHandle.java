@@ -0,0 +1,133 @@
+package net.colors_wind.yamlbox.reload;
+
+import java.nio.file.Path;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import lombok.Getter;
+import lombok.NonNull;
+import net.colors_wind.yamlbox.ILogger;
+import net.colors_wind.yamlbox.conf.ChangeSet;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+
+/**
+ * 一个被监视的配置文件及其重载结果. 每次重载后, 配置和结果作为一个整体替换,
+ * 读取者总是看到同一次加载的配置和结果, 不需要加锁.
+ * @param <T> 重载结果的类型
+ * @see {@link ConfigReloader}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class ReloadHandle<T> {
+	@Getter
+	private final Path file;
+	private final Rebinder<T> rebinder;
+	private final ILogger logger;
+	private final List<ReloadListener<T>> listeners = new CopyOnWriteArrayList<>();
+	private volatile State<T> state;
+
+	ReloadHandle(Path file, YamlConfig config, T value, Rebinder<T> rebinder, ILogger logger) {
+		this.file = file;
+		this.rebinder = rebinder;
+		this.logger = logger;
+		this.state = new State<>(config, value, 0);
+	}
+
+	/**
+	 * @return 当前的重载结果
+	 */
+	public T get() {
+		return state.value;
+	}
+
+	/**
+	 * @return 当前的配置, 与其他线程共享, 不要修改.
+	 */
+	public YamlConfig getConfig() {
+		return state.config;
+	}
+
+	/**
+	 * @return 当前的配置和重载结果
+	 */
+	public State<T> getState() {
+		return state;
+	}
+
+	/**
+	 * 添加重载完成时的回调.
+	 * @param listener 回调
+	 */
+	public void addListener(@NonNull ReloadListener<T> listener) {
+		listeners.add(listener);
+	}
+
+	/**
+	 * 移除重载完成时的回调.
+	 * @param listener 回调
+	 * @return {@code true} 如果成功移除, 否则返回 {@code false}.
+	 */
+	public boolean removeListener(ReloadListener<T> listener) {
+		return listeners.remove(listener);
+	}
+
+	/**
+	 * 以新的配置更新结果, 只由 {@link ConfigReloader} 串行调用.
+	 * @param config 新的配置
+	 */
+	void update(YamlConfig config) {
+		State<T> old = state;
+		ChangeSet changes = ChangeSet.diff(old.config, config);
+		if (changes.isEmpty()) {
+			return;
+		}
+		T value;
+		try {
+			value = rebinder.rebind(old.value, config, changes);
+		} catch (Exception e) {
+			e.printStackTrace();
+			logger.warning(file.toString(), "CANNOT rebind reloaded configuration, keep the previous one.");
+			return;
+		}
+		state = new State<>(config, value, old.version + 1);
+		for (ReloadListener<T> listener : listeners) {
+			try {
+				listener.onReload(old.value, value, changes);
+			} catch (RuntimeException e) {
+				e.printStackTrace();
+				logger.warning(file.toString(), "Exception occurs in reload listener.");
+			}
+		}
+	}
+
+	/**
+	 * 由新的配置和配置的变化得到新的结果.
+	 */
+	@FunctionalInterface
+	interface Rebinder<T> {
+
+		T rebind(T old, YamlConfig config, ChangeSet changes) throws Exception;
+	}
+
+	/**
+	 * 同一次加载得到的配置和结果.
+	 * @param <T> 重载结果的类型
+	 */
+	@Getter
+	public static final class State<T> {
+		private final YamlConfig config;
+		private final T value;
+		/**
+		 * 版本号, 初次加载为 {@code 0}, 每次发布新的结果加一.
+		 */
+		private final long version;
+
+		private State(YamlConfig config, T value, long version) {
+			this.config = config;
+			this.value = value;
+			this.version = version;
+		}
+	}
+
+}
@@ -0,0 +1,23 @@
+package net.colors_wind.yamlbox.reload;
+
+import net.colors_wind.yamlbox.conf.ChangeSet;
+
+/**
+ * 重载完成时的回调, 在重载线程中执行.
+ * @param <T> 重载结果的类型
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@FunctionalInterface
+public interface ReloadListener<T> {
+
+	/**
+	 * 新的结果已经发布后调用.
+	 * @param oldValue 原结果
+	 * @param newValue 新结果
+	 * @param changes 配置的变化
+	 */
+	void onReload(T oldValue, T newValue, ChangeSet changes);
+
+}
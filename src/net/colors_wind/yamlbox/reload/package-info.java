@@ -0,0 +1,4 @@
+/**
+ * YamlBox 配置文件的热重载.
+ */
+package net.colors_wind.yamlbox.reload;
\ No newline at end of file
@@ -0,0 +1,344 @@
+package net.colors_wind.yamlbox.stream;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.error.YAMLException;
+import org.yaml.snakeyaml.events.AliasEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.NodeEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.Tag;
+
+/**
+ * 解析事件的读取器, 可以逐个读取事件, 按需构造节点或跳过整个节点.
+ * <p>跳过节点时只计算集合的嵌套层数, 不构造任何对象; 但带有锚点的节点仍会被构造, 以便之后的别名引用.
+ * 构造的对象与 {@link org.yaml.snakeyaml.Yaml#load(String)} 相同: 映射为 {@link LinkedHashMap},
+ * 序列为 {@link ArrayList}, 支持 {@code <<} 合并键.
+ * <p>与 SnakeYAML 的 {@link org.yaml.snakeyaml.composer.Composer} 相同, 每个文档受 {@link LoaderOptions#getNestingDepthLimit()}
+ * 和 {@link LoaderOptions#getMaxAliasesForCollections()} 限制. 嵌套层数在读取事件时计算, 因此跳过的节点和
+ * 直接读取事件的调用者同样受限制.
+ * <p>不是线程安全的.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class EventReader {
+	private final Iterator<Event> events;
+	private final ScalarConstructor constructor = new ScalarConstructor();
+	private final Map<String, Object> anchors = new HashMap<>();
+	private final int nestingDepthLimit;
+	private final int maxAliasesForCollections;
+	private int nestingDepth;
+	private int collectionAliases;
+	private Event peeked;
+
+	/**
+	 * 以默认的 {@link LoaderOptions} 限制嵌套层数和别名数量.
+	 * @param events 解析事件, 例如 {@link org.yaml.snakeyaml.Yaml#parse(java.io.Reader)} 的返回值.
+	 */
+	public EventReader(Iterable<Event> events) {
+		this(events, new LoaderOptions());
+	}
+
+	/**
+	 * @param events 解析事件, 例如 {@link org.yaml.snakeyaml.Yaml#parse(java.io.Reader)} 的返回值.
+	 * @param options 解析选项, 提供嵌套层数和别名数量的限制.
+	 */
+	public EventReader(Iterable<Event> events, LoaderOptions options) {
+		this.events = events.iterator();
+		this.nestingDepthLimit = options.getNestingDepthLimit();
+		this.maxAliasesForCollections = options.getMaxAliasesForCollections();
+	}
+
+	/**
+	 * 查看下一个事件但不读取.
+	 * @return 下一个事件
+	 */
+	public Event peek() {
+		if (peeked == null) {
+			if (!events.hasNext()) {
+				throw new YAMLException("Unexpected end of stream.");
+			}
+			peeked = events.next();
+		}
+		return peeked;
+	}
+
+	/**
+	 * 判断下一个事件的类型.
+	 * @param id 事件类型
+	 * @return {@code true} 如果下一个事件是该类型, 否则返回 {@code false}.
+	 */
+	public boolean peekIs(Event.ID id) {
+		return peek().is(id);
+	}
+
+	/**
+	 * 读取下一个事件.
+	 * @return 下一个事件
+	 */
+	public Event next() {
+		Event event = peek();
+		peeked = null;
+		if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart)) {
+			if (nestingDepth > nestingDepthLimit) {
+				throw new YAMLException("Nesting Depth exceeded max " + nestingDepthLimit);
+			}
+			nestingDepth++;
+		} else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+			nestingDepth--;
+		}
+		return event;
+	}
+
+	/**
+	 * 读取下一个事件, 并检查它的类型.
+	 * @param id 事件类型
+	 * @return 下一个事件
+	 */
+	public Event expect(Event.ID id) {
+		Event event = next();
+		if (!event.is(id)) {
+			throw new YAMLException(new StringBuilder("Expected ").append(id).append(" but found ")
+					.append(event.getEventId()).append(event.getStartMark()).toString());
+		}
+		return event;
+	}
+
+	/**
+	 * 跳过流的开头, 读取到下一个文档的开头.
+	 * @return {@code true} 如果还有文档, 否则返回 {@code false}.
+	 */
+	public boolean nextDocument() {
+		if (peekIs(Event.ID.StreamStart)) {
+			next();
+		}
+		if (peekIs(Event.ID.DocumentStart)) {
+			next();
+			anchors.clear();
+			nestingDepth = 0;
+			collectionAliases = 0;
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * 读取文档的结尾.
+	 */
+	public void endDocument() {
+		expect(Event.ID.DocumentEnd);
+	}
+
+	/**
+	 * 跳过下一个节点.
+	 */
+	public void skip() {
+		int depth = 0;
+		do {
+			Event event = peek();
+			if (event instanceof NodeEvent && !(event instanceof AliasEvent)
+					&& ((NodeEvent) event).getAnchor() != null) {
+				read();
+			} else {
+				next();
+				if (event.is(Event.ID.MappingStart) || event.is(Event.ID.SequenceStart)) {
+					depth++;
+				} else if (event.is(Event.ID.MappingEnd) || event.is(Event.ID.SequenceEnd)) {
+					depth--;
+				}
+			}
+		} while (depth > 0);
+	}
+
+	/**
+	 * 读取并构造下一个节点.
+	 * @return 构造结果
+	 */
+	public Object read() {
+		Event event = next();
+		switch (event.getEventId()) {
+		case Scalar:
+			return readScalar((ScalarEvent) event);
+		case Alias:
+			return readAlias((AliasEvent) event);
+		case SequenceStart:
+			List<Object> list = new ArrayList<>();
+			anchor(event, list);
+			while (!peekIs(Event.ID.SequenceEnd)) {
+				list.add(read());
+			}
+			next();
+			return list;
+		case MappingStart:
+			Map<Object, Object> map = new LinkedHashMap<>();
+			anchor(event, map);
+			List<Object> merges = null;
+			while (!peekIs(Event.ID.MappingEnd)) {
+				if (isMergeKey()) {
+					next();
+					if (merges == null) {
+						merges = new ArrayList<>(1);
+					}
+					merges.add(read());
+				} else {
+					Object key = read();
+					map.put(key, read());
+				}
+			}
+			next();
+			if (merges != null) {
+				applyMerges(map, merges);
+			}
+			return map;
+		default:
+			throw new YAMLException(new StringBuilder("Unexpected event ").append(event.getEventId())
+					.append(event.getStartMark()).toString());
+		}
+	}
+
+	/**
+	 * 读取下一个节点, 映射和序列分别构造为 {@link LazyMap} 和 {@link LazyList},
+	 * 其中没有标签的普通标量只保存原始文本, 访问时才进行隐式标签解析.
+	 * 映射的键以及带引号或标签的标量会立即构造, 它们不需要隐式标签解析.
+	 * @return 构造结果, 若节点是普通标量, 返回构造后的对象.
+	 */
+	public Object readLazy() {
+		return LazyScalar.resolve(readLazy0());
+	}
+
+	private Object readLazy0() {
+		Event event = peek();
+		switch (event.getEventId()) {
+		case Scalar:
+			ScalarEvent scalar = (ScalarEvent) event;
+			if (scalar.getTag() == null && scalar.isPlain() && scalar.getImplicit().canOmitTagInPlainScalar()) {
+				next();
+				LazyScalar value = new LazyScalar(scalar.getValue());
+				anchor(event, value);
+				return value;
+			}
+			return read();
+		case SequenceStart:
+			next();
+			LazyList list = new LazyList();
+			anchor(event, list);
+			while (!peekIs(Event.ID.SequenceEnd)) {
+				list.addRaw(readLazy0());
+			}
+			next();
+			return list;
+		case MappingStart:
+			next();
+			LazyMap map = new LazyMap();
+			anchor(event, map);
+			List<Object> merges = null;
+			while (!peekIs(Event.ID.MappingEnd)) {
+				if (isMergeKey()) {
+					next();
+					if (merges == null) {
+						merges = new ArrayList<>(1);
+					}
+					merges.add(readLazy0());
+				} else {
+					Object key = read();
+					map.putRaw(key, readLazy0());
+				}
+			}
+			next();
+			if (merges != null) {
+				applyMerges(map.raw(), merges);
+			}
+			return map;
+		default:
+			return read();
+		}
+	}
+
+	/**
+	 * 读取映射的键.
+	 * @return 键, 若不是字符串, 返回 {@code null}.
+	 */
+	public String readKey() {
+		Object key = read();
+		return key instanceof String ? (String) key : null;
+	}
+
+	/**
+	 * 判断下一个事件是否是合并键 {@code <<}.
+	 * @return {@code true} 如果是合并键, 否则返回 {@code false}.
+	 */
+	public boolean isMergeKey() {
+		Event event = peek();
+		return event instanceof ScalarEvent && Tag.MERGE.equals(constructor.resolveTag((ScalarEvent) event));
+	}
+
+	private Object readScalar(ScalarEvent event) {
+		Object value = constructor.construct(event, constructor.resolveTag(event));
+		anchor(event, value);
+		return value;
+	}
+
+	private Object readAlias(AliasEvent event) {
+		String anchor = event.getAnchor();
+		if (!anchors.containsKey(anchor)) {
+			throw new YAMLException(new StringBuilder("found undefined alias ").append(anchor)
+					.append(event.getStartMark()).toString());
+		}
+		Object value = anchors.get(anchor);
+		if ((value instanceof Map || value instanceof List) && ++collectionAliases > maxAliasesForCollections) {
+			throw new YAMLException("Number of aliases for non-scalar nodes exceeds the specified max="
+					+ maxAliasesForCollections);
+		}
+		return value;
+	}
+
+	private void anchor(Event event, Object value) {
+		String anchor = ((NodeEvent) event).getAnchor();
+		if (anchor != null) {
+			anchors.put(anchor, value);
+		}
+	}
+
+	/**
+	 * 将合并键的值按 {@code <<} 的规则放入映射, 映射中已有的键不会被覆盖.
+	 * @param map 映射
+	 * @param merges 合并键的值, 每个值可以是映射或映射的列表.
+	 */
+	public static void merge(Map<Object, Object> map, List<?> merges) {
+		for (Object merge : merges) {
+			if (merge instanceof LazyMap) {
+				merge = ((LazyMap) merge).raw();
+			}
+			if (merge instanceof Map) {
+				for (Entry<?, ?> entry : ((Map<?, ?>) merge).entrySet()) {
+					map.putIfAbsent(entry.getKey(), entry.getValue());
+				}
+			} else if (merge instanceof List) {
+				merge(map, (List<?>) merge);
+			} else {
+				throw new YAMLException("expected a mapping or list of mappings for merging, but found "
+						+ LazyScalar.resolve(merge));
+			}
+		}
+	}
+
+	/**
+	 * 与 {@link org.yaml.snakeyaml.constructor.SafeConstructor} 相同, 合并的键排在前面, 显式的键覆盖合并的值.
+	 */
+	private static void applyMerges(Map<Object, Object> map, List<?> merges) {
+		Map<Object, Object> result = new LinkedHashMap<>();
+		merge(result, merges);
+		result.putAll(map);
+		map.clear();
+		map.putAll(result);
+	}
+
+}
@@ -0,0 +1,224 @@
+package net.colors_wind.yamlbox.stream;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.RandomAccess;
+
+import org.yaml.snakeyaml.DumperOptions;
+import org.yaml.snakeyaml.emitter.Emitter;
+import org.yaml.snakeyaml.events.DocumentEndEvent;
+import org.yaml.snakeyaml.events.DocumentStartEvent;
+import org.yaml.snakeyaml.events.Event;
+import org.yaml.snakeyaml.events.ImplicitTuple;
+import org.yaml.snakeyaml.events.MappingEndEvent;
+import org.yaml.snakeyaml.events.MappingStartEvent;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.events.SequenceEndEvent;
+import org.yaml.snakeyaml.events.SequenceStartEvent;
+import org.yaml.snakeyaml.events.StreamEndEvent;
+import org.yaml.snakeyaml.events.StreamStartEvent;
+import org.yaml.snakeyaml.nodes.MappingNode;
+import org.yaml.snakeyaml.nodes.Node;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.NodeTuple;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.SequenceNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.representer.Representer;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+import lombok.NonNull;
+
+/**
+ * 以事件的形式直接向 {@link Writer} 输出Yaml, 不在内存中构造完整的字符串或节点图. 与 {@link EventReader} 对应.
+ * <p>映射和列表逐个元素输出; 标量与 SnakeYAML 的表示方式相同, 必要时加引号或标签, 以便读取时得到相同的类型.
+ * 其他对象交给 SnakeYAML 的 {@link Representer} 表示. 不输出锚点, 共享的节点会被重复输出.
+ * <p>写入过程中的IO异常包装为 {@link UncheckedIOException} 抛出. 不是线程安全的.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class EventWriter implements Closeable {
+	private static final String MAP_TAG = Tag.MAP.getValue();
+	private static final String SEQ_TAG = Tag.SEQ.getValue();
+
+	private final Writer writer;
+	private final Emitter emitter;
+	private final Representer representer;
+	private final Resolver resolver = new Resolver();
+	private final DumperOptions.FlowStyle flowStyle;
+	private boolean closed;
+
+	/**
+	 * 创建块格式输出的写入器.
+	 * @param writer 输出目标, 关闭写入器时不会关闭.
+	 */
+	public EventWriter(Writer writer) {
+		this(writer, blockOptions());
+	}
+
+	/**
+	 * @param writer 输出目标, 关闭写入器时不会关闭.
+	 * @param options 输出选项
+	 */
+	public EventWriter(@NonNull Writer writer, @NonNull DumperOptions options) {
+		this.writer = writer;
+		this.emitter = new Emitter(writer, options);
+		// 与 Yaml 的构造方法相同, 表示器的默认格式需要单独设置
+		this.representer = new Representer(options);
+		representer.setDefaultFlowStyle(options.getDefaultFlowStyle());
+		representer.setDefaultScalarStyle(options.getDefaultScalarStyle());
+		representer.getPropertyUtils().setAllowReadOnlyProperties(options.isAllowReadOnlyProperties());
+		representer.setTimeZone(options.getTimeZone());
+		this.flowStyle = options.getDefaultFlowStyle();
+		emit(new StreamStartEvent(null, null));
+	}
+
+	private static DumperOptions blockOptions() {
+		DumperOptions options = new DumperOptions();
+		options.setDefaultFlowStyle(DumperOptions.FlowStyle.BLOCK);
+		return options;
+	}
+
+	/**
+	 * 开始一个文档.
+	 */
+	public void startDocument() {
+		emit(new DocumentStartEvent(null, null, false, null, null));
+	}
+
+	/**
+	 * 结束当前文档.
+	 */
+	public void endDocument() {
+		emit(new DocumentEndEvent(null, null, false));
+	}
+
+	/**
+	 * 开始一个映射, 之后交替写入键和值.
+	 */
+	public void startMapping() {
+		emit(new MappingStartEvent(null, MAP_TAG, true, null, null, flowStyle));
+	}
+
+	/**
+	 * 结束当前映射.
+	 */
+	public void endMapping() {
+		emit(new MappingEndEvent(null, null));
+	}
+
+	/**
+	 * 开始一个列表.
+	 */
+	public void startSequence() {
+		emit(new SequenceStartEvent(null, SEQ_TAG, true, null, null, flowStyle));
+	}
+
+	/**
+	 * 结束当前列表.
+	 */
+	public void endSequence() {
+		emit(new SequenceEndEvent(null, null));
+	}
+
+	/**
+	 * 写入一个节点. 映射和列表递归地逐个元素写入, 其他对象按 SnakeYAML 的方式表示.
+	 * @param obj 节点
+	 */
+	public void write(Object obj) {
+		if (obj instanceof LazyMap) {
+			obj = ((LazyMap) obj).raw();
+		} else if (obj instanceof LazyScalar) {
+			obj = ((LazyScalar) obj).get();
+		}
+		if (obj instanceof Map) {
+			startMapping();
+			for (Entry<?, ?> entry : ((Map<?, ?>) obj).entrySet()) {
+				write(entry.getKey());
+				write(entry.getValue());
+			}
+			endMapping();
+		} else if (obj instanceof List) {
+			startSequence();
+			List<?> list = (List<?>) obj;
+			if (list instanceof RandomAccess) {
+				for (int i = 0; i < list.size(); i++) {
+					write(list.get(i));
+				}
+			} else {
+				for (Object element : list) {
+					write(element);
+				}
+			}
+			endSequence();
+		} else {
+			writeNode(representer.represent(obj));
+		}
+	}
+
+	/**
+	 * 写入一个节点图, 与 SnakeYAML 的 {@code Serializer} 相同, 但不处理锚点.
+	 * @param node 节点
+	 */
+	private void writeNode(Node node) {
+		String tag = node.getTag().getValue();
+		if (node.getNodeId() == NodeId.scalar) {
+			ScalarNode scalar = (ScalarNode) node;
+			String value = scalar.getValue();
+			Tag detected = resolver.resolve(NodeId.scalar, value, true);
+			Tag defaults = resolver.resolve(NodeId.scalar, value, false);
+			ImplicitTuple implicit = new ImplicitTuple(node.getTag().equals(detected),
+					node.getTag().equals(defaults));
+			emit(new ScalarEvent(null, tag, implicit, value, null, null, scalar.getScalarStyle()));
+		} else if (node.getNodeId() == NodeId.sequence) {
+			SequenceNode sequence = (SequenceNode) node;
+			boolean implicit = node.getTag().equals(resolver.resolve(NodeId.sequence, null, true));
+			emit(new SequenceStartEvent(null, tag, implicit, null, null, sequence.getFlowStyle()));
+			for (Node child : sequence.getValue()) {
+				writeNode(child);
+			}
+			endSequence();
+		} else {
+			MappingNode mapping = (MappingNode) node;
+			boolean implicit = node.getTag().equals(resolver.resolve(NodeId.mapping, null, true));
+			emit(new MappingStartEvent(null, tag, implicit, null, null, mapping.getFlowStyle()));
+			for (NodeTuple tuple : mapping.getValue()) {
+				writeNode(tuple.getKeyNode());
+				writeNode(tuple.getValueNode());
+			}
+			endMapping();
+		}
+	}
+
+	private void emit(Event event) {
+		try {
+			emitter.emit(event);
+		} catch (IOException e) {
+			throw new UncheckedIOException(e);
+		}
+	}
+
+	/**
+	 * 结束输出流并刷新, 不会关闭输出目标.
+	 * @throws IOException 如果出现IO异常
+	 */
+	@Override
+	public void close() throws IOException {
+		if (closed) {
+			return;
+		}
+		closed = true;
+		try {
+			emitter.emit(new StreamEndEvent(null, null));
+		} finally {
+			writer.flush();
+		}
+	}
+
+}
@@ -0,0 +1,60 @@
+package net.colors_wind.yamlbox.stream;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * 延迟构造标量的列表. 普通标量以原始文本保存, 在 {@link #get(int)} 或迭代时才构造, 并写回列表.
+ * <p>与 {@link ArrayList} 一样不是线程安全的, 读取也可能修改内部状态.
+ * @see {@link EventReader#readLazy()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class LazyList extends AbstractList<Object> implements RandomAccess {
+	private final List<Object> raw = new ArrayList<>();
+
+	/**
+	 * 添加原始值, 不进行构造.
+	 * @param value 原始值
+	 */
+	void addRaw(Object value) {
+		raw.add(value);
+	}
+
+	@Override
+	public Object get(int index) {
+		Object value = raw.get(index);
+		if (value instanceof LazyScalar) {
+			value = ((LazyScalar) value).get();
+			raw.set(index, value);
+		}
+		return value;
+	}
+
+	@Override
+	public Object set(int index, Object element) {
+		return LazyScalar.resolve(raw.set(index, element));
+	}
+
+	@Override
+	public void add(int index, Object element) {
+		raw.add(index, element);
+		modCount++;
+	}
+
+	@Override
+	public Object remove(int index) {
+		Object old = raw.remove(index);
+		modCount++;
+		return LazyScalar.resolve(old);
+	}
+
+	@Override
+	public int size() {
+		return raw.size();
+	}
+
+}
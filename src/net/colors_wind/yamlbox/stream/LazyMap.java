@@ -0,0 +1,118 @@
+package net.colors_wind.yamlbox.stream;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * 延迟构造标量的映射, 保持插入顺序. 普通标量以原始文本保存, 在 {@link #get(Object)} 或迭代时才构造, 并写回映射.
+ * <p>与 {@link LinkedHashMap} 一样不是线程安全的, 读取也可能修改内部状态.
+ * @see {@link EventReader#readLazy()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class LazyMap extends AbstractMap<Object, Object> {
+	private final Map<Object, Object> raw = new LinkedHashMap<>();
+	private Set<Entry<Object, Object>> entrySet;
+
+	/**
+	 * 放入原始值, 不进行构造.
+	 * @param key 键
+	 * @param value 原始值
+	 */
+	void putRaw(Object key, Object value) {
+		raw.put(key, value);
+	}
+
+	/**
+	 * @return 原始映射, 值可能尚未构造.
+	 */
+	Map<Object, Object> raw() {
+		return raw;
+	}
+
+	@Override
+	public Object get(Object key) {
+		Object value = raw.get(key);
+		if (value instanceof LazyScalar) {
+			value = ((LazyScalar) value).get();
+			raw.put(key, value);
+		}
+		return value;
+	}
+
+	@Override
+	public boolean containsKey(Object key) {
+		return raw.containsKey(key);
+	}
+
+	@Override
+	public Object put(Object key, Object value) {
+		return LazyScalar.resolve(raw.put(key, value));
+	}
+
+	@Override
+	public Object remove(Object key) {
+		return LazyScalar.resolve(raw.remove(key));
+	}
+
+	@Override
+	public int size() {
+		return raw.size();
+	}
+
+	@Override
+	public void clear() {
+		raw.clear();
+	}
+
+	@Override
+	public Set<Entry<Object, Object>> entrySet() {
+		if (entrySet == null) {
+			entrySet = new AbstractSet<Entry<Object, Object>>() {
+
+				@Override
+				public Iterator<Entry<Object, Object>> iterator() {
+					Iterator<Entry<Object, Object>> iterator = raw.entrySet().iterator();
+					return new Iterator<Entry<Object, Object>>() {
+
+						@Override
+						public boolean hasNext() {
+							return iterator.hasNext();
+						}
+
+						@Override
+						public Entry<Object, Object> next() {
+							Entry<Object, Object> entry = iterator.next();
+							if (entry.getValue() instanceof LazyScalar) {
+								entry.setValue(((LazyScalar) entry.getValue()).get());
+							}
+							return entry;
+						}
+
+						@Override
+						public void remove() {
+							iterator.remove();
+						}
+					};
+				}
+
+				@Override
+				public int size() {
+					return raw.size();
+				}
+
+				@Override
+				public void clear() {
+					raw.clear();
+				}
+			};
+		}
+		return entrySet;
+	}
+
+}
@@ -0,0 +1,42 @@
+package net.colors_wind.yamlbox.stream;
+
+/**
+ * 尚未解析的普通标量, 只保存原始文本. 首次访问时才进行隐式标签解析并构造Java对象, 结果会被记住.
+ * @see {@link LazyMap}
+ * @see {@link LazyList}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+final class LazyScalar {
+	private static final ThreadLocal<ScalarConstructor> CONSTRUCTOR = ThreadLocal.withInitial(ScalarConstructor::new);
+	private static final Object UNRESOLVED = new Object();
+
+	private final String value;
+	private Object resolved = UNRESOLVED;
+
+	LazyScalar(String value) {
+		this.value = value;
+	}
+
+	/**
+	 * 获取构造结果.
+	 * @return 构造结果
+	 */
+	Object get() {
+		if (resolved == UNRESOLVED) {
+			resolved = CONSTRUCTOR.get().constructPlain(value);
+		}
+		return resolved;
+	}
+
+	/**
+	 * 若对象是未解析的标量, 返回其构造结果, 否则原样返回.
+	 * @param obj 对象
+	 * @return 构造结果
+	 */
+	static Object resolve(Object obj) {
+		return obj instanceof LazyScalar ? ((LazyScalar) obj).get() : obj;
+	}
+
+}
@@ -0,0 +1,62 @@
+package net.colors_wind.yamlbox.stream;
+
+import org.yaml.snakeyaml.DumperOptions.ScalarStyle;
+import org.yaml.snakeyaml.LoaderOptions;
+import org.yaml.snakeyaml.constructor.SafeConstructor;
+import org.yaml.snakeyaml.events.ScalarEvent;
+import org.yaml.snakeyaml.nodes.NodeId;
+import org.yaml.snakeyaml.nodes.ScalarNode;
+import org.yaml.snakeyaml.nodes.Tag;
+import org.yaml.snakeyaml.resolver.Resolver;
+
+/**
+ * 直接由标量事件构造Java对象, 标签解析和构造规则与 {@link org.yaml.snakeyaml.Yaml#load(String)} 相同,
+ * 但不需要先组装节点树.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+class ScalarConstructor extends SafeConstructor {
+	private final Resolver resolver = new Resolver();
+
+	ScalarConstructor() {
+		super(new LoaderOptions());
+	}
+
+	/**
+	 * 解析标量的标签, 规则与 {@link org.yaml.snakeyaml.composer.Composer} 相同.
+	 * @param event 标量事件
+	 * @return 标签
+	 */
+	Tag resolveTag(ScalarEvent event) {
+		String tag = event.getTag();
+		if (tag == null || tag.equals("!")) {
+			return resolver.resolve(NodeId.scalar, event.getValue(), event.getImplicit().canOmitTagInPlainScalar());
+		}
+		return new Tag(tag);
+	}
+
+	/**
+	 * 构造标量.
+	 * @param event 标量事件
+	 * @param tag 已解析的标签
+	 * @return 构造结果
+	 */
+	Object construct(ScalarEvent event, Tag tag) {
+		ScalarNode node = new ScalarNode(tag, true, event.getValue(), event.getStartMark(), event.getEndMark(),
+				event.getScalarStyle());
+		return getConstructor(node).construct(node);
+	}
+
+	/**
+	 * 构造没有标签的普通标量.
+	 * @param value 原始文本
+	 * @return 构造结果
+	 */
+	Object constructPlain(String value) {
+		ScalarNode node = new ScalarNode(resolver.resolve(NodeId.scalar, value, true), true, value, null, null,
+				ScalarStyle.PLAIN);
+		return getConstructor(node).construct(node);
+	}
+
+}
@@ -0,0 +1,4 @@
+/**
+ * YamlBox 基于解析事件的流式读取.
+ */
+package net.colors_wind.yamlbox.stream;
\ No newline at end of file
@@ -0,0 +1,30 @@
+package net.colors_wind.yamlbox.tag;
+
+import static java.lang.annotation.ElementType.CONSTRUCTOR;
+import static java.lang.annotation.ElementType.METHOD;
+import static java.lang.annotation.RetentionPolicy.RUNTIME;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.Retention;
+import java.lang.annotation.Target;
+
+/**
+ * 标记 {@link YamlSerializable} 类用于反序列化的构造方法或静态工厂方法, 每个类至多一个.
+ * 反序列化时先解析全部参数, 再调用一次该方法创建对象, 因此对象的字段可以是 {@code final} 的,
+ * 创建后不会再被修改, 可以直接在线程之间共享.
+ * <p>每个参数对应一个Yaml节点, 规则与字段相同: 可用 {@link ConfigNode} 指定路径和加载器,
+ * 未指定路径时以参数名为节点名, 此时需要以 {@code -parameters} 编译. 解析失败的参数取默认值({@code null} 或零).
+ * <p>序列化时每个参数读取对应的字段, 写入参数对应的节点, 使结果可以再次反序列化. 对应的字段是
+ * 名称或 {@link ConfigNode#path()} 与参数的节点相同的字段, 其次是与参数同名的字段, 可以是 {@code private} 的;
+ * 找不到对应字段的类无法创建绑定计划.
+ * @see {@link net.colors_wind.yamlbox.loader.BindingPlan#getCreator()}
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@Documented
+@Retention(RUNTIME)
+@Target({CONSTRUCTOR,METHOD})
+public @interface ConfigConstructor {
+
+}
@@ -4,6 +4,7 @@
 package net.colors_wind.yamlbox.tag;
 
 import static java.lang.annotation.ElementType.FIELD;
+import static java.lang.annotation.ElementType.PARAMETER;
 import static java.lang.annotation.RetentionPolicy.RUNTIME;
 
 import java.lang.annotation.Documented;
@@ -11,6 +12,7 @@ import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
 
 import net.colors_wind.yamlbox.loader.UniversalLoader;
+import net.colors_wind.yamlbox.conf.ConfigPath;
 import net.colors_wind.yamlbox.conf.ConfigSection;
 
 /**
@@ -21,11 +23,11 @@ import net.colors_wind.yamlbox.conf.ConfigSection;
  */
 @Documented
 @Retention(RUNTIME)
-@Target(FIELD)
+@Target({FIELD,PARAMETER})
 public @interface ConfigNode {
 
 	/**
-	 * 字段对应的YAML节点路径, 支持多级, 用 {@link ConfigSection#DOT} 分隔.
+	 * 字段或构造参数对应的YAML节点路径, 支持多级, 用 {@link ConfigSection#DOT} 分隔, 格式见 {@link ConfigPath}.
 	 */
 	String path() default "";
 	
@@ -0,0 +1,60 @@
+package net.colors_wind.yamlbox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.colors_wind.yamlbox.conf.YamlConfig;
+
+/**
+ * 批量加载与单个文件加载使用相同的文件大小限制.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class BulkLoadTest {
+	@Rule
+	public TemporaryFolder folder = new TemporaryFolder();
+
+	@Test
+	public void oversizedFileFailsWithoutAffectingOthers() throws Exception {
+		Path small = write("small.yml", "port: 8080\nname: small\n");
+		StringBuilder sb = new StringBuilder();
+		for (int i = 0; i < 1000; i++) {
+			sb.append("key").append(i).append(": value").append(i).append('\n');
+		}
+		Path large = write("large.yml", sb.toString());
+		YamlBox yamlBox = new YamlBox((level, path, msg) -> {
+		});
+		yamlBox.setMaxFileSize(1024);
+		ExecutorService executor = Executors.newFixedThreadPool(2);
+		try {
+			BulkLoadResult<YamlConfig> result = yamlBox.loadAll(Arrays.asList(small, large), executor, 2);
+			assertEquals(1, result.getResults().size());
+			YamlConfig config = result.getResults().get(small);
+			assertEquals(8080, config.getAsInt("port"));
+			assertEquals(small.toString(), config.getPath());
+			assertTrue(result.getErrors().get(large) instanceof IOException);
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	private Path write(String name, String content) throws IOException {
+		Path path = folder.getRoot().toPath().resolve(name);
+		Files.write(path, content.getBytes(StandardCharsets.UTF_8));
+		return path;
+	}
+
+}
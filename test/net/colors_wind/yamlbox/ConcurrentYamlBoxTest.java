@@ -0,0 +1,146 @@
+package net.colors_wind.yamlbox;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.loader.LoaderBase;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 多个线程共享同一个 {@link YamlBox} 加载和输出, 检查结果没有被其他线程的解析器或加载器注册表的修改破坏.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ConcurrentYamlBoxTest {
+	private static final int DOCUMENTS = 16;
+	private static final int ITERATIONS = 300;
+
+	public static class Server implements YamlSerializable {
+		public String name;
+		public int port;
+		public List<String> tags;
+	}
+
+	@Test
+	public void concurrentLoadAndDumpAreNotCorrupted() throws Exception {
+		YamlBox yamlBox = new YamlBox((level, path, msg) -> {
+		});
+		String[] yaml = new String[DOCUMENTS];
+		Map<?, ?>[] trees = new Map<?, ?>[DOCUMENTS];
+		for (int i = 0; i < DOCUMENTS; i++) {
+			yaml[i] = yamlBox.dumpAsString(new YamlConfig(document(i)));
+			trees[i] = yamlBox.load(yaml[i]).asMap();
+		}
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors() * 2);
+		Queue<Throwable> failures = new ConcurrentLinkedQueue<>();
+		AtomicBoolean running = new AtomicBoolean(true);
+		Thread registry = new Thread(() -> {
+			LoaderBase dummy = new DummyLoader(yamlBox);
+			while (running.get()) {
+				yamlBox.addLoader("dummy", dummy);
+				yamlBox.removeLoader("dummy");
+			}
+		});
+		registry.start();
+		try {
+			runWorkers(threads, failures, worker -> {
+				for (int n = 0; n < ITERATIONS; n++) {
+					int i = (worker + n) % DOCUMENTS;
+					YamlConfig config = yamlBox.load(yaml[i]);
+					assertEquals(trees[i], config.asMap());
+					assertEquals(yaml[i], yamlBox.dumpAsString(config));
+					Server server = yamlBox.load(new StringReader(yaml[i]), Server.class);
+					assertEquals("server-" + i, server.name);
+					assertEquals(8000 + i, server.port);
+					assertEquals(Arrays.asList("t" + i, "shared"), server.tags);
+				}
+			});
+		} finally {
+			running.set(false);
+			registry.join();
+		}
+		assertTrue(failures.toString(), failures.isEmpty());
+	}
+
+	private static Map<String, Object> document(int i) {
+		Map<String, Object> nested = new LinkedHashMap<>();
+		nested.put("id", i);
+		nested.put("ratio", i / 4.0);
+		nested.put("items", Arrays.asList(i, i + 1, i + 2));
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("name", "server-" + i);
+		map.put("port", 8000 + i);
+		map.put("tags", new ArrayList<>(Arrays.asList("t" + i, "shared")));
+		map.put("nested", nested);
+		return map;
+	}
+
+	private static void runWorkers(int threads, Queue<Throwable> failures, Worker worker) throws InterruptedException {
+		CountDownLatch ready = new CountDownLatch(threads);
+		CountDownLatch go = new CountDownLatch(1);
+		CountDownLatch done = new CountDownLatch(threads);
+		for (int t = 0; t < threads; t++) {
+			int index = t;
+			new Thread(() -> {
+				ready.countDown();
+				try {
+					go.await();
+					worker.run(index);
+				} catch (Throwable e) {
+					failures.add(e);
+				} finally {
+					done.countDown();
+				}
+			}).start();
+		}
+		ready.await();
+		go.countDown();
+		assertTrue("workers did not finish", done.await(5, TimeUnit.MINUTES));
+	}
+
+	@FunctionalInterface
+	private interface Worker {
+
+		void run(int index) throws Exception;
+	}
+
+	private static class DummyLoader extends LoaderBase {
+
+		DummyLoader(YamlBox yamlBox) {
+			super(yamlBox, "dummy");
+		}
+
+		@Override
+		public boolean canAccept(Class<?> clazz) {
+			return false;
+		}
+
+		@Override
+		public Object resolve(Class<?> clazz, Type genericType, Object obj, String path) {
+			return obj;
+		}
+
+		@Override
+		public Object store(Class<?> clazz, Type genericType, Object obj, String path) {
+			return obj;
+		}
+	}
+
+}
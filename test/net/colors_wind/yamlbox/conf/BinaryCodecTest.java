@@ -0,0 +1,181 @@
+package net.colors_wind.yamlbox.conf;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+/**
+ * {@link BinaryCodec} 的往返编码, 以及截断或损坏的数据.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class BinaryCodecTest {
+
+	/**
+	 * @return 包含除二进制数据外所有类型标记的树
+	 */
+	static Map<String, Object> tree() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("null", null);
+		map.put("false", false);
+		map.put("true", true);
+		map.put("int", Arrays.asList(0, 1, -1, 63, -64, 64, Integer.MAX_VALUE, Integer.MIN_VALUE));
+		map.put("long", Arrays.asList(0L, -1L, 1L << 40, Long.MAX_VALUE, Long.MIN_VALUE));
+		map.put("big", new BigInteger("-123456789012345678901234567890"));
+		map.put("float", Arrays.asList(1.5f, -0.0f, Float.NaN, Float.MIN_VALUE));
+		map.put("double", Arrays.asList(0.1, -0.0, Double.NaN, Double.NEGATIVE_INFINITY, Double.MAX_VALUE));
+		map.put("string", Arrays.asList("", "string", "中文", "😀", "string"));
+		map.put("date", new Date(-86400000L));
+		map.put("set", new LinkedHashSet<>(Arrays.asList("b", "a", 3)));
+		Map<Object, Object> keys = new LinkedHashMap<>();
+		keys.put(1, "int key");
+		keys.put(null, "null key");
+		keys.put(Arrays.asList(1, 2), "list key");
+		map.put("keys", keys);
+		Map<String, Object> nested = new LinkedHashMap<>();
+		nested.put("empty map", new LinkedHashMap<>());
+		nested.put("empty list", new ArrayList<>());
+		nested.put("list", Arrays.asList(Arrays.asList(1, "string"), new LinkedHashMap<>(map)));
+		map.put("nested", nested);
+		return map;
+	}
+
+	@Test
+	public void everyTagRoundTrips() throws IOException {
+		Map<String, Object> tree = tree();
+		byte[] data = BinaryCodec.encode(tree);
+		Object decoded = BinaryCodec.decode(data);
+		assertEquals(tree, decoded);
+		// 映射和集合保持顺序
+		assertEquals(new ArrayList<>(tree.keySet()), new ArrayList<>(((Map<?, ?>) decoded).keySet()));
+		assertEquals(Arrays.asList("b", "a", 3), new ArrayList<>((LinkedHashSet<?>) ((Map<?, ?>) decoded).get("set")));
+		assertEquals(tree, BinaryCodec.decode(new ByteArrayInputStream(data)));
+		assertEquals(tree, BinaryCodec.decode(BinaryCodec.encode(new YamlConfig(tree))));
+		ByteArrayOutputStream out = new ByteArrayOutputStream();
+		BinaryCodec.encode(new YamlConfig(tree), out);
+		assertArrayEquals(data, out.toByteArray());
+		assertEquals(null, BinaryCodec.decode(BinaryCodec.encode((Object) null)));
+		assertEquals(-7, BinaryCodec.decode(BinaryCodec.encode(-7)));
+	}
+
+	@Test
+	public void binaryRoundTrips() throws IOException {
+		byte[] bytes = new byte[300];
+		for (int i = 0; i < bytes.length; i++) {
+			bytes[i] = (byte) i;
+		}
+		assertArrayEquals(bytes, (byte[]) BinaryCodec.decode(BinaryCodec.encode(bytes)));
+		assertArrayEquals(new byte[0], (byte[]) BinaryCodec.decode(BinaryCodec.encode(new byte[0])));
+	}
+
+	@Test
+	public void largeInputStreamRoundTrips() throws IOException {
+		List<Object> list = new ArrayList<>();
+		for (int i = 0; i < 20000; i++) {
+			list.add("value-" + i);
+		}
+		byte[] data = BinaryCodec.encode(list);
+		assertTrue(data.length > 8192);
+		assertEquals(list, BinaryCodec.decode(new ByteArrayInputStream(data)));
+	}
+
+	@Test
+	public void decodingStartsAtBufferPosition() throws IOException {
+		byte[] data = BinaryCodec.encode(tree());
+		byte[] padded = new byte[data.length + 10];
+		System.arraycopy(data, 0, padded, 3, data.length);
+		ByteBuffer buffer = ByteBuffer.wrap(padded, 3, data.length);
+		assertEquals(tree(), BinaryCodec.decode(buffer));
+		assertEquals(3 + data.length, buffer.position());
+	}
+
+	@Test
+	public void truncatedDataIsRejected() {
+		byte[] data;
+		try {
+			data = BinaryCodec.encode(tree());
+		} catch (IOException e) {
+			throw new AssertionError(e);
+		}
+		for (int length = 0; length < data.length; length++) {
+			try {
+				BinaryCodec.decode(Arrays.copyOf(data, length));
+				fail("decoded truncated data of length " + length);
+			} catch (IOException e) {
+				// expected
+			}
+		}
+	}
+
+	@Test
+	public void corruptedDataFailsWithIOException() throws IOException {
+		byte[] data = BinaryCodec.encode(tree());
+		for (int i = 0; i < data.length; i++) {
+			for (int bit = 0; bit < 8; bit++) {
+				byte[] corrupted = data.clone();
+				corrupted[i] ^= 1 << bit;
+				try {
+					BinaryCodec.decode(corrupted);
+				} catch (IOException e) {
+					// 损坏的数据可能恰好仍然合法, 但不能抛出其他异常
+				}
+			}
+		}
+	}
+
+	@Test
+	public void headerIsChecked() throws IOException {
+		byte[] data = BinaryCodec.encode("string");
+		assertDecodeFails(Arrays.copyOfRange(data, 1, data.length), "header");
+		byte[] version = data.clone();
+		version[4] = 2;
+		assertDecodeFails(version, "version");
+		byte[] tag = data.clone();
+		tag[data.length - 2] = 99;
+		assertDecodeFails(tag, "unknown tag");
+	}
+
+	@Test
+	public void unsupportedTreesAreRejected() {
+		List<Object> recursive = new ArrayList<>();
+		recursive.add(recursive);
+		assertEncodeFails(recursive);
+		assertEncodeFails(Arrays.asList(1, new Object()));
+	}
+
+	private static void assertDecodeFails(byte[] data, String reason) {
+		try {
+			BinaryCodec.decode(data);
+			fail("decoded data with wrong " + reason);
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+	private static void assertEncodeFails(Object tree) {
+		try {
+			BinaryCodec.encode(tree);
+			fail("encoded " + tree.getClass());
+		} catch (IOException e) {
+			// expected
+		}
+	}
+
+}
@@ -0,0 +1,124 @@
+package net.colors_wind.yamlbox.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * 在随机生成的配置树上, {@link ConfigDiff} 生成的补丁把原配置变为新配置.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ConfigDiffTest {
+
+	static Map<String, Object> randomTree(Random random, int depth) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		int size = random.nextInt(6);
+		for (int i = 0; i < size; i++) {
+			map.put("k" + random.nextInt(8), randomValue(random, depth));
+		}
+		return map;
+	}
+
+	static Object randomValue(Random random, int depth) {
+		switch (random.nextInt(depth > 0 ? 8 : 5)) {
+		case 0:
+			return random.nextInt(4);
+		case 1:
+			return "s" + random.nextInt(4);
+		case 2:
+			return random.nextBoolean();
+		case 3:
+			return null;
+		case 4:
+			return new ArrayList<>(Arrays.asList(random.nextInt(3), "x"));
+		case 5: {
+			// 键不是字符串的映射只能整体替换
+			Map<Object, Object> map = new LinkedHashMap<>();
+			map.put(random.nextInt(3), random.nextInt(3));
+			return map;
+		}
+		default:
+			return randomTree(random, depth - 1);
+		}
+	}
+
+	/**
+	 * 沿随机路径修改一处.
+	 */
+	@SuppressWarnings("unchecked")
+	static void mutate(Random random, Map<String, Object> map, int depth) {
+		List<String> keys = new ArrayList<>(map.keySet());
+		String key = keys.isEmpty() ? "k" + random.nextInt(8) : keys.get(random.nextInt(keys.size()));
+		Object value = map.get(key);
+		int action = random.nextInt(4);
+		if (value instanceof Map && action < 2) {
+			if (((Map<?, ?>) value).keySet().stream().allMatch(k -> k instanceof String)) {
+				mutate(random, (Map<String, Object>) value, depth - 1);
+			} else {
+				((Map<Object, Object>) value).put(random.nextInt(3), "changed");
+			}
+		} else if (action == 2) {
+			map.remove(key);
+		} else {
+			map.put(random.nextBoolean() ? key : "n" + random.nextInt(4), randomValue(random, depth));
+		}
+	}
+
+	@Test
+	public void patchTurnsOldIntoNew() {
+		Random random = new Random(20200620L);
+		for (int round = 0; round < 2000; round++) {
+			Map<String, Object> oldTree = randomTree(random, 3);
+			@SuppressWarnings("unchecked")
+			Map<String, Object> newTree = (Map<String, Object>) ConfigPatch.copy(oldTree);
+			int changes = random.nextInt(5);
+			for (int i = 0; i < changes; i++) {
+				mutate(random, newTree, 3);
+			}
+			YamlConfig oldConfig = new YamlConfig(oldTree);
+			YamlConfig newConfig = new YamlConfig(newTree);
+			// 先缓存原配置的摘要, 应用补丁后缓存必须失效
+			oldConfig.getContentHash();
+			ConfigPatch patch = ConfigDiff.diff(oldConfig, newConfig);
+			if (oldTree.equals(newTree)) {
+				assertTrue(patch.toString(), patch.isEmpty());
+			}
+			oldConfig.apply(patch);
+			assertEquals(patch.toString(), newConfig.asMap(), oldConfig.asMap());
+			assertEquals(newConfig.getContentHash(), oldConfig.getContentHash());
+			assertTrue(ConfigDiff.diff(oldConfig, newConfig).isEmpty());
+		}
+	}
+
+	@Test
+	public void patchValuesAreCopied() {
+		Map<String, Object> oldTree = new LinkedHashMap<>();
+		Map<String, Object> newTree = new LinkedHashMap<>();
+		List<Object> list = new ArrayList<>(Arrays.asList(1, 2));
+		newTree.put("list", list);
+		YamlConfig oldConfig = new YamlConfig(oldTree);
+		oldConfig.apply(ConfigDiff.diff(oldConfig, new YamlConfig(newTree)));
+		list.add(3);
+		assertEquals(Arrays.asList(1, 2), oldConfig.getObject("list"));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void changedNonStringRootKeysAreRejected() {
+		Map<String, Object> newTree = new LinkedHashMap<>();
+		@SuppressWarnings({ "unchecked", "rawtypes" })
+		Map<Object, Object> raw = (Map) newTree;
+		raw.put(1, "int key");
+		ConfigDiff.diff(new YamlConfig(), new YamlConfig(newTree));
+	}
+
+}
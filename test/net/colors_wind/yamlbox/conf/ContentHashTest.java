@@ -0,0 +1,106 @@
+package net.colors_wind.yamlbox.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+
+/**
+ * 内容摘要的计算与缓存.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ContentHashTest {
+
+	static Map<String, Object> tree(int seed) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (int i = 0; i < 8; i++) {
+			Map<String, Object> child = new LinkedHashMap<>();
+			child.put("id", seed * 8 + i);
+			child.put("name", "node-" + i);
+			child.put("items", new ArrayList<>(Arrays.asList(i, i + 1, "x")));
+			Map<String, Object> leaf = new LinkedHashMap<>();
+			leaf.put("ratio", i / 2.0);
+			child.put("leaf", leaf);
+			map.put("k" + i, child);
+		}
+		return map;
+	}
+
+	@Test
+	public void snapshotHashesAreConsistentAcrossThreads() throws Exception {
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		ExecutorService executor = Executors.newFixedThreadPool(threads);
+		try {
+			for (int round = 0; round < 200; round++) {
+				long expected = new YamlConfig(tree(round)).getContentHash();
+				ImmutableConfigSection snapshot = ImmutableConfigSection.of(tree(round), "");
+				ImmutableConfigSection changed = snapshot.with(ConfigPath.of("k3.leaf.ratio"), -1.0);
+				List<Callable<Long>> tasks = new ArrayList<>();
+				for (int t = 0; t < threads; t++) {
+					tasks.add(() -> {
+						assertEquals(1, ConfigDiff.diff(snapshot, changed).size());
+						return snapshot.getContentHash();
+					});
+				}
+				for (Future<Long> future : executor.invokeAll(tasks)) {
+					assertEquals(expected, (long) future.get());
+				}
+			}
+		} finally {
+			executor.shutdown();
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static long freshHash(ConfigSection section) {
+		return new YamlConfig((Map<String, Object>) ConfigPatch.copy(section)).getContentHash();
+	}
+
+	private static void assertHashes(ConfigSection... sections) {
+		for (ConfigSection section : sections) {
+			assertEquals(section.getPath(), freshHash(section), section.getContentHash());
+		}
+	}
+
+	@Test
+	public void childSectionUpdatesInvalidateAncestors() {
+		YamlConfig config = new YamlConfig(tree(1));
+		ConfigSection child = config.getSection("k2");
+		ConfigSection leaf = child.getSection("leaf");
+		ConfigSection other = config.getSection(ConfigPath.of("k3.leaf"));
+		long before = config.getContentHash();
+		assertHashes(config, child, leaf, other);
+
+		leaf.set("ratio", 9.0);
+		assertNotEquals(before, config.getContentHash());
+		assertHashes(config, child, leaf, other);
+		leaf.remove("ratio");
+		assertHashes(config, child, leaf, other);
+		child.set(ConfigPath.of("leaf.extra"), 1);
+		assertHashes(config, child, leaf, other);
+		child.remove(ConfigPath.of("leaf.extra"));
+		assertHashes(config, child, leaf, other);
+		child.createSection("created").set("x", "y");
+		assertHashes(config, child, leaf, other);
+		other.set("ratio", 1.5);
+		assertHashes(config, child, leaf, other);
+		config.getSectionDeep("k2.created").set("x", "z");
+		assertHashes(config, child, leaf, other);
+		leaf.set("ratio", 1.0);
+		child.remove("created");
+		assertEquals(before, config.getContentHash());
+	}
+
+}
@@ -0,0 +1,190 @@
+package net.colors_wind.yamlbox.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * 启用 {@link PathIndex} 不改变读取结果; 开放寻址表的插入, 后移删除与扩容.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class PathIndexTest {
+	private static final String[] NAMES = { "a", "b", "c", "d" };
+
+	@Test
+	public void deepReadThroughScalarIsNull() {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("a", "x");
+		YamlConfig plain = new YamlConfig(map);
+		YamlConfig indexed = new YamlConfig(new LinkedHashMap<>(map));
+		indexed.enableIndex();
+		assertNull(plain.getObjectDeep("a.b"));
+		assertNull(indexed.getObjectDeep("a.b"));
+		assertEquals("x", indexed.getObjectDeep("a"));
+	}
+
+	@Test
+	public void indexedReadsMatchPlainReads() {
+		Random random = new Random(42);
+		for (int round = 0; round < 200; round++) {
+			long seed = random.nextLong();
+			YamlConfig plain = new YamlConfig(randomTree(new Random(seed), 0));
+			YamlConfig indexed = new YamlConfig(randomTree(new Random(seed), 0));
+			indexed.enableIndex();
+			for (int op = 0; op < 20; op++) {
+				assertSameReads(plain, indexed, random);
+				String[] segments = randomSegments(random);
+				ConfigPath path = ConfigPath.ofSegments(segments);
+				ConfigSection plainSection = plain.getSection(ConfigPath.ofSegments(segments[0]));
+				ConfigSection indexedSection = indexed.getSection(ConfigPath.ofSegments(segments[0]));
+				if (random.nextBoolean()) {
+					Object value = random.nextBoolean() ? randomTree(new Random(op), 2) : op;
+					plain.set(path, value);
+					indexed.set(path, value instanceof Map ? randomTree(new Random(op), 2) : value);
+				} else if (plainSection != null && segments.length > 1) {
+					// 通过子对象修改
+					ConfigPath relative = ConfigPath.ofSegments(segments[1]);
+					plainSection.remove(relative);
+					indexedSection.remove(relative);
+				} else {
+					plain.remove(path);
+					indexed.remove(path);
+				}
+			}
+			assertSameReads(plain, indexed, random);
+		}
+	}
+
+	private static void assertSameReads(YamlConfig plain, YamlConfig indexed, Random random) {
+		for (int i = 0; i < 30; i++) {
+			String[] segments = randomSegments(random);
+			ConfigPath path = ConfigPath.ofSegments(segments);
+			String key = String.join(ConfigSection.DOT, segments);
+			assertEquals(key, plain.getObjectDeep(key), indexed.getObjectDeep(key));
+			assertEquals(key, plain.getObject(path), indexed.getObject(path));
+			assertEquals(key, plain.isSet(path), indexed.isSet(path));
+			assertEquals(key, plain.getNodeType(path), indexed.getNodeType(path));
+			ConfigSection plainSection = plain.getSection(ConfigPath.ofSegments(segments[0]));
+			ConfigSection indexedSection = indexed.getSection(ConfigPath.ofSegments(segments[0]));
+			if (plainSection != null && segments.length > 1) {
+				String rest = String.join(ConfigSection.DOT, Arrays.copyOfRange(segments, 1, segments.length));
+				assertEquals(key, plainSection.getObjectDeep(rest), indexedSection.getObjectDeep(rest));
+			}
+		}
+	}
+
+	private static String[] randomSegments(Random random) {
+		String[] segments = new String[1 + random.nextInt(4)];
+		for (int i = 0; i < segments.length; i++) {
+			segments[i] = NAMES[random.nextInt(NAMES.length)];
+		}
+		return segments;
+	}
+
+	private static Map<String, Object> randomTree(Random random, int depth) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		for (String name : NAMES) {
+			int kind = random.nextInt(depth < 3 ? 5 : 3);
+			if (kind == 0) {
+				continue;
+			} else if (kind == 1) {
+				map.put(name, "v" + random.nextInt(10));
+			} else if (kind == 2) {
+				map.put(name, random.nextBoolean() ? null : random.nextInt(10));
+			} else {
+				map.put(name, randomTree(random, depth + 1));
+			}
+		}
+		if (random.nextInt(4) == 0) {
+			// 非字符串的键不能通过路径读取
+			@SuppressWarnings({ "unchecked", "rawtypes" })
+			Map<Object, Object> raw = (Map) map;
+			raw.put(1, "one");
+		}
+		return map;
+	}
+
+	@Test
+	public void putAndRemoveMatchOracle() {
+		PathIndex index = PathIndex.build(Collections.emptyMap());
+		int initialCapacity = index.capacity();
+		Map<String, Object> oracle = new HashMap<>();
+		List<String> keys = new ArrayList<>(collidingKeys(7));
+		for (int i = 0; i < 500; i++) {
+			keys.add("k" + i);
+		}
+		Random random = new Random(7);
+		for (int op = 0; op < 20000; op++) {
+			String key = keys.get(random.nextInt(keys.size()));
+			if (random.nextInt(3) == 0) {
+				index.remove(key);
+				oracle.remove(key);
+			} else {
+				index.put(key, op);
+				oracle.put(key, op);
+			}
+			if (op % 1000 == 0) {
+				assertMatches(index, oracle, keys);
+			}
+		}
+		assertMatches(index, oracle, keys);
+		assertTrue(index.capacity() > initialCapacity);
+		for (String key : keys) {
+			index.remove(key);
+		}
+		assertEquals(0, index.size());
+		for (String key : keys) {
+			assertTrue(key, !index.contains("", key));
+		}
+	}
+
+	@Test
+	public void prefixLookupMatchesJoinedKey() {
+		PathIndex index = PathIndex.build(Collections.emptyMap());
+		for (String key : collidingKeys(5)) {
+			index.put(PathIndex.join("p.q", key), key);
+		}
+		for (String key : collidingKeys(5)) {
+			assertEquals(key, index.get("p.q", key));
+			assertEquals(key, index.get("", PathIndex.join("p.q", key)));
+			assertNull(index.get("p", key));
+		}
+	}
+
+	/**
+	 * "Aa" 和 "BB" 的 {@link String#hashCode()} 相同, 由它们拼接的字符串全部冲突.
+	 */
+	private static List<String> collidingKeys(int blocks) {
+		List<String> keys = new ArrayList<>();
+		for (int mask = 0; mask < 1 << blocks; mask++) {
+			StringBuilder builder = new StringBuilder();
+			for (int i = 0; i < blocks; i++) {
+				builder.append((mask & 1 << i) == 0 ? "Aa" : "BB");
+			}
+			keys.add(builder.toString());
+		}
+		return keys;
+	}
+
+	private static void assertMatches(PathIndex index, Map<String, Object> oracle, List<String> keys) {
+		assertEquals(oracle.size(), index.size());
+		for (String key : keys) {
+			assertEquals(key, oracle.containsKey(key), index.contains("", key));
+			assertEquals(key, oracle.get(key), index.get("", key));
+		}
+	}
+
+}
@@ -0,0 +1,222 @@
+package net.colors_wind.yamlbox.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.Test;
+
+/**
+ * 以 {@link HashMap} 为对照检查 {@link PersistentHashMap}, 包括哈希冲突和旧版本不变.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class PersistentHashMapTest {
+
+	/**
+	 * 可以指定 {@link PersistentHashMap} 内部使用的哈希值的键.
+	 */
+	static final class Key {
+		final int id;
+		final int hash;
+
+		/**
+		 * @param id 区分键
+		 * @param spread 扰动后的哈希值, 即字典树按其分支的值.
+		 */
+		Key(int id, int spread) {
+			this.id = id;
+			this.hash = spread ^ (spread >>> 16);
+		}
+
+		@Override
+		public int hashCode() {
+			return hash;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			return obj instanceof Key && ((Key) obj).id == id;
+		}
+
+		@Override
+		public String toString() {
+			return "Key" + id;
+		}
+	}
+
+	private static void assertSameContent(Map<Key, Integer> expected, PersistentHashMap<Key, Integer> actual,
+			List<Key> pool) {
+		assertEquals(expected.size(), actual.size());
+		assertEquals(expected, actual);
+		assertEquals(expected.hashCode(), actual.hashCode());
+		for (Key key : pool) {
+			assertEquals(expected.get(key), actual.get(key));
+			assertEquals(expected.containsKey(key), actual.containsKey(key));
+		}
+		Set<Key> iterated = new HashSet<>();
+		for (Entry<Key, Integer> entry : actual.entrySet()) {
+			assertTrue("duplicate " + entry.getKey(), iterated.add(entry.getKey()));
+			assertEquals(expected.get(entry.getKey()), entry.getValue());
+		}
+		assertEquals(expected.size(), iterated.size());
+	}
+
+	@Test
+	public void matchesHashMapUnderRandomUpdates() {
+		Random random = new Random(7);
+		List<Key> pool = new ArrayList<>();
+		for (int i = 0; i < 600; i++) {
+			// 少量不同的哈希值: 大量完全冲突, 以及只在高位不同的哈希值
+			int spread = random.nextBoolean() ? random.nextInt(40) : random.nextInt(8) << 27 | random.nextInt(4);
+			pool.add(new Key(i, spread));
+		}
+		Map<Key, Integer> oracle = new HashMap<>();
+		PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+		List<PersistentHashMap<Key, Integer>> versions = new ArrayList<>();
+		List<Map<Key, Integer>> expected = new ArrayList<>();
+		for (int step = 0; step < 20000; step++) {
+			Key key = pool.get(random.nextInt(pool.size()));
+			if (random.nextInt(3) == 0) {
+				oracle.remove(key);
+				map = map.minus(key);
+			} else {
+				int value = random.nextInt(5);
+				oracle.put(key, value);
+				map = map.plus(key, value);
+			}
+			if (step % 500 == 0) {
+				assertSameContent(oracle, map, pool);
+				versions.add(map);
+				expected.add(new HashMap<>(oracle));
+			}
+		}
+		assertSameContent(oracle, map, pool);
+		for (int i = 0; i < versions.size(); i++) {
+			assertSameContent(expected.get(i), versions.get(i), pool);
+		}
+		for (Key key : pool) {
+			oracle.remove(key);
+			map = map.minus(key);
+		}
+		assertSame(PersistentHashMap.empty(), map);
+	}
+
+	@Test
+	public void unchangedUpdatesReturnTheSameMap() {
+		Key a = new Key(1, 5);
+		PersistentHashMap<Key, Integer> map = PersistentHashMap.<Key, Integer>empty().plus(a, 1);
+		assertSame(map, map.plus(a, 1));
+		assertSame(map, map.minus(new Key(2, 5)));
+		assertSame(map, map.minus(new Key(3, 6)));
+	}
+
+	@Test
+	public void collidingKeysAreKeptApart() {
+		Key a = new Key(1, 42);
+		Key b = new Key(2, 42);
+		Key c = new Key(3, 42);
+		PersistentHashMap<Key, Integer> ab = PersistentHashMap.<Key, Integer>empty().plus(a, 1).plus(b, 2);
+		PersistentHashMap<Key, Integer> abc = ab.plus(c, 3);
+		assertEquals(3, abc.size());
+		assertEquals(Integer.valueOf(2), abc.get(b));
+		PersistentHashMap<Key, Integer> ac = abc.minus(b);
+		assertNull(ac.get(b));
+		assertEquals(Integer.valueOf(3), ac.get(c));
+		assertEquals(2, ab.size());
+		assertNull(ab.get(c));
+		assertFalse(ab.containsKey(c));
+		assertEquals(Integer.valueOf(9), abc.plus(b, 9).get(b));
+		assertEquals(Integer.valueOf(2), abc.get(b));
+	}
+
+	@Test
+	public void removalCollapsesSingleEntries() {
+		// 两个冲突的键与第三个键直到最后一层才分开
+		Key a = new Key(1, 3);
+		Key b = new Key(2, 3);
+		Key c = new Key(3, 3 | 1 << 31);
+		PersistentHashMap<Key, Integer> ab = PersistentHashMap.<Key, Integer>empty().plus(a, 1).plus(b, 2);
+		PersistentHashMap<Key, Integer> abc = ab.plus(c, 3);
+		assertEquals(2, ab.depth());
+		assertEquals(8, abc.depth());
+		assertEquals(ab.depth(), abc.minus(c).depth());
+		assertEquals(1, abc.minus(c).minus(b).depth());
+		assertEquals(abc.minus(a).minus(b).depth(), PersistentHashMap.<Key, Integer>empty().plus(c, 3).depth());
+		PersistentHashMap<Key, Integer> ac = abc.minus(b);
+		assertEquals(PersistentHashMap.<Key, Integer>empty().plus(a, 1).plus(c, 3).depth(), ac.depth());
+		assertEquals(Integer.valueOf(1), ac.get(a));
+		assertEquals(Integer.valueOf(3), ac.get(c));
+	}
+
+	@Test
+	public void shapeDependsOnlyOnKeys() {
+		Random random = new Random(11);
+		List<Key> pool = new ArrayList<>();
+		for (int i = 0; i < 200; i++) {
+			pool.add(new Key(i, random.nextInt(16) << 26 | random.nextInt(3)));
+		}
+		Map<Key, Integer> oracle = new HashMap<>();
+		PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+		for (int step = 0; step < 5000; step++) {
+			Key key = pool.get(random.nextInt(pool.size()));
+			if (random.nextBoolean()) {
+				oracle.remove(key);
+				map = map.minus(key);
+			} else {
+				oracle.put(key, step);
+				map = map.plus(key, step);
+			}
+			if (step % 100 == 0) {
+				assertEquals(PersistentHashMap.copyOf(oracle).depth(), map.depth());
+			}
+		}
+	}
+
+	@Test
+	public void iteratorReachesTheDeepestLevel() {
+		PersistentHashMap<Key, Integer> map = PersistentHashMap.empty();
+		Map<Key, Integer> oracle = new HashMap<>();
+		for (int i = 0; i < 4; i++) {
+			// 低30位相同, 只在最高两位不同; 每个哈希值有两个冲突的键
+			for (int j = 0; j < 2; j++) {
+				Key key = new Key(i * 2 + j, i << 30 | 12345);
+				map = map.plus(key, i * 2 + j);
+				oracle.put(key, i * 2 + j);
+			}
+		}
+		assertEquals(8, map.depth());
+		assertSameContent(oracle, map, new ArrayList<>(oracle.keySet()));
+		Iterator<Entry<Key, Integer>> iterator = map.entrySet().iterator();
+		for (int i = 0; i < oracle.size(); i++) {
+			iterator.next();
+		}
+		assertFalse(iterator.hasNext());
+		try {
+			iterator.next();
+			throw new AssertionError("expected NoSuchElementException");
+		} catch (NoSuchElementException e) {
+			// expected
+		}
+	}
+
+	@Test(expected = UnsupportedOperationException.class)
+	public void mutatorsAreRejected() {
+		PersistentHashMap.<String, Integer>empty().plus("a", 1).put("b", 2);
+	}
+
+}
@@ -0,0 +1,127 @@
+package net.colors_wind.yamlbox.conf;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.Test;
+
+/**
+ * {@link ImmutableConfigSection} 的版本共享未修改的子树, {@link SnapshotHolder#update} 在并发下不丢失更新.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class SnapshotTest {
+
+	@SuppressWarnings("unchecked")
+	private static PersistentHashMap<String, Object> child(ImmutableConfigSection section, String key) {
+		return (PersistentHashMap<String, Object>) section.getElements().get(key);
+	}
+
+	@Test
+	public void withSharesUntouchedSubtrees() {
+		ImmutableConfigSection snapshot = ImmutableConfigSection.of(ContentHashTest.tree(1), "");
+		ImmutableConfigSection changed = snapshot.with(ConfigPath.of("k3.leaf.ratio"), -1.0);
+		for (int i = 0; i < 8; i++) {
+			if (i != 3) {
+				assertSame(child(snapshot, "k" + i), child(changed, "k" + i));
+			}
+		}
+		PersistentHashMap<String, Object> before = child(snapshot, "k3");
+		PersistentHashMap<String, Object> after = child(changed, "k3");
+		assertSame(before.get("items"), after.get("items"));
+		assertSame(before.get("name"), after.get("name"));
+		assertEquals(1.5, snapshot.getObject(ConfigPath.of("k3.leaf.ratio")));
+		assertEquals(-1.0, changed.getObject(ConfigPath.of("k3.leaf.ratio")));
+		Object ratio = changed.getObject(ConfigPath.of("k3.leaf.ratio"));
+		assertSame(changed, changed.with(ConfigPath.of("k3.leaf.ratio"), ratio));
+	}
+
+	@Test
+	public void withoutSharesUntouchedSubtrees() {
+		ImmutableConfigSection snapshot = ImmutableConfigSection.of(ContentHashTest.tree(2), "");
+		ImmutableConfigSection changed = snapshot.without(ConfigPath.of("k5.leaf"));
+		assertNull(changed.getObject(ConfigPath.of("k5.leaf")));
+		assertEquals(2.5, snapshot.getObject(ConfigPath.of("k5.leaf.ratio")));
+		assertSame(child(snapshot, "k4"), child(changed, "k4"));
+		assertSame(child(snapshot, "k5").get("items"), child(changed, "k5").get("items"));
+		assertSame(changed, changed.without(ConfigPath.of("k5.leaf")));
+		assertSame(changed, changed.without(ConfigPath.of("k5.name.missing")));
+		ImmutableConfigSection removed = changed.without("k5");
+		assertFalse(removed.getElements().containsKey("k5"));
+		assertTrue(changed.getElements().containsKey("k5"));
+	}
+
+	@Test
+	public void concurrentUpdatesAreNotLost() throws Exception {
+		int threads = Math.max(4, Runtime.getRuntime().availableProcessors());
+		int increments = 2000;
+		SnapshotHolder holder = new SnapshotHolder(ImmutableConfigSection.of(ContentHashTest.tree(3), "")
+				.with("count", 0));
+		ExecutorService executor = Executors.newFixedThreadPool(threads + 1);
+		CountDownLatch start = new CountDownLatch(1);
+		AtomicBoolean done = new AtomicBoolean();
+		try {
+			// 每次更新同时增加计数并写入线程自己的键, 两者在任意一个版本中都必须一致
+			Future<Integer> reader = executor.submit(() -> {
+				start.await();
+				int checked = 0;
+				while (!done.get()) {
+					ImmutableConfigSection snapshot = holder.get();
+					int sum = 0;
+					for (int t = 0; t < threads; t++) {
+						Object value = snapshot.getObject("t" + t);
+						sum += value == null ? 0 : (Integer) value;
+					}
+					assertEquals(snapshot.getInt("count"), sum);
+					checked++;
+				}
+				return checked;
+			});
+			List<Callable<Void>> writers = new ArrayList<>();
+			for (int t = 0; t < threads; t++) {
+				String key = "t" + t;
+				writers.add(() -> {
+					start.await();
+					for (int i = 0; i < increments; i++) {
+						holder.update(c -> c.with("count", c.getInt("count") + 1).with(key,
+								(Integer) c.getElements().getOrDefault(key, 0) + 1));
+					}
+					return null;
+				});
+			}
+			List<Future<Void>> futures = new ArrayList<>();
+			for (Callable<Void> writer : writers) {
+				futures.add(executor.submit(writer));
+			}
+			start.countDown();
+			for (Future<Void> future : futures) {
+				future.get();
+			}
+			done.set(true);
+			assertTrue(reader.get() > 0);
+		} finally {
+			done.set(true);
+			executor.shutdownNow();
+		}
+		ImmutableConfigSection result = holder.get();
+		assertEquals(threads * increments, result.getInt("count"));
+		for (int t = 0; t < threads; t++) {
+			assertEquals(increments, result.getInt("t" + t));
+		}
+		assertEquals(ContentHashTest.tree(3).size() + threads + 1, result.getElements().size());
+	}
+
+}
@@ -0,0 +1,174 @@
+package net.colors_wind.yamlbox.io;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+
+/**
+ * {@link SnapshotCache} 只使用与源文件一致的快照, 并合并尚未执行的写入.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class SnapshotCacheTest {
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private final Queue<Runnable> tasks = new ArrayDeque<>();
+	private final List<String> warnings = Collections.synchronizedList(new ArrayList<>());
+
+	private SnapshotCache newCache() throws IOException {
+		return new SnapshotCache(folder.getRoot().toPath().resolve("cache"), tasks::add,
+				(level, path, msg) -> warnings.add(msg));
+	}
+
+	private void runTasks() {
+		for (Runnable task; (task = tasks.poll()) != null;) {
+			task.run();
+		}
+	}
+
+	private List<Path> snapshots(SnapshotCache cache) throws IOException {
+		try (Stream<Path> files = Files.list(cache.getDirectory())) {
+			return files.collect(Collectors.toList());
+		}
+	}
+
+	private Path source(String content) throws IOException {
+		Path source = folder.getRoot().toPath().resolve("config.yml");
+		Files.write(source, content.getBytes(StandardCharsets.UTF_8));
+		return source;
+	}
+
+	private static Map<String, Object> tree(Object value) {
+		Map<String, Object> map = new LinkedHashMap<>();
+		map.put("key", value);
+		return map;
+	}
+
+	@Test
+	public void storedSnapshotIsHitUntilSourceChanges() throws IOException {
+		SnapshotCache cache = newCache();
+		Path source = source("key: 1\n");
+		SnapshotCache.Lookup miss = cache.lookup(source);
+		assertFalse(miss.isHit());
+		assertEquals("key: 1\n", new String(miss.getContent(), StandardCharsets.UTF_8));
+		miss.store(tree(1));
+		assertFalse(cache.lookup(source).isHit());
+		runTasks();
+		SnapshotCache.Lookup hit = cache.lookup(source);
+		assertTrue(hit.isHit());
+		assertEquals(tree(1), hit.getTree());
+
+		// 大小和修改时间不变, 但内容不同
+		FileTime modified = Files.getLastModifiedTime(source);
+		source("key: 2\n");
+		Files.setLastModifiedTime(source, modified);
+		assertNull(cache.lookup(source).getTree());
+		// 内容不变, 但修改时间不同
+		source("key: 1\n");
+		Files.setLastModifiedTime(source, FileTime.fromMillis(modified.toMillis() + 5000));
+		assertFalse(cache.lookup(source).isHit());
+		// 大小不同
+		source("key: 10\n");
+		assertFalse(cache.lookup(source).isHit());
+		assertTrue(warnings.isEmpty());
+
+		assertTrue(cache.invalidate(source));
+		assertFalse(cache.invalidate(source));
+	}
+
+	@Test
+	public void corruptedSnapshotIsIgnored() throws IOException {
+		SnapshotCache cache = newCache();
+		Path source = source("key: 1\n");
+		cache.lookup(source).store(tree(1));
+		runTasks();
+		Path snapshot = snapshots(cache).get(0);
+		byte[] data = Files.readAllBytes(snapshot);
+		Files.write(snapshot, Arrays.copyOf(data, data.length - 3));
+		assertFalse(cache.lookup(source).isHit());
+		assertEquals(1, warnings.size());
+		Files.write(snapshot, new byte[2]);
+		assertFalse(cache.lookup(source).isHit());
+		assertEquals(2, warnings.size());
+	}
+
+	@Test
+	public void pendingWritesAreCoalesced() throws IOException {
+		SnapshotCache cache = newCache();
+		Path source = source("key: 1\n");
+		for (int i = 0; i < 5; i++) {
+			cache.lookup(source).store(tree(i));
+		}
+		assertEquals(1, tasks.size());
+		runTasks();
+		assertEquals(tree(4), cache.lookup(source).getTree());
+		assertEquals(1, snapshots(cache).size());
+
+		cache.lookup(source).store(tree(5));
+		assertTrue(cache.invalidate(source));
+		runTasks();
+		assertFalse(cache.lookup(source).isHit());
+		assertTrue(snapshots(cache).isEmpty());
+	}
+
+	@Test
+	public void rejectedWriteCanBeRetried() throws IOException {
+		List<Runnable> accepted = new ArrayList<>();
+		boolean[] reject = { true };
+		SnapshotCache cache = new SnapshotCache(folder.getRoot().toPath().resolve("cache"), task -> {
+			if (reject[0]) {
+				throw new RejectedExecutionException();
+			}
+			accepted.add(task);
+		}, (level, path, msg) -> warnings.add(msg));
+		Path source = source("key: 1\n");
+		cache.lookup(source).store(tree(1));
+		reject[0] = false;
+		cache.lookup(source).store(tree(2));
+		assertEquals(1, accepted.size());
+		accepted.get(0).run();
+		assertEquals(tree(2), cache.lookup(source).getTree());
+	}
+
+	@Test
+	public void yamlBoxLoadsFromSnapshot() throws IOException {
+		SnapshotCache cache = new SnapshotCache(folder.getRoot().toPath().resolve("cache"), Runnable::run,
+				(level, path, msg) -> warnings.add(msg));
+		YamlBox yamlBox = new YamlBox((level, path, msg) -> warnings.add(msg));
+		Path source = source("a:\n  b: [1, 2.5, text]\n  c: true\n");
+		YamlConfig parsed = yamlBox.load(source, cache);
+		assertTrue(cache.lookup(source).isHit());
+		YamlConfig cached = yamlBox.load(source, cache);
+		assertEquals(parsed.getObject("a.b"), cached.getObject("a.b"));
+		assertEquals(yamlBox.dumpAsString(parsed), yamlBox.dumpAsString(cached));
+		assertTrue(warnings.isEmpty());
+	}
+
+}
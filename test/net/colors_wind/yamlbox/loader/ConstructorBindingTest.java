@@ -0,0 +1,119 @@
+package net.colors_wind.yamlbox.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.Test;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.tag.ConfigConstructor;
+import net.colors_wind.yamlbox.tag.ConfigNode;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 由 {@link ConfigConstructor} 创建的对象序列化后可以再次反序列化, 节点由参数决定.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class ConstructorBindingTest {
+
+	public static class Server implements YamlSerializable {
+		@ConfigNode(path = "info.name")
+		private final String name;
+		@ConfigNode(path = "info.port")
+		private final int port;
+		private final List<String> tags;
+
+		@ConfigConstructor
+		public Server(@ConfigNode(path = "info.name") String name, @ConfigNode(path = "info.port") int port,
+				@ConfigNode(path = "tags") List<String> tags) {
+			this.name = name;
+			this.port = port;
+			this.tags = tags;
+		}
+	}
+
+	/**
+	 * 字段与参数的节点不同, 按参数名对应字段.
+	 */
+	public static class Pair implements YamlSerializable {
+		public final String a;
+		public final String b;
+
+		private Pair(String a, String b) {
+			this.a = a;
+			this.b = b;
+		}
+
+		@ConfigConstructor
+		public static Pair of(@ConfigNode(path = "x.b") String b, @ConfigNode(path = "x.a") String a) {
+			return new Pair(a, b);
+		}
+	}
+
+	public static class Unmatched implements YamlSerializable {
+		public final String b;
+
+		@ConfigConstructor
+		public Unmatched(@ConfigNode(path = "x.c") String c) {
+			this.b = c;
+		}
+	}
+
+	private final List<String> warnings = new ArrayList<>();
+	private final YamlBox yamlBox = new YamlBox((level, path, msg) -> warnings.add(msg));
+	private final EntryLoader loader = (EntryLoader) yamlBox.getDefaultResolver(Server.class);
+
+	@Test
+	public void constructorBoundTypeRoundTrips() throws Exception {
+		YamlConfig config = yamlBox.load("info:\n  name: hey\n  port: 25565\ntags: [a, b]\n");
+		Server server = loader.resolve(Server.class, FieldSelector.SELECTOR_PUBLIC, config, "");
+		Map<String, Object> stored = loader.store(Server.class, FieldSelector.SELECTOR_PUBLIC, server, "");
+		assertEquals(config.asMap(), stored);
+		Server again = loader.resolve(Server.class, FieldSelector.SELECTOR_PUBLIC, new YamlConfig(stored), "");
+		assertEquals("hey", again.name);
+		assertEquals(25565, again.port);
+		assertEquals(Arrays.asList("a", "b"), again.tags);
+		assertTrue(warnings.toString(), warnings.isEmpty());
+	}
+
+	@Test
+	public void factoryBoundTypeRoundTrips() throws Exception {
+		YamlConfig config = yamlBox.load("x:\n  a: one\n  b: hey\n");
+		Pair pair = loader.resolve(Pair.class, FieldSelector.SELECTOR_PUBLIC, config, "");
+		Map<String, Object> stored = loader.store(Pair.class, FieldSelector.SELECTOR_PUBLIC, pair, "");
+		assertEquals(config.asMap(), stored);
+		Pair again = loader.resolve(Pair.class, FieldSelector.SELECTOR_PUBLIC, new YamlConfig(stored), "");
+		assertEquals("one", again.a);
+		assertEquals("hey", again.b);
+		StringWriter writer = new StringWriter();
+		yamlBox.dump(pair, writer);
+		Pair streamed = yamlBox.load(new StringReader(writer.toString()), Pair.class);
+		assertEquals("one", streamed.a);
+		assertEquals("hey", streamed.b);
+		assertTrue(warnings.toString(), warnings.isEmpty());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void parameterWithoutFieldIsRejected() {
+		loader.getBindingPlan(Unmatched.class, FieldSelector.SELECTOR_PUBLIC);
+	}
+
+	@Test
+	public void failureNamesTheField() throws Exception {
+		YamlConfig config = yamlBox.load("info:\n  name: hey\n  port: nope\n");
+		Server server = loader.resolve(Server.class, FieldSelector.SELECTOR_PUBLIC, config, "");
+		assertEquals(0, server.port);
+		assertEquals(Arrays.asList("Exception occured while processing Field Server.port."), warnings);
+	}
+
+}
@@ -0,0 +1,94 @@
+package net.colors_wind.yamlbox.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertTrue;
+
+import java.lang.reflect.Field;
+
+import org.junit.Test;
+
+/**
+ * {@link FieldAccessorFactory#METHOD_HANDLE} 为每个字段生成的访问器与反射读写的结果相同.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class FieldAccessorTest {
+
+	public static class Target {
+		private int i;
+		private long l;
+		private double d;
+		private float f;
+		private boolean z;
+		private short s;
+		private byte b;
+		private char c;
+		private String text;
+	}
+
+	private static IFieldAccessor accessor(String name) throws NoSuchFieldException {
+		Field field = Target.class.getDeclaredField(name);
+		field.setAccessible(true);
+		return FieldAccessorFactory.METHOD_HANDLE.create(field);
+	}
+
+	@Test
+	public void primitivesAreReadAndWrittenWithoutBoxing() throws Exception {
+		Target target = new Target();
+		IFieldAccessor i = accessor("i");
+		i.setInt(target, 42);
+		assertEquals(42, target.i);
+		assertEquals(42, i.getInt(target));
+		assertEquals(42, i.get(target));
+		IFieldAccessor l = accessor("l");
+		l.setLong(target, 1L << 40);
+		assertEquals(1L << 40, l.getLong(target));
+		IFieldAccessor d = accessor("d");
+		d.setDouble(target, 0.5);
+		assertEquals(0.5, d.getDouble(target), 0);
+		IFieldAccessor f = accessor("f");
+		f.setFloat(target, 1.5f);
+		assertEquals(1.5f, f.getFloat(target), 0);
+		IFieldAccessor z = accessor("z");
+		z.setBoolean(target, true);
+		assertTrue(z.getBoolean(target));
+		z.set(target, false);
+		assertFalse(target.z);
+	}
+
+	@Test
+	public void otherFieldsAreBoxed() throws Exception {
+		Target target = new Target();
+		accessor("s").set(target, (short) 3);
+		accessor("b").set(target, (byte) 4);
+		accessor("c").set(target, 'x');
+		accessor("text").set(target, "hey");
+		assertEquals((short) 3, target.s);
+		assertEquals((byte) 4, target.b);
+		assertEquals('x', target.c);
+		assertEquals("hey", accessor("text").get(target));
+	}
+
+	@Test
+	public void eachFieldGetsItsOwnGeneratedClass() throws Exception {
+		IFieldAccessor i = accessor("i");
+		IFieldAccessor text = accessor("text");
+		assertTrue(i instanceof MethodHandleAccessor);
+		assertNotSame(i.getClass(), text.getClass());
+		assertNotSame(i.getClass(), accessor("i").getClass());
+	}
+
+	@Test(expected = ClassCastException.class)
+	public void wrongValueTypeIsRejected() throws Exception {
+		accessor("text").set(new Target(), 1);
+	}
+
+	@Test(expected = NullPointerException.class)
+	public void nullInstanceIsRejected() throws Exception {
+		accessor("i").getInt(null);
+	}
+
+}
@@ -0,0 +1,120 @@
+package net.colors_wind.yamlbox.loader;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.StringReader;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+import org.junit.Test;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.tag.ConfigNode;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 字段的转换器在绑定计划中获取一次, 列表和映射字段按字段声明的类型创建.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class FieldConverterTest {
+
+	public static class CountingLoader extends UniversalLoader {
+		int lookups;
+
+		CountingLoader(YamlBox yamlBox) {
+			super(yamlBox, "counting");
+		}
+
+		@Override
+		public Converter getConverter(Class<?> clazz, Type genericType) {
+			lookups++;
+			return super.getConverter(clazz, genericType);
+		}
+	}
+
+	public static class Holder implements YamlSerializable {
+		@ConfigNode(loader = "counting")
+		public LinkedList<Integer> linked;
+		@ConfigNode(loader = "counting")
+		public TreeMap<String, Integer> sorted;
+		public Collection<String> collection;
+		public List<String> list;
+		public Map<String, Integer> map;
+	}
+
+	public static class Overridden implements YamlSerializable {
+		@ConfigNode(loader = "plus-one")
+		public List<Integer> values;
+	}
+
+	private static final String YAML = "linked: [3, 1, 2]\nsorted: {b: 2, a: 1}\ncollection: [x, y]\nlist: [z]\n"
+			+ "map: {k: 1}\n";
+
+	private final List<String> warnings = new ArrayList<>();
+	private final YamlBox yamlBox = new YamlBox((level, path, msg) -> warnings.add(msg));
+	private final EntryLoader loader = (EntryLoader) yamlBox.getDefaultResolver(Holder.class);
+
+	@Test
+	public void collectionsUseTheDeclaredType() throws Exception {
+		new CountingLoader(yamlBox).register();
+		Holder instance = loader.resolve(Holder.class, FieldSelector.SELECTOR_PUBLIC, yamlBox.load(YAML), "");
+		assertEquals(Arrays.asList(3, 1, 2), instance.linked);
+		assertEquals(Arrays.asList("a", "b"), new ArrayList<>(instance.sorted.keySet()));
+		assertTrue(instance.collection instanceof ArrayList);
+		assertEquals(Arrays.asList("x", "y"), instance.collection);
+		assertTrue(instance.map instanceof LinkedHashMap);
+		Holder streamed = yamlBox.load(new StringReader(YAML), Holder.class);
+		assertEquals(instance.linked, streamed.linked);
+		assertEquals(instance.sorted, streamed.sorted);
+		assertEquals(yamlBox.load(YAML).asMap(),
+				loader.store(Holder.class, FieldSelector.SELECTOR_PUBLIC, instance, ""));
+		assertEquals(Collections.emptyList(), warnings);
+	}
+
+	@Test
+	public void converterIsLookedUpOncePerField() throws Exception {
+		CountingLoader counting = new CountingLoader(yamlBox);
+		counting.register();
+		BindingPlan plan = loader.getBindingPlan(Holder.class, FieldSelector.SELECTOR_PUBLIC);
+		for (BindingPlan.FieldBinding binding : plan.getBindings()) {
+			assertNotNull(binding.getField().getName(), binding.getConverter());
+		}
+		int lookups = counting.lookups;
+		YamlConfig config = yamlBox.load(YAML);
+		for (int i = 0; i < 3; i++) {
+			Holder instance = loader.resolve(Holder.class, FieldSelector.SELECTOR_PUBLIC, config, "");
+			loader.store(Holder.class, FieldSelector.SELECTOR_PUBLIC, instance, "");
+		}
+		assertEquals(lookups, counting.lookups);
+	}
+
+	@Test
+	public void overriddenLoaderIsStillCalled() throws Exception {
+		new LoaderOverrideTest.PlusOneLoader(yamlBox) {
+			@Override
+			public Object resolve(Class<?> clazz, Type genericType, Object obj, String path) {
+				return Arrays.asList(-1);
+			}
+		}.register();
+		BindingPlan plan = loader.getBindingPlan(Overridden.class, FieldSelector.SELECTOR_PUBLIC);
+		assertNull(plan.getBindings()[0].getConverter());
+		Overridden instance = loader.resolve(Overridden.class, FieldSelector.SELECTOR_PUBLIC,
+				yamlBox.load("values: [1]\n"), "");
+		assertEquals(Arrays.asList(-1), instance.values);
+	}
+
+}
@@ -0,0 +1,43 @@
+package net.colors_wind.yamlbox.loader;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.NodePath;
+
+/**
+ * 只覆盖参数为 {@link String} 的方法的 {@link UniversalLoader} 子类, 经由 {@link NodePath} 的调用路径时仍然生效.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class LoaderOverrideTest {
+
+	public static class PlusOneLoader extends UniversalLoader {
+		String lastPath;
+
+		PlusOneLoader(YamlBox yamlBox) {
+			super(yamlBox, "plus-one");
+		}
+
+		@Override
+		public int resolveAsInt(Object obj, String path) {
+			lastPath = path;
+			return super.resolveAsInt(obj, path) + 1;
+		}
+	}
+
+	@Test
+	public void stringOverrideIsCalledThroughNodePath() {
+		PlusOneLoader loader = new PlusOneLoader(new YamlBox((level, path, msg) -> {
+		}));
+		NodePath path = NodePath.of("a").child("b");
+		assertEquals(2, loader.resolveAsInt(1, path));
+		assertEquals(path.toString(), loader.lastPath);
+		assertEquals(3, loader.getConverter(int.class, null).resolve("2", path));
+		assertEquals(5L, loader.resolveAsLong("5", path));
+	}
+
+}
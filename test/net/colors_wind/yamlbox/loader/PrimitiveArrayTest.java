@@ -0,0 +1,66 @@
+package net.colors_wind.yamlbox.loader;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotSame;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.collect.BooleanList;
+import net.colors_wind.yamlbox.collect.IntList;
+import net.colors_wind.yamlbox.conf.NodePath;
+
+/**
+ * 基本类型数组和基本类型列表的转换.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class PrimitiveArrayTest {
+	private final UniversalLoader loader = (UniversalLoader) new YamlBox((level, path, msg) -> {
+	}).getDefaultResolver();
+	private final NodePath path = NodePath.of("values");
+
+	@Test
+	public void arraysResolveElementsAndStoreAsLists() throws Exception {
+		Converter ints = loader.getConverter(int[].class, null);
+		assertArrayEquals(new int[] { 1, 2, 3 }, (int[]) ints.resolve(Arrays.asList(1, "2", 3L), path));
+		assertArrayEquals(new int[] { 7 }, (int[]) ints.resolve(7, path));
+		assertArrayEquals(new int[0], (int[]) ints.resolve(null, path));
+		assertEquals(Arrays.asList(1, 2), ints.store(new int[] { 1, 2 }, path));
+		Converter floats = loader.getConverter(float[].class, null);
+		assertArrayEquals(new float[] { 1.5f, 2f }, (float[]) floats.resolve(Arrays.asList(1.5, 2), path), 0f);
+		assertEquals(Arrays.asList(1.5f, 2f), floats.store(new float[] { 1.5f, 2f }, path));
+		Converter shorts = loader.getConverter(short[].class, null);
+		assertArrayEquals(new short[] { 4, 5 }, (short[]) shorts.resolve(Arrays.asList(4, 5), path));
+		assertEquals(Arrays.asList((short) 4, (short) 5), shorts.store(new short[] { 4, 5 }, path));
+	}
+
+	@Test
+	public void bytesStayBinary() throws Exception {
+		Converter bytes = loader.getConverter(byte[].class, null);
+		byte[] binary = { 1, 2 };
+		assertArrayEquals(binary, (byte[]) bytes.resolve(binary, path));
+		assertNotSame(binary, bytes.resolve(binary, path));
+		assertArrayEquals(new byte[] { 3, 4 }, (byte[]) bytes.resolve(Arrays.asList(3, 4), path));
+		assertArrayEquals(binary, (byte[]) bytes.store(binary, path));
+		assertNotSame(binary, bytes.store(binary, path));
+	}
+
+	@Test
+	public void primitiveListsAreCopied() throws Exception {
+		Converter ints = loader.getConverter(IntList.class, null);
+		IntList list = (IntList) ints.resolve(Arrays.asList(1, 2), path);
+		assertEquals(Arrays.asList(1, 2), list);
+		Object stored = ints.store(list, path);
+		assertEquals(list, stored);
+		assertNotSame(list, stored);
+		Converter booleans = loader.getConverter(BooleanList.class, null);
+		assertEquals(Collections.singletonList(true), booleans.resolve("true", path));
+	}
+
+}
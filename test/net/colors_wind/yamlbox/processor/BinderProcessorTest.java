@@ -0,0 +1,193 @@
+package net.colors_wind.yamlbox.processor;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.lang.reflect.Field;
+import java.lang.reflect.Modifier;
+import java.net.URI;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Paths;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+
+import javax.tools.DiagnosticCollector;
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.SimpleJavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.loader.EntryLoader;
+import net.colors_wind.yamlbox.loader.FieldSelector;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 以 {@link BinderProcessor} 编译示例类, 生成的绑定器与反射绑定的结果相同.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class BinderProcessorTest {
+	private static final String SAMPLE = String.join("\n",
+			"package sample;",
+			"import java.util.List;",
+			"import java.util.Map;",
+			"import net.colors_wind.yamlbox.tag.ConfigNode;",
+			"import net.colors_wind.yamlbox.tag.YamlSerializable;",
+			"public class Server implements YamlSerializable {",
+			"	public String name;",
+			"	public int port = 80;",
+			"	public long uptime;",
+			"	public double ratio;",
+			"	public float weight;",
+			"	public boolean enabled;",
+			"	public short level;",
+			"	@ConfigNode(path = \"info.tags\")",
+			"	public List<String> tags;",
+			"	public Map<String, Integer> limits;",
+			"	public int[] ports;",
+			"	public Owner owner;",
+			"	int hidden;",
+			"	public static class Owner implements YamlSerializable {",
+			"		public String name;",
+			"		public int rank;",
+			"	}",
+			"}");
+	private static final String YAML = String.join("\n",
+			"name: hey",
+			"port: 25565",
+			"uptime: 12345678901",
+			"ratio: 0.5",
+			"weight: 1.5",
+			"enabled: true",
+			"level: 7",
+			"hidden: 3",
+			"info:",
+			"  tags: [a, b]",
+			"limits:",
+			"  cpu: 2",
+			"  mem: 512",
+			"ports: [1, 2, 3]",
+			"owner:",
+			"  name: me",
+			"  rank: 3",
+			"");
+
+	@Rule
+	public final TemporaryFolder folder = new TemporaryFolder();
+
+	private Class<? extends YamlSerializable> server;
+	private YamlBox generated;
+	private YamlBox reflective;
+
+	@Before
+	public void compile() throws Exception {
+		JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+		assertNotNull("tests must run on a JDK", compiler);
+		File out = folder.newFolder("out");
+		String classpath = Paths.get(YamlSerializable.class.getProtectionDomain().getCodeSource().getLocation().toURI())
+				.toString();
+		DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+		try (StandardJavaFileManager files = compiler.getStandardFileManager(diagnostics, null, null)) {
+			JavaFileObject source = new SimpleJavaFileObject(URI.create("string:///sample/Server.java"),
+					JavaFileObject.Kind.SOURCE) {
+				@Override
+				public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+					return SAMPLE;
+				}
+			};
+			JavaCompiler.CompilationTask task = compiler.getTask(null, files, diagnostics,
+					Arrays.asList("-classpath", classpath, "-d", out.getPath(), "-s", out.getPath()), null,
+					Collections.singletonList(source));
+			task.setProcessors(Collections.singletonList(new BinderProcessor()));
+			assertTrue(diagnostics.getDiagnostics().toString(), task.call());
+		}
+		assertTrue(new File(out, "sample/Server" + BinderProcessor.BINDER_SUFFIX + ".class").isFile());
+		assertTrue(new File(out, "sample/Server$Owner" + BinderProcessor.BINDER_SUFFIX + ".class").isFile());
+		@SuppressWarnings("resource")
+		URLClassLoader loader = new URLClassLoader(new URL[] { out.toURI().toURL() }, getClass().getClassLoader());
+		server = loader.loadClass("sample.Server").asSubclass(YamlSerializable.class);
+		generated = new YamlBox((level, path, msg) -> {
+		});
+		reflective = new YamlBox((level, path, msg) -> {
+		});
+		entryLoader(reflective).setUseGeneratedBinders(false);
+	}
+
+	private EntryLoader entryLoader(YamlBox yamlBox) {
+		return (EntryLoader) yamlBox.getDefaultResolver(server);
+	}
+
+	@Test
+	public void binderIsFoundOnlyWhenEnabled() {
+		assertNotNull(entryLoader(generated).getBinder(server));
+		assertEquals(FieldSelector.SELECTOR_PUBLIC, entryLoader(generated).getBinder(server).getSelector());
+		assertTrue(entryLoader(generated).isUseGeneratedBinders());
+		assertTrue(!entryLoader(reflective).isUseGeneratedBinders());
+	}
+
+	@Test
+	public void resolvedObjectsAreEqual() throws Exception {
+		Object expected = resolve(reflective, server, YAML);
+		Object actual = resolve(generated, server, YAML);
+		assertFieldsEqual(expected, actual);
+		assertEquals(25565, server.getField("port").get(actual));
+		assertEquals(Arrays.asList("a", "b"), server.getField("tags").get(actual));
+		assertNotNull(server.getField("owner").get(actual));
+		// 缺少的节点保留默认值
+		Object partialExpected = resolve(reflective, server, "name: only\n");
+		Object partialActual = resolve(generated, server, "name: only\n");
+		assertFieldsEqual(partialExpected, partialActual);
+		assertEquals(80, server.getField("port").get(partialActual));
+	}
+
+	@Test
+	public void storedNodesAreEqual() throws Exception {
+		assertEquals(store(reflective, server, YAML), store(generated, server, YAML));
+		assertEquals(store(reflective, server, "name: only\n"), store(generated, server, "name: only\n"));
+	}
+
+	private static <T extends YamlSerializable> T resolve(YamlBox yamlBox, Class<T> clazz, String yaml)
+			throws Exception {
+		EntryLoader loader = (EntryLoader) yamlBox.getDefaultResolver(clazz);
+		return loader.resolve(clazz, FieldSelector.SELECTOR_PUBLIC, yamlBox.load(yaml), "");
+	}
+
+	private static <T extends YamlSerializable> String store(YamlBox yamlBox, Class<T> clazz, String yaml)
+			throws Exception {
+		EntryLoader loader = (EntryLoader) yamlBox.getDefaultResolver(clazz);
+		Map<String, Object> stored = loader.store(clazz, FieldSelector.SELECTOR_PUBLIC, resolve(yamlBox, clazz, yaml),
+				"");
+		return yamlBox.dumpAsString(new YamlConfig(stored));
+	}
+
+	/**
+	 * 逐个比较字段, 嵌套的 {@link YamlSerializable} 对象递归比较.
+	 */
+	private static void assertFieldsEqual(Object expected, Object actual) throws IllegalAccessException {
+		if (expected instanceof YamlSerializable && actual instanceof YamlSerializable) {
+			assertEquals(expected.getClass(), actual.getClass());
+			for (Field field : expected.getClass().getDeclaredFields()) {
+				if (!Modifier.isStatic(field.getModifiers())) {
+					field.setAccessible(true);
+					assertFieldsEqual(field.get(expected), field.get(actual));
+				}
+			}
+		} else {
+			assertTrue(expected + " != " + actual, Arrays.deepEquals(new Object[] { expected }, new Object[] { actual }));
+		}
+	}
+
+}
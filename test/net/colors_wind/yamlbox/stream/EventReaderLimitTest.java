@@ -0,0 +1,90 @@
+package net.colors_wind.yamlbox.stream;
+
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+
+import java.io.StringReader;
+import java.util.List;
+
+import org.junit.Test;
+import org.yaml.snakeyaml.error.YAMLException;
+
+import net.colors_wind.yamlbox.LoadOptions;
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 基于 {@link EventReader} 的加载方式与 {@link YamlBox#load(String)} 一样限制嵌套层数和集合的别名数量.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public class EventReaderLimitTest {
+	private final YamlBox yamlBox = new YamlBox((level, path, msg) -> {
+	});
+
+	public static class Holder implements YamlSerializable {
+		public List<Object> k;
+	}
+
+	@FunctionalInterface
+	private interface Load {
+
+		void load(String yaml) throws Exception;
+	}
+
+	private static String deep(String key) {
+		StringBuilder builder = new StringBuilder(key).append(": ");
+		for (int i = 0; i < 5000; i++) {
+			builder.append('[');
+		}
+		for (int i = 0; i < 5000; i++) {
+			builder.append(']');
+		}
+		return builder.append('\n').toString();
+	}
+
+	private static String laughs() {
+		StringBuilder builder = new StringBuilder("k:\n  - &a0 [x, x]\n");
+		for (int i = 1; i < 60; i++) {
+			builder.append("  - &a").append(i).append(" [*a").append(i - 1).append(", *a").append(i - 1)
+					.append("]\n");
+		}
+		return builder.toString();
+	}
+
+	private void assertRejected(String yaml, String message) {
+		Load[] loads = { s -> yamlBox.load(s), s -> yamlBox.load(s, LoadOptions.lazy()),
+				s -> yamlBox.loadAll(new StringReader(s)).next(),
+				s -> yamlBox.loadAll(new StringReader(s), LoadOptions.lazy()).next(),
+				s -> yamlBox.load(new StringReader(s), Holder.class),
+				s -> yamlBox.loadAll(new StringReader(s), Holder.class).next(),
+				s -> yamlBox.loadProjection(new StringReader(s), Holder.class) };
+		for (int i = 0; i < loads.length; i++) {
+			try {
+				loads[i].load(yaml);
+				fail("load #" + i + " accepted the document");
+			} catch (YAMLException e) {
+				assertTrue("load #" + i + ": " + e.getMessage(), e.getMessage().contains(message));
+			} catch (Throwable e) {
+				throw new AssertionError("load #" + i + " failed with " + e.getClass().getName(), e);
+			}
+		}
+	}
+
+	@Test
+	public void nestingDepthIsLimited() {
+		assertRejected(deep("k"), "Nesting Depth exceeded max");
+	}
+
+	@Test
+	public void nestingDepthIsLimitedWhileSkipping() {
+		assertRejected("k: []\n" + deep("other"), "Nesting Depth exceeded max");
+	}
+
+	@Test
+	public void collectionAliasesAreLimited() {
+		assertRejected(laughs(), "Number of aliases for non-scalar nodes exceeds the specified max");
+	}
+
+}
@@ -0,0 +1,39 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.io.IOException;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * 基准测试的入口. 参数与JMH的命令行相同, 并默认启用 {@link GCProfiler} 以报告每次操作的内存分配.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class BenchmarkRunner {
+
+	private BenchmarkRunner() {
+	}
+
+	public static void main(String[] args) throws RunnerException, CommandLineOptionException, IOException {
+		CommandLineOptions cmd = new CommandLineOptions(args);
+		if (cmd.shouldHelp()) {
+			cmd.showHelp();
+			return;
+		}
+		Options options = new OptionsBuilder().parent(cmd).addProfiler(GCProfiler.class).build();
+		Runner runner = new Runner(options);
+		if (cmd.shouldList()) {
+			runner.list();
+		} else {
+			runner.run();
+		}
+	}
+
+}
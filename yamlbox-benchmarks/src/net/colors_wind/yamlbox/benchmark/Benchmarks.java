@@ -0,0 +1,51 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.util.Random;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import net.colors_wind.yamlbox.YamlBox;
+
+/**
+ * 基准测试共用的工具方法.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+final class Benchmarks {
+	/**
+	 * 每轮访问的叶子数, 按固定的随机顺序循环, 避免顺序访问带来的缓存优势.
+	 */
+	static final int SAMPLES = 1024;
+
+	private Benchmarks() {
+	}
+
+	/**
+	 * 创建不输出日志的 {@link YamlBox}.
+	 * @return YamlBox实例
+	 */
+	static YamlBox newYamlBox() {
+		Logger logger = Logger.getLogger("YamlBox-benchmark");
+		logger.setLevel(Level.OFF);
+		return new YamlBox(logger);
+	}
+
+	/**
+	 * 以固定的种子选取叶子的序号.
+	 * @param data 配置数据
+	 * @param kind 叶子的类型, 即序号模 {@link SyntheticConfig#KINDS} 的值, 为负数时不限类型.
+	 * @return {@link #SAMPLES} 个序号
+	 */
+	static int[] sample(SyntheticConfig data, int kind) {
+		Random random = new Random(20200620L);
+		int[] indices = new int[SAMPLES];
+		int groups = data.size() / SyntheticConfig.KINDS;
+		for (int i = 0; i < SAMPLES; i++) {
+			indices[i] = kind < 0 ? random.nextInt(data.size())
+					: random.nextInt(groups) * SyntheticConfig.KINDS + kind;
+		}
+		return indices;
+	}
+
+}
@@ -0,0 +1,137 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.loader.EntryLoader;
+import net.colors_wind.yamlbox.loader.IFieldSelector;
+import net.colors_wind.yamlbox.tag.ConfigNode;
+import net.colors_wind.yamlbox.tag.YamlSerializable;
+
+/**
+ * 对象与配置之间的绑定, 包括基于配置树的 {@link EntryLoader} 和流式的 {@link YamlBox#load(java.io.Reader, Class)}.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BindBenchmark {
+	/**
+	 * 对象中每个集合的元素数.
+	 */
+	@Param({ "4", "64", "1024" })
+	public int elements;
+
+	private YamlBox yamlBox;
+	private EntryLoader loader;
+	private IFieldSelector selector;
+	private ServerSettings settings;
+	private YamlConfig config;
+	private String yaml;
+
+	public enum ServerMode {
+		STANDALONE, CLUSTER;
+	}
+
+	public static class ServerSettings implements YamlSerializable {
+		public String name;
+		@ConfigNode(path = "network.port")
+		public int port;
+		@ConfigNode(path = "network.timeout")
+		public long timeout;
+		public boolean enabled;
+		public ServerMode mode;
+		public List<String> tags;
+		public Map<String, Integer> limits;
+		public int[] weights;
+		@ConfigNode(loader = EntryLoader.ENTRY)
+		public Database database;
+	}
+
+	public static class Database implements YamlSerializable {
+		public String url;
+		public String user;
+		public int poolSize;
+		public double loadFactor;
+	}
+
+	@Setup
+	public void setup() {
+		yamlBox = Benchmarks.newYamlBox();
+		loader = (EntryLoader) yamlBox.getLoader(EntryLoader.ENTRY).get();
+		selector = loader.getFieldSelector(ServerSettings.class);
+		settings = new ServerSettings();
+		settings.name = "benchmark";
+		settings.port = 25565;
+		settings.timeout = 30000L;
+		settings.enabled = true;
+		settings.mode = ServerMode.CLUSTER;
+		settings.tags = new ArrayList<>(elements);
+		settings.limits = new LinkedHashMap<>();
+		settings.weights = new int[elements];
+		for (int i = 0; i < elements; i++) {
+			settings.tags.add("tag-" + i);
+			settings.limits.put("limit-" + i, i);
+			settings.weights[i] = i;
+		}
+		settings.database = new Database();
+		settings.database.url = "jdbc:h2:mem:benchmark";
+		settings.database.user = "sa";
+		settings.database.poolSize = 8;
+		settings.database.loadFactor = 0.75D;
+		try {
+			config = new YamlConfig(loader.store(ServerSettings.class, selector, settings, ""));
+		} catch (InstantiationException | IllegalAccessException e) {
+			throw new IllegalStateException(e);
+		}
+		yaml = yamlBox.dumpAsString(config);
+	}
+
+	@Benchmark
+	public ServerSettings resolve() throws InstantiationException, IllegalAccessException {
+		return loader.resolve(ServerSettings.class, selector, config, "");
+	}
+
+	@Benchmark
+	public Map<String, Object> store() throws InstantiationException, IllegalAccessException {
+		return loader.store(ServerSettings.class, selector, settings, "");
+	}
+
+	@Benchmark
+	public ServerSettings loadStreaming() throws InstantiationException, IllegalAccessException {
+		return yamlBox.load(new StringReader(yaml), ServerSettings.class);
+	}
+
+	@Benchmark
+	public String dumpStreaming() throws IOException {
+		StringWriter writer = new StringWriter();
+		yamlBox.dump(settings, writer);
+		return writer.toString();
+	}
+
+}
@@ -0,0 +1,78 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.colors_wind.yamlbox.loader.ParameterizedTypes;
+import net.colors_wind.yamlbox.loader.UniversalLoader;
+
+/**
+ * {@link UniversalLoader} 对集合, 映射和枚举的转换.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConverterBenchmark {
+	private static final Type LIST_TYPE = ParameterizedTypes.of(List.class, Integer.class);
+	private static final Type MAP_TYPE = ParameterizedTypes.of(Map.class, String.class, Integer.class);
+
+	/**
+	 * 列表和映射的元素数.
+	 */
+	@Param({ "4", "64", "1024" })
+	public int elements;
+
+	private UniversalLoader loader;
+	private List<Object> list;
+	private Map<String, Object> map;
+
+	@Setup
+	public void setup() {
+		loader = (UniversalLoader) Benchmarks.newYamlBox().getLoader(UniversalLoader.UNIVERSAL).get();
+		list = new ArrayList<>(elements);
+		map = new LinkedHashMap<>();
+		for (int i = 0; i < elements; i++) {
+			// 一半元素需要从字符串转换
+			list.add((i & 1) == 0 ? i : String.valueOf(i));
+			map.put("key-" + i, (i & 1) == 0 ? i : String.valueOf(i));
+		}
+	}
+
+	@Benchmark
+	public List<?> resolveAsList() {
+		return loader.resolveAsList(list, "list", LIST_TYPE);
+	}
+
+	@Benchmark
+	public Map<Object, Object> resolveAsMap() {
+		return loader.resolveAsMap(map, "map", MAP_TYPE);
+	}
+
+	@Benchmark
+	public Enum<?> resolveAsEnum() {
+		return loader.resolveAsEnum("CLUSTER", "mode", BindBenchmark.ServerMode.class);
+	}
+
+}
@@ -0,0 +1,87 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.colors_wind.yamlbox.LoadOptions;
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+
+/**
+ * 加载和输出整个配置.
+ * <p>{@code *Concurrent} 变体在所有核上共享同一个 {@link YamlBox}, 每次操作的平均耗时与单线程版本相近说明吞吐量随核数线性增长;
+ * 可以用 {@code -t 1,2,4} 等参数比较不同线程数.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LoadBenchmark {
+	@Param
+	public SyntheticConfig.Size size;
+	@Param
+	public SyntheticConfig.Shape shape;
+	@Param
+	public SyntheticConfig.Content content;
+
+	private YamlBox yamlBox;
+	private YamlConfig config;
+	private String yaml;
+
+	@Setup
+	public void setup() {
+		yamlBox = Benchmarks.newYamlBox();
+		config = new YamlConfig(SyntheticConfig.generate(size, shape, content).newTree());
+		yaml = yamlBox.dumpAsString(config);
+	}
+
+	@Benchmark
+	public YamlConfig load() {
+		return yamlBox.load(yaml);
+	}
+
+	@Benchmark
+	public YamlConfig loadLazy() {
+		return yamlBox.load(yaml, LoadOptions.lazy());
+	}
+
+	@Benchmark
+	public YamlConfig loadIndexed() {
+		return yamlBox.load(yaml, LoadOptions.indexed());
+	}
+
+	@Benchmark
+	public String dumpAsString() {
+		return yamlBox.dumpAsString(config);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public YamlConfig loadConcurrent() {
+		return yamlBox.load(yaml);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public String dumpAsStringConcurrent() {
+		return yamlBox.dumpAsString(config);
+	}
+
+}
@@ -0,0 +1,167 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.colors_wind.yamlbox.conf.ConfigPath;
+import net.colors_wind.yamlbox.conf.ConfigSection;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+
+/**
+ * 读取单个节点. 配置由所有线程共享, 以 {@code Concurrent} 结尾的方法使用全部处理器同时读取.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+	@Param
+	public SyntheticConfig.Size size;
+	@Param
+	public SyntheticConfig.Shape shape;
+	@Param({ "false", "true" })
+	public boolean indexed;
+
+	private YamlConfig config;
+	private YamlConfig cachedConfig;
+	private String[] anyPaths;
+	private ConfigPath[] intPaths;
+	private ConfigPath[] quotedPaths;
+	private ConfigSection[] quotedSections;
+	private ConfigSection[] cachedQuotedSections;
+	private String[] quotedKeys;
+
+	@Setup
+	public void setup() {
+		SyntheticConfig data = SyntheticConfig.generate(size, shape, SyntheticConfig.Content.SCALAR);
+		config = new YamlConfig(data.newTree());
+		cachedConfig = new YamlConfig(data.newTree());
+		cachedConfig.enableConversionCache();
+		if (indexed) {
+			config.enableIndex();
+			cachedConfig.enableIndex();
+		}
+		int[] any = Benchmarks.sample(data, -1);
+		int[] ints = Benchmarks.sample(data, 0);
+		int[] quoted = Benchmarks.sample(data, 1);
+		anyPaths = new String[Benchmarks.SAMPLES];
+		intPaths = new ConfigPath[Benchmarks.SAMPLES];
+		quotedPaths = new ConfigPath[Benchmarks.SAMPLES];
+		for (int i = 0; i < Benchmarks.SAMPLES; i++) {
+			anyPaths[i] = data.path(any[i]);
+			intPaths[i] = ConfigPath.of(data.path(ints[i]));
+			quotedPaths[i] = ConfigPath.of(data.path(quoted[i]));
+		}
+		quotedSections = new ConfigSection[Benchmarks.SAMPLES];
+		cachedQuotedSections = new ConfigSection[Benchmarks.SAMPLES];
+		quotedKeys = new String[Benchmarks.SAMPLES];
+		for (int i = 0; i < Benchmarks.SAMPLES; i++) {
+			quotedSections[i] = parentSection(config, quotedPaths[i]);
+			cachedQuotedSections[i] = parentSection(cachedConfig, quotedPaths[i]);
+			quotedKeys[i] = quotedPaths[i].last();
+		}
+	}
+
+	/**
+	 * 逐级获取叶子所在的对象, 得到的对象与通常的用法一样带有完整的父对象链.
+	 */
+	private static ConfigSection parentSection(YamlConfig config, ConfigPath path) {
+		ConfigSection section = config;
+		for (int i = 0; i < path.size() - 1; i++) {
+			section = section.getSection(ConfigPath.ofSegments(path.segment(i)));
+		}
+		return section;
+	}
+
+	/**
+	 * 每个线程独立的访问位置.
+	 */
+	@State(Scope.Thread)
+	public static class Cursor {
+		private int next;
+
+		int next() {
+			return next = (next + 1) & (Benchmarks.SAMPLES - 1);
+		}
+	}
+
+	@Benchmark
+	public Object getObjectDeep(Cursor cursor) {
+		return config.getObjectDeep(anyPaths[cursor.next()]);
+	}
+
+	@Benchmark
+	public int getInt(Cursor cursor) {
+		return config.getInt(intPaths[cursor.next()]);
+	}
+
+	/**
+	 * 读取带引号的整数, 每次都要解析字符串.
+	 */
+	@Benchmark
+	public int getAsInt(Cursor cursor) {
+		return config.getAsInt(quotedPaths[cursor.next()]);
+	}
+
+	/**
+	 * 读取带引号的整数, 启用转换缓存.
+	 */
+	@Benchmark
+	public int getAsIntCached(Cursor cursor) {
+		return cachedConfig.getAsInt(quotedPaths[cursor.next()]);
+	}
+
+	/**
+	 * 在叶子所在的对象中读取带引号的整数, DEEP形状下对象距根节点有多级.
+	 */
+	@Benchmark
+	public int getAsIntInSection(Cursor cursor) {
+		int i = cursor.next();
+		return quotedSections[i].getAsInt(quotedKeys[i]);
+	}
+
+	/**
+	 * 在叶子所在的对象中读取带引号的整数, 启用转换缓存. 缓存由根节点持有.
+	 */
+	@Benchmark
+	public int getAsIntInSectionCached(Cursor cursor) {
+		int i = cursor.next();
+		return cachedQuotedSections[i].getAsInt(quotedKeys[i]);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public Object getObjectDeepConcurrent(Cursor cursor) {
+		return config.getObjectDeep(anyPaths[cursor.next()]);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int getAsIntConcurrent(Cursor cursor) {
+		return config.getAsInt(quotedPaths[cursor.next()]);
+	}
+
+	@Benchmark
+	@Threads(Threads.MAX)
+	public int getAsIntCachedConcurrent(Cursor cursor) {
+		return cachedConfig.getAsInt(quotedPaths[cursor.next()]);
+	}
+
+}
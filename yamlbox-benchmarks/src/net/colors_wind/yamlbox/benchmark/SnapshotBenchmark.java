@@ -0,0 +1,95 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import net.colors_wind.yamlbox.YamlBox;
+import net.colors_wind.yamlbox.conf.BinaryCodec;
+import net.colors_wind.yamlbox.conf.YamlConfig;
+import net.colors_wind.yamlbox.io.SnapshotCache;
+
+/**
+ * 从二进制快照加载与解析Yaml文本的对比.
+ * <p>{@link #snapshotHit()} 与 {@link #parse()} 都读取同一个文件, 差值即跳过Yaml解析节省的时间;
+ * {@link #snapshotHit()} 还包含计算内容摘要的开销, {@link #decode()} 只包含解码.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SnapshotBenchmark {
+	@Param
+	public SyntheticConfig.Size size;
+	@Param
+	public SyntheticConfig.Shape shape;
+	@Param
+	public SyntheticConfig.Content content;
+
+	private YamlBox yamlBox;
+	private Path directory;
+	private Path source;
+	private SnapshotCache cache;
+	private byte[] snapshot;
+
+	@Setup
+	public void setup() throws IOException {
+		yamlBox = Benchmarks.newYamlBox();
+		YamlConfig config = new YamlConfig(SyntheticConfig.generate(size, shape, content).newTree());
+		directory = Files.createTempDirectory("yamlbox-snapshot");
+		source = directory.resolve("config.yml");
+		Files.write(source, yamlBox.dumpAsString(config).getBytes(StandardCharsets.UTF_8));
+		// 同步写入快照, 第一次加载后快照即可用
+		cache = new SnapshotCache(directory.resolve("cache"), Runnable::run, yamlBox.getLogger());
+		yamlBox.load(source, cache);
+		if (!cache.lookup(source).isHit()) {
+			throw new IllegalStateException("CANNOT create snapshot of " + source);
+		}
+		snapshot = BinaryCodec.encode(yamlBox.load(source));
+	}
+
+	@TearDown
+	public void tearDown() throws IOException {
+		try (Stream<Path> files = Files.walk(directory)) {
+			files.sorted(Comparator.reverseOrder()).forEach(path -> path.toFile().delete());
+		}
+	}
+
+	@Benchmark
+	public YamlConfig snapshotHit() throws IOException {
+		return yamlBox.load(source, cache);
+	}
+
+	@Benchmark
+	public YamlConfig parse() throws IOException {
+		return yamlBox.load(source);
+	}
+
+	@Benchmark
+	public Object decode() throws IOException {
+		return BinaryCodec.decode(snapshot);
+	}
+
+}
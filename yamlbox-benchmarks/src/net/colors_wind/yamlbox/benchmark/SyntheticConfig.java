@@ -0,0 +1,171 @@
+package net.colors_wind.yamlbox.benchmark;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import net.colors_wind.yamlbox.conf.ConfigPath;
+
+/**
+ * 合成的配置数据. 叶子节点按序号轮流为整数, 带引号的整数, 浮点数和字符串(标量为主时),
+ * 或为整数列表(列表为主时), 因此基准测试可以按序号选择指定类型的叶子.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+public final class SyntheticConfig {
+	/**
+	 * 叶子节点的类型数, 序号模此值为 {@code 0} 的叶子是整数, 为 {@code 1} 的是带引号的整数.
+	 */
+	public static final int KINDS = 4;
+	/**
+	 * 深层结构中每个映射的子节点数.
+	 */
+	private static final int FANOUT = 8;
+	private static final int LIST_LENGTH = 16;
+
+	/**
+	 * 叶子节点数.
+	 */
+	public enum Size {
+		SMALL(64), MEDIUM(4096), HUGE(262144);
+
+		private final int leaves;
+
+		Size(int leaves) {
+			this.leaves = leaves;
+		}
+	}
+
+	/**
+	 * 映射的结构.
+	 */
+	public enum Shape {
+		/**
+		 * 全部叶子都在根映射中.
+		 */
+		FLAT,
+		/**
+		 * 每个映射最多 {@value #FANOUT} 个子节点, 深度随叶子数对数增长.
+		 */
+		DEEP;
+	}
+
+	/**
+	 * 叶子节点的内容.
+	 */
+	public enum Content {
+		SCALAR, LIST;
+	}
+
+	private final Map<String, Object> tree;
+	private final String[] paths;
+
+	private SyntheticConfig(Map<String, Object> tree, String[] paths) {
+		this.tree = tree;
+		this.paths = paths;
+	}
+
+	/**
+	 * 生成配置数据, 相同的参数总是得到相同的数据.
+	 * @param size 叶子节点数
+	 * @param shape 映射的结构
+	 * @param content 叶子节点的内容
+	 * @return 配置数据
+	 */
+	public static SyntheticConfig generate(Size size, Shape shape, Content content) {
+		int leaves = size.leaves;
+		int depth = 0;
+		if (shape == Shape.DEEP) {
+			for (long capacity = FANOUT; capacity < leaves; capacity *= FANOUT) {
+				depth++;
+			}
+		}
+		Map<String, Object> tree = new LinkedHashMap<>();
+		String[] paths = new String[leaves];
+		for (int i = 0; i < leaves; i++) {
+			Map<String, Object> node = tree;
+			StringBuilder path = new StringBuilder();
+			int rest = i;
+			for (int d = depth; d > 0; d--) {
+				int divisor = 1;
+				for (int j = 0; j < d; j++) {
+					divisor *= FANOUT;
+				}
+				String key = "n" + (rest / divisor);
+				rest %= divisor;
+				node = child(node, key);
+				path.append(key).append(ConfigPath.SEPARATOR);
+			}
+			String key = "k" + i;
+			node.put(key, content == Content.SCALAR ? scalar(i) : list(i));
+			paths[i] = path.append(key).toString();
+		}
+		return new SyntheticConfig(tree, paths);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> child(Map<String, Object> node, String key) {
+		return (Map<String, Object>) node.computeIfAbsent(key, k -> new LinkedHashMap<>());
+	}
+
+	private static Object scalar(int i) {
+		switch (i % KINDS) {
+		case 0:
+			return i;
+		case 1:
+			return String.valueOf(i);
+		case 2:
+			return i + 0.5D;
+		default:
+			return "value-" + i;
+		}
+	}
+
+	private static List<Object> list(int i) {
+		List<Object> list = new ArrayList<>(LIST_LENGTH);
+		for (int j = 0; j < LIST_LENGTH; j++) {
+			list.add(i + j);
+		}
+		return list;
+	}
+
+	/**
+	 * @return 新的映射树, 每次调用都会深复制.
+	 */
+	public Map<String, Object> newTree() {
+		return copy(tree);
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Map<String, Object> copy(Map<String, Object> map) {
+		Map<String, Object> result = new LinkedHashMap<>();
+		for (Map.Entry<String, Object> entry : map.entrySet()) {
+			Object value = entry.getValue();
+			if (value instanceof Map) {
+				value = copy((Map<String, Object>) value);
+			} else if (value instanceof List) {
+				value = new ArrayList<>((List<Object>) value);
+			}
+			result.put(entry.getKey(), value);
+		}
+		return result;
+	}
+
+	/**
+	 * @return 叶子节点数
+	 */
+	public int size() {
+		return paths.length;
+	}
+
+	/**
+	 * @param index 叶子的序号
+	 * @return 叶子的多级路径, 用 {@code .} 分隔.
+	 */
+	public String path(int index) {
+		return paths[index];
+	}
+
+}
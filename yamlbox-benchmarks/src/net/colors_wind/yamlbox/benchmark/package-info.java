@@ -0,0 +1,7 @@
+/**
+ * YamlBox 的 JMH 基准测试, 覆盖加载, 读取, 绑定, 序列化和输出.
+ * 先在上级目录执行 {@code mvn install}, 再在本模块执行 {@code mvn package},
+ * 然后运行 {@code java -jar target/benchmarks.jar}; 默认附带 GC 分析器, 报告每次操作的分配量.
+ * 可以像普通的 JMH 程序一样传入参数, 例如 {@code java -jar target/benchmarks.jar Lookup -p size=HUGE}.
+ */
+package net.colors_wind.yamlbox.benchmark;
@@ -0,0 +1,307 @@
+package net.colors_wind.yamlbox.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.AnnotationValue;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic.Kind;
+
+/**
+ * 为每个 {@code YamlSerializable} 类生成 {@code IBinder} 实现, 直接读写字段而不使用反射.
+ * <p>字段选择, 节点路径, 加载器名称和字段选择器的规则与运行时的反射绑定一致.
+ * 无法直接访问的类或字段(私有, final, 不可表示的泛型等)不会生成绑定器, 运行时退回到反射绑定.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+@SupportedAnnotationTypes("*")
+public class BinderProcessor extends AbstractProcessor {
+
+	static final String YAML_SERIALIZABLE = "net.colors_wind.yamlbox.tag.YamlSerializable";
+	static final String CONFIG_NODE = "net.colors_wind.yamlbox.tag.ConfigNode";
+	static final String SERIALIZE_NODE = "net.colors_wind.yamlbox.tag.SerializeNode";
+	static final String CONFIG_CONSTRUCTOR = "net.colors_wind.yamlbox.tag.ConfigConstructor";
+	static final String FIELD_SELECTOR = "net.colors_wind.yamlbox.loader.FieldSelector";
+	static final String SELECTOR_PUBLIC = "SELECTOR_PUBLIC";
+	static final String SELECTOR_DECLARE = "SELECTOR_DECLARE";
+	static final String SELECTOR_DECLARE_SUPER = "SELECTOR_DECLARE_SUPER";
+	static final String BINDER_SUFFIX = "$$Binder";
+
+	@Override
+	public SourceVersion getSupportedSourceVersion() {
+		return SourceVersion.latestSupported();
+	}
+
+	@Override
+	public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+		TypeElement serializable = processingEnv.getElementUtils().getTypeElement(YAML_SERIALIZABLE);
+		if (serializable == null) {
+			return false;
+		}
+		List<TypeElement> types = new ArrayList<>();
+		for (Element element : roundEnv.getRootElements()) {
+			collectTypes(element, types);
+		}
+		for (TypeElement type : types) {
+			if (type.getKind() == ElementKind.CLASS && !type.getModifiers().contains(Modifier.ABSTRACT)
+					&& processingEnv.getTypeUtils().isAssignable(type.asType(), serializable.asType())) {
+				generate(type);
+			}
+		}
+		return false;
+	}
+
+	private void collectTypes(Element element, List<TypeElement> types) {
+		if (element instanceof TypeElement) {
+			types.add((TypeElement) element);
+			for (Element enclosed : element.getEnclosedElements()) {
+				collectTypes(enclosed, types);
+			}
+		}
+	}
+
+	private void generate(TypeElement type) {
+		String reason = checkType(type);
+		String selector = SELECTOR_PUBLIC;
+		List<FieldModel> fields = null;
+		if (reason == null) {
+			selector = selectorOf(type, SELECTOR_PUBLIC);
+			fields = new ArrayList<>();
+			reason = selectFields(type, selector, fields);
+		}
+		if (reason != null) {
+			processingEnv.getMessager().printMessage(Kind.NOTE,
+					"Skip generating binder, using reflection at runtime: " + reason, type);
+			return;
+		}
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		String packageName = pkg.isUnnamed() ? "" : pkg.getQualifiedName().toString();
+		String binaryName = processingEnv.getElementUtils().getBinaryName(type).toString();
+		String binderName = (packageName.isEmpty() ? binaryName : binaryName.substring(packageName.length() + 1))
+				+ BINDER_SUFFIX;
+		String qualifiedBinderName = packageName.isEmpty() ? binderName : packageName + "." + binderName;
+		try (Writer writer = processingEnv.getFiler().createSourceFile(qualifiedBinderName, type).openWriter()) {
+			writer.write(new BinderWriter(packageName, binderName, type.getQualifiedName().toString(), selector,
+					fields).write());
+		} catch (IOException e) {
+			processingEnv.getMessager().printMessage(Kind.ERROR, "CANNOT write binder: " + e, type);
+		}
+	}
+
+	private String checkType(TypeElement type) {
+		if (!type.getTypeParameters().isEmpty()) {
+			return "generic class";
+		}
+		for (Element e = type; e instanceof TypeElement; e = e.getEnclosingElement()) {
+			TypeElement t = (TypeElement) e;
+			if (t.getModifiers().contains(Modifier.PRIVATE)) {
+				return "private class";
+			}
+			if (t.getNestingKind() == NestingKind.MEMBER && !t.getModifiers().contains(Modifier.STATIC)) {
+				return "inner class";
+			}
+			if (t.getNestingKind() == NestingKind.LOCAL || t.getNestingKind() == NestingKind.ANONYMOUS) {
+				return "local class";
+			}
+		}
+		for (Element enclosed : type.getEnclosedElements()) {
+			if (findAnnotation(enclosed, CONFIG_CONSTRUCTOR) != null) {
+				return "constructor binding";
+			}
+		}
+		List<ExecutableElement> constructors = ElementFilter.constructorsIn(type.getEnclosedElements());
+		for (ExecutableElement constructor : constructors) {
+			if (constructor.getParameters().isEmpty() && !constructor.getModifiers().contains(Modifier.PRIVATE)) {
+				return null;
+			}
+		}
+		return constructors.isEmpty() ? null : "no accessible no-arg constructor";
+	}
+
+	/**
+	 * 与运行时的 FieldSelector 保持一致.
+	 */
+	private String selectFields(TypeElement type, String selector, List<FieldModel> fields) {
+		PackageElement pkg = processingEnv.getElementUtils().getPackageOf(type);
+		TypeElement current = type;
+		do {
+			for (VariableElement field : ElementFilter.fieldsIn(current.getEnclosedElements())) {
+				Set<Modifier> modifiers = field.getModifiers();
+				boolean isStatic = modifiers.contains(Modifier.STATIC);
+				if (SELECTOR_PUBLIC.equals(selector)) {
+					if (isStatic || !modifiers.contains(Modifier.PUBLIC)) {
+						continue;
+					}
+				} else if (isStatic) {
+					if (SELECTOR_DECLARE.equals(selector)) {
+						return "static field " + field.getSimpleName() + " selected";
+					}
+					continue;
+				}
+				if (modifiers.contains(Modifier.PRIVATE)) {
+					return "private field " + field.getSimpleName();
+				}
+				if (modifiers.contains(Modifier.FINAL)) {
+					return "final field " + field.getSimpleName();
+				}
+				if (!modifiers.contains(Modifier.PUBLIC)
+						&& !processingEnv.getElementUtils().getPackageOf(current).equals(pkg)) {
+					return "inaccessible field " + field.getSimpleName();
+				}
+				String typeExpr = typeExpression(field.asType());
+				if (typeExpr == null) {
+					return "unsupported type of field " + field.getSimpleName();
+				}
+				fields.add(new FieldModel(field, typeExpr));
+			}
+			if (SELECTOR_DECLARE.equals(selector)) {
+				break;
+			}
+			TypeMirror superType = current.getSuperclass();
+			if (superType.getKind() != TypeKind.DECLARED) {
+				break;
+			}
+			current = (TypeElement) ((DeclaredType) superType).asElement();
+		} while (!current.getQualifiedName().contentEquals(Object.class.getName()));
+		return null;
+	}
+
+	/**
+	 * 生成与 {@code Field#getGenericType()} 相等的表达式.
+	 * @return 表达式, 若无法表示, 返回 {@code null}.
+	 */
+	private String typeExpression(TypeMirror type) {
+		switch (type.getKind()) {
+		case BOOLEAN:
+		case BYTE:
+		case SHORT:
+		case CHAR:
+		case INT:
+		case LONG:
+		case FLOAT:
+		case DOUBLE:
+			return type.toString() + ".class";
+		case ARRAY:
+			TypeMirror component = ((ArrayType) type).getComponentType();
+			if (component.getKind() == TypeKind.DECLARED
+					&& !((DeclaredType) component).getTypeArguments().isEmpty()) {
+				return null;
+			}
+			return typeExpression(component) == null ? null : rawName(type) + ".class";
+		case DECLARED:
+			List<? extends TypeMirror> arguments = ((DeclaredType) type).getTypeArguments();
+			if (arguments.isEmpty()) {
+				return rawName(type) + ".class";
+			}
+			StringBuilder builder = new StringBuilder("net.colors_wind.yamlbox.loader.ParameterizedTypes.of(")
+					.append(rawName(type)).append(".class");
+			for (TypeMirror argument : arguments) {
+				String expr = typeExpression(argument);
+				if (expr == null || argument.getKind().isPrimitive()) {
+					return null;
+				}
+				builder.append(", ").append(expr);
+			}
+			return builder.append(')').toString();
+		default:
+			return null;
+		}
+	}
+
+	private String rawName(TypeMirror type) {
+		return processingEnv.getTypeUtils().erasure(type).toString();
+	}
+
+	private String selectorOf(Element element, String def) {
+		AnnotationMirror mirror = findAnnotation(element, SERIALIZE_NODE);
+		if (mirror == null) {
+			return def;
+		}
+		return String.valueOf(annotationValue(mirror, "fieldSelector"));
+	}
+
+	private AnnotationMirror findAnnotation(Element element, String name) {
+		for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+			if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(name)) {
+				return mirror;
+			}
+		}
+		return null;
+	}
+
+	private Object annotationValue(AnnotationMirror mirror, String name) {
+		for (Map.Entry<? extends ExecutableElement, ? extends AnnotationValue> entry : processingEnv
+				.getElementUtils().getElementValuesWithDefaults(mirror).entrySet()) {
+			if (entry.getKey().getSimpleName().contentEquals(name)) {
+				return entry.getValue().getValue();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * 单个字段的分析结果, 与运行时的 {@code LoaderBase.NodeInf} 对应.
+	 */
+	class FieldModel {
+		final String name;
+		final String key;
+		final String loader;
+		final String selector;
+		final TypeMirror type;
+		final String typeExpr;
+
+		FieldModel(VariableElement field, String typeExpr) {
+			this.name = field.getSimpleName().toString();
+			this.type = field.asType();
+			this.typeExpr = typeExpr;
+			AnnotationMirror cNode = findAnnotation(field, CONFIG_NODE);
+			if (cNode == null) {
+				this.key = name;
+				this.loader = null;
+			} else {
+				String path = String.valueOf(annotationValue(cNode, "path"));
+				this.key = path.isEmpty() ? name : path;
+				this.loader = String.valueOf(annotationValue(cNode, "loader"));
+			}
+			String fieldSelector = selectorOf(field, null);
+			if (fieldSelector == null && type.getKind() == TypeKind.DECLARED) {
+				TypeElement serializable = processingEnv.getElementUtils().getTypeElement(YAML_SERIALIZABLE);
+				if (processingEnv.getTypeUtils().isAssignable(type, serializable.asType())) {
+					fieldSelector = selectorOf(((DeclaredType) type).asElement(), null);
+				}
+			}
+			this.selector = fieldSelector == null ? SELECTOR_PUBLIC : fieldSelector;
+		}
+
+		boolean isPrimitive() {
+			return type.getKind().isPrimitive();
+		}
+
+		String rawType() {
+			return rawName(type);
+		}
+	}
+
+}
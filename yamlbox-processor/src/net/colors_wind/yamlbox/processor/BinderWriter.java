@@ -0,0 +1,236 @@
+package net.colors_wind.yamlbox.processor;
+
+import java.util.List;
+
+import javax.lang.model.type.TypeKind;
+
+import net.colors_wind.yamlbox.processor.BinderProcessor.FieldModel;
+
+/**
+ * 生成绑定器的源代码.
+ * @author colors_wind
+ * @date 2020/6/20
+ * @since 1.0.0
+ */
+class BinderWriter {
+	private static final String LOADER_PACKAGE = "net.colors_wind.yamlbox.loader.";
+	private static final String CONFIG_SECTION = "net.colors_wind.yamlbox.conf.ConfigSection";
+	private static final String CONFIG_PATH = "net.colors_wind.yamlbox.conf.ConfigPath";
+	private static final String NODE_PATH = "net.colors_wind.yamlbox.conf.NodePath";
+
+	private final String packageName;
+	private final String binderName;
+	private final String targetName;
+	private final String selector;
+	private final List<FieldModel> fields;
+	private final StringBuilder out = new StringBuilder();
+
+	BinderWriter(String packageName, String binderName, String targetName, String selector,
+			List<FieldModel> fields) {
+		this.packageName = packageName;
+		this.binderName = binderName;
+		this.targetName = targetName;
+		this.selector = selector;
+		this.fields = fields;
+	}
+
+	String write() {
+		if (!packageName.isEmpty()) {
+			line("package ", packageName, ";").line();
+		}
+		line("/**");
+		line(" * Generated by ", BinderProcessor.class.getName(), ", DO NOT edit.");
+		line(" */");
+		line("public final class ", binderName, " implements ", LOADER_PACKAGE, "IBinder<", targetName, "> {");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldModel field = fields.get(i);
+			line("\tprivate static final ", CONFIG_PATH, " PATH_", String.valueOf(i), " = ", CONFIG_PATH, ".of(",
+					literal(field.key), ");");
+			if (!field.isPrimitive()) {
+				line("\tprivate static final java.lang.reflect.Type TYPE_", String.valueOf(i), " = ", field.typeExpr,
+						";");
+			}
+		}
+		line("\tprivate volatile ", LOADER_PACKAGE, "LoaderBase[] loaders;");
+		line("\tprivate volatile ", LOADER_PACKAGE, "Converter[] converters;");
+		line();
+		line("\t@Override");
+		line("\tpublic ", LOADER_PACKAGE, "IFieldSelector getSelector() {");
+		line("\t\treturn ", selectorExpr(selector), ";");
+		line("\t}");
+		line();
+		writeResolve();
+		line();
+		writeStore();
+		line();
+		writeLoaders();
+		line("}");
+		return out.toString();
+	}
+
+	private void writeResolve() {
+		line("\t@Override");
+		line("\tpublic ", targetName, " resolve(", LOADER_PACKAGE, "EntryLoader loader, ", CONFIG_SECTION,
+				" config, String path) {");
+		line("\t\treturn resolve(loader, config, ", NODE_PATH, ".of(path));");
+		line("\t}");
+		line();
+		line("\t@Override");
+		line("\t@SuppressWarnings(\"unchecked\")");
+		line("\tpublic ", targetName, " resolve(", LOADER_PACKAGE, "EntryLoader loader, ", CONFIG_SECTION,
+				" config, ", NODE_PATH, " path) {");
+		line("\t\t", LOADER_PACKAGE, "LoaderBase[] loaders = loaders(loader);");
+		line("\t\t", LOADER_PACKAGE, "Converter[] converters = this.converters;");
+		line("\t\t", targetName, " instance = new ", targetName, "();");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldModel field = fields.get(i);
+			line("\t\ttry {");
+			if (field.isPrimitive()) {
+				String method = primitiveMethod(field.type.getKind());
+				if (method == null) {
+					line("\t\t\tthrow new UnsupportedOperationException(\"Unexpected primitive type!\");");
+				} else {
+					line("\t\t\tinstance.", field.name, " = loaders[", String.valueOf(i), "].", method,
+							"(config.getObject(PATH_", String.valueOf(i), "), path.child(", literal(field.key), "));");
+				}
+			} else {
+				line("\t\t\tinstance.", field.name, " = (", field.type.toString(), ") loader.resolveField(config, PATH_",
+						String.valueOf(i), ", loaders[", String.valueOf(i), "], converters[", String.valueOf(i), "], ",
+						field.rawType(), ".class, TYPE_", String.valueOf(i), ", ", selectorExpr(field.selector),
+						", path);");
+			}
+			line("\t\t} catch (Exception e) {");
+			line("\t\t\tloader.fieldFailed(e, ", targetName, ".class, ", literal(field.name), ", ", literal(field.key),
+					", path);");
+			line("\t\t}");
+		}
+		line("\t\treturn instance;");
+		line("\t}");
+	}
+
+	private void writeStore() {
+		line("\t@Override");
+		line("\tpublic java.util.Map<String, Object> store(", LOADER_PACKAGE, "EntryLoader loader, ", targetName,
+				" instance, String path) {");
+		line("\t\treturn store(loader, instance, ", NODE_PATH, ".of(path));");
+		line("\t}");
+		line();
+		line("\t@Override");
+		line("\tpublic java.util.Map<String, Object> store(", LOADER_PACKAGE, "EntryLoader loader, ", targetName,
+				" instance, ", NODE_PATH, " path) {");
+		line("\t\t", LOADER_PACKAGE, "LoaderBase[] loaders = loaders(loader);");
+		line("\t\t", LOADER_PACKAGE, "Converter[] converters = this.converters;");
+		line("\t\tjava.util.Map<String, Object> map = new java.util.LinkedHashMap<>();");
+		for (int i = 0; i < fields.size(); i++) {
+			FieldModel field = fields.get(i);
+			String type = field.isPrimitive() ? field.type.toString() + ".class" : "TYPE_" + i;
+			line("\t\tloader.storeField(map, PATH_", String.valueOf(i), ", loaders[", String.valueOf(i),
+					"], converters[", String.valueOf(i), "], ", type, ", ", selectorExpr(field.selector), ", instance.",
+					field.name, ", path);");
+		}
+		line("\t\treturn map;");
+		line("\t}");
+	}
+
+	/**
+	 * 字段的加载器和转换器在第一次调用时查找一次. 加载器注册表变化时 {@code EntryLoader} 会丢弃绑定器, 因此不会过期.
+	 * 转换器先于加载器写入, 因此读到加载器后一定能读到转换器.
+	 */
+	private void writeLoaders() {
+		line("\tprivate ", LOADER_PACKAGE, "LoaderBase[] loaders(", LOADER_PACKAGE, "EntryLoader loader) {");
+		line("\t\t", LOADER_PACKAGE, "LoaderBase[] result = this.loaders;");
+		line("\t\tif (result == null) {");
+		line("\t\t\tresult = new ", LOADER_PACKAGE, "LoaderBase[] {");
+		for (int i = 0; i < fields.size(); i++) {
+			line("\t\t\t\t\t", loaderExpr(fields.get(i)), i == fields.size() - 1 ? "" : ",");
+		}
+		line("\t\t\t};");
+		line("\t\t\tthis.converters = new ", LOADER_PACKAGE, "Converter[] {");
+		for (int i = 0; i < fields.size(); i++) {
+			line("\t\t\t\t\t", converterExpr(fields.get(i), i), i == fields.size() - 1 ? "" : ",");
+		}
+		line("\t\t\t};");
+		line("\t\t\tthis.loaders = result;");
+		line("\t\t}");
+		line("\t\treturn result;");
+		line("\t}");
+	}
+
+	private String loaderExpr(FieldModel field) {
+		String type = field.isPrimitive() ? field.type.toString() : field.rawType();
+		return "loader.getFieldLoader(" + (field.loader == null ? "null" : literal(field.loader)) + ", " + type
+				+ ".class)";
+	}
+
+	private static String converterExpr(FieldModel field, int index) {
+		if (field.isPrimitive()) {
+			return "null";
+		}
+		return "result[" + index + "].getFieldConverter(" + field.rawType() + ".class, TYPE_" + index + ")";
+	}
+
+	private static String primitiveMethod(TypeKind kind) {
+		switch (kind) {
+		case INT:
+			return "resolveAsInt";
+		case LONG:
+			return "resolveAsLong";
+		case DOUBLE:
+			return "resolveAsDouble";
+		case FLOAT:
+			return "resolveAsFloat";
+		case BOOLEAN:
+			return "resolveAsBoolean";
+		case SHORT:
+			return "resolveAsShort";
+		case BYTE:
+			return "resolveAsByte";
+		case CHAR:
+			return "resolveAsChar";
+		default:
+			return null;
+		}
+	}
+
+	private static String selectorExpr(String selector) {
+		return BinderProcessor.FIELD_SELECTOR + "." + selector;
+	}
+
+	private static String literal(String value) {
+		StringBuilder builder = new StringBuilder("\"");
+		for (char c : value.toCharArray()) {
+			switch (c) {
+			case '"':
+				builder.append("\\\"");
+				break;
+			case '\\':
+				builder.append("\\\\");
+				break;
+			case '\n':
+				builder.append("\\n");
+				break;
+			case '\r':
+				builder.append("\\r");
+				break;
+			case '\t':
+				builder.append("\\t");
+				break;
+			default:
+				if (c < 0x20 || c > 0x7e) {
+					builder.append(String.format("\\u%04x", (int) c));
+				} else {
+					builder.append(c);
+				}
+			}
+		}
+		return builder.append('"').toString();
+	}
+
+	private BinderWriter line(String... parts) {
+		for (String part : parts) {
+			out.append(part);
+		}
+		out.append('\n');
+		return this;
+	}
+}
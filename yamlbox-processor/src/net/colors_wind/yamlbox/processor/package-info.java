@@ -0,0 +1,6 @@
+/**
+ * YamlBox 注解处理器, 在编译期为 {@code YamlSerializable} 类生成绑定器.
+ * 将本模块加入编译器的 annotationProcessorPaths 即可启用, 运行时不依赖本模块.
+ * <p>本模块不在根项目的构建中, 需要在模块目录单独执行 {@code mvn install}, 它不依赖 YamlBox 本身.
+ */
+package net.colors_wind.yamlbox.processor;